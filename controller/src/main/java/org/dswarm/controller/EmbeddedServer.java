@@ -60,6 +60,11 @@ public class EmbeddedServer {
 	 */
 	private HttpServer				httpServer;
 
+	/**
+	 * The web application context of the backend web server after calling start
+	 */
+	private WebappContext			webappContext;
+
 	/**
 	 * The server configuration after calling start
 	 */
@@ -153,6 +158,7 @@ public class EmbeddedServer {
 		}
 
 		httpServer = server;
+		webappContext = context;
 		return server;
 	}
 
@@ -163,6 +169,13 @@ public class EmbeddedServer {
 
 		EmbeddedServer.LOG.info("Shutting down backend web server (grizzly)");
 
+		// note: undeploying the web application context notifies the context listeners, i.e., the resources of the injector will be released
+		if (webappContext != null) {
+
+			webappContext.undeploy();
+			webappContext = null;
+		}
+
 		httpServer.shutdownNow();
 	}
 
@@ -52,6 +52,7 @@ import org.dswarm.persistence.model.resource.utils.ResourceStatics;
 import org.dswarm.persistence.monitoring.MonitoringHelper;
 import org.dswarm.persistence.monitoring.MonitoringLogger;
 import org.dswarm.persistence.service.InternalModelServiceFactory;
+import org.dswarm.persistence.service.internal.graph.util.SchemaAccumulator;
 import org.dswarm.persistence.service.internal.graph.util.SchemaDeterminator;
 
 /**
@@ -195,6 +196,7 @@ public abstract class ConverterEventRecorder<CONVERTER_EVENT_IMPL extends Conver
 			final DataModel freshDataModel = schemaDeterminator.determineSchema(dataModel.getUuid());
 			final boolean isSchemaAnInbuiltSchema = schemaDeterminator.isSchemaAnInbuiltSchema(freshDataModel);
 			final boolean hasSchema = isSchemaAnInbuiltSchema || utiliseExistingSchema;
+			final SchemaAccumulator schemaAccumulator = schemaDeterminator.createSchemaAccumulator(freshDataModel, hasSchema);
 
 			final AtomicInteger counter = new AtomicInteger(0);
 			final AtomicLong statementCounter = new AtomicLong(0);
@@ -239,9 +241,7 @@ public abstract class ConverterEventRecorder<CONVERTER_EVENT_IMPL extends Conver
 								type, dataModel.getUuid(), statementCounter.get(), path);
 					}
 
-					final boolean updateDataModelDirectly = false;
-
-					schemaDeterminator.optionallyEnhancedDataModel(freshDataModel, gdmModel, model, hasSchema, updateDataModelDirectly);
+					schemaAccumulator.accumulate(gdmModel, model);
 
 					//final int current = counter.incrementAndGet();
 
@@ -301,7 +301,7 @@ public abstract class ConverterEventRecorder<CONVERTER_EVENT_IMPL extends Conver
 								try {
 
 									// update data model only once (per processing)
-									schemaDeterminator.updateDataModel(freshDataModel);
+									schemaAccumulator.complete();
 								} catch (final DMPPersistenceException e) {
 
 									throw DMPPersistenceError.wrap(e);
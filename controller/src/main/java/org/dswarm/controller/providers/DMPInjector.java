@@ -17,6 +17,8 @@ package org.dswarm.controller.providers;
 
 import java.util.concurrent.atomic.AtomicReference;
 
+import javax.servlet.ServletContextEvent;
+
 import com.google.common.base.Optional;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
@@ -31,6 +33,7 @@ import org.dswarm.init.LoggingConfigurator;
 import org.dswarm.persistence.JacksonObjectMapperModule;
 import org.dswarm.persistence.JpaHibernateModule;
 import org.dswarm.persistence.PersistenceModule;
+import org.dswarm.persistence.service.internal.graph.InternalGDMGraphService;
 
 /**
  * The Guice injector for the backend API. Register here all Guice configuration that should be recognized when the backend API is
@@ -62,6 +65,15 @@ public class DMPInjector extends GuiceServletContextListener {
 		return getInjector().getInstance(Config.class);
 	}
 
+	@Override
+	public void contextDestroyed(final ServletContextEvent servletContextEvent) {
+
+		// release the long-lived graph endpoint client (incl. its connection pool and idle connection evictor)
+		getInjector().getInstance(InternalGDMGraphService.class).close();
+
+		super.contextDestroyed(servletContextEvent);
+	}
+
 	static Injector getOrDefault() {
 		Optional<Injector> prev, newInjector;
 		boolean changed = true;
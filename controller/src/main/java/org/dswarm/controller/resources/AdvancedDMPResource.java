@@ -23,6 +23,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.dswarm.controller.DMPControllerException;
+import org.dswarm.converter.flow.MorphScriptCache;
 import org.dswarm.persistence.DMPPersistenceException;
 import org.dswarm.persistence.model.AdvancedDMPJPAObject;
 import org.dswarm.persistence.model.BasicDMPJPAObject;
@@ -50,11 +51,13 @@ public abstract class AdvancedDMPResource<POJOCLASSPERSISTENCESERVICE extends Ad
 	 * @param pojoClassArg                  a concrete POJO class
 	 * @param persistenceServiceProviderArg the concrete persistence service that is related to the concrete POJO class
 	 * @param objectMapperProviderArg       an object mapper
+	 * @param morphScriptCacheArg           the cache of the generated Metamorph scripts
 	 */
 	public AdvancedDMPResource(final Class<POJOCLASS> pojoClassArg, final Provider<POJOCLASSPERSISTENCESERVICE> persistenceServiceProviderArg,
-	                           final Provider<ObjectMapper> objectMapperProviderArg) {
+	                           final Provider<ObjectMapper> objectMapperProviderArg,
+	                           final MorphScriptCache morphScriptCacheArg) {
 
-		super(pojoClassArg, persistenceServiceProviderArg, objectMapperProviderArg);
+		super(pojoClassArg, persistenceServiceProviderArg, objectMapperProviderArg, morphScriptCacheArg);
 	}
 
 	/**
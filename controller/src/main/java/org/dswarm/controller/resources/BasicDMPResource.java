@@ -19,6 +19,7 @@ import javax.inject.Provider;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import org.dswarm.converter.flow.MorphScriptCache;
 import org.dswarm.persistence.model.BasicDMPJPAObject;
 import org.dswarm.persistence.model.proxy.ProxyBasicDMPJPAObject;
 import org.dswarm.persistence.service.BasicDMPJPAService;
@@ -42,11 +43,13 @@ public abstract class BasicDMPResource<POJOCLASSPERSISTENCESERVICE extends Basic
 	 * @param pojoClassArg                  a concrete POJO class
 	 * @param persistenceServiceProviderArg the concrete persistence service that is related to the concrete POJO class
 	 * @param objectMapperProviderArg       an object mapper
+	 * @param morphScriptCacheArg           the cache of the generated Metamorph scripts
 	 */
 	public BasicDMPResource(final Class<POJOCLASS> pojoClassArg, final Provider<POJOCLASSPERSISTENCESERVICE> persistenceServiceProviderArg,
-	                        final Provider<ObjectMapper> objectMapperProviderArg) {
+	                        final Provider<ObjectMapper> objectMapperProviderArg,
+	                        final MorphScriptCache morphScriptCacheArg) {
 
-		super(pojoClassArg, persistenceServiceProviderArg, objectMapperProviderArg);
+		super(pojoClassArg, persistenceServiceProviderArg, objectMapperProviderArg, morphScriptCacheArg);
 	}
 
 	/**
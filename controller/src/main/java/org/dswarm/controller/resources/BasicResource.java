@@ -36,6 +36,7 @@ import org.slf4j.LoggerFactory;
 import org.dswarm.common.types.Tuple;
 import org.dswarm.controller.DMPControllerException;
 import org.dswarm.controller.DMPJsonException;
+import org.dswarm.converter.flow.MorphScriptCache;
 import org.dswarm.persistence.DMPPersistenceException;
 import org.dswarm.persistence.model.DMPObject;
 import org.dswarm.persistence.model.proxy.ProxyDMPObject;
@@ -66,6 +67,12 @@ public abstract class BasicResource<POJOCLASSPERSISTENCESERVICE extends BasicJPA
 
 	protected final Provider<ObjectMapper> objectMapperProvider;
 
+	/**
+	 * The cache of the generated Metamorph scripts, whose entries will be invalidated, when an object (they might depend on) will be
+	 * updated or deleted.
+	 */
+	protected final MorphScriptCache morphScriptCache;
+
 	/**
 	 * Creates a new resource (controller service) for the given concrete POJO class with the provider of the concrete persistence
 	 * service and metrics registry.
@@ -73,14 +80,17 @@ public abstract class BasicResource<POJOCLASSPERSISTENCESERVICE extends BasicJPA
 	 * @param pojoClassArg
 	 * @param persistenceServiceProviderArg
 	 * @param objectMapperProviderArg
+	 * @param morphScriptCacheArg
 	 */
 	protected BasicResource(final Class<POJOCLASS> pojoClassArg, final Provider<POJOCLASSPERSISTENCESERVICE> persistenceServiceProviderArg,
-			final Provider<ObjectMapper> objectMapperProviderArg) {
+			final Provider<ObjectMapper> objectMapperProviderArg,
+			final MorphScriptCache morphScriptCacheArg) {
 
 		pojoClass = pojoClassArg;
 		pojoClassName = pojoClass.getSimpleName();
 		persistenceServiceProvider = persistenceServiceProviderArg;
 		objectMapperProvider = objectMapperProviderArg;
+		morphScriptCache = morphScriptCacheArg;
 	}
 
 	/**
@@ -280,6 +290,8 @@ public abstract class BasicResource<POJOCLASSPERSISTENCESERVICE extends BasicJPA
 
 		persistenceService.deleteObject(uuid);
 
+		morphScriptCache.invalidate(uuid);
+
 		object = persistenceService.getObject(uuid);
 
 		if (object != null) {
@@ -419,7 +431,12 @@ public abstract class BasicResource<POJOCLASSPERSISTENCESERVICE extends BasicJPA
 
 		try {
 
-			return persistenceService.updateObjectTransactional(preparedObject);
+			final PROXYPOJOCLASS proxyObject = persistenceService.updateObjectTransactional(preparedObject);
+
+			// generated Metamorph scripts may depend on this object (e.g. a schema or a mapping)
+			morphScriptCache.invalidate(uuid);
+
+			return proxyObject;
 		} catch (final DMPPersistenceException e) {
 
 			BasicResource.LOG.debug("something went wrong while updating {}  for uuid '{}'", pojoClassName, uuid);
@@ -29,6 +29,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.dswarm.controller.DMPControllerException;
+import org.dswarm.converter.flow.MorphScriptCache;
 import org.dswarm.persistence.dto.ShortExtendendBasicDMPDTO;
 import org.dswarm.persistence.model.BasicDMPJPAObject;
 import org.dswarm.persistence.model.ExtendedBasicDMPJPAObject;
@@ -56,11 +57,13 @@ public abstract class ExtendedBasicDMPResource<POJOCLASSPERSISTENCESERVICE exten
 	 * @param pojoClassArg                  a concrete POJO class
 	 * @param persistenceServiceProviderArg the concrete persistence service that is related to the concrete POJO class
 	 * @param objectMapperProviderArg       an object mapper
+	 * @param morphScriptCacheArg           the cache of the generated Metamorph scripts
 	 */
 	public ExtendedBasicDMPResource(final Class<POJOCLASS> pojoClassArg, final Provider<POJOCLASSPERSISTENCESERVICE> persistenceServiceProviderArg,
-	                                final Provider<ObjectMapper> objectMapperProviderArg) {
+	                                final Provider<ObjectMapper> objectMapperProviderArg,
+	                                final MorphScriptCache morphScriptCacheArg) {
 
-		super(pojoClassArg, persistenceServiceProviderArg, objectMapperProviderArg);
+		super(pojoClassArg, persistenceServiceProviderArg, objectMapperProviderArg, morphScriptCacheArg);
 	}
 
 	/**
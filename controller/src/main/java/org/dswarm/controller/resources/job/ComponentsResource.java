@@ -38,6 +38,7 @@ import com.wordnik.swagger.annotations.ApiResponses;
 
 import org.dswarm.controller.DMPControllerException;
 import org.dswarm.controller.resources.ExtendedBasicDMPResource;
+import org.dswarm.converter.flow.MorphScriptCache;
 import org.dswarm.persistence.model.job.Component;
 import org.dswarm.persistence.model.job.proxy.ProxyComponent;
 import org.dswarm.persistence.service.job.ComponentService;
@@ -58,12 +59,14 @@ public class ComponentsResource extends ExtendedBasicDMPResource<ComponentServic
 	 *
 	 * @param persistenceServiceProviderArg
 	 * @param objectMapperProviderArg
+	 * @param morphScriptCacheArg
 	 */
 	@Inject
 	public ComponentsResource(final Provider<ComponentService> persistenceServiceProviderArg,
-			final Provider<ObjectMapper> objectMapperProviderArg) throws DMPControllerException {
+			final Provider<ObjectMapper> objectMapperProviderArg,
+			final MorphScriptCache morphScriptCacheArg) throws DMPControllerException {
 
-		super(Component.class, persistenceServiceProviderArg, objectMapperProviderArg);
+		super(Component.class, persistenceServiceProviderArg, objectMapperProviderArg, morphScriptCacheArg);
 	}
 
 	/**
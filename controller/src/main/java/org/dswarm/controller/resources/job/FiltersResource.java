@@ -38,6 +38,7 @@ import com.wordnik.swagger.annotations.ApiResponses;
 
 import org.dswarm.controller.DMPControllerException;
 import org.dswarm.controller.resources.BasicDMPResource;
+import org.dswarm.converter.flow.MorphScriptCache;
 import org.dswarm.persistence.model.job.Filter;
 import org.dswarm.persistence.model.job.proxy.ProxyFilter;
 import org.dswarm.persistence.service.job.FilterService;
@@ -59,12 +60,14 @@ public class FiltersResource extends BasicDMPResource<FilterService, ProxyFilter
 	 *
 	 * @param persistenceServiceProviderArg
 	 * @param objectMapperProviderArg
+	 * @param morphScriptCacheArg
 	 */
 	@Inject
 	public FiltersResource(final Provider<FilterService> persistenceServiceProviderArg,
-			final Provider<ObjectMapper> objectMapperProviderArg) throws DMPControllerException {
+			final Provider<ObjectMapper> objectMapperProviderArg,
+			final MorphScriptCache morphScriptCacheArg) throws DMPControllerException {
 
-		super(Filter.class, persistenceServiceProviderArg, objectMapperProviderArg);
+		super(Filter.class, persistenceServiceProviderArg, objectMapperProviderArg, morphScriptCacheArg);
 	}
 
 	/**
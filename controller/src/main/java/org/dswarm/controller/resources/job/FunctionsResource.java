@@ -37,6 +37,7 @@ import com.wordnik.swagger.annotations.ApiResponse;
 import com.wordnik.swagger.annotations.ApiResponses;
 
 import org.dswarm.controller.DMPControllerException;
+import org.dswarm.converter.flow.MorphScriptCache;
 import org.dswarm.persistence.model.job.Function;
 import org.dswarm.persistence.model.job.proxy.ProxyFunction;
 import org.dswarm.persistence.service.job.FunctionService;
@@ -58,12 +59,14 @@ public class FunctionsResource extends BasicFunctionsResource<FunctionService, P
 	 *
 	 * @param persistenceServiceProviderArg
 	 * @param objectMapperProviderArg
+	 * @param morphScriptCacheArg
 	 */
 	@Inject
 	public FunctionsResource(final Provider<FunctionService> persistenceServiceProviderArg,
-			final Provider<ObjectMapper> objectMapperProviderArg) throws DMPControllerException {
+			final Provider<ObjectMapper> objectMapperProviderArg,
+			final MorphScriptCache morphScriptCacheArg) throws DMPControllerException {
 
-		super(Function.class, persistenceServiceProviderArg, objectMapperProviderArg);
+		super(Function.class, persistenceServiceProviderArg, objectMapperProviderArg, morphScriptCacheArg);
 	}
 
 	/**
@@ -38,6 +38,7 @@ import com.wordnik.swagger.annotations.ApiResponses;
 
 import org.dswarm.controller.DMPControllerException;
 import org.dswarm.controller.resources.BasicDMPResource;
+import org.dswarm.converter.flow.MorphScriptCache;
 import org.dswarm.persistence.model.job.Mapping;
 import org.dswarm.persistence.model.job.proxy.ProxyMapping;
 import org.dswarm.persistence.service.job.MappingService;
@@ -58,12 +59,14 @@ public class MappingsResource extends BasicDMPResource<MappingService, ProxyMapp
 	 *
 	 * @param persistenceServiceProviderArg
 	 * @param objectMapperProviderArg
+	 * @param morphScriptCacheArg
 	 */
 	@Inject
 	public MappingsResource(final Provider<MappingService> persistenceServiceProviderArg,
-			final Provider<ObjectMapper> objectMapperProviderArg) throws DMPControllerException {
+			final Provider<ObjectMapper> objectMapperProviderArg,
+			final MorphScriptCache morphScriptCacheArg) throws DMPControllerException {
 
-		super(Mapping.class, persistenceServiceProviderArg, objectMapperProviderArg);
+		super(Mapping.class, persistenceServiceProviderArg, objectMapperProviderArg, morphScriptCacheArg);
 	}
 
 	/**
@@ -65,6 +65,7 @@ import org.dswarm.controller.DMPControllerException;
 import org.dswarm.controller.resources.ExtendedBasicDMPResource;
 import org.dswarm.controller.resources.POJOFormat;
 import org.dswarm.controller.utils.JsonUtils;
+import org.dswarm.converter.flow.MorphScriptCache;
 import org.dswarm.init.DMPException;
 import org.dswarm.init.util.DMPStatics;
 import org.dswarm.persistence.DMPPersistenceError;
@@ -152,6 +153,7 @@ public class ProjectsResource extends ExtendedBasicDMPResource<ProjectService, P
 	 *
 	 * @param persistenceServiceProviderArg
 	 * @param objectMapperProviderArg
+	 * @param morphScriptCacheArg
 	 */
 	@Inject
 	public ProjectsResource(final Provider<ProjectService> persistenceServiceProviderArg,
@@ -161,9 +163,10 @@ public class ProjectsResource extends ExtendedBasicDMPResource<ProjectService, P
 	                        final Provider<ClaszService> classPersistenceServiceProviderArg,
 	                        final Provider<SchemaService> schemaPersistenceServiceProviderArg,
 	                        final Provider<FunctionService> functionPersistenceServiceProviderArg,
-	                        final Provider<ObjectMapper> objectMapperProviderArg) throws DMPControllerException {
+	                        final Provider<ObjectMapper> objectMapperProviderArg,
+	                        final MorphScriptCache morphScriptCacheArg) throws DMPControllerException {
 
-		super(Project.class, persistenceServiceProviderArg, objectMapperProviderArg);
+		super(Project.class, persistenceServiceProviderArg, objectMapperProviderArg, morphScriptCacheArg);
 
 		dataModelPersistenceServiceProvider = dataModelPersistenceServiceProviderArg;
 		attributePersistenceServiceProvider = attributePersistenceServiceProviderArg;
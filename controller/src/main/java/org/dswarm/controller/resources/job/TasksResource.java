@@ -22,10 +22,13 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.net.URI;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -34,17 +37,25 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Provider;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.CompletionCallback;
 import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
@@ -76,15 +87,19 @@ import org.slf4j.LoggerFactory;
 import rx.Observable;
 import rx.Observer;
 import rx.Scheduler;
+import rx.Subscription;
 import rx.functions.Func1;
 import rx.observables.ConnectableObservable;
 import rx.schedulers.Schedulers;
 
 import org.dswarm.common.MediaTypeUtil;
 import org.dswarm.controller.DMPControllerException;
+import org.dswarm.controller.utils.ContentEncoding;
 import org.dswarm.controller.utils.DataModelUtil;
 import org.dswarm.controller.utils.JsonUtils;
 import org.dswarm.controller.utils.ResourceUtils;
+import org.dswarm.controller.utils.TaskExecution;
+import org.dswarm.controller.utils.TaskExecutionQueue;
 import org.dswarm.converter.DMPConverterException;
 import org.dswarm.converter.export.QuadRDFExporter;
 import org.dswarm.converter.export.RDFExporter;
@@ -93,6 +108,8 @@ import org.dswarm.converter.export.TripleRDFExporter;
 import org.dswarm.converter.export.XMLExporter;
 import org.dswarm.converter.flow.GDMModelTransformationFlow;
 import org.dswarm.converter.flow.GDMModelTransformationFlowFactory;
+import org.dswarm.converter.flow.MorphScriptCache;
+import org.dswarm.converter.flow.utils.CPUBoundExecutor;
 import org.dswarm.converter.morph.MorphScriptBuilder;
 import org.dswarm.graph.json.Model;
 import org.dswarm.graph.json.stream.ModelBuilder;
@@ -101,6 +118,8 @@ import org.dswarm.persistence.DMPPersistenceError;
 import org.dswarm.persistence.DMPPersistenceException;
 import org.dswarm.persistence.model.internal.gdm.GDMModel;
 import org.dswarm.persistence.model.internal.gdm.GDMModelUtil;
+import org.dswarm.persistence.model.internal.gdm.binary.GDMBinaryFormat;
+import org.dswarm.persistence.model.internal.gdm.binary.GDMBinaryWriter;
 import org.dswarm.persistence.model.job.Job;
 import org.dswarm.persistence.model.job.Mapping;
 import org.dswarm.persistence.model.job.Task;
@@ -136,6 +155,12 @@ public class TasksResource {
 	public static final String DO_INGEST_ON_THE_FLY_IDENTIFIER = "do_ingest_on_the_fly";
 	public static final String UTILISE_EXISTING_INPUT_SCHEMA_IDENTIFIER = "utilise_existing_input_schema";
 	public static final String DO_VERSIONING_ON_RESULT_IDENTIFIER = "do_versioning_on_result";
+	public static final String PARALLELISM_IDENTIFIER = "parallelism";
+	public static final String PRESERVE_ORDER_IDENTIFIER = "preserve_order";
+	public static final String EXPORT_PARALLELISM_IDENTIFIER = "export_parallelism";
+	public static final String COMPRESSION_IDENTIFIER = "compression";
+	public static final String RESULT_MEDIA_TYPE_IDENTIFIER = "result_media_type";
+	public static final String PRIORITY_IDENTIFIER = "priority";
 
 	private static final String DSWARM_INGEST_THREAD_NAMING_PATTERN = "dswarm-ingest-%d";
 
@@ -157,9 +182,16 @@ public class TasksResource {
 			.newCachedThreadPool(
 					new BasicThreadFactory.Builder().daemon(false).namingPattern(DSWARM_EXPORT_THREAD_NAMING_PATTERN).build());
 	private static final Scheduler EXPORT_SCHEDULER = Schedulers.from(EXPORT_EXECUTOR_SERVICE);
+
 	private static final String ERROR_IDENTIFIER = "error";
 	private static final String MESSAGE_IDENTIFIER = "message";
 	private static final String STACKTRACE_IDENTIFIER = "stacktrace";
+	private static final String EXECUTION_ID_IDENTIFIER = "id";
+	private static final String STATUS_IDENTIFIER = "status";
+	private static final String PROCESSED_RECORDS_IDENTIFIER = "processed_records";
+	private static final String CREATED_IDENTIFIER = "created";
+	private static final String STARTED_IDENTIFIER = "started";
+	private static final String FINISHED_IDENTIFIER = "finished";
 
 	/**
 	 * The base URI of this resource.
@@ -178,8 +210,38 @@ public class TasksResource {
 	private final ObjectMapper objectMapper;
 
 	private final GDMModelTransformationFlowFactory transformationFlowFactory;
+
+	/**
+	 * The cache of the generated Metamorph scripts of tasks.
+	 */
+	private final MorphScriptCache morphScriptCache;
 	private final Provider<MonitoringLogger> monitoringLogger;
 
+	/**
+	 * The size (in bytes) of the buffers in front of the response output stream (and of the compression buffers).
+	 */
+	private final int outputBufferSize;
+
+	/**
+	 * The maximum number of parallel serialisation workers of one export, i.e., requested export parallelism will be clamped to it.
+	 */
+	private final int maxExportParallelism;
+
+	/**
+	 * The scheduler for the parallel serialisation workers of exports (shared by all CPU-bound work).
+	 */
+	private final Scheduler cpuBoundScheduler;
+
+	/**
+	 * The queue for asynchronous task executions.
+	 */
+	private final TaskExecutionQueue taskExecutionQueue;
+
+	/**
+	 * How long (in milliseconds) a request-bound task execution can wait for its response at most (0 = no timeout).
+	 */
+	private final long requestBoundTimeout;
+
 	/**
 	 * Creates a new resource (controller service) for {@link Transformation}s with the provider of the transformation persistence
 	 * service, the object mapper and metrics registry.
@@ -187,19 +249,39 @@ public class TasksResource {
 	 * @param dataModelUtilArg             the data model util
 	 * @param objectMapperArg              an object mapper
 	 * @param transformationFlowFactoryArg the factory for creating transformation flows
+	 * @param morphScriptCacheArg          the cache of the generated Metamorph scripts of tasks
 	 * @param monitoringLogger             A logger that produces the logfiles for the monitoring
+	 * @param outputBufferSizeArg          the size (in bytes) of the export output buffers
+	 * @param maxExportParallelismArg      the maximum number of parallel serialisation workers of one export (0 = number of available
+	 *                                     processors)
+	 * @param taskExecutionQueueArg        the queue for asynchronous task executions
+	 * @param requestBoundTimeoutArg       how long (in milliseconds) a request-bound task execution can wait for its response at most
+	 *                                     (0 = no timeout)
+	 * @param cpuBoundExecutorArg          the executor for CPU-bound work (e.g. parallel serialisation workers)
 	 */
 	@Inject
 	public TasksResource(
 			final DataModelUtil dataModelUtilArg,
 			final ObjectMapper objectMapperArg,
 			final GDMModelTransformationFlowFactory transformationFlowFactoryArg,
-			@Named("Monitoring") final Provider<MonitoringLogger> monitoringLogger) {
+			final MorphScriptCache morphScriptCacheArg,
+			@Named("Monitoring") final Provider<MonitoringLogger> monitoringLogger,
+			@Named("dswarm.export.output-buffer-size") final long outputBufferSizeArg,
+			@Named("dswarm.export.max-parallelism") final long maxExportParallelismArg,
+			final TaskExecutionQueue taskExecutionQueueArg,
+			@Named("dswarm.task-execution.request-bound-timeout") final long requestBoundTimeoutArg,
+			final CPUBoundExecutor cpuBoundExecutorArg) {
 
 		dataModelUtil = dataModelUtilArg;
 		objectMapper = objectMapperArg;
 		transformationFlowFactory = transformationFlowFactoryArg;
+		morphScriptCache = morphScriptCacheArg;
 		this.monitoringLogger = monitoringLogger;
+		outputBufferSize = (int) outputBufferSizeArg;
+		maxExportParallelism = maxExportParallelismArg > 0 ? (int) maxExportParallelismArg : Runtime.getRuntime().availableProcessors();
+		taskExecutionQueue = taskExecutionQueueArg;
+		requestBoundTimeout = requestBoundTimeoutArg;
+		cpuBoundScheduler = cpuBoundExecutorArg.getScheduler();
 	}
 
 	/**
@@ -207,6 +289,14 @@ public class TasksResource {
 	 * - selected_records: a set of selected record identifiers, i.e., the task will only be executed on these records
 	 * - at_most: the number of result records that should be returned at most (optional)
 	 * - persist: flag that indicates whether the result should be persisted in the datahub or not (optional)
+	 * - compression: the content encoding of the response, i.e., "gzip", "deflate" or "identity" (optional; otherwise it will be negotiated via Accept-Encoding)
+	 * - export_parallelism: the number of parallel serialisation workers for N-Triples and N-Quads responses (optional; default = 1; clamped to dswarm.export.max-parallelism); preserve_order (optional; default = true) determines whether the record order will be kept
+	 * - priority: the priority of the task execution in the task execution queue (optional; default = 0)
+	 * <p>
+	 * The task execution occupies a worker for request-bound task executions of the task execution queue (see {@link TaskExecutionQueue})
+	 * until the response was written completely, i.e., it will be started, when such a worker is available. If the task execution queue is
+	 * full, 503 will be returned. If the response couldn't be started within the configured timeout
+	 * (dswarm.task-execution.request-bound-timeout), the task execution will be cancelled and 503 will be returned as well.
 	 * <p>
 	 * returns the result of the task execution in the requested format (media type, e.g., "application/json", "application/solr+update+xml", "application/xml", "application/n-triples", "application/n-quads", "application/trig", "application/gdm+json")
 	 *
@@ -217,6 +307,8 @@ public class TasksResource {
 	 */
 	@ApiOperation(value = "execute the given task", notes = "Returns the result data (as JSON) for this task execution.")
 	@ApiResponses(value = {@ApiResponse(code = 200, message = "task was successfully executed"),
+			@ApiResponse(code = 400, message = "the requested content encoding (compression) is not supported"),
+			@ApiResponse(code = 503, message = "task execution couldn't be queued, because the task execution queue is full, or timed out"),
 			@ApiResponse(code = 500, message = "internal processing error (see body for details)")})
 	@Timed
 	@POST
@@ -236,7 +328,8 @@ public class TasksResource {
 			MediaTypeUtil.GDM_SIMPLE_JSON,
 			MediaTypeUtil.GDM_SIMPLE_SHORT_JSON,
 			MediaTypeUtil.JSC_JSON,
-			MediaTypeUtil.JSC_LDJ})
+			MediaTypeUtil.JSC_LDJ,
+			GDMBinaryFormat.GDM_BINARY})
 	public void executeTask(@ApiParam(value = "task execution request (as JSON)", required = true) final String jsonObjectString,
 	                        @Context final HttpHeaders requestHeaders,
 	                        @Suspended final AsyncResponse asyncResponse) throws IOException, DMPConverterException, DMPControllerException {
@@ -245,6 +338,196 @@ public class TasksResource {
 
 		TasksResource.LOG.debug("try to process task with\n{}", headers);
 
+		final ObjectNode requestJSON = readRequestJSON(jsonObjectString);
+		final Task task = readTask(requestJSON);
+		final int priority = JsonUtils.getIntValue(TasksResource.PRIORITY_IDENTIFIER, requestJSON).orElse(0);
+
+		final Optional<String> optionalCompression = JsonUtils.getStringValue(TasksResource.COMPRESSION_IDENTIFIER, requestJSON);
+
+		if (!ContentEncoding.isSupported(optionalCompression)) {
+
+			// content encoding is not supported (note: check before the task execution takes a worker)
+			asyncResponse.resume(new WebApplicationException(ContentEncoding.getUnsupportedMessage(optionalCompression.get()),
+					Response.Status.BAD_REQUEST));
+
+			return;
+		}
+
+		// note: request-bound task executions have their own bounded workers in the task execution queue, i.e., they don't wait for the
+		// asynchronous ones
+		final Optional<TaskExecution> optionalExecution = taskExecutionQueue.submitRequestBound(task.getUuid(), priority,
+				execution -> executeRequestBoundTask(requestHeaders, requestJSON, task, execution, asyncResponse));
+
+		if (!optionalExecution.isPresent()) {
+
+			asyncResponse.resume(Response.status(Response.Status.SERVICE_UNAVAILABLE).build());
+
+			return;
+		}
+
+		final TaskExecution execution = optionalExecution.get();
+
+		asyncResponse.setTimeoutHandler(timedOutResponse -> {
+
+			LOG.warn("request-bound execution '{}' of task '{}' timed out after '{}' ms", execution.getId(), task.getUuid(), requestBoundTimeout);
+
+			taskExecutionQueue.cancelRequestBound(execution);
+
+			timedOutResponse.resume(Response.status(Response.Status.SERVICE_UNAVAILABLE).build());
+		});
+		asyncResponse.setTimeout(requestBoundTimeout, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * This endpoint queues the task that is given in the request JSON representation for asynchronous execution and returns a handle of the
+	 * task execution immediately, i.e., the task execution is not bound to this request. The JSON request contains the same parameters as
+	 * for {@link #executeTask(String, HttpHeaders, AsyncResponse)}. Additional parameters are:<br>
+	 * - result_media_type: the media type of the result of the task execution (optional; default = "application/json")
+	 * - priority: the priority of the task execution, i.e., task executions with higher priorities will be started first (optional; default = 0)
+	 * <p>
+	 * The content encoding of the result (spool file) will be determined at submission (see "compression" parameter and Accept-Encoding).
+	 *
+	 * @param jsonObjectString a JSON representation of the request JSON (incl. task)
+	 * @return the handle of the task execution (as JSON)
+	 * @throws IOException
+	 * @throws DMPConverterException
+	 * @throws DMPControllerException
+	 */
+	@ApiOperation(value = "queue the given task for asynchronous execution", notes = "Returns the handle (as JSON) of the queued task execution.")
+	@ApiResponses(value = {@ApiResponse(code = 202, message = "task execution was successfully queued"),
+			@ApiResponse(code = 400, message = "the requested content encoding (compression) is not supported"),
+			@ApiResponse(code = 415, message = "the requested result media type is not supported"),
+			@ApiResponse(code = 503, message = "task execution couldn't be queued, because the task execution queue is full"),
+			@ApiResponse(code = 500, message = "internal processing error (see body for details)")})
+	@Timed
+	@POST
+	@Path("/executions")
+	@Consumes(MediaType.APPLICATION_JSON)
+	@Produces(MediaType.APPLICATION_JSON)
+	public Response submitTaskExecution(@ApiParam(value = "task execution request (as JSON)", required = true) final String jsonObjectString,
+	                                    @Context final HttpHeaders requestHeaders) throws IOException, DMPConverterException, DMPControllerException {
+
+		final ObjectNode requestJSON = readRequestJSON(jsonObjectString);
+		final Task task = readTask(requestJSON);
+
+		final Optional<MediaType> optionalResultMediaType = determineResultMediaType(requestJSON);
+
+		if (!optionalResultMediaType.isPresent()) {
+
+			// media type is not supported
+			return Response.status(Response.Status.UNSUPPORTED_MEDIA_TYPE).build();
+		}
+
+		final MediaType resultMediaType = optionalResultMediaType.get();
+		final int priority = JsonUtils.getIntValue(TasksResource.PRIORITY_IDENTIFIER, requestJSON).orElse(0);
+
+		final Optional<String> optionalCompression = JsonUtils.getStringValue(TasksResource.COMPRESSION_IDENTIFIER, requestJSON);
+
+		if (!ContentEncoding.isSupported(optionalCompression)) {
+
+			// content encoding is not supported
+			throw new WebApplicationException(ContentEncoding.getUnsupportedMessage(optionalCompression.get()), Response.Status.BAD_REQUEST);
+		}
+
+		final ContentEncoding contentEncoding = ContentEncoding.negotiate(optionalCompression,
+				requestHeaders.getRequestHeader(HttpHeaders.ACCEPT_ENCODING));
+
+		final Optional<TaskExecution> optionalExecution = taskExecutionQueue.submit(task.getUuid(), priority, resultMediaType, contentEncoding,
+				(execution, os) -> executeQueuedTask(requestJSON, task, execution, os));
+
+		if (!optionalExecution.isPresent()) {
+
+			return Response.status(Response.Status.SERVICE_UNAVAILABLE).build();
+		}
+
+		final TaskExecution execution = optionalExecution.get();
+
+		final URI executionURI = uri.getAbsolutePathBuilder().path(execution.getId()).build();
+
+		return Response.accepted(createTaskExecutionJSON(execution).toString())
+				.type(MediaType.APPLICATION_JSON_TYPE)
+				.location(executionURI)
+				.build();
+	}
+
+	/**
+	 * This endpoint returns the status and progress of the task execution that matches the given id.
+	 *
+	 * @param id a task execution identifier
+	 * @return the handle of the task execution (as JSON)
+	 */
+	@ApiOperation(value = "get the status of the task execution that matches the given id", notes = "Returns the handle (as JSON) of the task execution incl. its status and progress.")
+	@ApiResponses(value = {@ApiResponse(code = 200, message = "returns the handle of the task execution (as JSON)"),
+			@ApiResponse(code = 404, message = "could not find a task execution for the given id")})
+	@GET
+	@Path("/executions/{id}")
+	@Produces(MediaType.APPLICATION_JSON)
+	public Response getTaskExecution(@ApiParam(value = "task execution identifier", required = true) @PathParam("id") final String id) {
+
+		return taskExecutionQueue.get(id)
+				.map(execution -> Response.ok(createTaskExecutionJSON(execution).toString(), MediaType.APPLICATION_JSON_TYPE).build())
+				.orElseGet(() -> Response.status(Response.Status.NOT_FOUND).build());
+	}
+
+	/**
+	 * This endpoint returns the result of the finished task execution that matches the given id in the media type (and content encoding)
+	 * that was requested at submission.
+	 *
+	 * @param id a task execution identifier
+	 * @return the result of the task execution
+	 */
+	@ApiOperation(value = "get the result of the task execution that matches the given id", notes = "Returns the result data of the finished task execution.")
+	@ApiResponses(value = {@ApiResponse(code = 200, message = "returns the result of the task execution"),
+			@ApiResponse(code = 404, message = "could not find a task execution for the given id"),
+			@ApiResponse(code = 409, message = "the task execution is not finished (yet); see body for its status")})
+	@GET
+	@Path("/executions/{id}/result")
+	public Response getTaskExecutionResult(@ApiParam(value = "task execution identifier", required = true) @PathParam("id") final String id) {
+
+		final Optional<TaskExecution> optionalExecution = taskExecutionQueue.get(id);
+
+		if (!optionalExecution.isPresent()) {
+
+			return Response.status(Response.Status.NOT_FOUND).build();
+		}
+
+		final TaskExecution execution = optionalExecution.get();
+
+		if (execution.getStatus() != TaskExecution.Status.FINISHED) {
+
+			return Response.status(Response.Status.CONFLICT)
+					.entity(createTaskExecutionJSON(execution).toString())
+					.type(MediaType.APPLICATION_JSON_TYPE)
+					.build();
+		}
+
+		final StreamingOutput stream = os -> Files.copy(execution.getSpoolFile(), os);
+
+		return buildExportResponse(stream, execution.getMediaType(), execution.getContentEncoding());
+	}
+
+	/**
+	 * This endpoint cancels the task execution that matches the given id. A task execution that was already completed will be discarded
+	 * (incl. its result).
+	 *
+	 * @param id a task execution identifier
+	 * @return the handle of the cancelled task execution (as JSON)
+	 */
+	@ApiOperation(value = "cancel the task execution that matches the given id", notes = "Returns the handle (as JSON) of the cancelled (or discarded) task execution.")
+	@ApiResponses(value = {@ApiResponse(code = 200, message = "task execution was successfully cancelled (or discarded)"),
+			@ApiResponse(code = 404, message = "could not find a task execution for the given id")})
+	@DELETE
+	@Path("/executions/{id}")
+	@Produces(MediaType.APPLICATION_JSON)
+	public Response cancelTaskExecution(@ApiParam(value = "task execution identifier", required = true) @PathParam("id") final String id) {
+
+		return taskExecutionQueue.cancel(id)
+				.map(execution -> Response.ok(createTaskExecutionJSON(execution).toString(), MediaType.APPLICATION_JSON_TYPE).build())
+				.orElseGet(() -> Response.status(Response.Status.NOT_FOUND).build());
+	}
+
+	private ObjectNode readRequestJSON(final String jsonObjectString) throws IOException, DMPControllerException {
+
 		if (jsonObjectString == null) {
 
 			final String message = "couldn't process task execution request JSON, because it's null";
@@ -265,6 +548,11 @@ public class TasksResource {
 			throw new DMPControllerException(message);
 		}
 
+		return requestJSON;
+	}
+
+	private Task readTask(final ObjectNode requestJSON) throws IOException, DMPConverterException, DMPControllerException {
+
 		final JsonNode taskNode = requestJSON.get(TasksResource.TASK_IDENTIFIER);
 
 		if (taskNode == null) {
@@ -300,6 +588,21 @@ public class TasksResource {
 			throw new DMPConverterException(message);
 		}
 
+		return task;
+	}
+
+	/**
+	 * Prepares the execution of the given task, i.e., the task will be executed, when the returned input data and result will be
+	 * connected.
+	 *
+	 * @param requestJSON the task execution request JSON
+	 * @param task        the task
+	 * @return the prepared task execution
+	 * @throws DMPConverterException
+	 * @throws DMPControllerException
+	 */
+	private TaskExecutionFlow prepareTaskExecution(final ObjectNode requestJSON, final Task task) throws DMPConverterException, DMPControllerException {
+
 		final DataModel inputDataModel = getInputDataModel(task);
 
 		//check schema equality, i.e. is input schema equals to output schema
@@ -315,9 +618,7 @@ public class TasksResource {
 			final ConnectableObservable<Tuple2<String, JsonNode>> connectableInputData = Observable.from(Collections.<Tuple2<String, JsonNode>>emptyList()).publish();
 			final ConnectableObservable<GDMModel> connectableResult = getInputDataAsGDMModel(requestJSON, task, inputDataModel).publish();
 
-			doExport(requestHeaders, asyncResponse, task, connectableResult, connectableInputData);
-
-			return;
+			return new TaskExecutionFlow(connectableResult, connectableInputData, false);
 		}
 
 		final Job job = task.getJob();
@@ -340,9 +641,9 @@ public class TasksResource {
 			throw new DMPConverterException(message);
 		}
 
-		final Observable<Tuple2<String, JsonNode>> inputData = getInputDataAndMapToMappingInputFormat(requestJSON, task, inputDataModel);
+		final Observable<GDMModel> inputData = getInputDataAsGDMModel(requestJSON, task, inputDataModel);
 
-		final ConnectableObservable<Tuple2<String, JsonNode>> connectableInputData = inputData.publish();
+		final ConnectableObservable<GDMModel> connectableInputData = inputData.publish();
 
 		final boolean writeResultToDatahub = JsonUtils.getBooleanValue(TasksResource.PERSIST_IDENTIFIER, requestJSON, false);
 
@@ -355,12 +656,22 @@ public class TasksResource {
 			TasksResource.LOG.debug("skip result versioning");
 		}
 
+		// note: parallel execution is only suitable for jobs without cross-record state, hence, sequential execution is the default
+		final int parallelism = JsonUtils.getIntValue(TasksResource.PARALLELISM_IDENTIFIER, requestJSON).orElse(1);
+
+		final boolean preserveOrder = JsonUtils.getBooleanValue(TasksResource.PRESERVE_ORDER_IDENTIFIER, requestJSON, true);
+
+		if (parallelism > 1) {
+
+			TasksResource.LOG.debug("do task execution on task '{}' with (at most) '{}' parallel pipelines (preserve order = '{}')", task.getUuid(), parallelism, preserveOrder);
+		}
+
 		final ConnectableObservable<GDMModel> connectableResult;
 
 		try (final MonitoringHelper ignore = monitoringLogger.get().startExecution(task)) {
 
-			final GDMModelTransformationFlow flow = transformationFlowFactory.fromTask(task);
-			final ConnectableObservable<GDMModel> apply = flow.apply(connectableInputData, writeResultToDatahub, doNotReturnJsonToCaller, doVersioningOnResult, TRANSFORMATION_ENGINE_SCHEDULER);
+			final GDMModelTransformationFlow flow = transformationFlowFactory.fromTask(task, morphScriptCache);
+			final ConnectableObservable<GDMModel> apply = flow.applyGDMModels(connectableInputData, writeResultToDatahub, doNotReturnJsonToCaller, doVersioningOnResult, parallelism, preserveOrder, TRANSFORMATION_ENGINE_SCHEDULER);
 			final Observable<GDMModel> buffer = apply.observeOn(TRANSFORMATION_ENGINE_SCHEDULER)
 					.onBackpressureBuffer(10000);
 
@@ -383,17 +694,7 @@ public class TasksResource {
 			apply.connect();
 		}
 
-		if (doNotReturnJsonToCaller) {
-
-			returnEmptyResponse(asyncResponse, connectableResult);
-
-			connectableResult.connect();
-			connectableInputData.connect();
-
-			return;
-		}
-
-		doExport(requestHeaders, asyncResponse, task, connectableResult, connectableInputData);
+		return new TaskExecutionFlow(connectableResult, connectableInputData, doNotReturnJsonToCaller);
 	}
 
 	private boolean hasMappings(final Task task) throws DMPConverterException {
@@ -498,45 +799,6 @@ public class TasksResource {
 		return new MorphScriptBuilder().apply(task).toString();
 	}
 
-	private Observable<Tuple2<String, JsonNode>> getInputDataAndMapToMappingInputFormat(final ObjectNode requestJSON,
-	                                                                                   final Task task,
-	                                                                                   final DataModel inputDataModel) throws DMPControllerException {
-
-		final boolean doIngestOnTheFly = JsonUtils.getBooleanValue(TasksResource.DO_INGEST_ON_THE_FLY_IDENTIFIER, requestJSON, false);
-
-		if (doIngestOnTheFly) {
-
-			LOG.debug("do ingest on-the-fly for task execution of task '{}'", task.getUuid());
-
-			DataModelUtil.checkDataResource(inputDataModel);
-
-			final boolean utiliseExistingInputSchema = JsonUtils.getBooleanValue(TasksResource.UTILISE_EXISTING_INPUT_SCHEMA_IDENTIFIER, requestJSON,
-					false);
-
-			return dataModelUtil.doIngestAndMapToMappingInputFormat(inputDataModel, utiliseExistingInputSchema, INGEST_SCHEDULER);
-		}
-
-		final Optional<Set<String>> optionalSelectedRecords = JsonUtils.getStringSetValue(TasksResource.SELECTED_RECORDS_IDENTIFIER, requestJSON);
-
-		if (optionalSelectedRecords.isPresent()) {
-
-			// retrieve data only for selected records
-
-			return dataModelUtil.getRecordsDataAndMapToMappingInputFormat(optionalSelectedRecords.get(), inputDataModel.getUuid());
-		}
-
-		final Optional<Integer> optionalAtMost = JsonUtils.getIntValue(TasksResource.AT_MOST_IDENTIFIER, requestJSON);
-
-		if (optionalAtMost.isPresent()) {
-
-			final Integer count = optionalAtMost.get();
-
-			TasksResource.LOG.debug("do task execution on task '{}' with input data model '{}' for '{}' records", task.getUuid(), inputDataModel.getUuid(), count);
-		}
-
-		return dataModelUtil.getDataAndMapToMappingInputFormat(inputDataModel.getUuid(), optionalAtMost);
-	}
-
 	private Observable<GDMModel> getInputDataAsGDMModel(final ObjectNode requestJSON,
 	                                                    final Task task,
 	                                                    final DataModel inputDataModel) throws DMPControllerException {
@@ -577,10 +839,12 @@ public class TasksResource {
 	}
 
 	private void doExport(final HttpHeaders requestHeaders,
+	                      final JsonNode requestJSON,
+	                      final TaskExecution execution,
 	                      final AsyncResponse asyncResponse,
 	                      final Task task,
 	                      final ConnectableObservable<GDMModel> connectableResult,
-	                      final ConnectableObservable<Tuple2<String, JsonNode>> connectableInputData) throws DMPControllerException {
+	                      final ConnectableObservable<?> connectableInputData) throws DMPControllerException {
 
 		LOG.debug("do export for task execution of task '{}' (input data resource = '{}')", task.getUuid(), getInputDataResourceFileName(task));
 
@@ -596,12 +860,17 @@ public class TasksResource {
 
 		final MediaType responseMediaType = optionalResponseMediaType.get();
 
-		final Future<StreamingOutput> futureStream = CompletableFuture.supplyAsync(() -> {
+		// note: parallel serialisation is only available for line-based RDF serialisation formats, i.e., N-Triples and N-Quads
+		final int exportParallelism = getExportParallelism(requestJSON);
+		final boolean preserveOrder = JsonUtils.getBooleanValue(TasksResource.PRESERVE_ORDER_IDENTIFIER, requestJSON, true);
 
-			final CountDownLatch countDownLatch = new CountDownLatch(1);
+		// note: the requested content encoding was already checked at task execution request
+		final ContentEncoding contentEncoding = ContentEncoding.negotiate(JsonUtils.getStringValue(TasksResource.COMPRESSION_IDENTIFIER, requestJSON),
+				requestHeaders.getRequestHeader(HttpHeaders.ACCEPT_ENCODING));
 
-			return os -> generateResponseOutputStream(asyncResponse, task, connectableResult, connectableInputData, responseMediaType, countDownLatch, os);
-		}, EXPORT_EXECUTOR_SERVICE);
+		final Future<StreamingOutput> futureStream = CompletableFuture.supplyAsync(
+				() -> os -> generateResponseOutputStream(task, execution, connectableResult, connectableInputData, responseMediaType, contentEncoding,
+						exportParallelism, preserveOrder, asyncResponse::resume, os), EXPORT_EXECUTOR_SERVICE);
 
 		try {
 
@@ -611,14 +880,15 @@ public class TasksResource {
 
 					LOG.debug("do async task execution response");
 
-					asyncResponse.resume(Response.ok(futureStream.get(), responseMediaType).build());
+					asyncResponse.resume(buildExportResponse(futureStream.get(), responseMediaType, contentEncoding));
 				} catch (final InterruptedException | ExecutionException e) {
 
 					final String message = "something went wrong";
 
 					LOG.error(message, e);
 
-					throw new RuntimeException(message, e);
+					// note: resuming the response releases the worker of the request-bound task execution
+					asyncResponse.resume(new DMPControllerException(message, e));
 				}
 			});
 		} catch (final RuntimeException e) {
@@ -629,19 +899,189 @@ public class TasksResource {
 		}
 	}
 
-	private void generateResponseOutputStream(final AsyncResponse asyncResponse,
-	                                          final Task task,
-	                                          final ConnectableObservable<GDMModel> connectableResult,
-	                                          final ConnectableObservable<Tuple2<String, JsonNode>> connectableInputData,
-	                                          final MediaType responseMediaType,
-	                                          final CountDownLatch countDownLatch,
-	                                          final OutputStream os) {
+	/**
+	 * Executes the given task as request-bound task execution (see {@link TaskExecutionQueue}), i.e., the result will be returned via the
+	 * given async response. This method returns, when the response was written completely (or the current thread was interrupted).
+	 *
+	 * @param requestHeaders the headers of the task execution request
+	 * @param requestJSON    the task execution request JSON
+	 * @param task           the task
+	 * @param execution      the handle of the task execution (for getting notified about its cancellation)
+	 * @param asyncResponse  the response of the task execution request
+	 * @throws DMPControllerException
+	 */
+	private void executeRequestBoundTask(final HttpHeaders requestHeaders,
+	                                     final ObjectNode requestJSON,
+	                                     final Task task,
+	                                     final TaskExecution execution,
+	                                     final AsyncResponse asyncResponse) throws DMPControllerException {
+
+		final CountDownLatch responseCompleted = new CountDownLatch(1);
+
+		asyncResponse.register((CompletionCallback) throwable -> responseCompleted.countDown());
+
+		try {
+
+			final TaskExecutionFlow taskExecutionFlow = prepareTaskExecution(requestJSON, task);
+			final ConnectableObservable<GDMModel> connectableResult = taskExecutionFlow.getResult();
+			final ConnectableObservable<?> connectableInputData = taskExecutionFlow.getInputData();
+
+			if (execution.isCancelled()) {
+
+				// note: the response was already resumed by the timeout handler
+				LOG.debug("request-bound execution '{}' of task '{}' was cancelled before it could be started", execution.getId(), task.getUuid());
+
+				return;
+			}
+
+			if (taskExecutionFlow.isDoNotReturnData()) {
+
+				returnEmptyResponse(asyncResponse, connectableResult);
+
+				final Subscription resultConnection = connectableResult.connect();
+				final Subscription inputDataConnection = connectableInputData.connect();
+
+				execution.onCancel(() -> {
+
+					resultConnection.unsubscribe();
+					inputDataConnection.unsubscribe();
+				});
+			} else {
+
+				doExport(requestHeaders, requestJSON, execution, asyncResponse, task, connectableResult, connectableInputData);
+			}
+		} catch (final DMPConverterException | DMPControllerException | RuntimeException e) {
+
+			final DMPControllerException exception = new DMPControllerException(String.format("couldn't execute task '%s'", task.getUuid()), e);
+
+			asyncResponse.resume(exception);
+
+			throw exception;
+		}
 
 		try {
 
-			LOG.debug("start preparing {} export", responseMediaType.toString());
+			responseCompleted.await();
+		} catch (final InterruptedException e) {
+
+			LOG.debug("request-bound task execution of task '{}' was interrupted", task.getUuid());
+
+			asyncResponse.cancel();
 
-			final BufferedOutputStream bos = new BufferedOutputStream(os, 1024);
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Executes the given task as queued task execution (see {@link TaskExecutionQueue}), i.e., the result will be written to the given
+	 * output stream (spool file) in the media type and content encoding of the task execution.
+	 *
+	 * @param requestJSON the task execution request JSON
+	 * @param task        the task
+	 * @param execution   the handle of the task execution (for tracking its progress)
+	 * @param os          the output stream of the spool file
+	 * @throws DMPControllerException
+	 */
+	private void executeQueuedTask(final ObjectNode requestJSON,
+	                               final Task task,
+	                               final TaskExecution execution,
+	                               final OutputStream os) throws DMPControllerException {
+
+		final TaskExecutionFlow taskExecutionFlow;
+
+		try {
+
+			taskExecutionFlow = prepareTaskExecution(requestJSON, task);
+		} catch (final DMPConverterException e) {
+
+			throw new DMPControllerException(String.format("couldn't prepare execution of task '%s'", task.getUuid()), e);
+		}
+
+		final ConnectableObservable<GDMModel> connectableResult = taskExecutionFlow.getResult();
+		final ConnectableObservable<?> connectableInputData = taskExecutionFlow.getInputData();
+
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+		final CountDownLatch countDownLatch = new CountDownLatch(1);
+
+		// note: tracks the progress of the task execution
+		connectableResult.subscribe(gdmModel -> execution.incrementProcessedRecords(), throwable -> {
+
+			failure.compareAndSet(null, throwable);
+			countDownLatch.countDown();
+		}, countDownLatch::countDown);
+
+		if (taskExecutionFlow.isDoNotReturnData()) {
+
+			final Subscription resultConnection = connectableResult.connect();
+			final Subscription inputDataConnection = connectableInputData.connect();
+
+			// note: a cancellation stops the processing (instead of interrupting the worker thread)
+			execution.onCancel(() -> {
+
+				resultConnection.unsubscribe();
+				inputDataConnection.unsubscribe();
+				countDownLatch.countDown();
+			});
+
+			try {
+
+				countDownLatch.await();
+			} catch (final InterruptedException e) {
+
+				LOG.debug("task execution '{}' of task '{}' was interrupted", execution.getId(), task.getUuid());
+
+				resultConnection.unsubscribe();
+				inputDataConnection.unsubscribe();
+
+				Thread.currentThread().interrupt();
+
+				return;
+			}
+		} else {
+
+			// note: parallel serialisation is only available for line-based RDF serialisation formats, i.e., N-Triples and N-Quads
+			final int exportParallelism = getExportParallelism(requestJSON);
+			final boolean preserveOrder = JsonUtils.getBooleanValue(TasksResource.PRESERVE_ORDER_IDENTIFIER, requestJSON, true);
+
+			generateResponseOutputStream(task, execution, connectableResult, connectableInputData, execution.getMediaType(), execution.getContentEncoding(),
+					exportParallelism, preserveOrder, throwable -> failure.compareAndSet(null, throwable), os)
+					.ifPresent(throwable -> failure.compareAndSet(null, throwable));
+		}
+
+		if (failure.get() != null) {
+
+			throw new DMPControllerException(String.format("couldn't execute task '%s' successfully", task.getUuid()), failure.get());
+		}
+	}
+
+	/**
+	 * Writes the result of the given task execution in the given media type to the given output stream, i.e., the task execution will be
+	 * started and this method returns, when the export completed (or the task execution was cancelled).
+	 *
+	 * @param execution      the handle of the task execution (for getting notified about its cancellation)
+	 * @param failureHandler receives the failures that couldn't be written to the output stream
+	 * @return the error of the export (if the export failed)
+	 */
+	private Optional<Throwable> generateResponseOutputStream(final Task task,
+	                                                         final TaskExecution execution,
+	                                                         final ConnectableObservable<GDMModel> connectableResult,
+	                                                         final ConnectableObservable<?> connectableInputData,
+	                                                         final MediaType responseMediaType,
+	                                                         final ContentEncoding contentEncoding,
+	                                                         final int exportParallelism,
+	                                                         final boolean preserveOrder,
+	                                                         final Consumer<Throwable> failureHandler,
+	                                                         final OutputStream os) {
+
+		final CountDownLatch countDownLatch = new CountDownLatch(1);
+		final AtomicReference<Throwable> exportError = new AtomicReference<>();
+
+		try {
+
+			LOG.debug("start preparing {} export (content encoding = '{}')", responseMediaType.toString(), contentEncoding.getName());
+
+			// note: closing the buffered output stream finishes the (optional) compression
+			final BufferedOutputStream bos = new BufferedOutputStream(contentEncoding.wrap(os, outputBufferSize), outputBufferSize);
 
 			final Observable<Void> resultObservable;
 
@@ -665,7 +1105,8 @@ public class TasksResource {
 				case MediaTypeUtil.N_TRIPLES:
 				case MediaTypeUtil.TURTLE:
 
-					resultObservable = doTripleRDFExport(connectableResult.observeOn(EXPORT_SCHEDULER), responseMediaType, bos);
+					resultObservable = doTripleRDFExport(connectableResult.observeOn(EXPORT_SCHEDULER), responseMediaType, bos, exportParallelism,
+							preserveOrder);
 
 					break;
 				case MediaTypeUtil.N_QUADS:
@@ -673,7 +1114,8 @@ public class TasksResource {
 				case MediaTypeUtil.TRIX:
 				case MediaTypeUtil.RDF_THRIFT:
 
-					resultObservable = doQuadRDFExport(connectableResult.observeOn(EXPORT_SCHEDULER), responseMediaType, bos, task);
+					resultObservable = doQuadRDFExport(connectableResult.observeOn(EXPORT_SCHEDULER), responseMediaType, bos, task, exportParallelism,
+							preserveOrder);
 
 					break;
 				case MediaTypeUtil.GDM_JSON:
@@ -710,20 +1152,23 @@ public class TasksResource {
 
 					resultObservable = doJSCLDJExport(connectableResult.observeOn(EXPORT_SCHEDULER), responseMediaType, bos, task);
 
+					break;
+				case GDMBinaryFormat.GDM_BINARY:
+
+					resultObservable = doGDMBinaryExport(connectableResult.observeOn(EXPORT_SCHEDULER), responseMediaType, bos);
+
 					break;
 				default:
 
 					// media type is not supported
-					asyncResponse.resume(Response.status(Response.Status.UNSUPPORTED_MEDIA_TYPE).build());
-
-					countDownLatch.countDown();
+					failureHandler.accept(new WebApplicationException(Response.Status.UNSUPPORTED_MEDIA_TYPE));
 
-					return;
+					return Optional.empty();
 			}
 
-			connectableResult.connect();
+			final Subscription resultConnection = connectableResult.connect();
 
-			resultObservable.observeOn(EXPORT_SCHEDULER)
+			final Subscription exportSubscription = resultObservable.observeOn(EXPORT_SCHEDULER)
 					.doOnSubscribe(() -> LOG.debug("subscribed to {} export in task resource", responseMediaType.toString()))
 					.doOnCompleted(() -> {
 
@@ -735,7 +1180,7 @@ public class TasksResource {
 							os.close();
 						} catch (final IOException e) {
 
-							asyncResponse.resume(e);
+							failureHandler.accept(e);
 						} finally {
 
 							countDownLatch.countDown();
@@ -745,6 +1190,8 @@ public class TasksResource {
 					})
 					.doOnError(throwable -> {
 
+						exportError.set(throwable);
+
 						final String message = String.format("couldn't process task '%s' (maybe %s export; input data resource = '%s') successfully", task.getUuid(), responseMediaType.toString(), getInputDataResourceFileName(task));
 
 						TasksResource.LOG.error(message, throwable);
@@ -777,14 +1224,26 @@ public class TasksResource {
 
 							TasksResource.LOG.error(message2, e);
 
-							asyncResponse.resume(new DMPControllerException(message, throwable));
+							failureHandler.accept(new DMPControllerException(message, throwable));
 						} finally {
 
 							countDownLatch.countDown();
 						}
 					}).subscribe();
 
-			connectableInputData.connect();
+			final Subscription inputDataConnection = connectableInputData.connect();
+
+			// note: a cancellation stops the export (instead of interrupting the worker thread, which might be in the middle of a database
+			// transaction)
+			execution.onCancel(() -> {
+
+				LOG.debug("cancel export of task execution '{}' of task '{}'", execution.getId(), task.getUuid());
+
+				exportSubscription.unsubscribe();
+				resultConnection.unsubscribe();
+				inputDataConnection.unsubscribe();
+				countDownLatch.countDown();
+			});
 
 			// just for count down latch, taken from http://christopher-batey.blogspot.de/2014/12/streaming-large-payloads-over-http-from.html
 			try {
@@ -792,18 +1251,42 @@ public class TasksResource {
 				countDownLatch.await();
 			} catch (InterruptedException e) {
 
-				LOG.warn("Current thread interrupted, resetting flag");
+				LOG.warn("Current thread interrupted, cancel task execution of task '{}' and resetting flag", task.getUuid());
+
+				exportSubscription.unsubscribe();
+				resultConnection.unsubscribe();
+				inputDataConnection.unsubscribe();
 
 				Thread.currentThread().interrupt();
 			}
-		} catch (final XMLStreamException | DMPConverterException | DMPControllerException e) {
+		} catch (final XMLStreamException | DMPConverterException | DMPControllerException | IOException e) {
 
 			final String message = String.format("couldn't process task '%s' (maybe %s export; input data resource = '%s') successfully", task.getUuid(), responseMediaType.toString(), getInputDataResourceFileName(task));
 
 			TasksResource.LOG.error(message, e);
 
-			asyncResponse.resume(new DMPControllerException(message, e));
+			final DMPControllerException failure = new DMPControllerException(message, e);
+
+			exportError.set(failure);
+			failureHandler.accept(failure);
 		}
+
+		return Optional.ofNullable(exportError.get());
+	}
+
+	private static Response buildExportResponse(final StreamingOutput stream,
+	                                            final MediaType responseMediaType,
+	                                            final ContentEncoding contentEncoding) {
+
+		final Response.ResponseBuilder responseBuilder = Response.ok(stream, responseMediaType)
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+		if (!contentEncoding.isIdentity()) {
+
+			responseBuilder.header(HttpHeaders.CONTENT_ENCODING, contentEncoding.getName());
+		}
+
+		return responseBuilder.build();
 	}
 
 	private Observable<Void> doJSONExport(final Observable<GDMModel> gdmModelObservable,
@@ -913,6 +1396,46 @@ public class TasksResource {
 		}
 	}
 
+	private Observable<Void> doGDMBinaryExport(final Observable<GDMModel> gdmModelObservable,
+	                                           final MediaType responseMediaType,
+	                                           final BufferedOutputStream bos) {
+
+		final AtomicInteger resultCounter = new AtomicInteger(0);
+
+		final GDMBinaryWriter gdmBinaryWriter = new GDMBinaryWriter(bos);
+
+		return gdmModelObservable.onBackpressureBuffer(10000)
+				.doOnSubscribe(() -> TasksResource.LOG.debug("subscribed to {} export", responseMediaType))
+				.doOnNext(gdmModel -> {
+
+					if (resultCounter.incrementAndGet() == 1) {
+
+						TasksResource.LOG.debug("received first result for {} export in task resource", responseMediaType);
+					}
+
+					try {
+
+						gdmBinaryWriter.write(gdmModel);
+					} catch (final IOException e) {
+
+						throw DMPPersistenceError.wrap(new DMPPersistenceException("something went wrong while serialising the GDM binary stream", e));
+					}
+				})
+				.doOnCompleted(() -> {
+
+					TasksResource.LOG.debug("received '{}' results for {} export in task resource overall", resultCounter.get(), responseMediaType);
+
+					try {
+
+						gdmBinaryWriter.close();
+					} catch (final IOException e) {
+
+						throw DMPPersistenceError.wrap(new DMPPersistenceException("something went wrong while finishing the GDM binary stream", e));
+					}
+				})
+				.ignoreElements().cast(Void.class);
+	}
+
 	private Observable<Void> doSolrUpdateXMLExport(final Observable<GDMModel> result,
 	                                               final MediaType responseMediaType,
 	                                               final BufferedOutputStream bos) throws XMLStreamException, DMPConverterException {
@@ -921,11 +1444,11 @@ public class TasksResource {
 
 		LOG.debug("trigger {} export", responseMediaType.toString());
 
-		final ConnectableObservable<JsonNode> jsonResult = generateGDMCompactJSONResult(result);
+		final ConnectableObservable<GDMModel> gdmResult = generateGDMResult(result);
 
-		final Observable<Void> resultObservable = solrUpdateXMLExporter.generate(jsonResult, bos).ignoreElements().cast(Void.class);
+		final Observable<Void> resultObservable = solrUpdateXMLExporter.generateFromGDM(gdmResult, bos).ignoreElements().cast(Void.class);
 
-		jsonResult.connect();
+		gdmResult.connect();
 
 		return resultObservable;
 	}
@@ -962,28 +1485,32 @@ public class TasksResource {
 
 		LOG.debug("trigger {} export", responseMediaType.toString());
 
-		final ConnectableObservable<JsonNode> jsonResult = generateGDMCompactJSONResult(result);
+		final ConnectableObservable<GDMModel> gdmResult = generateGDMResult(result);
 
-		final Observable<Void> resultObservable = xmlExporter.generate(jsonResult, bos).ignoreElements().cast(Void.class);
+		final Observable<Void> resultObservable = xmlExporter.generateFromGDM(gdmResult, bos).ignoreElements().cast(Void.class);
 
-		jsonResult.connect();
+		gdmResult.connect();
 
 		return resultObservable;
 	}
 
 	private Observable<Void> doTripleRDFExport(final Observable<GDMModel> result,
 	                                           final MediaType responseMediaType,
-	                                           final BufferedOutputStream bos) throws XMLStreamException {
+	                                           final BufferedOutputStream bos,
+	                                           final int exportParallelism,
+	                                           final boolean preserveOrder) throws XMLStreamException, DMPConverterException {
 
 		final RDFExporter rdfExporter = new TripleRDFExporter(responseMediaType);
 
-		return doRDFExport(result, bos, rdfExporter);
+		return doRDFExport(result, bos, rdfExporter, exportParallelism, preserveOrder);
 	}
 
 	private Observable<Void> doQuadRDFExport(final Observable<GDMModel> result,
 	                                         final MediaType responseMediaType,
 	                                         final BufferedOutputStream bos,
-	                                         final Task task) throws XMLStreamException, DMPConverterException {
+	                                         final Task task,
+	                                         final int exportParallelism,
+	                                         final boolean preserveOrder) throws XMLStreamException, DMPConverterException {
 
 		final DataModel finalOutputDataModel = getOutputDataModel(task);
 		final String dataModelUuid = finalOutputDataModel.getUuid();
@@ -991,15 +1518,30 @@ public class TasksResource {
 
 		final RDFExporter rdfExporter = new QuadRDFExporter(responseMediaType, dataModelURI);
 
-		return doRDFExport(result, bos, rdfExporter);
+		return doRDFExport(result, bos, rdfExporter, exportParallelism, preserveOrder);
 	}
 
 	private Observable<Void> doRDFExport(final Observable<GDMModel> result,
 	                                     final BufferedOutputStream bos,
-	                                     final RDFExporter rdfExporter) throws XMLStreamException {
+	                                     final RDFExporter rdfExporter,
+	                                     final int exportParallelism,
+	                                     final boolean preserveOrder) throws XMLStreamException, DMPConverterException {
 
 		final ConnectableObservable<GDMModel> publish = result.publish();
-		final Observable<JsonNode> generate = rdfExporter.generate(result, bos);
+		final Observable<Long> rdfResult;
+
+		if (exportParallelism > 1 && rdfExporter.supportsParallelSerialisation()) {
+
+			LOG.debug("do RDF export with '{}' parallel serialisation workers (preserve order = '{}')", exportParallelism, preserveOrder);
+
+			rdfResult = rdfExporter.generateRDF(result, bos, exportParallelism, preserveOrder, cpuBoundScheduler);
+		} else {
+
+			rdfResult = rdfExporter.generateRDF(result, bos);
+		}
+
+		final Observable<Long> generate = rdfResult
+				.doOnNext(recordCount -> LOG.debug("exported '{}' records via RDF export", recordCount));
 		publish.connect();
 
 		return generate.ignoreElements().cast(Void.class);
@@ -1070,6 +1612,28 @@ public class TasksResource {
 		return finalOutputDataModel;
 	}
 
+	/**
+	 * Determines the number of parallel serialisation workers of an export, i.e., the requested export parallelism (default = 1) will be
+	 * clamped to the configured maximum (dswarm.export.max-parallelism).
+	 *
+	 * @param requestJSON the request JSON
+	 * @return the number of parallel serialisation workers
+	 */
+	private int getExportParallelism(final JsonNode requestJSON) {
+
+		final int exportParallelism = JsonUtils.getIntValue(TasksResource.EXPORT_PARALLELISM_IDENTIFIER, requestJSON).orElse(1);
+
+		if (exportParallelism > maxExportParallelism) {
+
+			LOG.debug("clamped requested export parallelism '{}' to the maximum of '{}' parallel serialisation workers", exportParallelism,
+					maxExportParallelism);
+
+			return maxExportParallelism;
+		}
+
+		return exportParallelism;
+	}
+
 	private Optional<MediaType> determineResponseMediaType(final HttpHeaders requestHeaders) {
 
 		final List<MediaType> acceptableMediaTypes = requestHeaders.getAcceptableMediaTypes();
@@ -1082,22 +1646,7 @@ public class TasksResource {
 
 		// TODO: this might be improved
 		final Optional<MediaType> mediaTypeOptional = acceptableMediaTypes.stream()
-				.filter(mediaType -> MediaType.APPLICATION_JSON_TYPE.equals(mediaType)
-						|| MediaType.APPLICATION_XML_TYPE.equals(mediaType)
-						|| MediaTypeUtil.SOLR_UPDATE_XML_TYPE.equals(mediaType)
-						|| MediaTypeUtil.N_TRIPLES_TYPE.equals(mediaType)
-						|| MediaTypeUtil.TURTLE_TYPE.equals(mediaType)
-						|| MediaTypeUtil.N_QUADS_TYPE.equals(mediaType)
-						|| MediaTypeUtil.TRIG_TYPE.equals(mediaType)
-						|| MediaTypeUtil.TRIX_TYPE.equals(mediaType)
-						|| MediaTypeUtil.RDF_THRIFT_TYPE.equals(mediaType)
-						|| MediaTypeUtil.GDM_JSON_TYPE.equals(mediaType)
-						|| MediaTypeUtil.GDM_COMPACT_JSON_TYPE.equals(mediaType)
-						|| MediaTypeUtil.GDM_COMPACT_FE_JSON_TYPE.equals(mediaType)
-						|| MediaTypeUtil.GDM_SIMPLE_JSON_TYPE.equals(mediaType)
-						|| MediaTypeUtil.GDM_SIMPLE_SHORT_JSON_TYPE.equals(mediaType)
-						|| MediaTypeUtil.JSC_JSON_TYPE.equals(mediaType)
-						|| MediaTypeUtil.JSC_LDJ_TYPE.equals(mediaType))
+				.filter(TasksResource::isSupportedResponseMediaType)
 				.findFirst();
 
 		if (mediaTypeOptional.isPresent()) {
@@ -1110,6 +1659,90 @@ public class TasksResource {
 		return Optional.empty();
 	}
 
+	private static Optional<MediaType> determineResultMediaType(final JsonNode requestJSON) {
+
+		final Optional<String> optionalResultMediaType = JsonUtils.getStringValue(TasksResource.RESULT_MEDIA_TYPE_IDENTIFIER, requestJSON);
+
+		if (!optionalResultMediaType.isPresent()) {
+
+			// default media type is application/json
+			return Optional.of(MediaType.APPLICATION_JSON_TYPE);
+		}
+
+		final MediaType resultMediaType;
+
+		try {
+
+			resultMediaType = MediaType.valueOf(optionalResultMediaType.get());
+		} catch (final IllegalArgumentException e) {
+
+			TasksResource.LOG.debug("couldn't parse result media type '{}'", optionalResultMediaType.get(), e);
+
+			return Optional.empty();
+		}
+
+		if (!isSupportedResponseMediaType(resultMediaType)) {
+
+			// media type is not supported
+
+			return Optional.empty();
+		}
+
+		return Optional.of(resultMediaType);
+	}
+
+	private static boolean isSupportedResponseMediaType(final MediaType mediaType) {
+
+		return MediaType.APPLICATION_JSON_TYPE.equals(mediaType)
+				|| MediaType.APPLICATION_XML_TYPE.equals(mediaType)
+				|| MediaTypeUtil.SOLR_UPDATE_XML_TYPE.equals(mediaType)
+				|| MediaTypeUtil.N_TRIPLES_TYPE.equals(mediaType)
+				|| MediaTypeUtil.TURTLE_TYPE.equals(mediaType)
+				|| MediaTypeUtil.N_QUADS_TYPE.equals(mediaType)
+				|| MediaTypeUtil.TRIG_TYPE.equals(mediaType)
+				|| MediaTypeUtil.TRIX_TYPE.equals(mediaType)
+				|| MediaTypeUtil.RDF_THRIFT_TYPE.equals(mediaType)
+				|| MediaTypeUtil.GDM_JSON_TYPE.equals(mediaType)
+				|| MediaTypeUtil.GDM_COMPACT_JSON_TYPE.equals(mediaType)
+				|| MediaTypeUtil.GDM_COMPACT_FE_JSON_TYPE.equals(mediaType)
+				|| MediaTypeUtil.GDM_SIMPLE_JSON_TYPE.equals(mediaType)
+				|| MediaTypeUtil.GDM_SIMPLE_SHORT_JSON_TYPE.equals(mediaType)
+				|| MediaTypeUtil.JSC_JSON_TYPE.equals(mediaType)
+				|| MediaTypeUtil.JSC_LDJ_TYPE.equals(mediaType)
+				|| GDMBinaryFormat.GDM_BINARY_TYPE.equals(mediaType);
+	}
+
+	private ObjectNode createTaskExecutionJSON(final TaskExecution execution) {
+
+		final ObjectNode executionJSON = objectMapper.createObjectNode();
+
+		executionJSON.put(TasksResource.EXECUTION_ID_IDENTIFIER, execution.getId());
+		executionJSON.put(TasksResource.TASK_IDENTIFIER, execution.getTaskUuid());
+		executionJSON.put(TasksResource.STATUS_IDENTIFIER, execution.getStatus().name().toLowerCase(Locale.ENGLISH));
+		executionJSON.put(TasksResource.PRIORITY_IDENTIFIER, execution.getPriority());
+		executionJSON.put(TasksResource.RESULT_MEDIA_TYPE_IDENTIFIER, execution.getMediaType().toString());
+		executionJSON.put(TasksResource.COMPRESSION_IDENTIFIER, execution.getContentEncoding().getName());
+		executionJSON.put(TasksResource.PROCESSED_RECORDS_IDENTIFIER, execution.getProcessedRecords());
+		executionJSON.put(TasksResource.CREATED_IDENTIFIER, execution.getCreatedAt());
+
+		if (execution.getStartedAt() > 0) {
+
+			executionJSON.put(TasksResource.STARTED_IDENTIFIER, execution.getStartedAt());
+		}
+
+		if (execution.getFinishedAt() > 0) {
+
+			executionJSON.put(TasksResource.FINISHED_IDENTIFIER, execution.getFinishedAt());
+		}
+
+		if (execution.getErrorMessage() != null) {
+
+			executionJSON.put(TasksResource.ERROR_IDENTIFIER, execution.getErrorMessage());
+		}
+
+		return executionJSON;
+	}
+
 	private void returnEmptyResponse(final AsyncResponse asyncResponse,
 	                                 final Observable<GDMModel> result) {
 
@@ -1191,22 +1824,9 @@ public class TasksResource {
 
 	private ConnectableObservable<JsonNode> generateGDMCompactJSONResult(final Observable<GDMModel> model) {
 
-		final AtomicInteger resultCounter = new AtomicInteger(0);
-
 		// transform to FE friendly JSON => or use Model#toJSON() ;)
 
-		return model.onBackpressureBuffer(10000)
-				.doOnSubscribe(() -> TasksResource.LOG.debug("subscribed to results observable in task resource"))
-				.doOnNext(resultObj -> {
-
-					resultCounter.incrementAndGet();
-
-					if (resultCounter.get() == 1) {
-
-						TasksResource.LOG.debug("received first result in task resource");
-					}
-				})
-				.doOnCompleted(() -> TasksResource.LOG.debug("received '{}' results in task resource overall", resultCounter.get()))
+		return countGDMResult(model)
 				.map(org.dswarm.persistence.model.internal.Model::toGDMCompactJSON)
 				.flatMapIterable(nodes -> {
 
@@ -1220,6 +1840,32 @@ public class TasksResource {
 				.publish();
 	}
 
+	/**
+	 * For exporters that consume GDM models directly, i.e., without GDM compact JSON as intermediate representation.
+	 */
+	private ConnectableObservable<GDMModel> generateGDMResult(final Observable<GDMModel> model) {
+
+		return countGDMResult(model).publish();
+	}
+
+	private Observable<GDMModel> countGDMResult(final Observable<GDMModel> model) {
+
+		final AtomicInteger resultCounter = new AtomicInteger(0);
+
+		return model.onBackpressureBuffer(10000)
+				.doOnSubscribe(() -> TasksResource.LOG.debug("subscribed to results observable in task resource"))
+				.doOnNext(resultObj -> {
+
+					resultCounter.incrementAndGet();
+
+					if (resultCounter.get() == 1) {
+
+						TasksResource.LOG.debug("received first result in task resource");
+					}
+				})
+				.doOnCompleted(() -> TasksResource.LOG.debug("received '{}' results in task resource overall", resultCounter.get()));
+	}
+
 	private JsonNode transformGDMCompactJSONtoGDMCompactFEJSON(final JsonNode resultJSON) {
 
 		final Iterator<String> fieldNamesIter = resultJSON.fieldNames();
@@ -1439,4 +2085,37 @@ public class TasksResource {
 		return inputDataResourcePath.asText();
 	}
 
+	/**
+	 * A prepared task execution, i.e., the task will be executed, when the input data and the result will be connected.
+	 */
+	private static final class TaskExecutionFlow {
+
+		private final ConnectableObservable<GDMModel> result;
+		private final ConnectableObservable<?>        inputData;
+		private final boolean                         doNotReturnData;
+
+		private TaskExecutionFlow(final ConnectableObservable<GDMModel> resultArg,
+		                          final ConnectableObservable<?> inputDataArg,
+		                          final boolean doNotReturnDataArg) {
+
+			result = resultArg;
+			inputData = inputDataArg;
+			doNotReturnData = doNotReturnDataArg;
+		}
+
+		public ConnectableObservable<GDMModel> getResult() {
+
+			return result;
+		}
+
+		public ConnectableObservable<?> getInputData() {
+
+			return inputData;
+		}
+
+		public boolean isDoNotReturnData() {
+
+			return doNotReturnData;
+		}
+	}
 }
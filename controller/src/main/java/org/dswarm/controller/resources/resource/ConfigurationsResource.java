@@ -39,6 +39,7 @@ import com.wordnik.swagger.annotations.ApiResponses;
 
 import org.dswarm.controller.DMPControllerException;
 import org.dswarm.controller.resources.ExtendedBasicDMPResource;
+import org.dswarm.converter.flow.MorphScriptCache;
 import org.dswarm.persistence.model.resource.Configuration;
 import org.dswarm.persistence.model.resource.proxy.ProxyConfiguration;
 import org.dswarm.persistence.service.resource.ConfigurationService;
@@ -60,13 +61,15 @@ public class ConfigurationsResource extends
 	 *
 	 * @param persistenceServiceProviderArg
 	 * @param objectMapperProviderArg
+	 * @param morphScriptCacheArg
 	 * @throws DMPControllerException
 	 */
 	@Inject
 	public ConfigurationsResource(final Provider<ConfigurationService> persistenceServiceProviderArg,
-			final Provider<ObjectMapper> objectMapperProviderArg) throws DMPControllerException {
+			final Provider<ObjectMapper> objectMapperProviderArg,
+			final MorphScriptCache morphScriptCacheArg) throws DMPControllerException {
 
-		super(Configuration.class, persistenceServiceProviderArg, objectMapperProviderArg);
+		super(Configuration.class, persistenceServiceProviderArg, objectMapperProviderArg, morphScriptCacheArg);
 	}
 
 	/**
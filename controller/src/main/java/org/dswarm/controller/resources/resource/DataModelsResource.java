@@ -21,6 +21,7 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -32,18 +33,21 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
@@ -83,8 +87,10 @@ import org.dswarm.controller.eventbus.XMLSchemaEventRecorder;
 import org.dswarm.controller.resources.ExtendedMediumBasicDMPResource;
 import org.dswarm.controller.resources.POJOFormat;
 import org.dswarm.controller.resources.resource.utils.ExportUtils;
+import org.dswarm.controller.utils.ContentEncoding;
 import org.dswarm.controller.utils.DataModelUtil;
 import org.dswarm.controller.utils.JsonUtils;
+import org.dswarm.converter.flow.MorphScriptCache;
 import org.dswarm.init.DMPException;
 import org.dswarm.persistence.DMPPersistenceException;
 import org.dswarm.persistence.dto.resource.MediumDataModelDTO;
@@ -138,12 +144,18 @@ public class DataModelsResource extends ExtendedMediumBasicDMPResource<DataModel
 	// this is likely to be http://localhost:7474/graph
 	private final String graphEndpoint;
 
+	/**
+	 * The size (in bytes) of the buffer for encoding (compressing) exports.
+	 */
+	private final int outputBufferSize;
+
 	/**
 	 * Creates a new resource (controller service) for {@link DataModel}s with the provider of the data model persistence service,
 	 * the object mapper, metrics registry, event bus provider and data model util.
 	 *
 	 * @param persistenceServiceProviderArg
 	 * @param objectMapperProviderArg
+	 * @param morphScriptCacheArg
 	 * @param dataModelUtilArg                     the data model util
 	 * @param schemaEventRecorderProviderArg
 	 * @param xmlSchemaEventRecorderProviderArg
@@ -151,12 +163,14 @@ public class DataModelsResource extends ExtendedMediumBasicDMPResource<DataModel
 	 * @param xmlConverterEventRecorderProviderArg
 	 * @param schemaDeterminatorProviderArg
 	 * @param graphEndpointArg
+	 * @param outputBufferSizeArg                  the size (in bytes) of the export output buffers
 	 * @throws DMPControllerException
 	 */
 	@Inject
 	public DataModelsResource(
 			final Provider<DataModelService> persistenceServiceProviderArg,
 			final Provider<ObjectMapper> objectMapperProviderArg,
+			final MorphScriptCache morphScriptCacheArg,
 			final DataModelUtil dataModelUtilArg,
 			final Provider<SchemaEventRecorder> schemaEventRecorderProviderArg,
 			final Provider<XMLSchemaEventRecorder> xmlSchemaEventRecorderProviderArg,
@@ -164,9 +178,10 @@ public class DataModelsResource extends ExtendedMediumBasicDMPResource<DataModel
 			final Provider<XMLConverterEventRecorder> xmlConverterEventRecorderProviderArg,
 			final Provider<JSONConverterEventRecorder> jsonConverterEventRecorderProviderArg,
 			final Provider<SchemaDeterminator> schemaDeterminatorProviderArg,
-			@Named("dswarm.db.graph.endpoint") final String graphEndpointArg) throws DMPControllerException {
+			@Named("dswarm.db.graph.endpoint") final String graphEndpointArg,
+			@Named("dswarm.export.output-buffer-size") final long outputBufferSizeArg) throws DMPControllerException {
 
-		super(DataModel.class, persistenceServiceProviderArg, objectMapperProviderArg);
+		super(DataModel.class, persistenceServiceProviderArg, objectMapperProviderArg, morphScriptCacheArg);
 
 		dataModelUtil = dataModelUtilArg;
 		schemaEventRecorderProvider = schemaEventRecorderProviderArg;
@@ -176,6 +191,7 @@ public class DataModelsResource extends ExtendedMediumBasicDMPResource<DataModel
 		jsonConvertEventRecorderProvider = jsonConverterEventRecorderProviderArg;
 		schemaDeterminatorProvider = schemaDeterminatorProviderArg;
 		graphEndpoint = graphEndpointArg;
+		outputBufferSize = (int) outputBufferSizeArg;
 	}
 
 	/**
@@ -527,11 +543,15 @@ public class DataModelsResource extends ExtendedMediumBasicDMPResource<DataModel
 	 *
 	 * @param uuid
 	 * @param format serialization format the data model should be serialized in, injected from accept header field
+	 * @param compression    the content encoding of the export, i.e., "gzip", "deflate" or "identity" (optional; otherwise it will be
+	 *                       negotiated via Accept-Encoding)
+	 * @param acceptEncoding the Accept-Encoding header of the request
 	 * @return a single data model, serialized in exportLanguage
 	 * @throws DMPControllerException
 	 */
 	@ApiOperation(value = "exports a selected data model from the graph DB in the requested format, .e.g., various RDF serialisation formats or XML", notes = "Returns exported data in the requested format.")
 	@ApiResponses(value = { @ApiResponse(code = 200, message = "export was successfully processed"),
+			@ApiResponse(code = 400, message = "requested content encoding (compression) is not supported"),
 			@ApiResponse(code = 404, message = "could not find a data model for the given uuid"),
 			@ApiResponse(code = 406, message = "requested export format is not supported"),
 			@ApiResponse(code = 500, message = "internal processing error (see body for details)") })
@@ -543,7 +563,17 @@ public class DataModelsResource extends ExtendedMediumBasicDMPResource<DataModel
 	// @Produces({ MediaTypeUtil.N_QUADS, MediaTypeUtil.RDF_XML, MediaTypeUtil.TRIG, MediaTypeUtil.TURTLE, MediaTypeUtil.N3 })
 	@Produces(MediaType.APPLICATION_OCTET_STREAM)
 	public Response exportForDownload(@ApiParam(value = "data model identifier", required = true) @PathParam("uuid") final String uuid,
-			@QueryParam("format") final String format) throws DMPControllerException {
+			@QueryParam("format") final String format,
+			@ApiParam(value = "content encoding (compression) of the export, i.e., gzip, deflate or identity") @QueryParam("compression") final String compression,
+			@HeaderParam(HttpHeaders.ACCEPT_ENCODING) final String acceptEncoding) throws DMPControllerException {
+
+		final Optional<String> optionalCompression = Optional.ofNullable(compression);
+
+		if (!ContentEncoding.isSupported(optionalCompression)) {
+
+			// content encoding is not supported
+			throw new WebApplicationException(ContentEncoding.getUnsupportedMessage(compression), Status.BAD_REQUEST);
+		}
 
 		// check if uuid is present, return 404 if not
 		final DataModelService persistenceService = persistenceServiceProvider.get();
@@ -555,7 +585,11 @@ public class DataModelsResource extends ExtendedMediumBasicDMPResource<DataModel
 		// construct dataModelURI from data model uuid
 		final String dataModelURI = GDMUtil.getDataModelGraphURI(uuid);
 
-		LOG.debug("Forwarding to graph db: request to export content of data model with uuid \"{}\" to {}", uuid, format);
+		final ContentEncoding contentEncoding = ContentEncoding.negotiate(optionalCompression,
+				acceptEncoding != null ? Collections.singletonList(acceptEncoding) : null);
+
+		LOG.debug("Forwarding to graph db: request to export content of data model with uuid \"{}\" to {} (content encoding = '{}')", uuid, format,
+				contentEncoding.getName());
 
 		final Response responseFromGraph;
 
@@ -610,14 +644,14 @@ public class DataModelsResource extends ExtendedMediumBasicDMPResource<DataModel
 
 			LOG.debug("request data from graph db with '{}' + '{}'", target.getUri(), serializeObject(requestJsonString));
 
-			return ExportUtils.processGraphDBXMLResponseInternal(responseFromGraph);
+			return ExportUtils.processGraphDBXMLResponseInternal(responseFromGraph, contentEncoding, outputBufferSize);
 		} else {
 
 			// send the request to graph DB
 			final WebTarget target = target("/export");
 			responseFromGraph = target.queryParam("data_model_uri", dataModelURI).request().accept(format).get(Response.class);
 
-			return ExportUtils.processGraphDBResponseInternal(responseFromGraph);
+			return ExportUtils.processGraphDBResponseInternal(responseFromGraph, contentEncoding, outputBufferSize);
 		}
 	}
 
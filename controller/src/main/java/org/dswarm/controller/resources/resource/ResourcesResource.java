@@ -960,7 +960,10 @@ public class ResourcesResource extends AbstractBaseResource {
 	private ProxyResource refreshResource(final Resource resource, final FormDataContentDisposition fileDetail, final String name,
 			final String description, final InputStream uploadInputedStream) throws DMPControllerException {
 
-		final File file = controllerUtils.writeToFile(uploadInputedStream, fileDetail.getFileName(), RESOURCES_DIRECTORY_POSTFIX);
+		// note: uploads with identical content will share the same file
+		final DMPControllerUtils.StoredFile storedFile = controllerUtils.writeToContentAddressedFile(uploadInputedStream,
+				fileDetail.getFileName(), RESOURCES_DIRECTORY_POSTFIX);
+		final File file = storedFile.getFile();
 
 		final ResourceService resourceService = resourceServiceProvider.get();
 
@@ -986,19 +989,15 @@ public class ResourcesResource extends AbstractBaseResource {
 		final String fileAbsolutePath = file.getAbsolutePath();
 
 		attributes.put(ResourceStatics.PATH, fileAbsolutePath);
-		attributes.put(ResourceStatics.FILE_SIZE, fileDetail.getSize());
+		attributes.put(ResourceStatics.FILE_SIZE, storedFile.getSize());
+		attributes.put(ResourceStatics.CONTENT_DIGEST, storedFile.getDigest());
 
-		try {
-
-			final String fileType = java.nio.file.Files.probeContentType(file.toPath());
-
-			if (fileType != null) {
+		// note: the stored file doesn't carry the name of the upload (see content-addressed store)
+		final Optional<String> optionalFileType = determineFileType(fileDetail.getFileName());
 
-				attributes.put(ResourceStatics.FILE_TYPE, fileType);
-			}
-		} catch (final IOException e1) {
+		if (optionalFileType.isPresent()) {
 
-			ResourcesResource.LOG.debug("couldn't determine file type from file '{}'", fileAbsolutePath);
+			attributes.put(ResourceStatics.FILE_TYPE, optionalFileType.get());
 		}
 
 		resource.setAttributes(attributes);
@@ -1026,6 +1025,37 @@ public class ResourcesResource extends AbstractBaseResource {
 		return proxyResource;
 	}
 
+	/**
+	 * Determines the file type (content type) of an upload from its file name.
+	 *
+	 * @param fileName the file name of the upload
+	 * @return the file type or nothing, if it couldn't be determined
+	 */
+	private static Optional<String> determineFileType(final String fileName) {
+
+		if (fileName == null || fileName.trim().isEmpty()) {
+
+			return Optional.empty();
+		}
+
+		try {
+
+			final java.nio.file.Path fileNamePath = java.nio.file.Paths.get(fileName).getFileName();
+
+			if (fileNamePath == null) {
+
+				return Optional.empty();
+			}
+
+			return Optional.ofNullable(java.nio.file.Files.probeContentType(fileNamePath));
+		} catch (final IOException | java.nio.file.InvalidPathException e) {
+
+			ResourcesResource.LOG.debug("couldn't determine file type from file name '{}'", fileName);
+
+			return Optional.empty();
+		}
+	}
+
 	/**
 	 * Adds and persists a configuration to the given resource.
 	 *
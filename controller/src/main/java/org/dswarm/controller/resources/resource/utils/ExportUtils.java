@@ -16,13 +16,18 @@
 package org.dswarm.controller.resources.resource.utils;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.apache.http.HttpStatus;
 
 import org.dswarm.controller.DMPControllerException;
+import org.dswarm.controller.utils.ContentEncoding;
 
 /**
  * @author reichert
@@ -50,6 +55,26 @@ public final class ExportUtils {
 	 */
 	public static Response processGraphDBResponseInternal(final Response responseFromGraph) throws DMPControllerException {
 
+		return processGraphDBResponseInternal(responseFromGraph, ContentEncoding.IDENTITY, 0);
+	}
+
+	/**
+	 * Process a response received from graph db and prepare a new response to be sent to a requester by "forwarding" the graph db
+	 * resonse's content (encoded with the given content encoding) and Content-Disposition header
+	 *
+	 * @param responseFromGraph response received from graph db
+	 * @param contentEncoding   the content encoding (compression) of the response content
+	 * @param bufferSize        the size (in bytes) of the buffer for encoding the response content
+	 * @return a new response to be sent to a requester by "forwarding" the graph db resonse's content and Content-Disposition
+	 *         header
+	 * @throws DMPControllerException for two reasons<br />
+	 *             in case the status code of the response received from graph db is not 200 or 406<br />
+	 *             in case the Content-Disposition is not as expected
+	 */
+	public static Response processGraphDBResponseInternal(final Response responseFromGraph,
+	                                                      final ContentEncoding contentEncoding,
+	                                                      final int bufferSize) throws DMPControllerException {
+
 		final Response responseToRequester;
 
 		switch (responseFromGraph.getStatus()) {
@@ -63,8 +88,7 @@ public final class ExportUtils {
 				}
 				final String contenDispositionValue = contentDispositionList.get(0);
 
-				responseToRequester = Response.ok(result, responseFromGraph.getMediaType())
-						.header(ExportUtils.CONTENT_DISPOSITION, contenDispositionValue).build();
+				responseToRequester = buildResponse(result, responseFromGraph.getMediaType(), contenDispositionValue, contentEncoding, bufferSize);
 				break;
 
 			case HttpStatus.SC_NOT_ACCEPTABLE:
@@ -93,6 +117,24 @@ public final class ExportUtils {
 	 */
 	public static Response processGraphDBXMLResponseInternal(final Response responseFromGraph) throws DMPControllerException {
 
+		return processGraphDBXMLResponseInternal(responseFromGraph, ContentEncoding.IDENTITY, 0);
+	}
+
+	/**
+	 * Process a response received from graph db and prepare a new response to be sent to a requester by "forwarding" the graph db
+	 * resonse's content (encoded with the given content encoding) and Content-Disposition header
+	 *
+	 * @param responseFromGraph response received from graph db
+	 * @param contentEncoding   the content encoding (compression) of the response content
+	 * @param bufferSize        the size (in bytes) of the buffer for encoding the response content
+	 * @return a new response to be sent to a requester by "forwarding" the graph db resonse's content and Content-Disposition
+	 *         header
+	 * @throws DMPControllerException in case the status code of the response received from graph db is not 200 or 406
+	 */
+	public static Response processGraphDBXMLResponseInternal(final Response responseFromGraph,
+	                                                         final ContentEncoding contentEncoding,
+	                                                         final int bufferSize) throws DMPControllerException {
+
 		final Response responseToRequester;
 
 		switch (responseFromGraph.getStatus()) {
@@ -102,8 +144,7 @@ public final class ExportUtils {
 
 				final String contenDispositionValue = "attachment; filename*=UTF-8''dmp_export.xml";
 
-				responseToRequester = Response.ok(result, responseFromGraph.getMediaType())
-						.header(ExportUtils.CONTENT_DISPOSITION, contenDispositionValue).build();
+				responseToRequester = buildResponse(result, responseFromGraph.getMediaType(), contenDispositionValue, contentEncoding, bufferSize);
 				break;
 
 			case HttpStatus.SC_NOT_ACCEPTABLE:
@@ -119,4 +160,38 @@ public final class ExportUtils {
 		return responseToRequester;
 	}
 
+	private static Response buildResponse(final InputStream result,
+	                                      final MediaType mediaType,
+	                                      final String contentDispositionValue,
+	                                      final ContentEncoding contentEncoding,
+	                                      final int bufferSize) {
+
+		if (contentEncoding.isIdentity()) {
+
+			return Response.ok(result, mediaType)
+					.header(ExportUtils.CONTENT_DISPOSITION, contentDispositionValue)
+					.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING).build();
+		}
+
+		final StreamingOutput encodedResult = os -> {
+
+			try (final InputStream in = result;
+			     final OutputStream encodedOS = contentEncoding.wrap(os, bufferSize)) {
+
+				final byte[] buffer = new byte[bufferSize];
+
+				int read;
+
+				while ((read = in.read(buffer)) != -1) {
+
+					encodedOS.write(buffer, 0, read);
+				}
+			}
+		};
+
+		return Response.ok(encodedResult, mediaType)
+				.header(ExportUtils.CONTENT_DISPOSITION, contentDispositionValue)
+				.header(HttpHeaders.CONTENT_ENCODING, contentEncoding.getName())
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING).build();
+	}
 }
@@ -20,6 +20,7 @@ import javax.inject.Provider;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.dswarm.controller.resources.BasicDMPResource;
+import org.dswarm.converter.flow.MorphScriptCache;
 import org.dswarm.persistence.model.schema.AttributePathInstance;
 import org.dswarm.persistence.model.schema.proxy.ProxyAttributePathInstance;
 import org.dswarm.persistence.service.schema.AttributePathInstanceService;
@@ -43,12 +44,14 @@ public abstract class AttributePathInstancesResource<POJOCLASSPERSISTENCESERVICE
 	 * @param pojoClassArg                  a concrete POJO class
 	 * @param persistenceServiceProviderArg the concrete persistence service that is related to the concrete POJO class
 	 * @param objectMapperProviderArg       an object mapper
+	 * @param morphScriptCacheArg           the cache of the generated Metamorph scripts
 	 */
 	public AttributePathInstancesResource(final Class<POJOCLASS> pojoClassArg,
 	                                      final Provider<POJOCLASSPERSISTENCESERVICE> persistenceServiceProviderArg,
-	                                      final Provider<ObjectMapper> objectMapperProviderArg) {
+	                                      final Provider<ObjectMapper> objectMapperProviderArg,
+	                                      final MorphScriptCache morphScriptCacheArg) {
 
-		super(pojoClassArg, persistenceServiceProviderArg, objectMapperProviderArg);
+		super(pojoClassArg, persistenceServiceProviderArg, objectMapperProviderArg, morphScriptCacheArg);
 	}
 
 	/**
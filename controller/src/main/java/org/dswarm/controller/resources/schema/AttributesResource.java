@@ -38,6 +38,7 @@ import com.wordnik.swagger.annotations.ApiResponses;
 
 import org.dswarm.controller.DMPControllerException;
 import org.dswarm.controller.resources.AdvancedDMPResource;
+import org.dswarm.converter.flow.MorphScriptCache;
 import org.dswarm.persistence.model.schema.Attribute;
 import org.dswarm.persistence.model.schema.proxy.ProxyAttribute;
 import org.dswarm.persistence.service.schema.AttributeService;
@@ -58,13 +59,15 @@ public class AttributesResource extends AdvancedDMPResource<AttributeService, Pr
 	 *
 	 * @param persistenceServiceProviderArg
 	 * @param objectMapperProviderArg
+	 * @param morphScriptCacheArg
 	 */
 	@Inject
 	public AttributesResource(final Provider<AttributeService> persistenceServiceProviderArg,
-			final Provider<ObjectMapper> objectMapperProviderArg)
+			final Provider<ObjectMapper> objectMapperProviderArg,
+			final MorphScriptCache morphScriptCacheArg)
 			throws DMPControllerException {
 
-		super(Attribute.class, persistenceServiceProviderArg, objectMapperProviderArg);
+		super(Attribute.class, persistenceServiceProviderArg, objectMapperProviderArg, morphScriptCacheArg);
 	}
 
 	/**
@@ -53,6 +53,7 @@ import org.slf4j.LoggerFactory;
 
 import org.dswarm.controller.DMPControllerException;
 import org.dswarm.controller.resources.BasicDMPResource;
+import org.dswarm.converter.flow.MorphScriptCache;
 import org.dswarm.persistence.DMPPersistenceException;
 import org.dswarm.persistence.model.schema.Attribute;
 import org.dswarm.persistence.model.schema.AttributePath;
@@ -94,16 +95,18 @@ public class SchemasResource extends BasicDMPResource<SchemaService, ProxySchema
 	 * @param attributePathServiceProviderArg
 	 * @param schemaAttributePathInstanceServiceProviderArg
 	 * @param objectMapperProviderArg                       an object mapper
+	 * @param morphScriptCacheArg                           the cache of the generated Metamorph scripts
 	 * @throws DMPControllerException
 	 */
 	@Inject
 	public SchemasResource(final Provider<SchemaService> persistenceServiceProviderArg, final Provider<AttributeService> attributeServiceProviderArg,
 			final Provider<AttributePathService> attributePathServiceProviderArg,
 			final Provider<SchemaAttributePathInstanceService> schemaAttributePathInstanceServiceProviderArg,
-			final Provider<ObjectMapper> objectMapperProviderArg)
+			final Provider<ObjectMapper> objectMapperProviderArg,
+			final MorphScriptCache morphScriptCacheArg)
 			throws DMPControllerException {
 
-		super(Schema.class, persistenceServiceProviderArg, objectMapperProviderArg);
+		super(Schema.class, persistenceServiceProviderArg, objectMapperProviderArg, morphScriptCacheArg);
 
 		attributeServiceProvider = attributeServiceProviderArg;
 		attributePathServiceProvider = attributePathServiceProviderArg;
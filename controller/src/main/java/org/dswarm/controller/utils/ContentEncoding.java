@@ -0,0 +1,249 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.controller.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.ws.rs.core.HttpHeaders;
+
+/**
+ * The content encodings (streaming compression) that are supported for export responses, i.e., they can be negotiated via
+ * {@value HttpHeaders#ACCEPT_ENCODING} or selected explicitly.
+ *
+ * @author tgaengler
+ */
+public enum ContentEncoding {
+
+	GZIP("gzip"),
+
+	/**
+	 * note: HTTP "deflate" is the zlib format (as produced by a {@link DeflaterOutputStream} with default {@link Deflater})
+	 */
+	DEFLATE("deflate"),
+
+	IDENTITY("identity");
+
+	private static final String WILDCARD = "*";
+
+	private static final String QUALITY_PARAMETER = "q";
+
+	private final String name;
+
+	ContentEncoding(final String nameArg) {
+
+		name = nameArg;
+	}
+
+	/**
+	 * @return the name of this content encoding as it is utilised in HTTP headers
+	 */
+	public String getName() {
+
+		return name;
+	}
+
+	public boolean isIdentity() {
+
+		return IDENTITY.equals(this);
+	}
+
+	/**
+	 * Wraps the given output stream, so that everything written to the returned output stream will be encoded (compressed) with this
+	 * content encoding. Note: the returned stream needs to be closed to finish the encoding.
+	 *
+	 * @param outputStream the output stream that should receive the encoded content
+	 * @param bufferSize   the size of the (compression) buffer
+	 * @return the encoding output stream
+	 * @throws IOException
+	 */
+	public OutputStream wrap(final OutputStream outputStream, final int bufferSize) throws IOException {
+
+		switch (this) {
+
+			case GZIP:
+
+				return new GZIPOutputStream(outputStream, bufferSize);
+			case DEFLATE:
+
+				return new DeflaterOutputStream(outputStream, new Deflater(), bufferSize);
+			default:
+
+				return outputStream;
+		}
+	}
+
+	/**
+	 * @param name the name of a content encoding, e.g., "gzip"
+	 * @return the content encoding for the given name, if it is supported
+	 */
+	public static Optional<ContentEncoding> fromName(final String name) {
+
+		if (name == null) {
+
+			return Optional.empty();
+		}
+
+		final String normalizedName = name.trim().toLowerCase(Locale.ENGLISH);
+
+		for (final ContentEncoding contentEncoding : values()) {
+
+			if (contentEncoding.name.equals(normalizedName)) {
+
+				return Optional.of(contentEncoding);
+			}
+		}
+
+		return Optional.empty();
+	}
+
+	/**
+	 * @param optionalRequestedEncoding an explicitly requested content encoding (e.g. a download option)
+	 * @return true, if no content encoding was requested explicitly (or an empty one) or if the requested content encoding is supported
+	 */
+	public static boolean isSupported(final Optional<String> optionalRequestedEncoding) {
+
+		return !isRequested(optionalRequestedEncoding) || fromName(optionalRequestedEncoding.get()).isPresent();
+	}
+
+	/**
+	 * @param requestedEncoding an explicitly requested content encoding that is not supported
+	 * @return a message that describes that the requested content encoding is not supported
+	 */
+	public static String getUnsupportedMessage(final String requestedEncoding) {
+
+		return String.format("content encoding '%s' is not supported, i.e., it must be either '%s', '%s' or '%s'", requestedEncoding, GZIP.name,
+				DEFLATE.name, IDENTITY.name);
+	}
+
+	/**
+	 * Determines the content encoding for a response. An explicitly requested content encoding takes precedence over the
+	 * {@value HttpHeaders#ACCEPT_ENCODING} header values (it needs to be supported; see {@link #isSupported(Optional)}).
+	 * Otherwise, the content encoding with the highest quality value will be taken (on equal quality: gzip before deflate before identity).
+	 * The wildcard ("*") applies to all content encodings that are not listed (incl. identity). Identity is the fall back, i.e., it will
+	 * also be taken, if no content encoding is acceptable (e.g. "identity;q=0" only; cf. RFC 7231, section 5.3.4).
+	 *
+	 * @param optionalRequestedEncoding an explicitly requested content encoding (e.g. a download option)
+	 * @param acceptEncodingValues      the values of the {@value HttpHeaders#ACCEPT_ENCODING} header (can be null)
+	 * @return the content encoding for the response
+	 * @throws IllegalArgumentException if the explicitly requested content encoding is not supported
+	 */
+	public static ContentEncoding negotiate(final Optional<String> optionalRequestedEncoding,
+	                                        final List<String> acceptEncodingValues) {
+
+		if (isRequested(optionalRequestedEncoding)) {
+
+			return fromName(optionalRequestedEncoding.get())
+					.orElseThrow(() -> new IllegalArgumentException(getUnsupportedMessage(optionalRequestedEncoding.get())));
+		}
+
+		if (acceptEncodingValues == null) {
+
+			return IDENTITY;
+		}
+
+		// quality values of the explicitly listed content encodings + of the wildcard (applies to all content encodings that are not listed)
+		final Map<ContentEncoding, Double> qualities = new EnumMap<>(ContentEncoding.class);
+		Optional<Double> optionalWildcardQuality = Optional.empty();
+
+		for (final String acceptEncodingValue : acceptEncodingValues) {
+
+			if (acceptEncodingValue == null) {
+
+				continue;
+			}
+
+			for (final String coding : acceptEncodingValue.split(",")) {
+
+				final String[] codingParts = coding.split(";");
+				final String codingName = codingParts[0].trim().toLowerCase(Locale.ENGLISH);
+				final double quality = determineQuality(codingParts);
+
+				if (WILDCARD.equals(codingName)) {
+
+					optionalWildcardQuality = Optional.of(quality);
+
+					continue;
+				}
+
+				final Optional<ContentEncoding> optionalContentEncoding = fromName(codingName);
+
+				if (optionalContentEncoding.isPresent()) {
+
+					qualities.put(optionalContentEncoding.get(), quality);
+				}
+			}
+		}
+
+		ContentEncoding bestContentEncoding = IDENTITY;
+		double bestQuality = 0.0;
+
+		// note: values are in order of preference, i.e., on equal quality the first content encoding wins
+		for (final ContentEncoding contentEncoding : values()) {
+
+			final Double listedQuality = qualities.get(contentEncoding);
+			final double quality = listedQuality != null ? listedQuality : optionalWildcardQuality.orElse(0.0);
+
+			if (quality > bestQuality) {
+
+				bestContentEncoding = contentEncoding;
+				bestQuality = quality;
+			}
+		}
+
+		return bestContentEncoding;
+	}
+
+	private static boolean isRequested(final Optional<String> optionalRequestedEncoding) {
+
+		return optionalRequestedEncoding.isPresent() && !optionalRequestedEncoding.get().trim().isEmpty();
+	}
+
+	/**
+	 * @param codingParts a content coding of the {@value HttpHeaders#ACCEPT_ENCODING} header, split at ';'
+	 * @return the quality value of the content coding (1.0, if there is none; 0.0, if it is invalid)
+	 */
+	private static double determineQuality(final String[] codingParts) {
+
+		for (int i = 1; i < codingParts.length; i++) {
+
+			final String[] parameter = codingParts[i].split("=", 2);
+
+			if (parameter.length == 2 && QUALITY_PARAMETER.equalsIgnoreCase(parameter[0].trim())) {
+
+				try {
+
+					final double quality = Double.parseDouble(parameter[1].trim());
+
+					return Double.isNaN(quality) ? 0.0 : Math.max(0.0, Math.min(1.0, quality));
+				} catch (final NumberFormatException e) {
+
+					return 0.0;
+				}
+			}
+		}
+
+		return 1.0;
+	}
+}
@@ -17,10 +17,17 @@ package org.dswarm.controller.utils;
 
 import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.UUID;
 
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import org.slf4j.Logger;
@@ -39,6 +46,14 @@ public final class DMPControllerUtils {
 
 	private static final Logger LOG = LoggerFactory.getLogger(DMPControllerUtils.class);
 	private static final int BUFFER_SIZE = 1024;
+	private static final int CONTENT_BUFFER_SIZE = 65536;
+
+	private static final String UPLOAD_FILE_SUFFIX = ".upload";
+
+	/**
+	 * the name of a stored file in the content-addressed store, i.e., independent from the name of the uploaded file
+	 */
+	private static final String CONTENT_FILE_NAME = "content";
 
 	private final DMPUtil dmpUtil;
 
@@ -88,4 +103,141 @@ public final class DMPControllerUtils {
 			throw new DMPControllerException(String.format("couldn't write input stream to file '%s'\n%s", fileName, e.getMessage()));
 		}
 	}
+
+	/**
+	 * Writes a given input source stream into a content-addressed store at the given directory postfix (relative file path), i.e.,
+	 * the SHA-256 digest of the content will be calculated while writing and the file will be stored at
+	 * {directory postfix}/{digest}/content. If a file with the same content is already stored, the existing file will be reused
+	 * (and the freshly written copy will be removed). Note: the stored file doesn't carry the name of the uploaded file, i.e., metadata
+	 * that depends on the file name needs to be derived from the given file name.
+	 *
+	 * @param source the input source stream
+	 * @param fileName the file name (of the upload)
+	 * @param directoryPostFix the directory postfix (relative file path)
+	 * @return the stored file incl. its content digest and size
+	 * @throws DMPControllerException
+	 */
+	public StoredFile writeToContentAddressedFile(final InputStream source, final String fileName, final String directoryPostFix)
+			throws DMPControllerException {
+
+		if (source == null) {
+
+			final String message = "couldn't write input stream to file, because the input stream is not available";
+
+			DMPControllerUtils.LOG.error(message);
+
+			throw new DMPControllerException(message);
+		}
+
+		Path uploadFile = null;
+
+		try {
+
+			uploadFile = dmpUtil.createLocalTmpFile(UUID.randomUUID() + UPLOAD_FILE_SUFFIX, directoryPostFix).toPath();
+
+			final long size;
+			final String digest;
+
+			try (final HashingInputStream his = new HashingInputStream(Hashing.sha256(), new BufferedInputStream(source, CONTENT_BUFFER_SIZE))) {
+
+				size = Files.copy(his, uploadFile, StandardCopyOption.REPLACE_EXISTING);
+				digest = his.hash().toString();
+			}
+
+			final Path contentDirectory = dmpUtil.createLocalTmpFile(digest, directoryPostFix).toPath();
+			final Path storedFile = contentDirectory.resolve(CONTENT_FILE_NAME);
+
+			if (Files.isRegularFile(storedFile)) {
+
+				DMPControllerUtils.LOG.debug("content of file '{}' is already stored at '{}'; will reuse it", fileName, storedFile);
+
+				Files.deleteIfExists(uploadFile);
+
+				return new StoredFile(storedFile.toFile(), digest, size);
+			}
+
+			Files.createDirectories(contentDirectory);
+
+			try {
+
+				// note: an atomic move replaces a file that has been stored concurrently, i.e., a file with the same content
+				moveFile(uploadFile, storedFile);
+			} catch (final FileAlreadyExistsException e) {
+
+				// note: the same content has been stored concurrently
+				Files.deleteIfExists(uploadFile);
+			}
+
+			return new StoredFile(storedFile.toFile(), digest, size);
+		} catch (final Exception e) {
+
+			DMPControllerUtils.LOG.error("couldn't write input stream to file '{}'", fileName, e);
+
+			deleteQuietly(uploadFile);
+
+			throw new DMPControllerException(String.format("couldn't write input stream to file '%s'\n%s", fileName, e.getMessage()));
+		}
+	}
+
+	private static void moveFile(final Path source, final Path target) throws IOException {
+
+		try {
+
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+		} catch (final AtomicMoveNotSupportedException e) {
+
+			Files.move(source, target);
+		}
+	}
+
+	private static void deleteQuietly(final Path file) {
+
+		if (file == null) {
+
+			return;
+		}
+
+		try {
+
+			Files.deleteIfExists(file);
+		} catch (final IOException e) {
+
+			DMPControllerUtils.LOG.debug("couldn't delete file '{}'", file, e);
+		}
+	}
+
+	/**
+	 * A file of the content-addressed store.
+	 */
+	public static final class StoredFile {
+
+		private final File   file;
+		private final String digest;
+		private final long   size;
+
+		private StoredFile(final File file, final String digest, final long size) {
+
+			this.file = file;
+			this.digest = digest;
+			this.size = size;
+		}
+
+		public File getFile() {
+
+			return file;
+		}
+
+		/**
+		 * @return the (lower case, hex-encoded) SHA-256 digest of the file content
+		 */
+		public String getDigest() {
+
+			return digest;
+		}
+
+		public long getSize() {
+
+			return size;
+		}
+	}
 }
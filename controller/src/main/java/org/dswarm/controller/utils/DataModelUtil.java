@@ -81,6 +81,7 @@ public class DataModelUtil {
 	private final Provider<CSVConverterEventRecorder> csvConverterEventRecorderProvider;
 	private final Provider<XMLConverterEventRecorder> xmlConvertEventRecorderProvider;
 	private final Provider<JSONConverterEventRecorder> jsonConvertEventRecorderProvider;
+	private final IngestResultCache ingestResultCache;
 
 	@Inject
 	public DataModelUtil(final ObjectMapper objectMapper,
@@ -90,7 +91,8 @@ public class DataModelUtil {
 	                     final Provider<SchemaEventRecorder> schemaEventRecorderProviderArg,
 	                     final Provider<CSVConverterEventRecorder> csvConverterEventRecorderProviderArg,
 	                     final Provider<XMLConverterEventRecorder> xmlConverterEventRecorderProviderArg,
-	                     final Provider<JSONConverterEventRecorder> jsonConverterEventRecorderProviderArg) {
+	                     final Provider<JSONConverterEventRecorder> jsonConverterEventRecorderProviderArg,
+	                     final IngestResultCache ingestResultCacheArg) {
 
 		this.objectMapper = objectMapper;
 		this.resourceServiceProvider = resourceServiceProvider;
@@ -100,6 +102,7 @@ public class DataModelUtil {
 		csvConverterEventRecorderProvider = csvConverterEventRecorderProviderArg;
 		xmlConvertEventRecorderProvider = xmlConverterEventRecorderProviderArg;
 		jsonConvertEventRecorderProvider = jsonConverterEventRecorderProviderArg;
+		ingestResultCache = ingestResultCacheArg;
 	}
 
 	/**
@@ -434,6 +437,23 @@ public class DataModelUtil {
 
 		final String storageType = jsStorageType.asText();
 
+		// note: the ingest result can only be replayed, if the schema of the data model won't be (re-)determined at ingest
+		final Optional<String> optionalIngestResultCacheKey = utiliseExistingInputSchema ?
+				ingestResultCache.determineKey(dataModel) :
+				Optional.empty();
+
+		if (optionalIngestResultCacheKey.isPresent()) {
+
+			final Optional<Observable<GDMModel>> optionalCachedIngestResult = ingestResultCache.replay(optionalIngestResultCacheKey.get(), scheduler);
+
+			if (optionalCachedIngestResult.isPresent()) {
+
+				DataModelUtil.LOG.debug("replay cached ingest result for data model with id '{}'", dataModel.getUuid());
+
+				return optionalCachedIngestResult.get();
+			}
+		}
+
 		if (!utiliseExistingInputSchema) {
 
 			try {
@@ -486,7 +506,11 @@ public class DataModelUtil {
 				modelObservable = Observable.empty();
 		}
 
-		return modelObservable.cast(org.dswarm.persistence.model.internal.gdm.GDMModel.class);
+		final Observable<GDMModel> gdmModelObservable = modelObservable.cast(org.dswarm.persistence.model.internal.gdm.GDMModel.class);
+
+		return optionalIngestResultCacheKey
+				.map(ingestResultCacheKey -> ingestResultCache.record(ingestResultCacheKey, gdmModelObservable))
+				.orElse(gdmModelObservable);
 	}
 
 	public Observable<Tuple2<String, JsonNode>> mapToMappingInput(final Observable<GDMModel> modelObservable) {
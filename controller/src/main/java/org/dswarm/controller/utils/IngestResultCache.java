@@ -0,0 +1,581 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.controller.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.RatioGauge;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Observable;
+import rx.Scheduler;
+
+import org.dswarm.init.util.DMPUtil;
+import org.dswarm.persistence.model.internal.gdm.GDMModel;
+import org.dswarm.persistence.model.internal.gdm.binary.GDMBinaryReader;
+import org.dswarm.persistence.model.internal.gdm.binary.GDMBinaryWriter;
+import org.dswarm.persistence.model.resource.Configuration;
+import org.dswarm.persistence.model.resource.DataModel;
+import org.dswarm.persistence.model.resource.utils.ResourceStatics;
+import org.dswarm.persistence.model.schema.Schema;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A persistent (on-disk), size-bounded cache of ingest results, i.e., of the GDM records that were converted from a data resource. A
+ * cache entry is keyed by the content digest of the data resource (see {@link ResourceStatics#CONTENT_DIGEST}), the configuration
+ * parameters and the schema of the data model. Hence, a later ingest of the same data resource with the same configuration can be
+ * replayed from disk instead of parsing the data resource again.<br/>
+ * Cache entries will be written while the ingest result is consumed and will only become visible, when the ingest completed successfully.
+ * Least recently used entries will be evicted, when the cache exceeds its maximum size. Temporary files of cache entries that are not
+ * written anymore (e.g. left over by a crashed instance) will be removed at the first access of the cache directory and at eviction, i.e.,
+ * the cache directory is assumed to be owned by one instance.
+ *
+ * @author tgaengler
+ */
+@Singleton
+public class IngestResultCache implements MetricSet {
+
+	private static final Logger LOG = LoggerFactory.getLogger(IngestResultCache.class);
+
+	private static final String METRICS_PREFIX = "dswarm.converter.ingest-cache";
+
+	private static final String CACHE_DIRECTORY_POSTFIX = "ingest-cache";
+	private static final String CACHE_FILE_SUFFIX       = ".gdm";
+	private static final String TMP_FILE_SUFFIX         = ".tmp";
+
+	private static final int BUFFER_SIZE = 65536;
+
+	// note: this version needs to be incremented, whenever the format of the cache entries changes
+	private static final int FORMAT_VERSION = 2;
+
+	private static final String NONE = "none";
+
+	private final boolean enabled;
+	private final long    maxSize;
+	private final DMPUtil dmpUtil;
+
+	private final LongAdder hits      = new LongAdder();
+	private final LongAdder misses    = new LongAdder();
+	private final LongAdder writes    = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	// temporary files of cache entries that are currently written
+	private final Set<Path>     pendingTmpFiles = ConcurrentHashMap.newKeySet();
+	private final AtomicBoolean swept           = new AtomicBoolean(false);
+
+	@Inject
+	public IngestResultCache(@Named("dswarm.converter.ingest-cache.enabled") final boolean enabled,
+	                         @Named("dswarm.converter.ingest-cache.max-size") final long maxSize,
+	                         final DMPUtil dmpUtil,
+	                         final MetricRegistry registry) {
+
+		this.enabled = enabled;
+		this.maxSize = maxSize;
+		this.dmpUtil = dmpUtil;
+
+		registerMetrics(registry);
+	}
+
+	/**
+	 * Determines the cache key for the ingest of the given data model, i.e., a digest of the content digest of the data resource, the
+	 * configuration parameters and the schema of the data model.
+	 *
+	 * @param dataModel the data model that should be ingested
+	 * @return the cache key or nothing, if the cache is disabled or the content digest of the data resource is not available
+	 */
+	public Optional<String> determineKey(final DataModel dataModel) {
+
+		if (!enabled || dataModel == null || dataModel.getDataResource() == null || dataModel.getConfiguration() == null) {
+
+			return Optional.empty();
+		}
+
+		final JsonNode contentDigestNode = dataModel.getDataResource().getAttribute(ResourceStatics.CONTENT_DIGEST);
+
+		if (contentDigestNode == null) {
+
+			LOG.debug("no content digest available for data resource '{}'; cannot utilise ingest result cache", dataModel.getDataResource().getUuid());
+
+			return Optional.empty();
+		}
+
+		final Hasher hasher = Hashing.sha256().newHasher()
+				.putInt(FORMAT_VERSION)
+				.putString(contentDigestNode.asText(), StandardCharsets.UTF_8)
+				.putChar('\n')
+				.putString(dataModel.getUuid(), StandardCharsets.UTF_8)
+				.putChar('\n');
+
+		// note: parameters will be hashed in key order to be independent from their insertion order
+		final Configuration configuration = dataModel.getConfiguration();
+		final ObjectNode parameters = configuration.getParameters();
+
+		if (parameters != null) {
+
+			final Map<String, String> sortedParameters = new TreeMap<>();
+			parameters.fields().forEachRemaining(parameter -> sortedParameters.put(parameter.getKey(), parameter.getValue().toString()));
+
+			sortedParameters.forEach((key, value) -> hasher.putString(key, StandardCharsets.UTF_8)
+					.putChar('=')
+					.putString(value, StandardCharsets.UTF_8)
+					.putChar('\n'));
+		}
+
+		final Schema schema = dataModel.getSchema();
+
+		hasher.putString(schema != null && schema.getUuid() != null ? schema.getUuid() : NONE, StandardCharsets.UTF_8);
+
+		return Optional.of(hasher.hash().toString());
+	}
+
+	/**
+	 * Replays the cached ingest result with the given key (if available).
+	 *
+	 * @param key       the cache key
+	 * @param scheduler the scheduler where the cached ingest result should be read
+	 * @return the cached ingest result or nothing, if there is no cache entry for the given key
+	 */
+	public Optional<Observable<GDMModel>> replay(final String key, final Scheduler scheduler) {
+
+		final Path cacheFile;
+
+		try {
+
+			cacheFile = getCacheFile(key);
+		} catch (final IOException e) {
+
+			LOG.warn("couldn't access ingest result cache", e);
+
+			return Optional.empty();
+		}
+
+		if (!Files.isRegularFile(cacheFile)) {
+
+			misses.increment();
+
+			LOG.debug("ingest result cache miss for key '{}'", key);
+
+			return Optional.empty();
+		}
+
+		hits.increment();
+
+		LOG.debug("ingest result cache hit for key '{}'; replay ingest result from '{}'", key, cacheFile);
+
+		// note: the modification time marks the last utilisation of an entry (for eviction)
+		touch(cacheFile);
+
+		final Observable<GDMModel> records = Observable.using(
+				() -> openCacheFile(cacheFile),
+				reader -> Observable.from(() -> reader),
+				IngestResultCache::closeQuietly);
+
+		return Optional.of(records.subscribeOn(scheduler));
+	}
+
+	/**
+	 * Records the given ingest result under the given key while it is consumed. The cache entry will only be stored, when the ingest
+	 * result completes successfully. Failures at writing the cache entry won't affect the ingest result itself.
+	 *
+	 * @param key     the cache key
+	 * @param records the ingest result
+	 * @return the ingest result that will be recorded while it is consumed
+	 */
+	public Observable<GDMModel> record(final String key, final Observable<GDMModel> records) {
+
+		return Observable.defer(() -> {
+
+			final CacheEntryWriter writer = new CacheEntryWriter(key);
+
+			return records.doOnNext(writer::write)
+					.doOnCompleted(writer::commit)
+					.doOnError(e -> writer.discard())
+					.doOnUnsubscribe(writer::discard);
+		});
+	}
+
+	@Override
+	public Map<String, Metric> getMetrics() {
+
+		final Map<String, Metric> metrics = new HashMap<>();
+
+		metrics.put(name(METRICS_PREFIX, "hits"), (Gauge<Long>) hits::sum);
+		metrics.put(name(METRICS_PREFIX, "misses"), (Gauge<Long>) misses::sum);
+		metrics.put(name(METRICS_PREFIX, "writes"), (Gauge<Long>) writes::sum);
+		metrics.put(name(METRICS_PREFIX, "evictions"), (Gauge<Long>) evictions::sum);
+		metrics.put(name(METRICS_PREFIX, "hit-ratio"), new RatioGauge() {
+
+			@Override
+			protected Ratio getRatio() {
+
+				final long currentHits = hits.sum();
+
+				return Ratio.of(currentHits, currentHits + misses.sum());
+			}
+		});
+
+		return metrics;
+	}
+
+	private void registerMetrics(final MetricRegistry registry) {
+
+		if (registry.getMetrics().containsKey(name(METRICS_PREFIX, "hits"))) {
+
+			return;
+		}
+
+		try {
+
+			registry.registerAll(this);
+		} catch (final IllegalArgumentException e) {
+
+			// metrics were registered concurrently
+			LOG.trace("ingest result cache metrics are already registered", e);
+		}
+	}
+
+	private Path getCacheFile(final String key) throws IOException {
+
+		return getCacheFile(key, CACHE_FILE_SUFFIX);
+	}
+
+	private Path getCacheFile(final String name, final String suffix) throws IOException {
+
+		final Path cacheFile;
+
+		try {
+
+			cacheFile = dmpUtil.createLocalTmpFile(name + suffix, CACHE_DIRECTORY_POSTFIX).toPath();
+		} catch (final Exception e) {
+
+			throw new IOException("couldn't determine ingest result cache directory", e);
+		}
+
+		if (swept.compareAndSet(false, true)) {
+
+			sweep(cacheFile.getParent());
+		}
+
+		return cacheFile;
+	}
+
+	/**
+	 * Removes temporary files of cache entries that are not written anymore, e.g., left overs of interrupted ingests or crashed instances.
+	 */
+	private void sweep(final Path cacheDirectory) {
+
+		try (final DirectoryStream<Path> files = Files.newDirectoryStream(cacheDirectory, "*" + TMP_FILE_SUFFIX)) {
+
+			for (final Path file : files) {
+
+				if (pendingTmpFiles.contains(file)) {
+
+					continue;
+				}
+
+				try {
+
+					Files.deleteIfExists(file);
+
+					LOG.debug("removed stale temporary ingest result cache entry '{}'", file);
+				} catch (final IOException e) {
+
+					LOG.warn("couldn't remove stale temporary ingest result cache entry '{}'", file, e);
+				}
+			}
+		} catch (final IOException e) {
+
+			LOG.warn("couldn't sweep temporary files of ingest result cache at '{}'", cacheDirectory, e);
+		}
+	}
+
+	/**
+	 * Removes least recently used cache entries until the cache doesn't exceed its maximum size anymore.
+	 */
+	private synchronized void evict(final Path cacheDirectory) {
+
+		sweep(cacheDirectory);
+
+		final List<Path> cacheFiles = new ArrayList<>();
+		long cacheSize = 0;
+
+		try (final DirectoryStream<Path> files = Files.newDirectoryStream(cacheDirectory, "*" + CACHE_FILE_SUFFIX)) {
+
+			for (final Path file : files) {
+
+				cacheFiles.add(file);
+				cacheSize += Files.size(file);
+			}
+		} catch (final IOException e) {
+
+			LOG.warn("couldn't determine size of ingest result cache at '{}'", cacheDirectory, e);
+
+			return;
+		}
+
+		if (cacheSize <= maxSize) {
+
+			return;
+		}
+
+		cacheFiles.sort(Comparator.comparing(IngestResultCache::getLastModifiedTime));
+
+		for (final Path file : cacheFiles) {
+
+			if (cacheSize <= maxSize) {
+
+				break;
+			}
+
+			try {
+
+				final long fileSize = Files.size(file);
+
+				Files.deleteIfExists(file);
+
+				cacheSize -= fileSize;
+				evictions.increment();
+
+				LOG.debug("evicted ingest result cache entry '{}' ('{}' bytes)", file, fileSize);
+			} catch (final IOException e) {
+
+				LOG.warn("couldn't evict ingest result cache entry '{}'", file, e);
+			}
+		}
+	}
+
+	private static FileTime getLastModifiedTime(final Path file) {
+
+		try {
+
+			return Files.getLastModifiedTime(file);
+		} catch (final IOException e) {
+
+			return FileTime.fromMillis(0);
+		}
+	}
+
+	private static void touch(final Path file) {
+
+		try {
+
+			Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+		} catch (final IOException e) {
+
+			LOG.debug("couldn't update modification time of ingest result cache entry '{}'", file, e);
+		}
+	}
+
+	private static GDMBinaryReader openCacheFile(final Path cacheFile) {
+
+		try {
+
+			return new GDMBinaryReader(new BufferedInputStream(Files.newInputStream(cacheFile), BUFFER_SIZE));
+		} catch (final IOException e) {
+
+			throw new IllegalStateException(String.format("couldn't open ingest result cache entry '%s'", cacheFile), e);
+		}
+	}
+
+	private static void closeQuietly(final GDMBinaryReader reader) {
+
+		try {
+
+			reader.close();
+		} catch (final IOException e) {
+
+			LOG.debug("couldn't close ingest result cache entry", e);
+		}
+	}
+
+	/**
+	 * Writes the records of one ingest result into a temporary file that will be moved to its final location at commit.
+	 */
+	private final class CacheEntryWriter {
+
+		private final String key;
+
+		private Path            tmpFile;
+		private OutputStream    out;
+		private GDMBinaryWriter writer;
+		private boolean         failed;
+		private boolean         done;
+
+		private CacheEntryWriter(final String key) {
+
+			this.key = key;
+		}
+
+		private synchronized void write(final GDMModel gdmModel) {
+
+			if (failed || done) {
+
+				return;
+			}
+
+			try {
+
+				open();
+
+				writer.write(gdmModel);
+			} catch (final IOException | RuntimeException e) {
+
+				LOG.warn("couldn't write ingest result cache entry for key '{}'; ingest result won't be cached", key, e);
+
+				failed = true;
+
+				cleanUp();
+			}
+		}
+
+		private synchronized void commit() {
+
+			if (failed || done) {
+
+				return;
+			}
+
+			done = true;
+
+			try {
+
+				// note: an empty ingest result will be cached as well
+				open();
+
+				writer.close();
+				writer = null;
+				out.close();
+				out = null;
+
+				final Path cacheFile = getCacheFile(key);
+
+				try {
+
+					Files.move(tmpFile, cacheFile, StandardCopyOption.ATOMIC_MOVE);
+				} catch (final AtomicMoveNotSupportedException e) {
+
+					Files.move(tmpFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+				}
+
+				pendingTmpFiles.remove(tmpFile);
+				tmpFile = null;
+
+				writes.increment();
+
+				LOG.debug("stored ingest result cache entry for key '{}' at '{}'", key, cacheFile);
+
+				evict(cacheFile.getParent());
+			} catch (final IOException | RuntimeException e) {
+
+				LOG.warn("couldn't store ingest result cache entry for key '{}'", key, e);
+
+				cleanUp();
+			}
+		}
+
+		private synchronized void discard() {
+
+			if (done) {
+
+				return;
+			}
+
+			done = true;
+
+			cleanUp();
+		}
+
+		private void open() throws IOException {
+
+			if (out != null) {
+
+				return;
+			}
+
+			tmpFile = getCacheFile(key + '.' + UUID.randomUUID(), TMP_FILE_SUFFIX);
+			pendingTmpFiles.add(tmpFile);
+
+			out = new BufferedOutputStream(Files.newOutputStream(tmpFile), BUFFER_SIZE);
+			writer = new GDMBinaryWriter(out);
+		}
+
+		private void cleanUp() {
+
+			writer = null;
+
+			if (out != null) {
+
+				try {
+
+					out.close();
+				} catch (final IOException e) {
+
+					LOG.debug("couldn't close ingest result cache entry for key '{}'", key, e);
+				}
+
+				out = null;
+			}
+
+			if (tmpFile != null) {
+
+				try {
+
+					Files.deleteIfExists(tmpFile);
+				} catch (final IOException e) {
+
+					LOG.debug("couldn't delete temporary ingest result cache entry '{}'", tmpFile, e);
+				}
+
+				pendingTmpFiles.remove(tmpFile);
+				tmpFile = null;
+			}
+		}
+	}
+}
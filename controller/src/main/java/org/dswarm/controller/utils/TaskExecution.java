@@ -0,0 +1,273 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.controller.utils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ws.rs.core.MediaType;
+
+/**
+ * A handle of a task execution that was submitted to the {@link TaskExecutionQueue}. It tracks the status and progress of the task
+ * execution and refers to the spool file, where the result of the task execution will be written to.
+ *
+ * @author tgaengler
+ */
+public final class TaskExecution {
+
+	public enum Status {
+
+		QUEUED,
+		RUNNING,
+		FINISHED,
+		FAILED,
+		CANCELLED;
+
+		/**
+		 * @return true, if a task execution with this status won't change its status anymore
+		 */
+		public boolean isTerminal() {
+
+			return this == FINISHED || this == FAILED || this == CANCELLED;
+		}
+	}
+
+	private final String          id;
+	private final String          taskUuid;
+	private final int             priority;
+	private final MediaType       mediaType;
+	private final ContentEncoding contentEncoding;
+	private final Path            spoolFile;
+	private final long            createdAt;
+
+	private final AtomicLong processedRecords = new AtomicLong(0);
+
+	private Status status = Status.QUEUED;
+	private long   startedAt;
+	private long   finishedAt;
+	private String errorMessage;
+
+	private final List<Runnable> cancellationHandlers = new ArrayList<>();
+
+	TaskExecution(final String idArg,
+	              final String taskUuidArg,
+	              final int priorityArg,
+	              final MediaType mediaTypeArg,
+	              final ContentEncoding contentEncodingArg,
+	              final Path spoolFileArg) {
+
+		id = idArg;
+		taskUuid = taskUuidArg;
+		priority = priorityArg;
+		mediaType = mediaTypeArg;
+		contentEncoding = contentEncodingArg;
+		spoolFile = spoolFileArg;
+		createdAt = System.currentTimeMillis();
+	}
+
+	public String getId() {
+
+		return id;
+	}
+
+	public String getTaskUuid() {
+
+		return taskUuid;
+	}
+
+	/**
+	 * @return the priority of this task execution (task executions with higher priorities will be started first)
+	 */
+	public int getPriority() {
+
+		return priority;
+	}
+
+	/**
+	 * @return the media type of the result of this task execution
+	 */
+	public MediaType getMediaType() {
+
+		return mediaType;
+	}
+
+	/**
+	 * @return the content encoding of the result (spool file) of this task execution
+	 */
+	public ContentEncoding getContentEncoding() {
+
+		return contentEncoding;
+	}
+
+	/**
+	 * @return the spool file of the result of this task execution (null for request-bound task executions, which respond directly)
+	 */
+	public Path getSpoolFile() {
+
+		return spoolFile;
+	}
+
+	public long getCreatedAt() {
+
+		return createdAt;
+	}
+
+	/**
+	 * @return the number of result records that were processed so far
+	 */
+	public long getProcessedRecords() {
+
+		return processedRecords.get();
+	}
+
+	public void incrementProcessedRecords() {
+
+		processedRecords.incrementAndGet();
+	}
+
+	public synchronized Status getStatus() {
+
+		return status;
+	}
+
+	public synchronized long getStartedAt() {
+
+		return startedAt;
+	}
+
+	public synchronized long getFinishedAt() {
+
+		return finishedAt;
+	}
+
+	public synchronized String getErrorMessage() {
+
+		return errorMessage;
+	}
+
+	/**
+	 * @return true, if this task execution was cancelled
+	 */
+	public synchronized boolean isCancelled() {
+
+		return status == Status.CANCELLED;
+	}
+
+	/**
+	 * Registers a handler that will be called, when this (running) task execution will be cancelled, e.g., to unsubscribe from the
+	 * processing of the task execution. The handler will be called immediately, if this task execution was already cancelled.
+	 *
+	 * @param handler the cancellation handler
+	 */
+	public void onCancel(final Runnable handler) {
+
+		synchronized (this) {
+
+			if (status != Status.CANCELLED) {
+
+				cancellationHandlers.add(handler);
+
+				return;
+			}
+		}
+
+		handler.run();
+	}
+
+	/**
+	 * Marks this task execution as running.
+	 *
+	 * @return false, if this task execution was cancelled before it could be started
+	 */
+	synchronized boolean start() {
+
+		if (status != Status.QUEUED) {
+
+			return false;
+		}
+
+		status = Status.RUNNING;
+		startedAt = System.currentTimeMillis();
+
+		return true;
+	}
+
+	synchronized boolean finish() {
+
+		return complete(Status.FINISHED);
+	}
+
+	synchronized boolean fail(final Throwable throwable) {
+
+		if (!complete(Status.FAILED)) {
+
+			return false;
+		}
+
+		errorMessage = throwable.getMessage();
+
+		return true;
+	}
+
+	/**
+	 * Cancels this task execution, i.e., a queued task execution won't be started anymore and the cancellation handlers of a running task
+	 * execution will be called (the worker thread won't be interrupted, since it might be in the middle of a database transaction).
+	 *
+	 * @return false, if this task execution was already completed
+	 */
+	boolean cancel() {
+
+		final List<Runnable> handlers;
+
+		synchronized (this) {
+
+			if (!complete(Status.CANCELLED)) {
+
+				return false;
+			}
+
+			handlers = new ArrayList<>(cancellationHandlers);
+			cancellationHandlers.clear();
+		}
+
+		handlers.forEach(Runnable::run);
+
+		return true;
+	}
+
+	/**
+	 * Releases the cancellation handlers, i.e., they won't be called by a later cancellation anymore.
+	 */
+	synchronized void detach() {
+
+		cancellationHandlers.clear();
+	}
+
+	private boolean complete(final Status newStatus) {
+
+		if (status.isTerminal()) {
+
+			return false;
+		}
+
+		status = newStatus;
+		finishedAt = System.currentTimeMillis();
+
+		return true;
+	}
+}
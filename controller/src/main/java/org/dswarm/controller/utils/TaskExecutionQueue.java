@@ -0,0 +1,473 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.controller.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.ws.rs.core.MediaType;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricSet;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.dswarm.controller.DMPControllerException;
+import org.dswarm.init.ExecutionScope;
+import org.dswarm.init.util.DMPUtil;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A queue for task executions. Task executions will be started in order of their priority (and in submission order within the same
+ * priority) by a bounded number of workers. Asynchronous task executions are decoupled from the request that submitted them, i.e., their
+ * result will be written into a spool file, which will be kept for the configured retention time after the task execution completed.
+ * Request-bound task executions respond to the request that submitted them; they occupy a worker until their response was written
+ * completely. They are processed by their own (bounded) workers, i.e., long-running asynchronous task executions cannot hold up
+ * request-bound ones (e.g. previews) and vice versa.
+ *
+ * @author tgaengler
+ */
+@Singleton
+public class TaskExecutionQueue implements MetricSet {
+
+	private static final Logger LOG = LoggerFactory.getLogger(TaskExecutionQueue.class);
+
+	private static final String METRICS_PREFIX = "dswarm.controller.task-execution";
+
+	private static final String SPOOL_DIRECTORY_POSTFIX = "task-executions";
+	private static final String SPOOL_FILE_SUFFIX       = ".spool";
+
+	private static final String DSWARM_TASK_EXECUTION_THREAD_NAMING_PATTERN               = "dswarm-task-execution-%d";
+	private static final String DSWARM_REQUEST_BOUND_TASK_EXECUTION_THREAD_NAMING_PATTERN = "dswarm-request-bound-task-execution-%d";
+
+	/**
+	 * The work of a task execution, i.e., the task execution itself that writes its result to the given output stream.
+	 */
+	@FunctionalInterface
+	public interface TaskExecutionWork {
+
+		void execute(final TaskExecution execution, final OutputStream os) throws DMPControllerException;
+	}
+
+	/**
+	 * The work of a request-bound task execution, i.e., the task execution itself that responds to the request that submitted it. The work
+	 * should return, when the response was written completely.
+	 */
+	@FunctionalInterface
+	public interface RequestBoundTaskExecutionWork {
+
+		void execute(final TaskExecution execution) throws DMPControllerException;
+	}
+
+	private final long           maxQueued;
+	private final long           retention;
+	private final DMPUtil        dmpUtil;
+	private final ExecutionScope executionScope;
+
+	private final ThreadPoolExecutor         executor;
+	private final ThreadPoolExecutor         requestBoundExecutor;
+	private final Map<String, TaskExecution> executions = new ConcurrentHashMap<>();
+	private final AtomicLong                 sequence   = new AtomicLong(0);
+
+	private final LongAdder finished  = new LongAdder();
+	private final LongAdder failed    = new LongAdder();
+	private final LongAdder cancelled = new LongAdder();
+	private final LongAdder rejected  = new LongAdder();
+
+	@Inject
+	public TaskExecutionQueue(@Named("dswarm.task-execution.concurrency") final long concurrency,
+	                          @Named("dswarm.task-execution.request-bound-concurrency") final long requestBoundConcurrency,
+	                          @Named("dswarm.task-execution.max-queued") final long maxQueued,
+	                          @Named("dswarm.task-execution.retention") final long retention,
+	                          final DMPUtil dmpUtil,
+	                          final ExecutionScope executionScope,
+	                          final MetricRegistry registry) {
+
+		this.maxQueued = maxQueued;
+		this.retention = retention;
+		this.dmpUtil = dmpUtil;
+		this.executionScope = executionScope;
+
+		executor = createExecutor(concurrency, DSWARM_TASK_EXECUTION_THREAD_NAMING_PATTERN);
+		requestBoundExecutor = createExecutor(requestBoundConcurrency, DSWARM_REQUEST_BOUND_TASK_EXECUTION_THREAD_NAMING_PATTERN);
+
+		registerMetrics(registry);
+	}
+
+	/**
+	 * Submits an asynchronous task execution.
+	 *
+	 * @param taskUuid        the identifier of the task that should be executed
+	 * @param priority        the priority of the task execution (task executions with higher priorities will be started first)
+	 * @param mediaType       the media type of the result of the task execution
+	 * @param contentEncoding the content encoding of the result of the task execution
+	 * @param work            the task execution itself
+	 * @return the handle of the queued task execution or nothing, if the queue is full
+	 * @throws DMPControllerException
+	 */
+	public synchronized Optional<TaskExecution> submit(final String taskUuid,
+	                                                   final int priority,
+	                                                   final MediaType mediaType,
+	                                                   final ContentEncoding contentEncoding,
+	                                                   final TaskExecutionWork work) throws DMPControllerException {
+
+		evictExpired();
+
+		if (isFull(executor, taskUuid)) {
+
+			return Optional.empty();
+		}
+
+		final String id = UUID.randomUUID().toString();
+		final TaskExecution execution = new TaskExecution(id, taskUuid, priority, mediaType, contentEncoding, getSpoolFile(id));
+
+		executions.put(id, execution);
+		executor.execute(new QueuedTaskExecution(execution, () -> run(execution, work), sequence.getAndIncrement()));
+
+		LOG.debug("queued execution '{}' of task '{}' with priority '{}'", id, taskUuid, priority);
+
+		return Optional.of(execution);
+	}
+
+	/**
+	 * Submits a request-bound task execution. Its handle won't be retained, i.e., it cannot be requested or cancelled via its identifier
+	 * (see {@link #cancelRequestBound(TaskExecution)}).
+	 *
+	 * @param taskUuid the identifier of the task that should be executed
+	 * @param priority the priority of the task execution (task executions with higher priorities will be started first)
+	 * @param work     the task execution itself
+	 * @return the handle of the queued task execution or nothing, if the queue is full
+	 */
+	public synchronized Optional<TaskExecution> submitRequestBound(final String taskUuid,
+	                                                               final int priority,
+	                                                               final RequestBoundTaskExecutionWork work) {
+
+		if (isFull(requestBoundExecutor, taskUuid)) {
+
+			return Optional.empty();
+		}
+
+		final String id = UUID.randomUUID().toString();
+		final TaskExecution execution = new TaskExecution(id, taskUuid, priority, null, null, null);
+
+		requestBoundExecutor.execute(new QueuedTaskExecution(execution, () -> runRequestBound(execution, work), sequence.getAndIncrement()));
+
+		LOG.debug("queued request-bound execution '{}' of task '{}' with priority '{}'", id, taskUuid, priority);
+
+		return Optional.of(execution);
+	}
+
+	/**
+	 * @param id the identifier of a task execution
+	 * @return the task execution with the given identifier or nothing, if there is no (retained) task execution with this identifier
+	 */
+	public Optional<TaskExecution> get(final String id) {
+
+		return Optional.ofNullable(executions.get(id));
+	}
+
+	/**
+	 * Cancels the task execution with the given identifier. A task execution that was already completed will be discarded (incl. its
+	 * result).
+	 *
+	 * @param id the identifier of a task execution
+	 * @return the cancelled (or discarded) task execution or nothing, if there is no (retained) task execution with this identifier
+	 */
+	public Optional<TaskExecution> cancel(final String id) {
+
+		final TaskExecution execution = executions.get(id);
+
+		if (execution == null) {
+
+			return Optional.empty();
+		}
+
+		if (cancel(executor, execution)) {
+
+			LOG.info("cancelled execution '{}' of task '{}'", id, execution.getTaskUuid());
+		} else {
+
+			executions.remove(id);
+			deleteSpoolFile(execution);
+
+			LOG.debug("discarded execution '{}' of task '{}'", id, execution.getTaskUuid());
+		}
+
+		return Optional.of(execution);
+	}
+
+	/**
+	 * Cancels the given request-bound task execution, e.g., when its request timed out.
+	 *
+	 * @param execution a request-bound task execution
+	 * @return false, if this task execution was already completed
+	 */
+	public boolean cancelRequestBound(final TaskExecution execution) {
+
+		if (!cancel(requestBoundExecutor, execution)) {
+
+			return false;
+		}
+
+		LOG.info("cancelled request-bound execution '{}' of task '{}'", execution.getId(), execution.getTaskUuid());
+
+		return true;
+	}
+
+	@Override
+	public Map<String, Metric> getMetrics() {
+
+		final Map<String, Metric> metrics = new HashMap<>();
+
+		metrics.put(name(METRICS_PREFIX, "queued"), (Gauge<Integer>) () -> executor.getQueue().size());
+		metrics.put(name(METRICS_PREFIX, "running"), (Gauge<Integer>) executor::getActiveCount);
+		metrics.put(name(METRICS_PREFIX, "request-bound", "queued"), (Gauge<Integer>) () -> requestBoundExecutor.getQueue().size());
+		metrics.put(name(METRICS_PREFIX, "request-bound", "running"), (Gauge<Integer>) requestBoundExecutor::getActiveCount);
+		metrics.put(name(METRICS_PREFIX, "finished"), (Gauge<Long>) finished::sum);
+		metrics.put(name(METRICS_PREFIX, "failed"), (Gauge<Long>) failed::sum);
+		metrics.put(name(METRICS_PREFIX, "cancelled"), (Gauge<Long>) cancelled::sum);
+		metrics.put(name(METRICS_PREFIX, "rejected"), (Gauge<Long>) rejected::sum);
+
+		return metrics;
+	}
+
+	private void registerMetrics(final MetricRegistry registry) {
+
+		if (registry.getMetrics().containsKey(name(METRICS_PREFIX, "queued"))) {
+
+			return;
+		}
+
+		try {
+
+			registry.registerAll(this);
+		} catch (final IllegalArgumentException e) {
+
+			// metrics were registered concurrently
+			LOG.trace("task execution queue metrics are already registered", e);
+		}
+	}
+
+	private static ThreadPoolExecutor createExecutor(final long concurrency, final String threadNamingPattern) {
+
+		final int workers = (int) Math.max(1, concurrency);
+
+		return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(),
+				new BasicThreadFactory.Builder().daemon(true).namingPattern(threadNamingPattern).build());
+	}
+
+	private boolean cancel(final ThreadPoolExecutor taskExecutor, final TaskExecution execution) {
+
+		if (!execution.cancel()) {
+
+			return false;
+		}
+
+		cancelled.increment();
+
+		taskExecutor.getQueue().removeIf(queuedTaskExecution -> ((QueuedTaskExecution) queuedTaskExecution).execution == execution);
+
+		return true;
+	}
+
+	private boolean isFull(final ThreadPoolExecutor taskExecutor, final String taskUuid) {
+
+		if (taskExecutor.getQueue().size() < maxQueued) {
+
+			return false;
+		}
+
+		rejected.increment();
+
+		LOG.warn("couldn't queue execution of task '{}', because there are already '{}' queued task executions", taskUuid, maxQueued);
+
+		return true;
+	}
+
+	private void runRequestBound(final TaskExecution execution, final RequestBoundTaskExecutionWork work) {
+
+		if (!execution.start()) {
+
+			return;
+		}
+
+		LOG.debug("start request-bound execution '{}' of task '{}'", execution.getId(), execution.getTaskUuid());
+
+		try (final ExecutionScope ignore = executionScope.enter()) {
+
+			work.execute(execution);
+
+			if (execution.finish()) {
+
+				finished.increment();
+
+				LOG.debug("finished request-bound execution '{}' of task '{}'", execution.getId(), execution.getTaskUuid());
+			}
+		} catch (final DMPControllerException | RuntimeException e) {
+
+			if (execution.fail(e)) {
+
+				failed.increment();
+
+				LOG.error("request-bound execution '{}' of task '{}' failed", execution.getId(), execution.getTaskUuid(), e);
+			}
+		} finally {
+
+			execution.detach();
+		}
+	}
+
+	private void run(final TaskExecution execution, final TaskExecutionWork work) {
+
+		if (!execution.start()) {
+
+			// note: task execution was cancelled while it was queued
+			return;
+		}
+
+		LOG.debug("start execution '{}' of task '{}'", execution.getId(), execution.getTaskUuid());
+
+		try (final ExecutionScope ignore = executionScope.enter();
+		     final OutputStream os = Files.newOutputStream(execution.getSpoolFile())) {
+
+			work.execute(execution, os);
+
+			if (execution.finish()) {
+
+				finished.increment();
+
+				LOG.debug("finished execution '{}' of task '{}' ('{}' records)", execution.getId(), execution.getTaskUuid(), execution.getProcessedRecords());
+			}
+		} catch (final DMPControllerException | IOException | RuntimeException e) {
+
+			if (execution.fail(e)) {
+
+				failed.increment();
+
+				LOG.error("execution '{}' of task '{}' failed", execution.getId(), execution.getTaskUuid(), e);
+			}
+		} finally {
+
+			execution.detach();
+
+			if (execution.getStatus() != TaskExecution.Status.FINISHED) {
+
+				deleteSpoolFile(execution);
+			}
+
+			evictExpired();
+		}
+	}
+
+	/**
+	 * Removes completed task executions (incl. their results) whose retention time has expired.
+	 */
+	private void evictExpired() {
+
+		final long now = System.currentTimeMillis();
+
+		executions.values().removeIf(execution -> {
+
+			final boolean expired = execution.getStatus().isTerminal() && now - execution.getFinishedAt() > retention;
+
+			if (expired) {
+
+				deleteSpoolFile(execution);
+
+				LOG.debug("evicted execution '{}' of task '{}'", execution.getId(), execution.getTaskUuid());
+			}
+
+			return expired;
+		});
+	}
+
+	private Path getSpoolFile(final String id) throws DMPControllerException {
+
+		try {
+
+			return dmpUtil.createLocalTmpFile(id + SPOOL_FILE_SUFFIX, SPOOL_DIRECTORY_POSTFIX).toPath();
+		} catch (final Exception e) {
+
+			throw new DMPControllerException("couldn't determine task execution spool directory", e);
+		}
+	}
+
+	private static void deleteSpoolFile(final TaskExecution execution) {
+
+		if (execution.getSpoolFile() == null) {
+
+			return;
+		}
+
+		try {
+
+			Files.deleteIfExists(execution.getSpoolFile());
+		} catch (final IOException e) {
+
+			LOG.warn("couldn't delete spool file '{}' of task execution '{}'", execution.getSpoolFile(), execution.getId(), e);
+		}
+	}
+
+	/**
+	 * A queue entry that orders task executions by priority (higher priorities first) and submission order.
+	 */
+	private static final class QueuedTaskExecution implements Runnable, Comparable<QueuedTaskExecution> {
+
+		private final TaskExecution execution;
+		private final Runnable      body;
+		private final long          sequenceNumber;
+
+		private QueuedTaskExecution(final TaskExecution executionArg, final Runnable bodyArg, final long sequenceNumberArg) {
+
+			execution = executionArg;
+			body = bodyArg;
+			sequenceNumber = sequenceNumberArg;
+		}
+
+		@Override
+		public void run() {
+
+			body.run();
+		}
+
+		@Override
+		public int compareTo(final QueuedTaskExecution other) {
+
+			final int result = Integer.compare(other.execution.getPriority(), execution.getPriority());
+
+			return result != 0 ? result : Long.compare(sequenceNumber, other.sequenceNumber);
+		}
+	}
+}
@@ -0,0 +1,328 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.controller.resources.job.test;
+
+import java.util.concurrent.CountDownLatch;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.inject.Key;
+import com.google.inject.name.Names;
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.dswarm.controller.resources.job.TasksResource;
+import org.dswarm.controller.resources.job.test.utils.TasksResourceTestUtils;
+import org.dswarm.controller.resources.resource.test.utils.DataModelsResourceTestUtils;
+import org.dswarm.controller.resources.resource.test.utils.ResourcesResourceTestUtils;
+import org.dswarm.controller.resources.test.ResourceTest;
+import org.dswarm.controller.test.GuicedTest;
+import org.dswarm.controller.utils.ContentEncoding;
+import org.dswarm.controller.utils.TaskExecutionQueue;
+import org.dswarm.persistence.model.resource.DataModel;
+import org.dswarm.persistence.model.resource.utils.DataModelUtils;
+import org.dswarm.persistence.util.DMPPersistenceUtil;
+
+/**
+ * Tests the endpoints for queued task executions, i.e., submission, status, result and cancellation.
+ */
+public class TaskExecutionsResourceTest extends ResourceTest {
+
+	private static final long TIMEOUT = 60000;
+
+	private static final String EXECUTIONS_PATH = "executions";
+
+	private static final String ID_IDENTIFIER = "id";
+	private static final String STATUS_IDENTIFIER = "status";
+
+	private String taskJSONString = null;
+
+	private ResourcesResourceTestUtils resourcesResourceTestUtils;
+
+	private DataModelsResourceTestUtils dataModelsResourceTestUtils;
+
+	private final ObjectMapper objectMapper = GuicedTest.injector.getInstance(ObjectMapper.class);
+
+	public TaskExecutionsResourceTest() {
+
+		super("tasks");
+	}
+
+	@Override
+	protected void initObjects() {
+		super.initObjects();
+
+		resourcesResourceTestUtils = new ResourcesResourceTestUtils();
+		dataModelsResourceTestUtils = new DataModelsResourceTestUtils();
+	}
+
+	@Override
+	public void prepare() throws Exception {
+
+		super.prepare();
+
+		taskJSONString = DMPPersistenceUtil.getResourceAsString("task.json");
+	}
+
+	/**
+	 * submits a task execution, while all workers of the task execution queue are occupied, i.e., the result can only be retrieved after
+	 * the workers were released
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testTaskExecutionLifecycle() throws Exception {
+
+		final ObjectNode requestJSON = prepareTask();
+
+		final CountDownLatch blocker = occupyWorkers();
+
+		final String executionId;
+
+		try {
+
+			final Response submitResponse = target(EXECUTIONS_PATH).request(MediaType.APPLICATION_JSON_TYPE).post(Entity.json(requestJSON));
+
+			Assert.assertEquals("202 Accepted was expected", 202, submitResponse.getStatus());
+			Assert.assertNotNull("the location of the task execution shouldn't be null", submitResponse.getLocation());
+
+			final JsonNode executionJSON = objectMapper.readTree(submitResponse.readEntity(String.class));
+
+			executionId = executionJSON.get(ID_IDENTIFIER).asText();
+
+			Assert.assertTrue(submitResponse.getLocation().toString().endsWith(executionId));
+			Assert.assertEquals("queued", executionJSON.get(STATUS_IDENTIFIER).asText());
+
+			final Response statusResponse = target(EXECUTIONS_PATH, executionId).request(MediaType.APPLICATION_JSON_TYPE).get();
+
+			Assert.assertEquals("200 OK was expected", 200, statusResponse.getStatus());
+			Assert.assertEquals("queued", objectMapper.readTree(statusResponse.readEntity(String.class)).get(STATUS_IDENTIFIER).asText());
+
+			final Response earlyResultResponse = target(EXECUTIONS_PATH, executionId, "result").request().get();
+
+			Assert.assertEquals("409 Conflict was expected", 409, earlyResultResponse.getStatus());
+			Assert.assertEquals("queued", objectMapper.readTree(earlyResultResponse.readEntity(String.class)).get(STATUS_IDENTIFIER).asText());
+		} finally {
+
+			blocker.countDown();
+		}
+
+		awaitStatus(executionId, "finished");
+
+		final Response resultResponse = target(EXECUTIONS_PATH, executionId, "result").request()
+				.header(HttpHeaders.ACCEPT_ENCODING, ContentEncoding.IDENTITY.getName())
+				.get();
+
+		Assert.assertEquals("200 OK was expected", 200, resultResponse.getStatus());
+		Assert.assertEquals(MediaType.APPLICATION_JSON_TYPE.getType(), resultResponse.getMediaType().getType());
+		Assert.assertEquals(MediaType.APPLICATION_JSON_TYPE.getSubtype(), resultResponse.getMediaType().getSubtype());
+
+		final JsonNode result = objectMapper.readTree(resultResponse.readEntity(String.class));
+
+		Assert.assertTrue("the result shouldn't be empty", result.size() > 0);
+
+		// discard the finished task execution
+		final Response cancelResponse = target(EXECUTIONS_PATH, executionId).request(MediaType.APPLICATION_JSON_TYPE).delete();
+
+		Assert.assertEquals("200 OK was expected", 200, cancelResponse.getStatus());
+
+		Assert.assertEquals("404 Not Found was expected", 404, target(EXECUTIONS_PATH, executionId).request(MediaType.APPLICATION_JSON_TYPE).get().getStatus());
+		Assert.assertEquals("404 Not Found was expected", 404, target(EXECUTIONS_PATH, executionId, "result").request().get().getStatus());
+	}
+
+	@Test
+	public void testCancelQueuedTaskExecution() throws Exception {
+
+		final ObjectNode requestJSON = prepareTask();
+
+		final CountDownLatch blocker = occupyWorkers();
+
+		try {
+
+			final Response submitResponse = target(EXECUTIONS_PATH).request(MediaType.APPLICATION_JSON_TYPE).post(Entity.json(requestJSON));
+
+			Assert.assertEquals("202 Accepted was expected", 202, submitResponse.getStatus());
+
+			final String executionId = objectMapper.readTree(submitResponse.readEntity(String.class)).get(ID_IDENTIFIER).asText();
+
+			final Response cancelResponse = target(EXECUTIONS_PATH, executionId).request(MediaType.APPLICATION_JSON_TYPE).delete();
+
+			Assert.assertEquals("200 OK was expected", 200, cancelResponse.getStatus());
+			Assert.assertEquals("cancelled", objectMapper.readTree(cancelResponse.readEntity(String.class)).get(STATUS_IDENTIFIER).asText());
+
+			final Response resultResponse = target(EXECUTIONS_PATH, executionId, "result").request().get();
+
+			Assert.assertEquals("409 Conflict was expected", 409, resultResponse.getStatus());
+			Assert.assertEquals("cancelled", objectMapper.readTree(resultResponse.readEntity(String.class)).get(STATUS_IDENTIFIER).asText());
+		} finally {
+
+			blocker.countDown();
+		}
+	}
+
+	/**
+	 * executes a task request-bound, while all workers of the (asynchronous) task execution queue are occupied, i.e., request-bound task
+	 * executions (e.g. previews) shouldn't wait for asynchronous ones
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testRequestBoundTaskExecutionWhileWorkersAreOccupied() throws Exception {
+
+		final ObjectNode requestJSON = prepareTask();
+
+		final CountDownLatch blocker = occupyWorkers();
+
+		try {
+
+			final Response response = target().request(MediaType.APPLICATION_JSON_TYPE).post(Entity.json(requestJSON));
+
+			Assert.assertEquals("200 OK was expected", 200, response.getStatus());
+
+			final JsonNode result = objectMapper.readTree(response.readEntity(String.class));
+
+			Assert.assertTrue("the result shouldn't be empty", result.size() > 0);
+		} finally {
+
+			blocker.countDown();
+		}
+	}
+
+	@Test
+	public void testUnknownTaskExecution() throws Exception {
+
+		Assert.assertEquals("404 Not Found was expected", 404, target(EXECUTIONS_PATH, "unknown").request(MediaType.APPLICATION_JSON_TYPE).get().getStatus());
+		Assert.assertEquals("404 Not Found was expected", 404, target(EXECUTIONS_PATH, "unknown", "result").request().get().getStatus());
+		Assert.assertEquals("404 Not Found was expected", 404, target(EXECUTIONS_PATH, "unknown").request(MediaType.APPLICATION_JSON_TYPE).delete().getStatus());
+	}
+
+	@Test
+	public void testUnsupportedResultMediaType() throws Exception {
+
+		final ObjectNode requestJSON = prepareTask();
+		requestJSON.put(TasksResource.RESULT_MEDIA_TYPE_IDENTIFIER, "application/x-unsupported");
+
+		final Response submitResponse = target(EXECUTIONS_PATH).request(MediaType.APPLICATION_JSON_TYPE).post(Entity.json(requestJSON));
+
+		Assert.assertEquals("415 Unsupported Media Type was expected", 415, submitResponse.getStatus());
+	}
+
+	@Test
+	public void testUnsupportedCompression() throws Exception {
+
+		final ObjectNode requestJSON = prepareTask();
+		requestJSON.put(TasksResource.COMPRESSION_IDENTIFIER, "brotli");
+
+		final Response submitResponse = target(EXECUTIONS_PATH).request(MediaType.APPLICATION_JSON_TYPE).post(Entity.json(requestJSON));
+
+		Assert.assertEquals("400 Bad Request was expected", 400, submitResponse.getStatus());
+	}
+
+	/**
+	 * Occupies all workers for asynchronous task executions of the task execution queue (of the running server) until the returned latch
+	 * will be released.
+	 *
+	 * @return the latch that releases the workers
+	 * @throws Exception
+	 */
+	private static CountDownLatch occupyWorkers() throws Exception {
+
+		final TaskExecutionQueue taskExecutionQueue = GuicedTest.injector.getInstance(TaskExecutionQueue.class);
+		final long concurrency = GuicedTest.injector.getInstance(Key.get(Long.class, Names.named("dswarm.task-execution.concurrency")));
+
+		final CountDownLatch blocker = new CountDownLatch(1);
+		final CountDownLatch occupied = new CountDownLatch((int) concurrency);
+
+		for (int i = 0; i < concurrency; i++) {
+
+			Assert.assertTrue(taskExecutionQueue.submit("blocking-" + i, Integer.MAX_VALUE, MediaType.APPLICATION_JSON_TYPE, ContentEncoding.IDENTITY,
+					(execution, os) -> {
+
+						occupied.countDown();
+
+						try {
+
+							blocker.await();
+						} catch (final InterruptedException e) {
+
+							Thread.currentThread().interrupt();
+						}
+					}).isPresent());
+		}
+
+		occupied.await();
+
+		return blocker;
+	}
+
+	private void awaitStatus(final String executionId, final String status) throws Exception {
+
+		final long deadline = System.currentTimeMillis() + TIMEOUT;
+
+		String currentStatus = null;
+
+		while (!status.equals(currentStatus)) {
+
+			Assert.assertTrue(String.format("task execution '%s' didn't reach status '%s' (current status = '%s')", executionId, status, currentStatus),
+					System.currentTimeMillis() < deadline);
+
+			Thread.sleep(100);
+
+			final Response response = target(EXECUTIONS_PATH, executionId).request(MediaType.APPLICATION_JSON_TYPE).get();
+
+			Assert.assertEquals("200 OK was expected", 200, response.getStatus());
+
+			currentStatus = objectMapper.readTree(response.readEntity(String.class)).get(STATUS_IDENTIFIER).asText();
+
+			Assert.assertNotEquals("the task execution shouldn't fail", "failed", currentStatus);
+		}
+	}
+
+	private ObjectNode prepareTask() throws Exception {
+
+		final DataModel inputDataModel = TasksResourceTestUtils.prepareDataModel("controller_test-mabxml.xml", objectMapper, resourcesResourceTestUtils,
+				dataModelsResourceTestUtils);
+
+		final String finalInputDataModelJSONString = objectMapper.writeValueAsString(inputDataModel);
+		final ObjectNode finalInputDataModelJSON = objectMapper.readValue(finalInputDataModelJSONString, ObjectNode.class);
+
+		final ObjectNode taskJSON = objectMapper.readValue(taskJSONString, ObjectNode.class);
+		taskJSON.set("input_data_model", finalInputDataModelJSON);
+
+		// utilise internal model as output data model
+		final DataModel outputDataModel = dataModelsResourceTestUtils.getObject(DataModelUtils.BIBO_DOCUMENT_DATA_MODEL_UUID);
+		final String outputDataModelJSONString = objectMapper.writeValueAsString(outputDataModel);
+		final ObjectNode outputDataModelJSON = objectMapper.readValue(outputDataModelJSONString, ObjectNode.class);
+
+		taskJSON.set("output_data_model", outputDataModelJSON);
+
+		final ObjectNode requestJSON = objectMapper.createObjectNode();
+		requestJSON.set(TasksResource.TASK_IDENTIFIER, taskJSON);
+		requestJSON.put(TasksResource.UTILISE_EXISTING_INPUT_SCHEMA_IDENTIFIER, Boolean.TRUE);
+		requestJSON.put(TasksResource.PERSIST_IDENTIFIER, Boolean.FALSE);
+		requestJSON.put(TasksResource.DO_INGEST_ON_THE_FLY_IDENTIFIER, Boolean.TRUE);
+		requestJSON.put(TasksResource.DO_VERSIONING_ON_RESULT_IDENTIFIER, Boolean.FALSE);
+		requestJSON.put(TasksResource.RESULT_MEDIA_TYPE_IDENTIFIER, MediaType.APPLICATION_JSON);
+
+		return requestJSON;
+	}
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.controller.utils.test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.dswarm.controller.utils.ContentEncoding;
+
+public class ContentEncodingTest {
+
+	@Test
+	public void testWithoutAcceptEncoding() {
+
+		Assert.assertEquals(ContentEncoding.IDENTITY, ContentEncoding.negotiate(Optional.empty(), null));
+		Assert.assertEquals(ContentEncoding.IDENTITY, ContentEncoding.negotiate(Optional.empty(), Collections.emptyList()));
+		Assert.assertEquals(ContentEncoding.IDENTITY, negotiate(""));
+	}
+
+	@Test
+	public void testContentEncodings() {
+
+		Assert.assertEquals(ContentEncoding.GZIP, negotiate("gzip"));
+		Assert.assertEquals(ContentEncoding.DEFLATE, negotiate("deflate"));
+		Assert.assertEquals(ContentEncoding.IDENTITY, negotiate("identity"));
+		Assert.assertEquals(ContentEncoding.GZIP, negotiate(" GZIP "));
+
+		// unsupported content encodings
+		Assert.assertEquals(ContentEncoding.IDENTITY, negotiate("br, compress"));
+		Assert.assertEquals(ContentEncoding.DEFLATE, negotiate("br, deflate;q=0.1"));
+	}
+
+	@Test
+	public void testPreferenceOnEqualQuality() {
+
+		Assert.assertEquals(ContentEncoding.GZIP, negotiate("gzip, deflate"));
+		Assert.assertEquals(ContentEncoding.GZIP, negotiate("deflate, gzip"));
+		Assert.assertEquals(ContentEncoding.DEFLATE, negotiate("identity, deflate"));
+		Assert.assertEquals(ContentEncoding.GZIP, negotiate("gzip;q=0.5, deflate;q=0.5, identity;q=0.5"));
+	}
+
+	@Test
+	public void testQualityValues() {
+
+		Assert.assertEquals(ContentEncoding.DEFLATE, negotiate("gzip;q=0.5, deflate;q=0.8"));
+		Assert.assertEquals(ContentEncoding.DEFLATE, negotiate("gzip;q=0, deflate"));
+		Assert.assertEquals(ContentEncoding.GZIP, negotiate("gzip;q=1.0, deflate;q=0.999"));
+		Assert.assertEquals(ContentEncoding.DEFLATE, negotiate("gzip ; Q = 0.5 , deflate ; q=0.7"));
+		Assert.assertEquals(ContentEncoding.GZIP, negotiate("gzip;level=9;q=0.5"));
+
+		// identity competes with its quality value
+		Assert.assertEquals(ContentEncoding.IDENTITY, negotiate("gzip;q=0.5, identity"));
+		Assert.assertEquals(ContentEncoding.GZIP, negotiate("gzip;q=0.5, identity;q=0.4"));
+
+		// nothing acceptable -> identity
+		Assert.assertEquals(ContentEncoding.IDENTITY, negotiate("gzip;q=0, deflate;q=0"));
+	}
+
+	@Test
+	public void testInvalidQualityValues() {
+
+		Assert.assertEquals(ContentEncoding.DEFLATE, negotiate("gzip;q=abc, deflate;q=0.1"));
+		Assert.assertEquals(ContentEncoding.IDENTITY, negotiate("gzip;q=-1"));
+		Assert.assertEquals(ContentEncoding.IDENTITY, negotiate("gzip;q=NaN"));
+
+		// quality values > 1 will be clamped, i.e., gzip wins on equal quality
+		Assert.assertEquals(ContentEncoding.GZIP, negotiate("gzip;q=1, deflate;q=5"));
+	}
+
+	@Test
+	public void testIdentityExcluded() {
+
+		Assert.assertEquals(ContentEncoding.GZIP, negotiate("identity;q=0, gzip"));
+		Assert.assertEquals(ContentEncoding.DEFLATE, negotiate("identity;q=0, gzip;q=0.1, deflate;q=0.2"));
+
+		// nothing acceptable -> identity (cf. RFC 7231, section 5.3.4)
+		Assert.assertEquals(ContentEncoding.IDENTITY, negotiate("identity;q=0"));
+	}
+
+	@Test
+	public void testWildcard() {
+
+		Assert.assertEquals(ContentEncoding.GZIP, negotiate("*"));
+		Assert.assertEquals(ContentEncoding.DEFLATE, negotiate("*, gzip;q=0"));
+		Assert.assertEquals(ContentEncoding.DEFLATE, negotiate("*;q=0.5, gzip;q=0.4"));
+		Assert.assertEquals(ContentEncoding.DEFLATE, negotiate("*;q=0, deflate"));
+		Assert.assertEquals(ContentEncoding.IDENTITY, negotiate("*;q=0.5, identity"));
+		Assert.assertEquals(ContentEncoding.IDENTITY, negotiate("*;q=0"));
+		Assert.assertEquals(ContentEncoding.IDENTITY, negotiate("*;q=0, identity;q=0"));
+	}
+
+	@Test
+	public void testMultipleHeaderValues() {
+
+		final List<String> acceptEncodingValues = Arrays.asList("gzip;q=0.2", null, "deflate;q=0.3", "identity;q=0");
+
+		Assert.assertEquals(ContentEncoding.DEFLATE, ContentEncoding.negotiate(Optional.empty(), acceptEncodingValues));
+	}
+
+	@Test
+	public void testRequestedContentEncoding() {
+
+		final List<String> acceptEncodingValues = Collections.singletonList("gzip");
+
+		Assert.assertEquals(ContentEncoding.DEFLATE, ContentEncoding.negotiate(Optional.of("deflate"), acceptEncodingValues));
+		Assert.assertEquals(ContentEncoding.IDENTITY, ContentEncoding.negotiate(Optional.of("identity"), acceptEncodingValues));
+		Assert.assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate(Optional.of(" GZIP "), null));
+
+		// empty -> negotiation via Accept-Encoding
+		Assert.assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate(Optional.of(" "), acceptEncodingValues));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnsupportedRequestedContentEncoding() {
+
+		ContentEncoding.negotiate(Optional.of("brotli"), Collections.singletonList("gzip"));
+	}
+
+	@Test
+	public void testIsSupported() {
+
+		Assert.assertTrue(ContentEncoding.isSupported(Optional.empty()));
+		Assert.assertTrue(ContentEncoding.isSupported(Optional.of("")));
+		Assert.assertTrue(ContentEncoding.isSupported(Optional.of("gzip")));
+		Assert.assertTrue(ContentEncoding.isSupported(Optional.of("Deflate")));
+		Assert.assertTrue(ContentEncoding.isSupported(Optional.of("identity")));
+		Assert.assertFalse(ContentEncoding.isSupported(Optional.of("brotli")));
+		Assert.assertFalse(ContentEncoding.isSupported(Optional.of("*")));
+
+		Assert.assertFalse(ContentEncoding.fromName(null).isPresent());
+		Assert.assertFalse(ContentEncoding.fromName("gzip;q=1").isPresent());
+	}
+
+	private static ContentEncoding negotiate(final String acceptEncoding) {
+
+		return ContentEncoding.negotiate(Optional.empty(), Collections.singletonList(acceptEncoding));
+	}
+}
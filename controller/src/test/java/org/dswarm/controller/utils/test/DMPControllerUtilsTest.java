@@ -0,0 +1,198 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.controller.utils.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.hash.Hashing;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.dswarm.controller.utils.DMPControllerUtils;
+import org.dswarm.init.util.DMPUtil;
+
+/**
+ * @author tgaengler
+ */
+public class DMPControllerUtilsTest {
+
+	private static final String DIRECTORY_POSTFIX = "resources";
+
+	private static final String CONTENT       = "id;name\n1;Käthe\n";
+	private static final String OTHER_CONTENT = "id;name\n2;Karl\n";
+
+	private static final int NUMBER_OF_CONCURRENT_UPLOADS = 8;
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testReUploadOfSameContent() throws Exception {
+
+		final DMPControllerUtils controllerUtils = createControllerUtils();
+
+		final DMPControllerUtils.StoredFile storedFile = store(controllerUtils, CONTENT, "test.csv");
+
+		Assert.assertEquals(Hashing.sha256().hashString(CONTENT, StandardCharsets.UTF_8).toString(), storedFile.getDigest());
+		Assert.assertEquals(CONTENT.getBytes(StandardCharsets.UTF_8).length, storedFile.getSize());
+		Assert.assertEquals("the stored file shouldn't carry the name of the upload", "content", storedFile.getFile().getName());
+		Assert.assertEquals(storedFile.getDigest(), storedFile.getFile().getParentFile().getName());
+		Assert.assertEquals(CONTENT, readFile(storedFile.getFile()));
+
+		// a re-upload of the same content (with another file name) should reuse the stored file
+		final DMPControllerUtils.StoredFile reUploadedFile = store(controllerUtils, CONTENT, "another name.txt");
+
+		Assert.assertEquals(storedFile.getFile(), reUploadedFile.getFile());
+		Assert.assertEquals(storedFile.getDigest(), reUploadedFile.getDigest());
+		Assert.assertEquals(storedFile.getSize(), reUploadedFile.getSize());
+
+		// other content will be stored separately
+		final DMPControllerUtils.StoredFile otherFile = store(controllerUtils, OTHER_CONTENT, "test.csv");
+
+		Assert.assertNotEquals(storedFile.getDigest(), otherFile.getDigest());
+		Assert.assertNotEquals(storedFile.getFile(), otherFile.getFile());
+		Assert.assertEquals(OTHER_CONTENT, readFile(otherFile.getFile()));
+
+		Assert.assertEquals(2, getContentDirectories().size());
+		Assert.assertTrue("no uploads should be left over", getUploadFiles().isEmpty());
+	}
+
+	@Test
+	public void testConcurrentUploadsOfSameContent() throws Exception {
+
+		final DMPControllerUtils controllerUtils = createControllerUtils();
+
+		final ExecutorService executorService = Executors.newFixedThreadPool(NUMBER_OF_CONCURRENT_UPLOADS);
+		final CountDownLatch startSignal = new CountDownLatch(1);
+
+		try {
+
+			final List<Future<DMPControllerUtils.StoredFile>> futures = new ArrayList<>();
+
+			for (int i = 0; i < NUMBER_OF_CONCURRENT_UPLOADS; i++) {
+
+				final String fileName = "test" + i + ".csv";
+
+				futures.add(executorService.submit(() -> {
+
+					startSignal.await();
+
+					return store(controllerUtils, CONTENT, fileName);
+				}));
+			}
+
+			startSignal.countDown();
+
+			final Set<File> storedFiles = new HashSet<>();
+			final Set<String> digests = new HashSet<>();
+
+			for (final Future<DMPControllerUtils.StoredFile> future : futures) {
+
+				final DMPControllerUtils.StoredFile storedFile = future.get(30, TimeUnit.SECONDS);
+
+				storedFiles.add(storedFile.getFile());
+				digests.add(storedFile.getDigest());
+			}
+
+			Assert.assertEquals("all uploads should share the same file", 1, storedFiles.size());
+			Assert.assertEquals(1, digests.size());
+
+			final File storedFile = storedFiles.iterator().next();
+
+			Assert.assertEquals(CONTENT, readFile(storedFile));
+
+			final List<Path> contentDirectories = getContentDirectories();
+
+			Assert.assertEquals(1, contentDirectories.size());
+			Assert.assertEquals("the content should be stored once", 1, listFiles(contentDirectories.get(0), "*").size());
+			Assert.assertTrue("no uploads should be left over", getUploadFiles().isEmpty());
+		} finally {
+
+			executorService.shutdownNow();
+		}
+	}
+
+	private DMPControllerUtils createControllerUtils() {
+
+		return new DMPControllerUtils(new DMPUtil(temporaryFolder.getRoot().getAbsolutePath(), File.separator));
+	}
+
+	private static DMPControllerUtils.StoredFile store(final DMPControllerUtils controllerUtils, final String content, final String fileName)
+			throws Exception {
+
+		return controllerUtils.writeToContentAddressedFile(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), fileName,
+				DIRECTORY_POSTFIX);
+	}
+
+	private static String readFile(final File file) throws IOException {
+
+		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+	}
+
+	private List<Path> getContentDirectories() throws IOException {
+
+		final List<Path> contentDirectories = new ArrayList<>();
+
+		for (final Path path : listFiles(getStoreDirectory(), "*")) {
+
+			if (Files.isDirectory(path)) {
+
+				contentDirectories.add(path);
+			}
+		}
+
+		return contentDirectories;
+	}
+
+	private List<Path> getUploadFiles() throws IOException {
+
+		return listFiles(getStoreDirectory(), "*.upload");
+	}
+
+	private Path getStoreDirectory() {
+
+		return temporaryFolder.getRoot().toPath().resolve(DIRECTORY_POSTFIX);
+	}
+
+	private static List<Path> listFiles(final Path directory, final String glob) throws IOException {
+
+		final List<Path> files = new ArrayList<>();
+
+		try (final DirectoryStream<Path> directoryStream = Files.newDirectoryStream(directory, glob)) {
+
+			directoryStream.forEach(files::add);
+		}
+
+		return files;
+	}
+}
@@ -0,0 +1,279 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.controller.utils.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import rx.Observable;
+import rx.schedulers.Schedulers;
+import rx.subjects.PublishSubject;
+
+import org.dswarm.controller.utils.IngestResultCache;
+import org.dswarm.graph.json.LiteralNode;
+import org.dswarm.graph.json.Model;
+import org.dswarm.graph.json.Predicate;
+import org.dswarm.graph.json.Resource;
+import org.dswarm.graph.json.ResourceNode;
+import org.dswarm.init.util.DMPUtil;
+import org.dswarm.persistence.model.internal.gdm.GDMModel;
+
+/**
+ * @author tgaengler
+ */
+public class IngestResultCacheTest {
+
+	private static final String CACHE_DIRECTORY = "ingest-cache";
+	private static final String METRICS_PREFIX  = "dswarm.converter.ingest-cache.";
+
+	private static final String RECORD_BASE_URI = "http://data.slub-dresden.de/records/";
+	private static final String TITLE           = "http://purl.org/dc/terms/title";
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testHitAndMiss() throws IOException {
+
+		final IngestResultCache cache = createCache(Long.MAX_VALUE);
+
+		Assert.assertFalse("there shouldn't be a cache entry yet", cache.replay("a", Schedulers.immediate()).isPresent());
+
+		final List<GDMModel> records = createRecords(3);
+
+		Assert.assertEquals(3, cache.record("a", Observable.from(records)).toList().toBlocking().single().size());
+
+		final Optional<Observable<GDMModel>> optionalReplay = cache.replay("a", Schedulers.immediate());
+
+		Assert.assertTrue("there should be a cache entry now", optionalReplay.isPresent());
+		Assert.assertEquals(getRecordURIs(records), getRecordURIs(optionalReplay.get().toList().toBlocking().single()));
+		Assert.assertFalse("other keys shouldn't hit", cache.replay("b", Schedulers.immediate()).isPresent());
+
+		Assert.assertEquals(Long.valueOf(1), getMetric(cache, "hits"));
+		Assert.assertEquals(Long.valueOf(2), getMetric(cache, "misses"));
+		Assert.assertEquals(Long.valueOf(1), getMetric(cache, "writes"));
+	}
+
+	@Test
+	public void testCommitOnlyOnComplete() throws IOException {
+
+		final IngestResultCache cache = createCache(Long.MAX_VALUE);
+		final List<GDMModel> records = createRecords(2);
+
+		final PublishSubject<GDMModel> subject = PublishSubject.create();
+		final List<GDMModel> consumedRecords = new ArrayList<>();
+
+		cache.record("a", subject).subscribe(consumedRecords::add);
+
+		subject.onNext(records.get(0));
+
+		Assert.assertEquals("the cache entry should be written to a temporary file", 1, getTmpFiles().size());
+		Assert.assertFalse("an incomplete cache entry shouldn't be visible", cache.replay("a", Schedulers.immediate()).isPresent());
+
+		subject.onNext(records.get(1));
+		subject.onCompleted();
+
+		Assert.assertEquals(2, consumedRecords.size());
+		Assert.assertTrue("the temporary file should be moved at commit", getTmpFiles().isEmpty());
+
+		final Optional<Observable<GDMModel>> optionalReplay = cache.replay("a", Schedulers.immediate());
+
+		Assert.assertTrue("the complete cache entry should be visible", optionalReplay.isPresent());
+		Assert.assertEquals(getRecordURIs(records), getRecordURIs(optionalReplay.get().toList().toBlocking().single()));
+	}
+
+	@Test
+	public void testDiscardOnError() throws IOException {
+
+		final IngestResultCache cache = createCache(Long.MAX_VALUE);
+
+		final Observable<GDMModel> records = Observable.from(createRecords(2))
+				.concatWith(Observable.error(new IllegalStateException("ingest failed")));
+
+		cache.record("a", records).subscribe(gdmModel -> {}, e -> {});
+
+		Assert.assertFalse("a failed ingest shouldn't be cached", cache.replay("a", Schedulers.immediate()).isPresent());
+		Assert.assertTrue("the temporary file should be removed", getTmpFiles().isEmpty());
+	}
+
+	@Test
+	public void testDiscardOnPartialConsumption() throws IOException {
+
+		final IngestResultCache cache = createCache(Long.MAX_VALUE);
+
+		final List<GDMModel> consumedRecords = cache.record("a", Observable.from(createRecords(3)))
+				.take(1)
+				.toList()
+				.toBlocking()
+				.single();
+
+		Assert.assertEquals(1, consumedRecords.size());
+		Assert.assertFalse("a partially consumed ingest result shouldn't be cached", cache.replay("a", Schedulers.immediate()).isPresent());
+		Assert.assertTrue("the temporary file should be removed", getTmpFiles().isEmpty());
+		Assert.assertEquals(Long.valueOf(0), getMetric(cache, "writes"));
+	}
+
+	@Test
+	public void testEvictionOrder() throws IOException {
+
+		final List<GDMModel> records = createRecords(10);
+
+		// determine the size of one cache entry
+		final IngestResultCache probeCache = createCache(Long.MAX_VALUE);
+		probeCache.record("probe", Observable.from(records)).toBlocking().last();
+
+		final Path probeFile = getCacheFile("probe");
+		final long entrySize = Files.size(probeFile);
+
+		Files.delete(probeFile);
+
+		// room for two entries
+		final IngestResultCache cache = createCache(2 * entrySize + entrySize / 2);
+
+		cache.record("a", Observable.from(records)).toBlocking().last();
+		cache.record("b", Observable.from(records)).toBlocking().last();
+
+		final long now = System.currentTimeMillis();
+
+		Files.setLastModifiedTime(getCacheFile("a"), FileTime.fromMillis(now - 20000));
+		Files.setLastModifiedTime(getCacheFile("b"), FileTime.fromMillis(now - 10000));
+
+		// 'a' becomes the most recently used entry
+		final Optional<Observable<GDMModel>> optionalReplay = cache.replay("a", Schedulers.immediate());
+
+		Assert.assertTrue(optionalReplay.isPresent());
+		Assert.assertEquals(10, optionalReplay.get().toList().toBlocking().single().size());
+
+		cache.record("c", Observable.from(records)).toBlocking().last();
+
+		Assert.assertTrue("the recently used entry should be kept", Files.exists(getCacheFile("a")));
+		Assert.assertFalse("the least recently used entry should be evicted", Files.exists(getCacheFile("b")));
+		Assert.assertTrue("the new entry should be kept", Files.exists(getCacheFile("c")));
+		Assert.assertEquals(Long.valueOf(1), getMetric(cache, "evictions"));
+	}
+
+	@Test
+	public void testSweepOfStaleTmpFiles() throws IOException {
+
+		final Path cacheDirectory = Files.createDirectories(getCacheDirectory());
+		final Path staleTmpFile = Files.createFile(cacheDirectory.resolve("crashed.tmp"));
+
+		final IngestResultCache cache = createCache(Long.MAX_VALUE);
+
+		// first access of the cache directory
+		Assert.assertFalse(cache.replay("a", Schedulers.immediate()).isPresent());
+		Assert.assertFalse("stale temporary files should be removed at startup", Files.exists(staleTmpFile));
+
+		// an ingest result that is still recorded
+		final PublishSubject<GDMModel> subject = PublishSubject.create();
+		final List<GDMModel> records = createRecords(2);
+
+		cache.record("a", subject).subscribe();
+		subject.onNext(records.get(0));
+
+		final List<Path> pendingTmpFiles = getTmpFiles();
+
+		Assert.assertEquals(1, pendingTmpFiles.size());
+
+		final Path otherStaleTmpFile = Files.createFile(cacheDirectory.resolve("interrupted.tmp"));
+
+		cache.record("b", Observable.from(records)).toBlocking().last();
+
+		Assert.assertFalse("stale temporary files should be removed at eviction", Files.exists(otherStaleTmpFile));
+		Assert.assertTrue("temporary files of pending cache entries should be kept", Files.exists(pendingTmpFiles.get(0)));
+
+		subject.onNext(records.get(1));
+		subject.onCompleted();
+
+		Assert.assertTrue(Files.exists(getCacheFile("a")));
+		Assert.assertTrue(getTmpFiles().isEmpty());
+	}
+
+	private IngestResultCache createCache(final long maxSize) {
+
+		return new IngestResultCache(true, maxSize, new DMPUtil(temporaryFolder.getRoot().getAbsolutePath(), File.separator),
+				new MetricRegistry());
+	}
+
+	private Path getCacheDirectory() {
+
+		return temporaryFolder.getRoot().toPath().resolve(CACHE_DIRECTORY);
+	}
+
+	private Path getCacheFile(final String key) {
+
+		return getCacheDirectory().resolve(key + ".gdm");
+	}
+
+	private List<Path> getTmpFiles() throws IOException {
+
+		final List<Path> tmpFiles = new ArrayList<>();
+
+		try (final DirectoryStream<Path> files = Files.newDirectoryStream(getCacheDirectory(), "*.tmp")) {
+
+			files.forEach(tmpFiles::add);
+		}
+
+		return tmpFiles;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Long getMetric(final IngestResultCache cache, final String name) {
+
+		return ((Gauge<Long>) cache.getMetrics().get(METRICS_PREFIX + name)).getValue();
+	}
+
+	private static List<GDMModel> createRecords(final int numberOfRecords) {
+
+		final List<GDMModel> records = new ArrayList<>();
+
+		for (int i = 0; i < numberOfRecords; i++) {
+
+			final String recordURI = RECORD_BASE_URI + i;
+
+			final Resource recordResource = new Resource(recordURI);
+			recordResource.addStatement(new ResourceNode(recordURI), new Predicate(TITLE), new LiteralNode("title " + i));
+
+			final Model model = new Model();
+			model.addResource(recordResource);
+
+			records.add(new GDMModel(model, recordURI));
+		}
+
+		return records;
+	}
+
+	private static List<String> getRecordURIs(final List<GDMModel> records) {
+
+		return records.stream()
+				.flatMap(gdmModel -> gdmModel.getRecordURIs().stream())
+				.collect(Collectors.toList());
+	}
+}
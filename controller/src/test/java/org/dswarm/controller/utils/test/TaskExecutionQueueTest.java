@@ -0,0 +1,322 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.controller.utils.test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.MediaType;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.dswarm.controller.DMPControllerException;
+import org.dswarm.controller.test.GuicedTest;
+import org.dswarm.controller.utils.ContentEncoding;
+import org.dswarm.controller.utils.TaskExecution;
+import org.dswarm.controller.utils.TaskExecutionQueue;
+import org.dswarm.init.ExecutionScope;
+import org.dswarm.init.util.DMPUtil;
+
+public class TaskExecutionQueueTest extends GuicedTest {
+
+	private static final long TIMEOUT = 10000;
+
+	@Test
+	public void testPriorityOrder() throws Exception {
+
+		final TaskExecutionQueue queue = createQueue(1, 10, TimeUnit.HOURS.toMillis(1));
+
+		final CountDownLatch blocker = new CountDownLatch(1);
+		final TaskExecution blockingExecution = submit(queue, "blocking", 0, (execution, os) -> await(blocker));
+
+		awaitStatus(blockingExecution, TaskExecution.Status.RUNNING);
+
+		final List<String> order = new CopyOnWriteArrayList<>();
+
+		submit(queue, "low", -1, (execution, os) -> order.add(execution.getTaskUuid()));
+		submit(queue, "default1", 0, (execution, os) -> order.add(execution.getTaskUuid()));
+		submit(queue, "high", 5, (execution, os) -> order.add(execution.getTaskUuid()));
+		final TaskExecution lastExecution = submit(queue, "default2", 0, (execution, os) -> order.add(execution.getTaskUuid()));
+
+		blocker.countDown();
+
+		awaitStatus(lastExecution, TaskExecution.Status.FINISHED);
+
+		// wait for the remaining low priority execution
+		while (order.size() < 4) {
+
+			Thread.sleep(10);
+		}
+
+		Assert.assertEquals(Arrays.asList("high", "default1", "default2", "low"), order);
+	}
+
+	@Test
+	public void testMaxQueuedRejection() throws Exception {
+
+		final TaskExecutionQueue queue = createQueue(1, 1, TimeUnit.HOURS.toMillis(1));
+
+		final CountDownLatch blocker = new CountDownLatch(1);
+		final TaskExecution blockingExecution = submit(queue, "blocking", 0, (execution, os) -> await(blocker));
+
+		awaitStatus(blockingExecution, TaskExecution.Status.RUNNING);
+
+		final TaskExecution queuedExecution = submit(queue, "queued", 0, (execution, os) -> {
+
+		});
+
+		Assert.assertFalse(queue.submit("rejected", 0, MediaType.APPLICATION_JSON_TYPE, ContentEncoding.IDENTITY, (execution, os) -> {
+
+		}).isPresent());
+
+		// note: request-bound task executions are queued separately
+		final TaskExecution blockingRequestBoundExecution = queue.submitRequestBound("blocking-request-bound", 0, execution -> await(blocker)).get();
+
+		awaitStatus(blockingRequestBoundExecution, TaskExecution.Status.RUNNING);
+
+		final TaskExecution queuedRequestBoundExecution = queue.submitRequestBound("queued-request-bound", 0, execution -> {
+
+		}).get();
+
+		Assert.assertFalse(queue.submitRequestBound("rejected", 0, execution -> {
+
+		}).isPresent());
+
+		blocker.countDown();
+
+		awaitStatus(queuedExecution, TaskExecution.Status.FINISHED);
+		awaitStatus(queuedRequestBoundExecution, TaskExecution.Status.FINISHED);
+	}
+
+	@Test
+	public void testResultAndRetention() throws Exception {
+
+		final TaskExecutionQueue queue = createQueue(1, 10, 0);
+
+		final TaskExecution execution = submit(queue, "task", 0, (execution1, os) -> {
+
+			try {
+
+				os.write("result".getBytes(StandardCharsets.UTF_8));
+			} catch (final IOException e) {
+
+				throw new DMPControllerException("couldn't write result", e);
+			}
+		});
+
+		awaitStatus(execution, TaskExecution.Status.FINISHED);
+
+		Assert.assertEquals("result", new String(Files.readAllBytes(execution.getSpoolFile()), StandardCharsets.UTF_8));
+
+		Thread.sleep(10);
+
+		// note: expired task executions will be evicted at the next submission
+		final TaskExecution execution2 = submit(queue, "task2", 0, (execution1, os) -> {
+
+		});
+
+		Assert.assertFalse(queue.get(execution.getId()).isPresent());
+		Assert.assertFalse(Files.exists(execution.getSpoolFile()));
+
+		awaitStatus(execution2, TaskExecution.Status.FINISHED);
+	}
+
+	@Test
+	public void testFailure() throws Exception {
+
+		final TaskExecutionQueue queue = createQueue(1, 10, TimeUnit.HOURS.toMillis(1));
+
+		final TaskExecution execution = submit(queue, "task", 0, (execution1, os) -> {
+
+			throw new IllegalStateException("failure");
+		});
+
+		awaitStatus(execution, TaskExecution.Status.FAILED);
+
+		Assert.assertEquals("failure", execution.getErrorMessage());
+		Assert.assertFalse(Files.exists(execution.getSpoolFile()));
+	}
+
+	@Test
+	public void testCancellation() throws Exception {
+
+		final TaskExecutionQueue queue = createQueue(1, 10, TimeUnit.HOURS.toMillis(1));
+
+		final CountDownLatch cancelled = new CountDownLatch(1);
+		final CountDownLatch released = new CountDownLatch(1);
+		final TaskExecution runningExecution = submit(queue, "running", 0, (execution, os) -> {
+
+			execution.onCancel(cancelled::countDown);
+
+			await(cancelled);
+
+			// note: the worker thread won't be interrupted by a cancellation
+			if (!Thread.currentThread().isInterrupted()) {
+
+				released.countDown();
+			}
+		});
+
+		awaitStatus(runningExecution, TaskExecution.Status.RUNNING);
+
+		final List<String> executed = new CopyOnWriteArrayList<>();
+		final TaskExecution queuedExecution = submit(queue, "queued", 0, (execution, os) -> executed.add(execution.getTaskUuid()));
+
+		// cancel queued execution
+		Assert.assertSame(queuedExecution, queue.cancel(queuedExecution.getId()).get());
+		Assert.assertEquals(TaskExecution.Status.CANCELLED, queuedExecution.getStatus());
+
+		// cancel running execution
+		Assert.assertSame(runningExecution, queue.cancel(runningExecution.getId()).get());
+		Assert.assertEquals(TaskExecution.Status.CANCELLED, runningExecution.getStatus());
+		Assert.assertTrue(released.await(TIMEOUT, TimeUnit.MILLISECONDS));
+
+		final TaskExecution finishedExecution = submit(queue, "finished", 0, (execution, os) -> {
+
+		});
+
+		awaitStatus(finishedExecution, TaskExecution.Status.FINISHED);
+
+		Assert.assertTrue(executed.isEmpty());
+
+		// discard completed execution
+		Assert.assertTrue(queue.cancel(finishedExecution.getId()).isPresent());
+		Assert.assertFalse(queue.get(finishedExecution.getId()).isPresent());
+		Assert.assertFalse(Files.exists(finishedExecution.getSpoolFile()));
+
+		Assert.assertFalse(queue.cancel("unknown").isPresent());
+	}
+
+	@Test
+	public void testRequestBoundExecutionsHaveOwnWorkers() throws Exception {
+
+		final TaskExecutionQueue queue = createQueue(1, 10, TimeUnit.HOURS.toMillis(1));
+
+		final CountDownLatch blocker = new CountDownLatch(1);
+		final TaskExecution blockingExecution = submit(queue, "blocking", 0, (execution, os) -> await(blocker));
+
+		awaitStatus(blockingExecution, TaskExecution.Status.RUNNING);
+
+		// note: the only worker for asynchronous task executions is occupied
+		final TaskExecution requestBoundExecution = queue.submitRequestBound("request-bound", 0, execution -> await(blocker)).get();
+
+		awaitStatus(requestBoundExecution, TaskExecution.Status.RUNNING);
+		Assert.assertFalse(queue.get(requestBoundExecution.getId()).isPresent());
+
+		final TaskExecution queuedRequestBoundExecution = queue.submitRequestBound("queued-request-bound", 0, execution -> {
+
+		}).get();
+
+		Thread.sleep(100);
+
+		// note: the only worker for request-bound task executions is occupied
+		Assert.assertEquals(TaskExecution.Status.QUEUED, queuedRequestBoundExecution.getStatus());
+
+		blocker.countDown();
+
+		awaitStatus(blockingExecution, TaskExecution.Status.FINISHED);
+		awaitStatus(requestBoundExecution, TaskExecution.Status.FINISHED);
+		awaitStatus(queuedRequestBoundExecution, TaskExecution.Status.FINISHED);
+	}
+
+	@Test
+	public void testRequestBoundCancellation() throws Exception {
+
+		final TaskExecutionQueue queue = createQueue(1, 10, TimeUnit.HOURS.toMillis(1));
+
+		final CountDownLatch cancelled = new CountDownLatch(1);
+		final TaskExecution runningExecution = queue.submitRequestBound("running", 0, execution -> {
+
+			execution.onCancel(cancelled::countDown);
+
+			await(cancelled);
+		}).get();
+
+		awaitStatus(runningExecution, TaskExecution.Status.RUNNING);
+
+		final List<String> executed = new CopyOnWriteArrayList<>();
+		final TaskExecution queuedExecution = queue.submitRequestBound("queued", 0, execution -> executed.add(execution.getTaskUuid())).get();
+
+		Assert.assertTrue(queue.cancelRequestBound(queuedExecution));
+		Assert.assertEquals(TaskExecution.Status.CANCELLED, queuedExecution.getStatus());
+
+		Assert.assertTrue(queue.cancelRequestBound(runningExecution));
+		Assert.assertEquals(TaskExecution.Status.CANCELLED, runningExecution.getStatus());
+		Assert.assertTrue(cancelled.await(TIMEOUT, TimeUnit.MILLISECONDS));
+
+		// note: a cancelled task execution cannot be cancelled again
+		Assert.assertFalse(queue.cancelRequestBound(runningExecution));
+
+		final TaskExecution finishedExecution = queue.submitRequestBound("finished", 0, execution -> {
+
+		}).get();
+
+		awaitStatus(finishedExecution, TaskExecution.Status.FINISHED);
+
+		Assert.assertTrue(executed.isEmpty());
+		Assert.assertFalse(queue.cancelRequestBound(finishedExecution));
+	}
+
+	private static TaskExecutionQueue createQueue(final long concurrency, final long maxQueued, final long retention) {
+
+		return new TaskExecutionQueue(concurrency, concurrency, maxQueued, retention, GuicedTest.injector.getInstance(DMPUtil.class),
+				GuicedTest.injector.getInstance(ExecutionScope.class), new MetricRegistry());
+	}
+
+	private static TaskExecution submit(final TaskExecutionQueue queue, final String taskUuid, final int priority,
+	                                    final TaskExecutionQueue.TaskExecutionWork work) throws Exception {
+
+		final Optional<TaskExecution> optionalExecution = queue.submit(taskUuid, priority, MediaType.APPLICATION_JSON_TYPE, ContentEncoding.IDENTITY,
+				work);
+
+		Assert.assertTrue(optionalExecution.isPresent());
+
+		return optionalExecution.get();
+	}
+
+	private static void await(final CountDownLatch latch) {
+
+		try {
+
+			latch.await();
+		} catch (final InterruptedException e) {
+
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void awaitStatus(final TaskExecution execution, final TaskExecution.Status status) throws InterruptedException {
+
+		final long deadline = System.currentTimeMillis() + TIMEOUT;
+
+		while (execution.getStatus() != status) {
+
+			Assert.assertTrue(String.format("task execution '%s' didn't reach status '%s' (current status = '%s')", execution.getTaskUuid(), status,
+					execution.getStatus()), System.currentTimeMillis() < deadline);
+
+			Thread.sleep(10);
+		}
+	}
+}
@@ -18,6 +18,7 @@ package org.dswarm.converter;
 import com.google.inject.AbstractModule;
 import com.google.inject.assistedinject.FactoryModuleBuilder;
 import org.dswarm.converter.flow.*;
+import org.dswarm.converter.flow.utils.CPUBoundExecutor;
 import org.dswarm.converter.pipe.timing.TimerBasedFactory;
 import org.dswarm.converter.schema.SolrSchemaParser;
 import org.dswarm.converter.schema.XMLSchemaParser;
@@ -38,6 +39,8 @@ public class ConverterModule extends AbstractModule {
 
 		bind(XMLSchemaParser.class);
 		bind(SolrSchemaParser.class);
+		bind(CPUBoundExecutor.class);
+		bind(MorphScriptCache.class);
 
 		install(new FactoryModuleBuilder().build(CSVResourceFlowFactory.class));
 		install(new FactoryModuleBuilder().build(TimerBasedFactory.class));
@@ -0,0 +1,201 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.export;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.dswarm.graph.json.LiteralNode;
+import org.dswarm.graph.json.Model;
+import org.dswarm.graph.json.Node;
+import org.dswarm.graph.json.Resource;
+import org.dswarm.graph.json.ResourceNode;
+import org.dswarm.graph.json.Statement;
+import org.dswarm.graph.json.util.Util;
+import org.dswarm.persistence.model.internal.gdm.GDMModel;
+import org.dswarm.persistence.model.internal.gdm.GDMModelUtil;
+
+/**
+ * A single record of a {@link GDMModel}, i.e., the GDM model, the record resource and its record resource node. Offers the statement grouping that
+ * is utilised by the XML exporters to walk a record directly from its GDM statements (i.e. without an intermediate GDM compact JSON
+ * representation). The grouping follows the semantics of GDM compact JSON, i.e., the objects of a subject are grouped per predicate
+ * (in order of their first occurrence).
+ *
+ * @author tgaengler
+ */
+final class GDMRecord {
+
+	private static final Logger LOG = LoggerFactory.getLogger(GDMRecord.class);
+
+	private final GDMModel     gdmModel;
+	private final Resource     recordResource;
+	private final ResourceNode recordResourceNode;
+
+	private GDMRecord(final GDMModel gdmModelArg, final Resource recordResourceArg, final ResourceNode recordResourceNodeArg) {
+
+		gdmModel = gdmModelArg;
+		recordResource = recordResourceArg;
+		recordResourceNode = recordResourceNodeArg;
+	}
+
+	/**
+	 * Determines the records of the given GDM model (in order of its record URIs). Record URIs without record resource or record
+	 * resource node will be skipped (as it is done at GDM compact JSON serialisation).
+	 *
+	 * @param gdmModel a GDM model
+	 * @return the records of the given GDM model
+	 */
+	static List<GDMRecord> fromGDMModel(final GDMModel gdmModel) {
+
+		final Model model = gdmModel.getModel();
+		final Set<String> recordURIs = gdmModel.getRecordURIs();
+
+		if (model == null || recordURIs == null || recordURIs.isEmpty()) {
+
+			return Collections.emptyList();
+		}
+
+		final List<GDMRecord> records = new ArrayList<>(recordURIs.size());
+
+		for (final String recordURI : recordURIs) {
+
+			final Resource recordResource = model.getResource(recordURI);
+
+			if (recordResource == null) {
+
+				LOG.debug("couldn't find record resource for record uri '{}' in model", recordURI);
+
+				continue;
+			}
+
+			final ResourceNode recordResourceNode = Util.getResourceNode(recordURI, recordResource);
+
+			if (recordResourceNode == null) {
+
+				LOG.debug("couldn't find record resource node for record uri '{}' in model", recordURI);
+
+				continue;
+			}
+
+			records.add(new GDMRecord(gdmModel, recordResource, recordResourceNode));
+		}
+
+		return records;
+	}
+
+	GDMModel getGDMModel() {
+
+		return gdmModel;
+	}
+
+	ResourceNode getRecordResourceNode() {
+
+		return recordResourceNode;
+	}
+
+	/**
+	 * Groups the objects of the statements of the given subject by their predicate URI (in order of the first occurrence of the
+	 * predicate).
+	 *
+	 * @param subject the subject node (record resource node, resource node or bnode)
+	 * @return the objects of the given subject per predicate URI
+	 */
+	Map<String, List<Node>> groupObjectsByPredicate(final Node subject) {
+
+		final Set<Statement> statements = GDMModelUtil.getStatements(subject, recordResource, gdmModel.getModel());
+
+		if (statements.isEmpty()) {
+
+			return Collections.emptyMap();
+		}
+
+		final Map<String, List<Node>> objectsPerPredicate = new LinkedHashMap<>();
+
+		for (final Statement statement : statements) {
+
+			objectsPerPredicate.computeIfAbsent(statement.getPredicate().getUri(), predicateURI -> new ArrayList<>(1))
+					.add(statement.getObject());
+		}
+
+		return objectsPerPredicate;
+	}
+
+	/**
+	 * Returns true, if the given object node has a body on its own, i.e., it is a bnode or a resource node with further statements; it
+	 * would be a nested JSON array in GDM compact JSON.
+	 *
+	 * @param object an object node
+	 * @return true, if the given object node has a body on its own; otherwise false
+	 */
+	boolean isNested(final Node object) {
+
+		if (object instanceof LiteralNode) {
+
+			return false;
+		}
+
+		if (object instanceof ResourceNode) {
+
+			return !GDMModelUtil.getStatements(object, recordResource, gdmModel.getModel()).isEmpty();
+		}
+
+		// node must be a blank node
+
+		return true;
+	}
+
+	/**
+	 * Returns the value of the given (not nested) object node, i.e., the literal value or the resource URI.
+	 *
+	 * @param object a literal or resource node
+	 * @return the value of the given object node
+	 */
+	static String getValue(final Node object) {
+
+		if (object instanceof LiteralNode) {
+
+			return ((LiteralNode) object).getValue();
+		}
+
+		return ((ResourceNode) object).getUri();
+	}
+
+	/**
+	 * Returns true, if none of the given object nodes has a body on its own, i.e., all of them can be written as plain values.
+	 *
+	 * @param objects some object nodes
+	 * @return true, if all given object nodes are plain values; otherwise false
+	 */
+	boolean areValues(final List<Node> objects) {
+
+		for (final Node object : objects) {
+
+			if (isNested(object)) {
+
+				return false;
+			}
+		}
+
+		return true;
+	}
+}
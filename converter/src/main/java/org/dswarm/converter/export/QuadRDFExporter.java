@@ -25,6 +25,7 @@ import org.dswarm.graph.json.Statement;
 
 import javax.ws.rs.core.MediaType;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Created by tgaengler on 07.03.16.
@@ -36,7 +37,15 @@ public class QuadRDFExporter extends RDFExporter<Quad> {
 
 	public QuadRDFExporter(final MediaType mediaTypeArg, final String dataModelURIArg) {
 
-		super(mediaTypeArg);
+		this(mediaTypeArg, dataModelURIArg, DEFAULT_RESOURCE_NODE_CACHE_SIZE, DEFAULT_PREDICATE_CACHE_SIZE);
+	}
+
+	public QuadRDFExporter(final MediaType mediaTypeArg,
+	                       final String dataModelURIArg,
+	                       final long resourceNodeCacheSizeArg,
+	                       final long predicateCacheSizeArg) {
+
+		super(mediaTypeArg, resourceNodeCacheSizeArg, predicateCacheSizeArg);
 
 		dataModelURI = dataModelURIArg;
 		dataModelNode = NodeFactory.createURI(dataModelURI);
@@ -44,9 +53,9 @@ public class QuadRDFExporter extends RDFExporter<Quad> {
 
 	@Override
 	protected Quad generateTuple(final Statement statement,
-	                             final ConcurrentHashMap<String, Node> resourceNodeCache,
+	                             final ConcurrentMap<String, Node> resourceNodeCache,
 	                             final ConcurrentHashMap<Long, Node> bnodeCache,
-	                             final ConcurrentHashMap<String, Node> predicateCache) throws DMPConverterException {
+	                             final ConcurrentMap<String, Node> predicateCache) throws DMPConverterException {
 
 		return generateQuad(statement, dataModelNode, resourceNodeCache, bnodeCache, predicateCache);
 	}
@@ -60,9 +69,9 @@ public class QuadRDFExporter extends RDFExporter<Quad> {
 
 	private static Quad generateQuad(final Statement statement,
 	                                 final Node dataModelNode,
-	                                 final ConcurrentHashMap<String, Node> resourceNodeCache,
+	                                 final ConcurrentMap<String, Node> resourceNodeCache,
 	                                 final ConcurrentHashMap<Long, Node> bnodeCache,
-	                                 final ConcurrentHashMap<String, Node> predicateCache) throws DMPConverterException {
+	                                 final ConcurrentMap<String, Node> predicateCache) throws DMPConverterException {
 
 		final org.dswarm.graph.json.Node gdmSubject = statement.getSubject();
 		final Predicate gdmPredicate = statement.getPredicate();
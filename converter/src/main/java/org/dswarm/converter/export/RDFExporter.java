@@ -16,6 +16,7 @@
 package org.dswarm.converter.export;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Iterators;
 import org.apache.jena.graph.*;
 import org.apache.jena.riot.Lang;
@@ -32,27 +33,51 @@ import org.dswarm.persistence.model.internal.gdm.GDMModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Func1;
 
 import javax.ws.rs.core.MediaType;
 import javax.xml.stream.XMLStreamException;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Created by tgaengler on 03.03.16.
  * <p>
- * TODO: maybe, go with a cache impl that is more performing than concurrent hash map, e.g., that one from hppc
+ * Note: the resource node and predicate caches are bounded (see {@link #DEFAULT_RESOURCE_NODE_CACHE_SIZE} and
+ * {@link #DEFAULT_PREDICATE_CACHE_SIZE}), i.e., memory consumption doesn't grow with the number of exported resources.
  */
 public abstract class RDFExporter<TUPLE_FORMAT> implements Exporter<GDMModel> {
 
 	private static final Logger LOG = LoggerFactory.getLogger(RDFExporter.class);
 
+	/**
+	 * max. number of cached (Jena) resource nodes per export
+	 */
+	public static final long DEFAULT_RESOURCE_NODE_CACHE_SIZE = 100000;
+
+	/**
+	 * max. number of cached (Jena) predicate nodes per export
+	 */
+	public static final long DEFAULT_PREDICATE_CACHE_SIZE = 10000;
+
+	/**
+	 * number of records that will be serialised as one chunk at parallel serialisation
+	 */
+	public static final int PARALLEL_SERIALISATION_CHUNK_SIZE = 1000;
+
 	private final MediaType mediaType;
 	private final Lang rdfSerializationFormat;
+	private final long resourceNodeCacheSize;
+	private final long predicateCacheSize;
 
 	private enum TriplePosition {
 		SUBJECT,
@@ -61,41 +86,205 @@ public abstract class RDFExporter<TUPLE_FORMAT> implements Exporter<GDMModel> {
 
 	public RDFExporter(final MediaType mediaTypeArg) {
 
+		this(mediaTypeArg, DEFAULT_RESOURCE_NODE_CACHE_SIZE, DEFAULT_PREDICATE_CACHE_SIZE);
+	}
+
+	public RDFExporter(final MediaType mediaTypeArg,
+	                   final long resourceNodeCacheSizeArg,
+	                   final long predicateCacheSizeArg) {
+
 		mediaType = mediaTypeArg;
 		rdfSerializationFormat = RDFLanguages.contentTypeToLang(mediaType.toString());
+		resourceNodeCacheSize = resourceNodeCacheSizeArg;
+		predicateCacheSize = predicateCacheSizeArg;
 	}
 
+	/**
+	 * Writes the RDF serialisation of the given records to the output stream and additionally emits the GDM compact JSON of each
+	 * record. Prefer {@link #generateRDF(Observable, OutputStream)}, if the JSON representation won't be utilised.
+	 */
 	@Override
 	public Observable<JsonNode> generate(final Observable<GDMModel> recordGDM,
 	                                     final OutputStream outputStream) throws XMLStreamException {
 
+		return writeRDF(recordGDM, outputStream)
+				.map(org.dswarm.persistence.model.internal.Model::toGDMCompactJSON)
+				.flatMapIterable(nodes -> {
+
+					final ArrayList<JsonNode> nodeList = new ArrayList<>();
+
+					Iterators.addAll(nodeList, nodes.elements());
+
+					return nodeList;
+				});
+	}
+
+	/**
+	 * Lean RDF export: writes the RDF serialisation of the given records to the output stream and emits only the number of the
+	 * exported records (on completion).
+	 *
+	 * @param recordGDM    the records that should be exported
+	 * @param outputStream the output stream to write the RDF serialisation to
+	 * @return the number of the exported records
+	 */
+	public Observable<Long> generateRDF(final Observable<GDMModel> recordGDM,
+	                                    final OutputStream outputStream) {
+
+		return writeRDF(recordGDM, outputStream).countLong();
+	}
+
+	/**
+	 * Returns true, if the RDF serialisation format of this exporter is line-based (N-Triples or N-Quads), i.e., serialised chunks of
+	 * records can simply be concatenated.
+	 *
+	 * @return true, if parallel serialisation is supported; otherwise false
+	 */
+	public boolean supportsParallelSerialisation() {
+
+		return Lang.NTRIPLES.equals(rdfSerializationFormat) || Lang.NQUADS.equals(rdfSerializationFormat);
+	}
+
+	/**
+	 * Lean RDF export with parallel serialisation: chunks of records (see {@link #PARALLEL_SERIALISATION_CHUNK_SIZE}) are serialised
+	 * into their own byte buffers on the given scheduler and written to the output stream afterwards (in order of the records or in
+	 * order of their completion). Only available for line-based RDF serialisation formats (see
+	 * {@link #supportsParallelSerialisation()}).
+	 *
+	 * @param recordGDM     the records that should be exported
+	 * @param outputStream  the output stream to write the RDF serialisation to
+	 * @param parallelism   the max. number of chunks that will be serialised in parallel
+	 * @param preserveOrder true, if the chunks should be written in order of the records; otherwise chunks will be written as soon as
+	 *                      they are serialised
+	 * @param scheduler     the scheduler for the serialisation workers
+	 * @return the number of the exported records
+	 * @throws DMPConverterException if the RDF serialisation format of this exporter is not line-based
+	 */
+	public Observable<Long> generateRDF(final Observable<GDMModel> recordGDM,
+	                                    final OutputStream outputStream,
+	                                    final int parallelism,
+	                                    final boolean preserveOrder,
+	                                    final Scheduler scheduler) throws DMPConverterException {
+
+		if (!supportsParallelSerialisation()) {
+
+			throw new DMPConverterException(String.format("parallel serialisation is not supported for '%s'", mediaType.toString()));
+		}
+
+		final ConcurrentMap<String, org.apache.jena.graph.Node> resourceNodeCache = createCache(resourceNodeCacheSize);
+		final ConcurrentMap<String, org.apache.jena.graph.Node> predicateCache = createCache(predicateCacheSize);
+
+		final Func1<List<GDMModel>, Observable<SerialisedChunk>> serialiseChunk = chunk -> Observable
+				.fromCallable(() -> serialiseChunk(chunk, resourceNodeCache, predicateCache))
+				.subscribeOn(scheduler);
+
+		final Observable<List<GDMModel>> chunks = recordGDM
+				.doOnSubscribe(() -> LOG.debug("subscribed to parallel RDF export ('{}' workers, preserve order = '{}'); will return data as '{}'",
+						parallelism, preserveOrder, mediaType.toString()))
+				.onBackpressureBuffer(10000)
+				.buffer(PARALLEL_SERIALISATION_CHUNK_SIZE);
+
+		final Observable<SerialisedChunk> serialisedChunks;
+
+		if (preserveOrder) {
+
+			serialisedChunks = chunks.concatMapEager(serialiseChunk, parallelism, parallelism);
+		} else {
+
+			serialisedChunks = chunks.flatMap(serialiseChunk, parallelism);
+		}
+
+		// note: chunks will be emitted sequentially, i.e., the output stream will only be written by one thread at a time
+		return serialisedChunks
+				.doOnNext(serialisedChunk -> writeChunk(serialisedChunk, outputStream))
+				.reduce(0L, (recordCount, serialisedChunk) -> recordCount + serialisedChunk.recordCount)
+				.doOnCompleted(() -> flush(outputStream))
+				.doOnCompleted(() -> LOG.debug("finished parallel RDF export; return data as '{}'", mediaType.toString()));
+	}
+
+	/**
+	 * note: the line-based writers derive blank node labels from the (unique) Jena blank node ids, i.e., blank nodes won't clash when
+	 * chunks are concatenated
+	 */
+	private SerialisedChunk serialiseChunk(final List<GDMModel> chunk,
+	                                       final ConcurrentMap<String, org.apache.jena.graph.Node> resourceNodeCache,
+	                                       final ConcurrentMap<String, org.apache.jena.graph.Node> predicateCache) {
+
+		final ByteArrayOutputStream chunkOutputStream = new ByteArrayOutputStream();
+		final StreamRDF writer = StreamRDFWriter.getWriterStream(chunkOutputStream, rdfSerializationFormat);
+
+		writer.start();
+
+		chunk.forEach(recordGDMModel -> processRecordGDMModel(writer, resourceNodeCache, predicateCache, recordGDMModel));
+
+		writer.finish();
+
+		return new SerialisedChunk(chunk.size(), chunkOutputStream);
+	}
+
+	private static void writeChunk(final SerialisedChunk serialisedChunk,
+	                               final OutputStream outputStream) {
+
+		try {
+
+			serialisedChunk.chunkOutputStream.writeTo(outputStream);
+		} catch (final IOException e) {
+
+			throw DMPConverterError.wrap(new DMPConverterException("couldn't write serialised RDF chunk to output stream", e));
+		}
+	}
+
+	private static void flush(final OutputStream outputStream) {
+
+		try {
+
+			outputStream.flush();
+		} catch (final IOException e) {
+
+			throw DMPConverterError.wrap(new DMPConverterException("couldn't flush RDF export output stream", e));
+		}
+	}
+
+	private static final class SerialisedChunk {
+
+		private final int                   recordCount;
+		private final ByteArrayOutputStream chunkOutputStream;
+
+		private SerialisedChunk(final int recordCountArg, final ByteArrayOutputStream chunkOutputStreamArg) {
+
+			recordCount = recordCountArg;
+			chunkOutputStream = chunkOutputStreamArg;
+		}
+	}
+
+	private Observable<GDMModel> writeRDF(final Observable<GDMModel> recordGDM,
+	                                      final OutputStream outputStream) {
+
 		final StreamRDF writer = StreamRDFWriter.getWriterStream(outputStream, rdfSerializationFormat);
 
 		writer.start();
 
-		final ConcurrentHashMap<String, org.apache.jena.graph.Node> resourceNodeCache = new ConcurrentHashMap<>();
-		final ConcurrentHashMap<String, org.apache.jena.graph.Node> predicateCache = new ConcurrentHashMap<>();
+		final ConcurrentMap<String, org.apache.jena.graph.Node> resourceNodeCache = createCache(resourceNodeCacheSize);
+		final ConcurrentMap<String, org.apache.jena.graph.Node> predicateCache = createCache(predicateCacheSize);
 
 		return recordGDM
 				.doOnSubscribe(() -> LOG.debug("subscribed to RDF export; will return data as '{}'", mediaType.toString()))
 				.onBackpressureBuffer(10000)
 				.map(recordGDMModel -> processRecordGDMModel(writer, resourceNodeCache, predicateCache, recordGDMModel))
-				.map(org.dswarm.persistence.model.internal.Model::toGDMCompactJSON)
-				.flatMapIterable(nodes -> {
-
-					final ArrayList<JsonNode> nodeList = new ArrayList<>();
-
-					Iterators.addAll(nodeList, nodes.elements());
-
-					return nodeList;
-				})
 				.doOnCompleted(writer::finish)
 				.doOnCompleted(() -> LOG.debug("finished RDF export; return data as '{}'", mediaType.toString()));
 	}
 
+	private static ConcurrentMap<String, org.apache.jena.graph.Node> createCache(final long maximumSize) {
+
+		return CacheBuilder.newBuilder()
+				.maximumSize(maximumSize)
+				.<String, org.apache.jena.graph.Node>build()
+				.asMap();
+	}
+
 	private GDMModel processRecordGDMModel(final StreamRDF writer,
-	                                       final ConcurrentHashMap<String, org.apache.jena.graph.Node> resourceNodeCache,
-	                                       final ConcurrentHashMap<String, org.apache.jena.graph.Node> predicateCache, GDMModel recordGDMModel) {
+	                                       final ConcurrentMap<String, org.apache.jena.graph.Node> resourceNodeCache,
+	                                       final ConcurrentMap<String, org.apache.jena.graph.Node> predicateCache, GDMModel recordGDMModel) {
 
 		final Optional<Model> optionalRecordModel = Optional.ofNullable(recordGDMModel.getModel());
 
@@ -109,8 +298,8 @@ public abstract class RDFExporter<TUPLE_FORMAT> implements Exporter<GDMModel> {
 	}
 
 	private void processResource(final StreamRDF writer,
-	                             final ConcurrentHashMap<String, org.apache.jena.graph.Node> resourceNodeCache,
-	                             final ConcurrentHashMap<String, org.apache.jena.graph.Node> predicateCache, Resource resource) {
+	                             final ConcurrentMap<String, org.apache.jena.graph.Node> resourceNodeCache,
+	                             final ConcurrentMap<String, org.apache.jena.graph.Node> predicateCache, Resource resource) {
 
 		final ConcurrentHashMap<Long, org.apache.jena.graph.Node> bnodeCache = new ConcurrentHashMap<>();
 
@@ -132,22 +321,22 @@ public abstract class RDFExporter<TUPLE_FORMAT> implements Exporter<GDMModel> {
 	}
 
 	protected abstract TUPLE_FORMAT generateTuple(final Statement statement,
-	                                              final ConcurrentHashMap<String, org.apache.jena.graph.Node> resourceNodeCache,
+	                                              final ConcurrentMap<String, org.apache.jena.graph.Node> resourceNodeCache,
 	                                              final ConcurrentHashMap<Long, org.apache.jena.graph.Node> bnodeCache,
-	                                              final ConcurrentHashMap<String, org.apache.jena.graph.Node> predicateCache) throws DMPConverterException;
+	                                              final ConcurrentMap<String, org.apache.jena.graph.Node> predicateCache) throws DMPConverterException;
 
 	protected abstract void writeTuple(final TUPLE_FORMAT tuple,
 	                                   final StreamRDF writer);
 
 	protected static org.apache.jena.graph.Node generateSubjectNode(final Node gdmNode,
-	                                                                final ConcurrentHashMap<String, org.apache.jena.graph.Node> resourceNodeCache,
+	                                                                final ConcurrentMap<String, org.apache.jena.graph.Node> resourceNodeCache,
 	                                                                final ConcurrentHashMap<Long, org.apache.jena.graph.Node> bnodeCache) throws DMPConverterException {
 
 		return generateNode(gdmNode, TriplePosition.SUBJECT, resourceNodeCache, bnodeCache);
 	}
 
 	protected static org.apache.jena.graph.Node generateObjectNode(final Node gdmNode,
-	                                                               final ConcurrentHashMap<String, org.apache.jena.graph.Node> resourceNodeCache,
+	                                                               final ConcurrentMap<String, org.apache.jena.graph.Node> resourceNodeCache,
 	                                                               final ConcurrentHashMap<Long, org.apache.jena.graph.Node> bnodeCache) throws DMPConverterException {
 
 		return generateNode(gdmNode, TriplePosition.OBJECT, resourceNodeCache, bnodeCache);
@@ -155,7 +344,7 @@ public abstract class RDFExporter<TUPLE_FORMAT> implements Exporter<GDMModel> {
 
 	private static org.apache.jena.graph.Node generateNode(final Node gdmNode,
 	                                                       final TriplePosition triplePosition,
-	                                                       final ConcurrentHashMap<String, org.apache.jena.graph.Node> resourceNodeCache,
+	                                                       final ConcurrentMap<String, org.apache.jena.graph.Node> resourceNodeCache,
 	                                                       final ConcurrentHashMap<Long, org.apache.jena.graph.Node> bnodeCache) throws DMPConverterException {
 
 		final NodeType gdmNodeType = gdmNode.getType();
@@ -200,7 +389,7 @@ public abstract class RDFExporter<TUPLE_FORMAT> implements Exporter<GDMModel> {
 	}
 
 	protected static org.apache.jena.graph.Node generatePredicate(final Predicate gdmPredicate,
-	                                                              final ConcurrentHashMap<String, org.apache.jena.graph.Node> predicateCache) {
+	                                                              final ConcurrentMap<String, org.apache.jena.graph.Node> predicateCache) {
 
 		final String predicateURI = gdmPredicate.getUri();
 
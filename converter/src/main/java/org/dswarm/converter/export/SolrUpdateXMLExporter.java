@@ -17,7 +17,9 @@ package org.dswarm.converter.export;
 
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -39,6 +41,8 @@ import rx.Subscriber;
 import org.dswarm.common.web.URI;
 import org.dswarm.converter.DMPConverterError;
 import org.dswarm.converter.DMPConverterException;
+import org.dswarm.graph.json.Node;
+import org.dswarm.persistence.model.internal.gdm.GDMModel;
 
 /**
  * @author tgaengler
@@ -82,11 +86,38 @@ public class SolrUpdateXMLExporter implements Exporter<JsonNode> {
 		final CBDNodeHandler connectRelsAndNodeHandler = new CBDNodeHandler(relationshipHandler);
 		final SolrUpdateXMLNodeHandler startNodeHandler = new CBDStartNodeHandler(connectRelsAndNodeHandler, writer);
 
-		final XMLExportOperator operator = new XMLExportOperator(writer, startNodeHandler);
+		final XMLExportOperator<JsonNode> operator = new XMLExportOperator<>(writer, record -> startNodeHandler.handleNode(null, record));
 
 		return recordGDM.lift(operator);
 	}
 
+	/**
+	 * Generates Solr Update XML directly from the statements of the given GDM models, i.e., without the intermediate GDM compact JSON
+	 * representation that is utilised by {@link #generate(Observable, OutputStream)}.
+	 *
+	 * @param recordGDM    the GDM models of the records that should be exported
+	 * @param outputStream the output stream to write the Solr Update XML to
+	 * @return the GDM model of each exported record
+	 * @throws XMLStreamException
+	 */
+	public Observable<GDMModel> generateFromGDM(final Observable<GDMModel> recordGDM,
+	                                            final OutputStream outputStream) throws XMLStreamException {
+
+		LOG.debug("start generating Solr Update XML directly out of GDM");
+
+		final XMLStreamWriter writer = xmlOutputFactory.createXMLStreamWriter(outputStream);
+
+		writer.writeStartDocument(StandardCharsets.UTF_8.toString(), XML_VERSION);
+
+		// process records to XML
+
+		final XMLExportOperator<GDMRecord> operator = new XMLExportOperator<>(writer, new GDMRecordHandler(writer));
+
+		return recordGDM.flatMapIterable(GDMRecord::fromGDMModel)
+				.lift(operator)
+				.map(GDMRecord::getGDMModel);
+	}
+
 	/**
 	 * @param tag
 	 * @param writer
@@ -103,29 +134,40 @@ public class SolrUpdateXMLExporter implements Exporter<JsonNode> {
 		return tag;
 	}
 
-	private class XMLExportOperator implements Observable.Operator<JsonNode, JsonNode> {
+	/**
+	 * Writes a single record as Solr document.
+	 *
+	 * @param <RECORD> the record format, e.g., GDM compact JSON
+	 */
+	@FunctionalInterface
+	private interface SolrUpdateXMLRecordHandler<RECORD> {
+
+		void handleRecord(final RECORD record) throws DMPConverterException, XMLStreamException;
+	}
+
+	private class XMLExportOperator<RECORD> implements Observable.Operator<RECORD, RECORD> {
 
 		private final XMLStreamWriter writer;
 		private AtomicBoolean wroteFirstRecord = new AtomicBoolean();
-		private final SolrUpdateXMLNodeHandler startNodeHandler;
-		private Optional<JsonNode> optionalFirstSingleRecordGDM;
+		private final SolrUpdateXMLRecordHandler<RECORD> startNodeHandler;
+		private Optional<RECORD> optionalFirstSingleRecordGDM;
 
 		private XMLExportOperator(final XMLStreamWriter writerArg,
-		                          final SolrUpdateXMLNodeHandler startNodeHandlerArg) {
+		                          final SolrUpdateXMLRecordHandler<RECORD> startNodeHandlerArg) {
 
 			writer = writerArg;
 			startNodeHandler = startNodeHandlerArg;
 		}
 
 		@Override
-		public Subscriber<? super JsonNode> call(final Subscriber<? super JsonNode> subscriber) {
+		public Subscriber<? super RECORD> call(final Subscriber<? super RECORD> subscriber) {
 
 			LOG.debug("received subscriber at Solr Update XML export operator");
 
 			final AtomicBoolean seenFirstRecord = new AtomicBoolean();
 			final AtomicInteger counter = new AtomicInteger(0);
 
-			return new Subscriber<JsonNode>() {
+			return new Subscriber<RECORD>() {
 
 				@Override
 				public void onCompleted() {
@@ -148,7 +190,7 @@ public class SolrUpdateXMLExporter implements Exporter<JsonNode> {
 				}
 
 				@Override
-				public void onNext(final JsonNode singleRecordGDM) {
+				public void onNext(final RECORD singleRecordGDM) {
 
 					try {
 
@@ -168,14 +210,14 @@ public class SolrUpdateXMLExporter implements Exporter<JsonNode> {
 							LOG.debug("start writing first record for Solr Update XML export");
 
 							// write first record
-							startNodeHandler.handleNode(null, optionalFirstSingleRecordGDM.get());
+							startNodeHandler.handleRecord(optionalFirstSingleRecordGDM.get());
 
 							counter.incrementAndGet();
 
 							wroteFirstRecord.compareAndSet(false, true);
 						}
 
-						startNodeHandler.handleNode(null, singleRecordGDM);
+						startNodeHandler.handleRecord(singleRecordGDM);
 
 						counter.incrementAndGet();
 
@@ -337,6 +379,66 @@ public class SolrUpdateXMLExporter implements Exporter<JsonNode> {
 		}
 	}
 
+	/**
+	 * Walks a record directly from its GDM statements, i.e., writes the values (literals or resource URIs without further statements)
+	 * of the statements of the record resource node as Solr fields (the same as {@link CBDStartNodeHandler} + {@link CBDNodeHandler}
+	 * + {@link CBDRelationshipHandler} for the GDM compact JSON of this record). Nested nodes won't be exported and the traversal of
+	 * the record ends at its rdf:type statements.
+	 */
+	private class GDMRecordHandler implements SolrUpdateXMLRecordHandler<GDMRecord> {
+
+		private final XMLStreamWriter        writer;
+		private final CBDRelationshipHandler relationshipHandler;
+
+		/**
+		 * Solr field names (i.e. local names) per predicate URI
+		 */
+		private final Map<String, String> fieldNames = new HashMap<>();
+
+		protected GDMRecordHandler(final XMLStreamWriter writerArg) {
+
+			writer = writerArg;
+			relationshipHandler = new CBDRelationshipHandler(writerArg);
+		}
+
+		@Override
+		public void handleRecord(final GDMRecord record) throws DMPConverterException, XMLStreamException {
+
+			// open record
+			writer.writeStartElement(DOC_IDENTIFIER);
+
+			for (final Map.Entry<String, List<Node>> objectsEntry : record.groupObjectsByPredicate(record.getRecordResourceNode()).entrySet()) {
+
+				final String predicateString = objectsEntry.getKey();
+				final List<Node> objects = objectsEntry.getValue();
+
+				if (RDF.type.getURI().equals(predicateString)) {
+
+					// end traversal of the record at rdf:type statements (as it is done by CBDNodeHandler)
+
+					break;
+				}
+
+				if (!record.areValues(objects)) {
+
+					// skip nested nodes
+
+					continue;
+				}
+
+				final String fieldName = fieldNames.computeIfAbsent(predicateString, predicateString1 -> new URI(predicateString1).getLocalName());
+
+				for (final Node object : objects) {
+
+					relationshipHandler.writeKeyValue(fieldName, GDMRecord.getValue(object));
+				}
+			}
+
+			// close record
+			writer.writeEndElement();
+		}
+	}
+
 	/**
 	 * Default handling: write literal objects as XML elements.
 	 */
@@ -358,7 +460,7 @@ public class SolrUpdateXMLExporter implements Exporter<JsonNode> {
 			if (!node.isContainerNode()) {
 
 				// optionally, write literal value
-				writeKeyValue(predicateTag, node);
+				writeKeyValue(predicateTag, node.asText());
 			} else if (isTextArray(node)) {
 
 				final Iterator<JsonNode> elements = node.elements();
@@ -367,7 +469,7 @@ public class SolrUpdateXMLExporter implements Exporter<JsonNode> {
 
 					final JsonNode element = elements.next();
 
-					writeKeyValue(predicateTag, element);
+					writeKeyValue(predicateTag, element.asText());
 				}
 			}
 		}
@@ -400,12 +502,12 @@ public class SolrUpdateXMLExporter implements Exporter<JsonNode> {
 		}
 
 		protected void writeKeyValue(final String predicateTag,
-		                             final JsonNode objectGDMNode) throws XMLStreamException {
+		                             final String value) throws XMLStreamException {
 
 			// open tag
 			writeXMLElement(predicateTag, writer);
 
-			writer.writeCData(objectGDMNode.asText());
+			writer.writeCData(value);
 
 			// close
 			writer.writeEndElement();
@@ -24,6 +24,7 @@ import org.dswarm.graph.json.Statement;
 
 import javax.ws.rs.core.MediaType;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Created by tgaengler on 07.03.16.
@@ -35,11 +36,18 @@ public class TripleRDFExporter extends RDFExporter<Triple> {
 		super(mediaTypeArg);
 	}
 
+	public TripleRDFExporter(final MediaType mediaTypeArg,
+	                         final long resourceNodeCacheSizeArg,
+	                         final long predicateCacheSizeArg) {
+
+		super(mediaTypeArg, resourceNodeCacheSizeArg, predicateCacheSizeArg);
+	}
+
 	@Override
 	protected Triple generateTuple(final Statement statement,
-	                               final ConcurrentHashMap<String, Node> resourceNodeCache,
+	                               final ConcurrentMap<String, Node> resourceNodeCache,
 	                               final ConcurrentHashMap<Long, Node> bnodeCache,
-	                               final ConcurrentHashMap<String, Node> predicateCache) throws DMPConverterException {
+	                               final ConcurrentMap<String, Node> predicateCache) throws DMPConverterException {
 
 		return generateTriple(statement, resourceNodeCache, bnodeCache, predicateCache);
 	}
@@ -52,9 +60,9 @@ public class TripleRDFExporter extends RDFExporter<Triple> {
 	}
 
 	private static Triple generateTriple(final Statement statement,
-	                                     final ConcurrentHashMap<String, Node> resourceNodeCache,
+	                                     final ConcurrentMap<String, Node> resourceNodeCache,
 	                                     final ConcurrentHashMap<Long, org.apache.jena.graph.Node> bnodeCache,
-	                                     final ConcurrentHashMap<String, org.apache.jena.graph.Node> predicateCache) throws DMPConverterException {
+	                                     final ConcurrentMap<String, org.apache.jena.graph.Node> predicateCache) throws DMPConverterException {
 
 		final org.dswarm.graph.json.Node gdmSubject = statement.getSubject();
 		final Predicate gdmPredicate = statement.getPredicate();
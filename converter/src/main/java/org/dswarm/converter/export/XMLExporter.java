@@ -18,6 +18,7 @@ package org.dswarm.converter.export;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Stack;
@@ -46,6 +47,8 @@ import org.dswarm.common.web.URI;
 import org.dswarm.common.xml.utils.XMLStreamWriterUtils;
 import org.dswarm.converter.DMPConverterError;
 import org.dswarm.converter.DMPConverterException;
+import org.dswarm.graph.json.Node;
+import org.dswarm.persistence.model.internal.gdm.GDMModel;
 
 /**
  * TODO: implement namespace resetting at level change, see DD-1041
@@ -124,22 +127,54 @@ public class XMLExporter implements Exporter<JsonNode> {
 
 		// process records to XML
 
-		final XMLRelationshipHandler relationshipHandler;
+		final CBDRelationshipHandler relationshipHandler = createRelationshipHandler(writer);
+		final CBDNodeHandler connectRelsAndNodeHandler = new CBDNodeHandler(relationshipHandler);
+		final XMLNodeHandler startNodeHandler = new CBDStartNodeHandler(connectRelsAndNodeHandler, writer);
 
-		if (originalDataTypeIsXML) {
+		final XMLExportOperator<JsonNode> operator = new XMLExportOperator<>(writer, record -> startNodeHandler.handleNode(null, record));
 
-			relationshipHandler = new CBDRelationshipXMLDataModelHandler(writer);
-		} else {
+		return recordGDM.lift(operator);
+	}
 
-			relationshipHandler = new CBDRelationshipHandler(writer);
-		}
+	/**
+	 * Generates XML directly from the statements of the given GDM models, i.e., without the intermediate GDM compact JSON
+	 * representation that is utilised by {@link #generate(Observable, OutputStream)}. The XML output is the same for both variants.
+	 *
+	 * @param recordGDM   the GDM models of the records that should be exported
+	 * @param outputStream the output stream to write the XML to
+	 * @return the GDM model of each exported record
+	 * @throws XMLStreamException
+	 */
+	public Observable<GDMModel> generateFromGDM(final Observable<GDMModel> recordGDM,
+	                                            final OutputStream outputStream) throws XMLStreamException {
 
-		final CBDNodeHandler connectRelsAndNodeHandler = new CBDNodeHandler(relationshipHandler);
-		final XMLNodeHandler startNodeHandler = new CBDStartNodeHandler(connectRelsAndNodeHandler, writer);
+		LOG.debug("start generating XML directly out of GDM");
 
-		final XMLExportOperator operator = new XMLExportOperator(writer, startNodeHandler);
+		final XMLStreamWriter writer = xmlOutputFactory.createXMLStreamWriter(outputStream);
 
-		return recordGDM.lift(operator);
+		writer.writeStartDocument(StandardCharsets.UTF_8.toString(), XML_VERSION);
+
+		// process records to XML
+
+		final CBDRelationshipHandler relationshipHandler = createRelationshipHandler(writer);
+		final GDMRecordHandler recordHandler = new GDMRecordHandler(relationshipHandler, writer);
+
+		final XMLExportOperator<GDMRecord> operator = new XMLExportOperator<>(writer, recordHandler);
+
+		// note: a GDM model can contain multiple records, i.e., the operator needs to see each record on its own (to determine the root element)
+		return recordGDM.flatMapIterable(GDMRecord::fromGDMModel)
+				.lift(operator)
+				.map(GDMRecord::getGDMModel);
+	}
+
+	private CBDRelationshipHandler createRelationshipHandler(final XMLStreamWriter writer) {
+
+		if (originalDataTypeIsXML) {
+
+			return new CBDRelationshipXMLDataModelHandler(writer);
+		}
+
+		return new CBDRelationshipHandler(writer);
 	}
 
 	/**
@@ -211,29 +246,40 @@ public class XMLExporter implements Exporter<JsonNode> {
 		return finalURI;
 	}
 
-	private class XMLExportOperator implements Observable.Operator<JsonNode, JsonNode> {
+	/**
+	 * Writes a single record (incl. its record tag).
+	 *
+	 * @param <RECORD> the record format, e.g., GDM compact JSON
+	 */
+	@FunctionalInterface
+	private interface XMLRecordHandler<RECORD> {
+
+		void handleRecord(final RECORD record) throws DMPConverterException, XMLStreamException;
+	}
+
+	private class XMLExportOperator<RECORD> implements Observable.Operator<RECORD, RECORD> {
 
 		private final XMLStreamWriter writer;
 		private AtomicBoolean hasAtLeastTwoRecords = new AtomicBoolean();
 		private AtomicBoolean wroteFirstRecord     = new AtomicBoolean();
-		private final XMLNodeHandler     startNodeHandler;
-		private       Optional<JsonNode> optionalFirstSingleRecordGDM;
+		private final XMLRecordHandler<RECORD> startNodeHandler;
+		private       Optional<RECORD>         optionalFirstSingleRecordGDM;
 
 		private XMLExportOperator(final XMLStreamWriter writerArg,
-		                          final XMLNodeHandler startNodeHandlerArg) {
+		                          final XMLRecordHandler<RECORD> startNodeHandlerArg) {
 
 			writer = writerArg;
 			startNodeHandler = startNodeHandlerArg;
 		}
 
-		@Override public Subscriber<? super JsonNode> call(final Subscriber<? super JsonNode> subscriber) {
+		@Override public Subscriber<? super RECORD> call(final Subscriber<? super RECORD> subscriber) {
 
 			LOG.debug("received subscriber at XML export operator");
 
 			final AtomicBoolean seenFirstRecord = new AtomicBoolean();
 			final AtomicInteger counter = new AtomicInteger(0);
 
-			return new Subscriber<JsonNode>() {
+			return new Subscriber<RECORD>() {
 
 				@Override public void onCompleted() {
 
@@ -247,7 +293,7 @@ public class XMLExporter implements Exporter<JsonNode> {
 
 							LOG.info("start writing first record for XML export");
 
-							startNodeHandler.handleNode(null, optionalFirstSingleRecordGDM.get());
+							startNodeHandler.handleRecord(optionalFirstSingleRecordGDM.get());
 
 							counter.incrementAndGet();
 
@@ -281,7 +327,7 @@ public class XMLExporter implements Exporter<JsonNode> {
 					subscriber.onError(throwable);
 				}
 
-				@Override public void onNext(final JsonNode singleRecordGDM) {
+				@Override public void onNext(final RECORD singleRecordGDM) {
 
 					try {
 
@@ -303,14 +349,14 @@ public class XMLExporter implements Exporter<JsonNode> {
 							LOG.debug("start writing first record for XML export");
 
 							// write first record
-							startNodeHandler.handleNode(null, optionalFirstSingleRecordGDM.get());
+							startNodeHandler.handleRecord(optionalFirstSingleRecordGDM.get());
 
 							counter.incrementAndGet();
 
 							wroteFirstRecord.compareAndSet(false, true);
 						}
 
-						startNodeHandler.handleNode(null, singleRecordGDM);
+						startNodeHandler.handleRecord(singleRecordGDM);
 
 						counter.incrementAndGet();
 
@@ -520,6 +566,89 @@ public class XMLExporter implements Exporter<JsonNode> {
 		}
 	}
 
+	/**
+	 * Walks a record directly from its GDM statements. Produces the same XML as {@link CBDStartNodeHandler} + {@link CBDNodeHandler} +
+	 * {@link CBDRelationshipHandler} for the GDM compact JSON of this record, i.e., the objects of a subject are grouped per predicate,
+	 * and nested nodes in a list of multiple objects won't be exported (see DD-1354).
+	 */
+	private class GDMRecordHandler implements XMLRecordHandler<GDMRecord> {
+
+		private final XMLStreamWriter        writer;
+		private final CBDRelationshipHandler relationshipHandler;
+
+		protected GDMRecordHandler(final CBDRelationshipHandler relationshipHandlerArg,
+		                           final XMLStreamWriter writerArg) {
+
+			relationshipHandler = relationshipHandlerArg;
+			writer = writerArg;
+		}
+
+		@Override
+		public void handleRecord(final GDMRecord record) throws DMPConverterException, XMLStreamException {
+
+			determineAndWriteXMLElementAndNamespace(recordTagURI, writer);
+
+			handleNode(record, record.getRecordResourceNode());
+			// close record
+			writer.writeEndElement();
+			isElementOpen = false;
+
+			// simply reset the namespaces prefixes map to that one from one level above
+			namespacesPrefixesMap.clear();
+			namespacesPrefixesMap.putAll(namespacesPrefixesMapStack.peek());
+		}
+
+		private void handleNode(final GDMRecord record,
+		                        final Node subject) throws XMLStreamException {
+
+			for (final Map.Entry<String, List<Node>> objectsEntry : record.groupObjectsByPredicate(subject).entrySet()) {
+
+				final URI predicateURI = getPredicate(objectsEntry.getKey());
+				final List<Node> objects = objectsEntry.getValue();
+
+				if (objects.size() == 1 && record.isNested(objects.get(0))) {
+
+					// continue traversal with object node
+					openElement(predicateURI);
+					handleNode(record, objects.get(0));
+					closeElement();
+				} else if (record.areValues(objects)) {
+
+					for (final Node object : objects) {
+
+						relationshipHandler.writeKeyValue(predicateURI, GDMRecord.getValue(object));
+					}
+				} else {
+
+					// list of multiple objects with nested nodes => only the values will be written
+					openElement(predicateURI);
+
+					for (final Node object : objects) {
+
+						if (!record.isNested(object)) {
+
+							relationshipHandler.writeKeyValue(predicateURI, GDMRecord.getValue(object));
+						}
+					}
+
+					closeElement();
+				}
+			}
+		}
+
+		private void openElement(final URI predicateURI) throws XMLStreamException {
+
+			XMLStreamWriterUtils.writeXMLElementTag(writer, predicateURI, namespacesPrefixesMap, nameMap, isElementOpen);
+			isElementOpen = true;
+		}
+
+		private void closeElement() throws XMLStreamException {
+
+			writer.writeEndElement();
+			isElementOpen = false;
+		}
+	}
+
 	/**
 	 * Default handling: don't export RDF types and write literal objects as XML elements.
 	 */
@@ -547,7 +676,7 @@ public class XMLExporter implements Exporter<JsonNode> {
 			if (!node.isContainerNode()) {
 
 				// optionally, write literal value
-				writeKeyValue(predicateURI, node);
+				writeKeyValue(predicateURI, node.asText());
 			} else if (isTextArray(node)) {
 
 				final Iterator<JsonNode> elements = node.elements();
@@ -556,7 +685,7 @@ public class XMLExporter implements Exporter<JsonNode> {
 
 					final JsonNode element = elements.next();
 
-					writeKeyValue(predicateURI, element);
+					writeKeyValue(predicateURI, element.asText());
 				}
 			} else {
 
@@ -601,7 +730,7 @@ public class XMLExporter implements Exporter<JsonNode> {
 		}
 
 		protected void writeKeyValue(final URI predicateURI,
-		                             final JsonNode objectGDMNode) throws XMLStreamException {
+		                             final String value) throws XMLStreamException {
 
 			// default handling: don't export RDF types and write literal objects as XML elements
 			if (!RDF.type.getURI().equals(predicateURI.toString())) {
@@ -609,7 +738,7 @@ public class XMLExporter implements Exporter<JsonNode> {
 				// open tag
 				XMLStreamWriterUtils.writeXMLElementTag(writer, predicateURI, namespacesPrefixesMap, nameMap, isElementOpen);
 
-				writer.writeCData(objectGDMNode.asText());
+				writer.writeCData(value);
 
 				// close
 				writer.writeEndElement();
@@ -634,14 +763,12 @@ public class XMLExporter implements Exporter<JsonNode> {
 
 		@Override
 		protected void writeKeyValue(final URI predicateURI,
-		                             final JsonNode objectGDMNode) throws XMLStreamException {
+		                             final String value) throws XMLStreamException {
 
 			if (!(RDF.type.getURI().equals(predicateURI.toString()) || RDF.value.getURI().equals(predicateURI.toString()))) {
 
 				// predicate is an XML Attribute => write XML Attribute to this XML Element
 
-				final String value = objectGDMNode.asText();
-
 				XMLStreamWriterUtils
 						.writeXMLAttribute(writer, predicateURI, value, namespacesPrefixesMap, nameMap);
 			} else if (RDF.value.getURI().equals(predicateURI.toString())) {
@@ -649,7 +776,7 @@ public class XMLExporter implements Exporter<JsonNode> {
 				// predicate is an XML Element
 
 				// TODO: what should we do with objects that are resources?
-				writer.writeCData(objectGDMNode.asText());
+				writer.writeCData(value);
 			} else {
 
 				// ??? - log these occurrences?
@@ -18,6 +18,8 @@ package org.dswarm.converter.flow;
 import java.io.Reader;
 import java.nio.charset.Charset;
 import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Paths;
+import java.util.function.Consumer;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.base.Optional;
@@ -29,7 +31,10 @@ import org.slf4j.LoggerFactory;
 
 import org.dswarm.converter.DMPConverterException;
 import org.dswarm.converter.mf.stream.reader.CsvReader;
-import org.dswarm.converter.mf.stream.source.BOMResourceOpener;
+import org.dswarm.converter.mf.stream.source.CSVChunk;
+import org.dswarm.converter.mf.stream.source.CSVChunkOpener;
+import org.dswarm.converter.mf.stream.source.CSVRowChunker;
+import org.dswarm.converter.mf.stream.source.MappedResourceOpener;
 import org.dswarm.persistence.model.resource.Configuration;
 import org.dswarm.persistence.model.resource.DataModel;
 import org.dswarm.persistence.model.resource.utils.ConfigurationStatics;
@@ -59,6 +64,8 @@ public abstract class AbstractCSVResourceFlow<T> {
 
 	private final boolean		firstRowIsHeaders;
 
+	private final String		csvParser;
+
 	protected Optional<Integer>	atMost;
 
 	protected final String dataModelBaseURI;
@@ -102,6 +109,7 @@ public abstract class AbstractCSVResourceFlow<T> {
 		this.atMost = atMostOptional;
 		this.firstRowIsHeaders = getBooleanParameter(configuration, ConfigurationStatics.FIRST_ROW_IS_HEADINGS,
 				ConfigurationStatics.DEFAULT_FIRST_ROW_IS_HEADINGS);
+		this.csvParser = getCSVParserParameter(configuration);
 
 		try {
 			Charset.forName(this.encoding);
@@ -126,6 +134,7 @@ public abstract class AbstractCSVResourceFlow<T> {
 		this.discardRows = ConfigurationStatics.DEFAULT_DISCARD_ROWS;
 		this.atMost = Optional.absent();
 		this.firstRowIsHeaders = true;
+		this.csvParser = ConfigurationStatics.DEFAULT_CSV_PARSER;
 
 		this.dataModelBaseURI = null;
 		this.dataModelSchemaBaseURI = null;
@@ -162,6 +171,7 @@ public abstract class AbstractCSVResourceFlow<T> {
 		this.atMost = atMostOptional;
 		this.firstRowIsHeaders = getBooleanParameter(configuration, ConfigurationStatics.FIRST_ROW_IS_HEADINGS,
 				ConfigurationStatics.DEFAULT_FIRST_ROW_IS_HEADINGS);
+		this.csvParser = getCSVParserParameter(configuration);
 
 		try {
 			Charset.forName(this.encoding);
@@ -184,6 +194,7 @@ public abstract class AbstractCSVResourceFlow<T> {
 		this.discardRows = ConfigurationStatics.DEFAULT_DISCARD_ROWS;
 		this.atMost = Optional.absent();
 		this.firstRowIsHeaders = ConfigurationStatics.DEFAULT_FIRST_ROW_IS_HEADINGS;
+		this.csvParser = ConfigurationStatics.DEFAULT_CSV_PARSER;
 
 		this.dataModelBaseURI = null;
 		this.dataModelSchemaBaseURI = null;
@@ -215,6 +226,19 @@ public abstract class AbstractCSVResourceFlow<T> {
 		return Optional.of(jsonNode.asText());
 	}
 
+	private static String getCSVParserParameter(final Configuration configuration) throws DMPConverterException {
+
+		final String csvParser = getStringParameter(configuration, ConfigurationStatics.CSV_PARSER).or(ConfigurationStatics.DEFAULT_CSV_PARSER);
+
+		if (!ConfigurationStatics.CSV_PARSER_COMMONS_CSV.equals(csvParser) && !ConfigurationStatics.CSV_PARSER_TOKENIZER.equals(csvParser)) {
+
+			throw new DMPConverterException(String.format("The field [%s] must be either '%s' or '%s', got '%s' instead", ConfigurationStatics.CSV_PARSER,
+					ConfigurationStatics.CSV_PARSER_COMMONS_CSV, ConfigurationStatics.CSV_PARSER_TOKENIZER, csvParser));
+		}
+
+		return csvParser;
+	}
+
 	private static Optional<Character> getCharParameter(final Configuration configuration, final String key) throws DMPConverterException {
 		final JsonNode jsonNode = getParameterValue(configuration, key);
 		if (jsonNode == null) {
@@ -272,10 +296,19 @@ public abstract class AbstractCSVResourceFlow<T> {
 
 	public T applyFile(final String filePath) throws DMPConverterException {
 
-		final FileOpener opener = new FileOpener();
-
 		// set encoding
 		final String finalEncoding = encoding != null ? encoding : ConfigurationStatics.DEFAULT_ENCODING;
+
+		if (MappedResourceOpener.isMappable(filePath)) {
+
+			final MappedResourceOpener opener = new MappedResourceOpener();
+			opener.setEncoding(finalEncoding);
+
+			return apply(filePath, opener);
+		}
+
+		// note: e.g. for compressed files
+		final FileOpener opener = new FileOpener();
 		opener.setEncoding(finalEncoding);
 
 		return apply(filePath, opener);
@@ -283,19 +316,80 @@ public abstract class AbstractCSVResourceFlow<T> {
 
 	public T applyResource(final String resourcePath) throws DMPConverterException {
 
-		final BOMResourceOpener opener = new BOMResourceOpener();
+		final MappedResourceOpener opener = new MappedResourceOpener();
 		opener.setEncoding(encoding);
 
 		return apply(resourcePath, opener);
 	}
 
-	public T apply(final String obj, final ObjectPipe<String, ObjectReceiver<Reader>> opener) throws DMPConverterException {
+	public <S> T apply(final S obj, final ObjectPipe<S, ObjectReceiver<Reader>> opener) throws DMPConverterException {
+
+		return apply(obj, opener, ignoreLines, discardRows, 0, 0);
+	}
+
+	/**
+	 * Checks whether the given file can be split into chunks of rows that can be processed independently, i.e., it needs to be a
+	 * (memory-mappable) file whose encoding can be scanned byte-wise and the number of rows must not be limited.
+	 *
+	 * @param filePath the path of the file
+	 * @return true, if the given file can be split into chunks of rows
+	 */
+	protected boolean isChunkable(final String filePath) {
+
+		final String finalEncoding = encoding != null ? encoding : ConfigurationStatics.DEFAULT_ENCODING;
+
+		return !atMost.isPresent() && MappedResourceOpener.isMappable(filePath)
+				&& CSVRowChunker.isSupported(Charset.forName(finalEncoding), escapeCharacter, quoteCharacter, columnDelimiter);
+	}
+
+	/**
+	 * Splits the given CSV file into chunks of complete rows (see {@link CSVRowChunker}).
+	 *
+	 * @param filePath      the path of the CSV file
+	 * @param chunkSize     the (approximate) number of bytes per chunk
+	 * @param chunkConsumer the receiver of the chunks (in file order)
+	 * @return the number of emitted chunks
+	 * @throws DMPConverterException
+	 */
+	protected int split(final String filePath, final long chunkSize, final Consumer<CSVChunk> chunkConsumer) throws DMPConverterException {
+
+		final CSVRowChunker chunker = new CSVRowChunker(escapeCharacter, quoteCharacter, columnDelimiter, ignoreLines, discardRows,
+				firstRowIsHeaders, chunkSize);
+
+		return chunker.split(Paths.get(filePath), chunkConsumer);
+	}
+
+	/**
+	 * Processes one chunk of a CSV file, i.e., lines will be ignored and rows will be discarded only in the first chunk. Line and record
+	 * numbers in error messages will be the ones of the file (see {@link CSVChunk#getLineOffset()} and {@link CSVChunk#getRecordOffset()}).
+	 *
+	 * @param chunk the chunk
+	 * @return the result of the chunk
+	 * @throws DMPConverterException
+	 */
+	protected T applyChunk(final CSVChunk chunk) throws DMPConverterException {
+
+		final CSVChunkOpener opener = new CSVChunkOpener();
+		opener.setEncoding(encoding != null ? encoding : ConfigurationStatics.DEFAULT_ENCODING);
+
+		if (chunk.isFirst()) {
+
+			return apply(chunk, opener, ignoreLines, discardRows, chunk.getLineOffset(), chunk.getRecordOffset());
+		}
+
+		return apply(chunk, opener, 0, 0, chunk.getLineOffset(), chunk.getRecordOffset());
+	}
+
+	private <S> T apply(final S obj, final ObjectPipe<S, ObjectReceiver<Reader>> opener, final int ignoreLinesArg, final int discardRowsArg,
+			final long lineOffset, final long recordOffset) throws DMPConverterException {
 
 		// set parsing attributes
-		final CsvReader reader = new CsvReader(escapeCharacter, quoteCharacter, columnDelimiter, rowDelimiter, ignoreLines, discardRows, atMost);
+		final CsvReader reader = new CsvReader(escapeCharacter, quoteCharacter, columnDelimiter, rowDelimiter, ignoreLinesArg, discardRowsArg,
+				atMost, ConfigurationStatics.CSV_PARSER_TOKENIZER.equals(csvParser));
 
 		reader.setHeader(firstRowIsHeaders);
 		reader.setDataResourceSchemaBaseURI(dataModelSchemaBaseURI);
+		reader.setOffsets(lineOffset, recordOffset);
 
 		final CsvReader pipe = opener.setReceiver(reader);
 
@@ -308,5 +402,5 @@ public abstract class AbstractCSVResourceFlow<T> {
 
 	}
 
-	protected abstract T process(ObjectPipe<String, ObjectReceiver<Reader>> opener, String obj, CsvReader pipe);
+	protected abstract <S> T process(ObjectPipe<S, ObjectReceiver<Reader>> opener, S obj, CsvReader pipe);
 }
@@ -53,7 +53,7 @@ public class CSVSourceResourceCSVJSONPreviewFlow extends AbstractCSVResourceFlow
 	}
 
 	@Override
-	protected String process(final ObjectPipe<String, ObjectReceiver<Reader>> opener, final String obj, final CsvReader pipe) {
+	protected <S> String process(final ObjectPipe<S, ObjectReceiver<Reader>> opener, final S obj, final CsvReader pipe) {
 
 		final CSVJSONEncoder encoder = new CSVJSONEncoder();
 		encoder.withHeader();
@@ -54,7 +54,7 @@ public class CSVSourceResourceCSVPreviewFlow extends AbstractCSVResourceFlow<Str
 	}
 
 	@Override
-	protected String process(final ObjectPipe<String, ObjectReceiver<Reader>> opener, final String obj, final CsvReader pipe) {
+	protected <S> String process(final ObjectPipe<S, ObjectReceiver<Reader>> opener, final S obj, final CsvReader pipe) {
 		final CSVEncoder converter = new CSVEncoder();
 		converter.withHeader();
 
@@ -16,19 +16,29 @@
 package org.dswarm.converter.flow;
 
 import java.io.Reader;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.inject.assistedinject.Assisted;
 import com.google.inject.assistedinject.AssistedInject;
+import com.google.inject.name.Named;
 import org.culturegraph.mf.framework.ObjectPipe;
 import org.culturegraph.mf.framework.ObjectReceiver;
 import org.culturegraph.mf.types.Triple;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import rx.Emitter;
 import rx.Observable;
+import rx.Scheduler;
 
 import org.dswarm.converter.DMPConverterException;
+import org.dswarm.converter.flow.utils.CPUBoundExecutor;
 import org.dswarm.converter.mf.stream.converter.StreamToRecordTriples;
 import org.dswarm.converter.mf.stream.reader.CsvReader;
+import org.dswarm.converter.mf.stream.source.CSVChunk;
 import org.dswarm.persistence.model.resource.Configuration;
 import org.dswarm.persistence.model.resource.DataModel;
 
@@ -37,27 +47,132 @@ import org.dswarm.persistence.model.resource.DataModel;
  */
 public class CSVSourceResourceTriplesFlow extends AbstractCSVResourceFlow<Observable<Collection<Triple>>> {
 
+	private static final Logger LOG = LoggerFactory.getLogger(CSVSourceResourceTriplesFlow.class);
+
+	private static final int  DEFAULT_PARALLELISM = 1;
+	private static final long DEFAULT_CHUNK_SIZE  = 16777216;
+
+	private final int  parallelism;
+	private final long chunkSize;
+
+	/**
+	 * the scheduler for parsing the chunks at parallel ingest (shared by all CPU-bound work; not available = sequential parsing only)
+	 */
+	private final Optional<Scheduler> optionalCPUBoundScheduler;
+
 	@AssistedInject
 	private CSVSourceResourceTriplesFlow(
+			final CPUBoundExecutor cpuBoundExecutor,
+			@Named("dswarm.converter.csv.parallelism") final long parallelismArg,
+			@Named("dswarm.converter.csv.chunk-size") final long chunkSizeArg,
 			@Assisted("encoding") final String encoding,
 			@Assisted("escapeCharacter") final Character escapeCharacter,
 			@Assisted("quoteCharacter") final Character quoteCharacter,
 			@Assisted("columnDelimiter") final Character columnDelimiter,
 			@Assisted("rowDelimiter") final String rowDelimiter) {
 		super(encoding, escapeCharacter, quoteCharacter, columnDelimiter, rowDelimiter);
+
+		parallelism = (int) parallelismArg;
+		chunkSize = chunkSizeArg;
+		optionalCPUBoundScheduler = Optional.of(cpuBoundExecutor.getScheduler());
 	}
 
 	@AssistedInject
-	private CSVSourceResourceTriplesFlow(@Assisted final Configuration configuration) throws DMPConverterException {
+	private CSVSourceResourceTriplesFlow(
+			final CPUBoundExecutor cpuBoundExecutor,
+			@Named("dswarm.converter.csv.parallelism") final long parallelismArg,
+			@Named("dswarm.converter.csv.chunk-size") final long chunkSizeArg,
+			@Assisted final Configuration configuration) throws DMPConverterException {
 		super(configuration);
+
+		parallelism = (int) parallelismArg;
+		chunkSize = chunkSizeArg;
+		optionalCPUBoundScheduler = Optional.of(cpuBoundExecutor.getScheduler());
 	}
 
 	protected CSVSourceResourceTriplesFlow(final DataModel dataModel) throws DMPConverterException {
 		super(dataModel);
+
+		parallelism = DEFAULT_PARALLELISM;
+		chunkSize = DEFAULT_CHUNK_SIZE;
+		optionalCPUBoundScheduler = Optional.empty();
+	}
+
+	protected CSVSourceResourceTriplesFlow(final DataModel dataModel,
+			final long parallelismArg,
+			final long chunkSizeArg,
+			final CPUBoundExecutor cpuBoundExecutor) throws DMPConverterException {
+		super(dataModel);
+
+		parallelism = (int) parallelismArg;
+		chunkSize = chunkSizeArg;
+		optionalCPUBoundScheduler = Optional.of(cpuBoundExecutor.getScheduler());
 	}
 
 	@Override
-	protected Observable<Collection<Triple>> process(final ObjectPipe<String, ObjectReceiver<Reader>> opener, final String obj,
+	public Observable<Collection<Triple>> applyFile(final String filePath) throws DMPConverterException {
+
+		if (parallelism > 1 && optionalCPUBoundScheduler.isPresent() && isChunkable(filePath)) {
+
+			return applyFileInParallel(filePath);
+		}
+
+		return super.applyFile(filePath);
+	}
+
+	/**
+	 * Splits the given CSV file into chunks of complete rows and parses the chunks in parallel (each with its own reader). The resulting
+	 * records will be emitted in file order. Records will be (re-)numbered consecutively, i.e., the record identifiers are the same as the
+	 * ones of sequential processing. Line and record numbers in error messages are the ones of the file (see
+	 * {@link #applyChunk(CSVChunk)}).
+	 *
+	 * @param filePath the path of the CSV file
+	 * @return the records (as triples) of the CSV file
+	 */
+	private Observable<Collection<Triple>> applyFileInParallel(final String filePath) {
+
+		final Scheduler cpuBoundScheduler = optionalCPUBoundScheduler.get();
+
+		final Observable<CSVChunk> chunks = Observable.create(emitter -> {
+
+			try {
+
+				split(filePath, chunkSize, emitter::onNext);
+				emitter.onCompleted();
+			} catch (final Exception e) {
+
+				emitter.onError(e);
+			}
+		}, Emitter.BackpressureMode.BUFFER);
+
+		LOG.debug("process CSV file '{}' with '{}' parallel workers (chunk size = '{}')", filePath, parallelism, chunkSize);
+
+		return Observable.defer(() -> {
+
+			final AtomicLong recordCounter = new AtomicLong(0);
+
+			return chunks
+					.concatMapEager(chunk -> applyChunkInBackground(chunk, cpuBoundScheduler), parallelism, parallelism)
+					.map(recordTriples -> renumber(recordTriples, recordCounter.incrementAndGet()));
+		});
+	}
+
+	private Observable<Collection<Triple>> applyChunkInBackground(final CSVChunk chunk, final Scheduler scheduler) {
+
+		return Observable.defer(() -> {
+
+			try {
+
+				return applyChunk(chunk);
+			} catch (final DMPConverterException e) {
+
+				return Observable.<Collection<Triple>>error(e);
+			}
+		}).subscribeOn(scheduler);
+	}
+
+	@Override
+	protected <S> Observable<Collection<Triple>> process(final ObjectPipe<S, ObjectReceiver<Reader>> opener, final S obj,
 			final CsvReader pipe) {
 
 		final ObservableRecordTriplesReceiver tripleReceiver = new ObservableRecordTriplesReceiver();
@@ -73,4 +188,30 @@ public class CSVSourceResourceTriplesFlow extends AbstractCSVResourceFlow<Observ
 			opener.closeStream();
 		}, Emitter.BackpressureMode.BUFFER);
 	}
+
+	/**
+	 * Replaces the (chunk-local) record identifier of the given record with the given (resource-wide) record number, if necessary.
+	 *
+	 * @param recordTriples the triples of a record
+	 * @param recordNumber  the number of the record in the resource
+	 * @return the triples of the record with the resource-wide record identifier
+	 */
+	private static Collection<Triple> renumber(final Collection<Triple> recordTriples, final long recordNumber) {
+
+		final String recordIdentifier = String.valueOf(recordNumber);
+
+		if (recordTriples.isEmpty() || recordIdentifier.equals(recordTriples.iterator().next().getSubject())) {
+
+			return recordTriples;
+		}
+
+		final List<Triple> renumberedRecordTriples = new ArrayList<>(recordTriples.size());
+
+		for (final Triple triple : recordTriples) {
+
+			renumberedRecordTriples.add(new Triple(recordIdentifier, triple.getPredicate(), triple.getObject(), triple.getObjectType()));
+		}
+
+		return renumberedRecordTriples;
+	}
 }
@@ -33,6 +33,7 @@ import rx.Observable;
 import rx.observables.ConnectableObservable;
 
 import org.dswarm.converter.DMPConverterException;
+import org.dswarm.converter.flow.utils.CPUBoundExecutor;
 import org.dswarm.converter.pipe.timing.TimerBasedFactory;
 import org.dswarm.graph.json.Model;
 import org.dswarm.persistence.model.internal.gdm.GDMModel;
@@ -55,12 +56,17 @@ public class GDMModelTransformationFlow extends TransformationFlow<GDMModel> {
 	private GDMModelTransformationFlow(final Provider<InternalModelServiceFactory> internalModelServiceFactoryProviderArg,
 	                                   @Named("Monitoring") final MetricRegistry registry,
 	                                   final TimerBasedFactory timerBasedFactory,
+	                                   final CPUBoundExecutor cpuBoundExecutor,
 	                                   @Assisted final Metamorph transformer,
 	                                   @Assisted final String scriptArg,
 	                                   @Assisted final Optional<DataModel> outputDataModelArg,
-	                                   @Assisted final Optional<Filter> optionalSkipFilterArg) {
+	                                   @Assisted final Optional<Filter> optionalSkipFilterArg,
+	                                   @Assisted final Optional<String> optionalSkipFilterScriptArg,
+	                                   @Named("dswarm.converter.transformation.max-parallelism") final long maxParallelismArg,
+	                                   @Named("dswarm.converter.transformation.partition-size") final long partitionSizeArg) {
 
-		super(internalModelServiceFactoryProviderArg, registry, timerBasedFactory, transformer, scriptArg, outputDataModelArg, optionalSkipFilterArg);
+		super(internalModelServiceFactoryProviderArg, registry, timerBasedFactory, cpuBoundExecutor, transformer, scriptArg, outputDataModelArg,
+				optionalSkipFilterArg, optionalSkipFilterScriptArg, maxParallelismArg, partitionSizeArg);
 	}
 
 	public Observable<String> applyRecord(final String record) throws DMPConverterException {
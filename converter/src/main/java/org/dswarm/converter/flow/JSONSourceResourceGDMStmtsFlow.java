@@ -35,8 +35,8 @@ import rx.Observable;
 import org.dswarm.converter.DMPConverterException;
 import org.dswarm.converter.mf.stream.GDMModelReceiver;
 import org.dswarm.converter.mf.stream.converter.JsonDecoder;
-import org.dswarm.converter.mf.stream.source.BOMResourceOpener;
 import org.dswarm.converter.mf.stream.source.JSONGDMEncoder;
+import org.dswarm.converter.mf.stream.source.MappedResourceOpener;
 import org.dswarm.converter.pipe.timing.ObjectTimer;
 import org.dswarm.converter.pipe.timing.TimerBasedFactory;
 import org.dswarm.persistence.model.internal.gdm.GDMModel;
@@ -110,7 +110,7 @@ public class JSONSourceResourceGDMStmtsFlow {
 
 	public Observable<GDMModel> applyResource(final String resourcePath) {
 
-		final BOMResourceOpener opener = new BOMResourceOpener();
+		final MappedResourceOpener opener = new MappedResourceOpener();
 
 		return apply(resourcePath, opener);
 	}
@@ -46,6 +46,7 @@ import rx.schedulers.Schedulers;
 
 import org.dswarm.common.types.Tuple;
 import org.dswarm.converter.DMPConverterException;
+import org.dswarm.converter.flow.utils.CPUBoundExecutor;
 import org.dswarm.converter.pipe.timing.TimerBasedFactory;
 import org.dswarm.persistence.model.resource.DataModel;
 import org.dswarm.persistence.service.InternalModelServiceFactory;
@@ -67,12 +68,17 @@ public class JSONTransformationFlow extends TransformationFlow<JsonNode> {
 	private JSONTransformationFlow(final Provider<InternalModelServiceFactory> internalModelServiceFactoryProviderArg,
 	                               @Named("Monitoring") final MetricRegistry registry,
 	                               final TimerBasedFactory timerBasedFactory,
+	                               final CPUBoundExecutor cpuBoundExecutor,
 	                               @Assisted final Metamorph transformer,
 	                               @Assisted final String scriptArg,
 	                               @Assisted final Optional<DataModel> outputDataModelArg,
-	                               @Assisted final Optional<Filter> optionalSkipFilterArg) {
+	                               @Assisted final Optional<Filter> optionalSkipFilterArg,
+	                               @Assisted final Optional<String> optionalSkipFilterScriptArg,
+	                               @Named("dswarm.converter.transformation.max-parallelism") final long maxParallelismArg,
+	                               @Named("dswarm.converter.transformation.partition-size") final long partitionSizeArg) {
 
-		super(internalModelServiceFactoryProviderArg, registry, timerBasedFactory, transformer, scriptArg, outputDataModelArg, optionalSkipFilterArg);
+		super(internalModelServiceFactoryProviderArg, registry, timerBasedFactory, cpuBoundExecutor, transformer, scriptArg, outputDataModelArg,
+				optionalSkipFilterArg, optionalSkipFilterScriptArg, maxParallelismArg, partitionSizeArg);
 	}
 
 	public Observable<String> applyRecord(final String record) throws DMPConverterException {
@@ -20,6 +20,7 @@ import java.util.Collection;
 
 import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
+import com.google.inject.name.Named;
 import org.culturegraph.mf.framework.ObjectPipe;
 import org.culturegraph.mf.framework.ObjectReceiver;
 import org.culturegraph.mf.types.Triple;
@@ -27,6 +28,7 @@ import rx.Emitter;
 import rx.Observable;
 
 import org.dswarm.converter.DMPConverterException;
+import org.dswarm.converter.flow.utils.CPUBoundExecutor;
 import org.dswarm.converter.mf.stream.converter.StreamToRecordTriples;
 import org.dswarm.converter.mf.stream.reader.CsvReader;
 import org.dswarm.converter.pipe.timing.ObjectTimer;
@@ -44,13 +46,16 @@ public class MonitoringCSVSourceResourceTriplesFlow extends CSVSourceResourceTri
 	@Inject
 	private MonitoringCSVSourceResourceTriplesFlow(
 			final TimerBasedFactory timerBasedFactory,
+			final CPUBoundExecutor cpuBoundExecutor,
+			@Named("dswarm.converter.csv.parallelism") final long parallelism,
+			@Named("dswarm.converter.csv.chunk-size") final long chunkSize,
 			@Assisted final DataModel dataModel) throws DMPConverterException {
-		super(dataModel);
+		super(dataModel, parallelism, chunkSize, cpuBoundExecutor);
 		this.timerBasedFactory = timerBasedFactory;
 	}
 
 	@Override
-	protected Observable<Collection<Triple>> process(final ObjectPipe<String, ObjectReceiver<Reader>> opener, final String obj,
+	protected <S> Observable<Collection<Triple>> process(final ObjectPipe<S, ObjectReceiver<Reader>> opener, final S obj,
 			final CsvReader pipe) {
 
 		final ObservableRecordTriplesReceiver tripleReceiver = new ObservableRecordTriplesReceiver();
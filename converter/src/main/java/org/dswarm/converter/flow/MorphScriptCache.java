@@ -0,0 +1,399 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.flow;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.Timer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.dswarm.converter.DMPConverterException;
+import org.dswarm.converter.morph.FilterMorphScriptBuilder;
+import org.dswarm.converter.morph.MorphScriptBuilder;
+import org.dswarm.persistence.model.job.Component;
+import org.dswarm.persistence.model.job.Function;
+import org.dswarm.persistence.model.job.Job;
+import org.dswarm.persistence.model.job.Mapping;
+import org.dswarm.persistence.model.job.Task;
+import org.dswarm.persistence.model.job.Transformation;
+import org.dswarm.persistence.model.resource.DataModel;
+import org.dswarm.persistence.model.resource.utils.ConfigurationStatics;
+import org.dswarm.persistence.model.schema.MappingAttributePathInstance;
+import org.dswarm.persistence.model.schema.Schema;
+import org.dswarm.persistence.model.schema.SchemaAttributePathInstance;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A bounded LRU cache of the generated Metamorph scripts (transformation + skip filter) of tasks. Entries are keyed by the identifiers of
+ * the entities the scripts are generated from (job, mappings incl. their attribute paths and transformation components, skip filter,
+ * input data model, its configuration, schema, content schema and attribute paths) together with their modification stamps. A
+ * modification stamp of an entity will be advanced, when this entity is updated or deleted (see {@link #invalidate(String)}), i.e., the
+ * cache relies on modifications being reported; tasks whose job or mappings have no identifier won't be cached.<br/>
+ * Only the scripts are cached. Since Metamorph instances are stateful (and hence can only be utilised by one transformation flow), they
+ * will be parsed on demand by the transformation flow factory.
+ *
+ * @author tgaengler
+ */
+@Singleton
+public class MorphScriptCache implements MetricSet {
+
+	private static final Logger LOG = LoggerFactory.getLogger(MorphScriptCache.class);
+
+	private static final String METRICS_PREFIX = name(MorphScriptCache.class);
+
+	/**
+	 * The number of modification stamps that will be kept at most (an evicted stamp can only affect entries that were built before the
+	 * modification and that were already evicted by it).
+	 */
+	private static final int MAX_MODIFICATION_STAMPS = 10000;
+
+	private final Cache<String, MorphScripts> cache;
+
+	private final Cache<String, Long> modificationStamps = CacheBuilder.newBuilder()
+			.maximumSize(MAX_MODIFICATION_STAMPS)
+			.build();
+
+	private final AtomicLong modificationCounter = new AtomicLong(0);
+	private final AtomicLong uncachedCounter     = new AtomicLong(0);
+	private final Timer      buildTimer          = new Timer();
+
+	@Inject
+	public MorphScriptCache(@Named("dswarm.converter.morph-script-cache.max-entries") final long maxEntries, final MetricRegistry registry) {
+
+		cache = CacheBuilder.newBuilder()
+				.maximumSize(maxEntries)
+				.recordStats()
+				.build();
+
+		registerMetrics(registry);
+	}
+
+	/**
+	 * Gets the (cached or freshly generated) Metamorph scripts of the given task.
+	 *
+	 * @param task the task
+	 * @return the Metamorph scripts of the given task
+	 * @throws DMPConverterException
+	 */
+	public MorphScripts getMorphScripts(final Task task) throws DMPConverterException {
+
+		if (!isCacheable(task)) {
+
+			uncachedCounter.incrementAndGet();
+
+			return buildMorphScripts(task, Collections.emptySet());
+		}
+
+		final Set<String> dependencies = determineDependencies(task);
+		final String key = calculateKey(task, dependencies);
+
+		try {
+
+			return cache.get(key, () -> buildMorphScripts(task, dependencies));
+		} catch (final ExecutionException | UncheckedExecutionException e) {
+
+			final Throwable cause = e.getCause();
+
+			if (cause instanceof DMPConverterException) {
+
+				throw (DMPConverterException) cause;
+			}
+
+			throw new DMPConverterException("couldn't generate Metamorph scripts for task", cause);
+		}
+	}
+
+	/**
+	 * Advances the modification stamp of the entity with the given identifier (e.g. a job, mapping, data model, schema or content schema)
+	 * and evicts all entries whose scripts were generated from it.
+	 *
+	 * @param uuid the identifier of an updated or deleted entity
+	 */
+	public void invalidate(final String uuid) {
+
+		if (uuid == null) {
+
+			return;
+		}
+
+		modificationStamps.put(uuid, modificationCounter.incrementAndGet());
+
+		cache.asMap().entrySet().removeIf(entry -> entry.getValue().dependencies.contains(uuid));
+	}
+
+	public void invalidateAll() {
+
+		cache.invalidateAll();
+	}
+
+	@Override
+	public Map<String, Metric> getMetrics() {
+
+		final Map<String, Metric> metrics = new HashMap<>();
+
+		metrics.put(name(METRICS_PREFIX, "hits"), (Gauge<Long>) () -> cache.stats().hitCount());
+		metrics.put(name(METRICS_PREFIX, "misses"), (Gauge<Long>) () -> cache.stats().missCount());
+		metrics.put(name(METRICS_PREFIX, "evictions"), (Gauge<Long>) () -> cache.stats().evictionCount());
+		metrics.put(name(METRICS_PREFIX, "size"), (Gauge<Long>) cache::size);
+		metrics.put(name(METRICS_PREFIX, "uncached"), (Gauge<Long>) uncachedCounter::get);
+		metrics.put(name(METRICS_PREFIX, "build"), buildTimer);
+
+		return metrics;
+	}
+
+	private void registerMetrics(final MetricRegistry registry) {
+
+		try {
+
+			registry.registerAll(this);
+		} catch (final IllegalArgumentException e) {
+
+			LOG.trace("Metamorph script cache metrics are already registered", e);
+		}
+	}
+
+	private MorphScripts buildMorphScripts(final Task task, final Set<String> dependencies) throws DMPConverterException {
+
+		try (final Timer.Context ignored = buildTimer.time()) {
+
+			final String morphScript = new MorphScriptBuilder().apply(task).toString();
+			final Optional<String> optionalFilterScript = Optional.ofNullable(new FilterMorphScriptBuilder().apply(task).toString());
+
+			return new MorphScripts(morphScript, optionalFilterScript, dependencies);
+		}
+	}
+
+	private String calculateKey(final Task task, final Set<String> dependencies) {
+
+		final Hasher hasher = Hashing.murmur3_128().newHasher();
+
+		// note: sorted for a stable key
+		for (final String uuid : new TreeSet<>(dependencies)) {
+
+			putString(hasher, uuid);
+
+			final Long modificationStamp = modificationStamps.getIfPresent(uuid);
+
+			hasher.putLong(modificationStamp != null ? modificationStamp : 0L);
+		}
+
+		final DataModel inputDataModel = task.getInputDataModel();
+
+		if (inputDataModel != null && inputDataModel.getConfiguration() != null) {
+
+			final JsonNode storageType = inputDataModel.getConfiguration().getParameter(ConfigurationStatics.STORAGE_TYPE);
+
+			putString(hasher, storageType != null ? storageType.asText() : null);
+		}
+
+		return hasher.hash().toString();
+	}
+
+	/**
+	 * A task can only be cached, if its job and mappings have identifiers, i.e., their content is determined by their identifiers (and
+	 * modification stamps).
+	 *
+	 * @param task the task
+	 * @return true, if the Metamorph scripts of the given task can be cached
+	 */
+	private static boolean isCacheable(final Task task) {
+
+		final Job job = task.getJob();
+
+		if (job == null || job.getUuid() == null) {
+
+			return false;
+		}
+
+		return job.getMappings() == null || job.getMappings().stream().allMatch(mapping -> mapping.getUuid() != null);
+	}
+
+	private static Set<String> determineDependencies(final Task task) {
+
+		final Set<String> dependencies = new HashSet<>();
+
+		final Job job = task.getJob();
+
+		if (job != null) {
+
+			dependencies.add(job.getUuid());
+
+			if (job.getMappings() != null) {
+
+				job.getMappings().forEach(mapping -> addMappingDependencies(mapping, dependencies));
+			}
+
+			if (job.getSkipFilter() != null) {
+
+				dependencies.add(job.getSkipFilter().getUuid());
+			}
+		}
+
+		final DataModel inputDataModel = task.getInputDataModel();
+
+		if (inputDataModel != null) {
+
+			dependencies.add(inputDataModel.getUuid());
+
+			if (inputDataModel.getConfiguration() != null) {
+
+				dependencies.add(inputDataModel.getConfiguration().getUuid());
+			}
+
+			final Schema inputSchema = inputDataModel.getSchema();
+
+			if (inputSchema != null) {
+
+				dependencies.add(inputSchema.getUuid());
+
+				if (inputSchema.getContentSchema() != null) {
+
+					dependencies.add(inputSchema.getContentSchema().getUuid());
+				}
+
+				final Collection<SchemaAttributePathInstance> attributePaths = inputSchema.getAttributePaths();
+
+				if (attributePaths != null) {
+
+					attributePaths.forEach(attributePath -> dependencies.add(attributePath.getUuid()));
+				}
+			}
+		}
+
+		dependencies.remove(null);
+
+		return dependencies;
+	}
+
+	private static void addMappingDependencies(final Mapping mapping, final Set<String> dependencies) {
+
+		dependencies.add(mapping.getUuid());
+
+		if (mapping.getInputAttributePaths() != null) {
+
+			mapping.getInputAttributePaths().forEach(inputAttributePath -> addMappingAttributePathDependencies(inputAttributePath, dependencies));
+		}
+
+		addMappingAttributePathDependencies(mapping.getOutputAttributePath(), dependencies);
+		addComponentDependencies(mapping.getTransformation(), dependencies);
+	}
+
+	private static void addMappingAttributePathDependencies(final MappingAttributePathInstance attributePath, final Set<String> dependencies) {
+
+		if (attributePath == null) {
+
+			return;
+		}
+
+		dependencies.add(attributePath.getUuid());
+
+		if (attributePath.getFilter() != null) {
+
+			dependencies.add(attributePath.getFilter().getUuid());
+		}
+	}
+
+	private static void addComponentDependencies(final Component component, final Set<String> dependencies) {
+
+		if (component == null) {
+
+			return;
+		}
+
+		dependencies.add(component.getUuid());
+
+		final Function function = component.getFunction();
+
+		if (function == null) {
+
+			return;
+		}
+
+		dependencies.add(function.getUuid());
+
+		if (function instanceof Transformation && ((Transformation) function).getComponents() != null) {
+
+			((Transformation) function).getComponents().forEach(innerComponent -> addComponentDependencies(innerComponent, dependencies));
+		}
+	}
+
+	private static void putString(final Hasher hasher, final String value) {
+
+		if (value != null) {
+
+			hasher.putString(value, StandardCharsets.UTF_8);
+		}
+
+		// separator
+		hasher.putByte((byte) 0);
+	}
+
+	/**
+	 * The generated Metamorph scripts of a task.
+	 */
+	public static final class MorphScripts {
+
+		private final String           morphScript;
+		private final Optional<String> filterScript;
+
+		/**
+		 * the identifiers of the entities the scripts were generated from
+		 */
+		private final Set<String> dependencies;
+
+		private MorphScripts(final String morphScript, final Optional<String> filterScript, final Set<String> dependencies) {
+
+			this.morphScript = morphScript;
+			this.filterScript = filterScript;
+			this.dependencies = dependencies;
+		}
+
+		public String getMorphScript() {
+
+			return morphScript;
+		}
+
+		public Optional<String> getFilterScript() {
+
+			return filterScript;
+		}
+	}
+}
@@ -52,6 +52,7 @@ import org.slf4j.LoggerFactory;
 import rx.Emitter;
 import rx.Observable;
 import rx.Scheduler;
+import rx.functions.Action0;
 import rx.functions.Action1;
 import rx.observables.ConnectableObservable;
 import rx.schedulers.Schedulers;
@@ -60,8 +61,11 @@ import org.dswarm.converter.DMPConverterError;
 import org.dswarm.converter.DMPConverterException;
 import org.dswarm.converter.DMPMorphDefException;
 import org.dswarm.converter.flow.model.MorphTask;
+import org.dswarm.converter.flow.model.PartitionedMorphTask;
+import org.dswarm.converter.flow.utils.CPUBoundExecutor;
 import org.dswarm.converter.mf.stream.GDMEncoder;
 import org.dswarm.converter.mf.stream.GDMModelReceiver;
+import org.dswarm.converter.mf.stream.reader.GDMModelReader;
 import org.dswarm.converter.mf.stream.reader.JsonNodeReader;
 import org.dswarm.converter.pipe.timing.TimerBasedFactory;
 import org.dswarm.graph.json.*;
@@ -100,6 +104,8 @@ public abstract class TransformationFlow<RESULTFORMAT> {
 
 	protected final Optional<Filter> optionalSkipFilter;
 
+	private final Optional<String> optionalSkipFilterScript;
+
 	protected final Optional<DataModel> outputDataModel;
 
 	private final Provider<InternalModelServiceFactory> internalModelServiceFactoryProvider;
@@ -108,6 +114,21 @@ public abstract class TransformationFlow<RESULTFORMAT> {
 
 	protected final Timer morphTimer;
 
+	/**
+	 * The executor that processes the partitions at parallel execution (shared by all CPU-bound work).
+	 */
+	private final CPUBoundExecutor cpuBoundExecutor;
+
+	/**
+	 * The maximum number of parallel pipelines of one execution, i.e., requested degrees of parallelism will be clamped to it.
+	 */
+	private final int maxParallelism;
+
+	/**
+	 * The number of consecutive records that will be processed by one pipeline at parallel execution.
+	 */
+	private final int partitionSize;
+
 	private static final String DSWARM_GDM_THREAD_NAMING_PATTERN = "dswarm-gdm-%d";
 
 	private static final ExecutorService GDM_EXECUTOR_SERVICE = Executors
@@ -118,19 +139,28 @@ public abstract class TransformationFlow<RESULTFORMAT> {
 	protected TransformationFlow(final Provider<InternalModelServiceFactory> internalModelServiceFactoryProviderArg,
 	                             final MetricRegistry registry,
 	                             final TimerBasedFactory timerBasedFactory,
+	                             final CPUBoundExecutor cpuBoundExecutorArg,
 	                             final Metamorph transformer,
 	                             final String scriptArg,
 	                             final Optional<DataModel> outputDataModelArg,
-	                             final Optional<Filter> optionalSkipFilterArg) {
+	                             final Optional<Filter> optionalSkipFilterArg,
+	                             final Optional<String> optionalSkipFilterScriptArg,
+	                             final long maxParallelismArg,
+	                             final long partitionSizeArg) {
 
 		this.timerBasedFactory = timerBasedFactory;
+		cpuBoundExecutor = cpuBoundExecutorArg;
 		this.transformer = transformer;
 		script = scriptArg == null ? "" : scriptArg;
 		outputDataModel = outputDataModelArg;
 		optionalSkipFilter = optionalSkipFilterArg;
+		optionalSkipFilterScript = optionalSkipFilterScriptArg;
 		internalModelServiceFactoryProvider = internalModelServiceFactoryProviderArg;
 
 		morphTimer = registry.timer("metamorph");
+
+		maxParallelism = maxParallelismArg > 0 ? (int) maxParallelismArg : Runtime.getRuntime().availableProcessors();
+		partitionSize = (int) Math.max(1, partitionSizeArg);
 	}
 
 	public String getScript() {
@@ -150,16 +180,75 @@ public abstract class TransformationFlow<RESULTFORMAT> {
 		}
 	}
 
-	public ConnectableObservable<RESULTFORMAT> apply(final Observable<Tuple2<String, JsonNode>> tuples,
-	                                                 final ObjectPipe<Tuple2<String, JsonNode>, StreamReceiver> opener,
-	                                                 final boolean writeResultToDatahub,
-	                                                 final boolean doNotReturnJsonToCaller,
-	                                                 final boolean enableVersioning,
-	                                                 final Scheduler scheduler) throws DMPConverterException {
+	public <INPUT> ConnectableObservable<RESULTFORMAT> apply(final Observable<INPUT> tuples,
+	                                                         final ObjectPipe<INPUT, StreamReceiver> opener,
+	                                                         final boolean writeResultToDatahub,
+	                                                         final boolean doNotReturnJsonToCaller,
+	                                                         final boolean enableVersioning,
+	                                                         final Scheduler scheduler) throws DMPConverterException {
 
 		final MorphTask morphTask = new MorphTask(morphTimer, timerBasedFactory, outputDataModel, TRANSFORMATION_ENGINE_IDENTIFIER, optionalSkipFilter, opener, transformer);
 
-		final ConnectableObservable<org.dswarm.persistence.model.internal.Model> model = doPostProcessingOfResultModel(morphTask.getWriter(), scheduler);
+		return apply(tuples, opener, morphTask.getMorphContext(), morphTask.getWriter(), writeResultToDatahub, doNotReturnJsonToCaller,
+				enableVersioning, scheduler,
+				() -> logTransformationFlowEnd(opener, morphTask.getConverter(), morphTask.getWriter(), writeResultToDatahub));
+	}
+
+	/**
+	 * Executes the transformation with the given degree of parallelism, i.e., with n independent Metamorph pipelines (each compiled from
+	 * the script of this flow) that are fed with partitions of the incoming records. A degree of parallelism of 1 (or less) results in the
+	 * default, sequential execution. The degree of parallelism will be clamped to the configured maximum
+	 * (dswarm.converter.transformation.max-parallelism). Note: the parallel mode is not suitable for transformation scripts with
+	 * cross-record state.
+	 *
+	 * @param tuples        the incoming records
+	 * @param openerFactory creates a new opener for every pipeline
+	 * @param parallelism   the (requested) number of parallel pipelines
+	 * @param preserveOrder whether the results should be emitted in the order of the incoming records
+	 * @return the transformation result
+	 * @throws DMPConverterException
+	 */
+	public <INPUT> ConnectableObservable<RESULTFORMAT> apply(final Observable<INPUT> tuples,
+	                                                         final Supplier<ObjectPipe<INPUT, StreamReceiver>> openerFactory,
+	                                                         final boolean writeResultToDatahub,
+	                                                         final boolean doNotReturnJsonToCaller,
+	                                                         final boolean enableVersioning,
+	                                                         final int parallelism,
+	                                                         final boolean preserveOrder,
+	                                                         final Scheduler scheduler) throws DMPConverterException {
+
+		final int effectiveParallelism = Math.min(parallelism, maxParallelism);
+
+		if (effectiveParallelism < parallelism) {
+
+			LOG.debug("clamped requested degree of parallelism '{}' to the maximum of '{}' parallel pipelines", parallelism, maxParallelism);
+		}
+
+		if (effectiveParallelism <= 1) {
+
+			return apply(tuples, openerFactory.get(), writeResultToDatahub, doNotReturnJsonToCaller, enableVersioning, scheduler);
+		}
+
+		final PartitionedMorphTask<INPUT> morphTask = new PartitionedMorphTask<>(morphTimer, timerBasedFactory, effectiveParallelism, partitionSize,
+				preserveOrder, outputDataModel, TRANSFORMATION_ENGINE_IDENTIFIER, openerFactory, this::createTransformer, this::createSkipFilter,
+				cpuBoundExecutor.getExecutorService());
+
+		return apply(tuples, morphTask, morphTask.getMorphContext(), morphTask.getWriter(), writeResultToDatahub, doNotReturnJsonToCaller,
+				enableVersioning, scheduler,
+				() -> logTransformationFlowEnd(morphTask, morphTask.getWriter(), writeResultToDatahub));
+	}
+
+	private <INPUT> ConnectableObservable<RESULTFORMAT> apply(final Observable<INPUT> tuples,
+	                                                          final ObjectPipe<INPUT, ?> opener,
+	                                                          final Context morphContext,
+	                                                          final GDMModelReceiver writer,
+	                                                          final boolean writeResultToDatahub,
+	                                                          final boolean doNotReturnJsonToCaller,
+	                                                          final boolean enableVersioning,
+	                                                          final Scheduler scheduler,
+	                                                          final Action0 logTransformationFlowEnd) {
+
+		final ConnectableObservable<org.dswarm.persistence.model.internal.Model> model = doPostProcessingOfResultModel(writer, scheduler);
 
 		final Optional<Observable<RESULTFORMAT>> optionalResultObservable;
 		final Optional<ConnectableObservable<RESULTFORMAT>> optionalConnectableResultObservable;
@@ -177,8 +266,8 @@ public abstract class TransformationFlow<RESULTFORMAT> {
 
 		final Observable<Response> writeResponse = writeResultToDatahub(writeResultToDatahub, enableVersioning, model);
 
-		final ConnectableObservable<RESULTFORMAT> resultformatObservable = Observable.create(wireTransformationFlowMorphConnector(doNotReturnJsonToCaller, optionalResultObservable, optionalConnectableResultObservable, scheduler, writeResponse, morphTask.getMorphContext(), tuples, opener, morphTask.getWriter()), Emitter.BackpressureMode.BUFFER)
-				.doOnCompleted(() -> logTransformationFlowEnd(opener, morphTask.getConverter(), morphTask.getWriter(), writeResultToDatahub))
+		final ConnectableObservable<RESULTFORMAT> resultformatObservable = Observable.create(wireTransformationFlowMorphConnector(doNotReturnJsonToCaller, optionalResultObservable, optionalConnectableResultObservable, scheduler, writeResponse, morphContext, tuples, opener, writer), Emitter.BackpressureMode.BUFFER)
+				.doOnCompleted(logTransformationFlowEnd)
 				.observeOn(scheduler)
 				.publish();
 
@@ -198,6 +287,47 @@ public abstract class TransformationFlow<RESULTFORMAT> {
 		return apply(tuples, opener, writeResultToDatahub, doNotReturnJsonToCaller, enableVersioning, scheduler);
 	}
 
+	/**
+	 * Executes the transformation on the given GDM records. The statements of the records are emitted directly into the transformation
+	 * engine, i.e., without converting the records to their JSON representation first.
+	 *
+	 * @param records the GDM records
+	 * @return the transformation result
+	 * @throws DMPConverterException
+	 */
+	public ConnectableObservable<RESULTFORMAT> applyGDMModels(final Observable<GDMModel> records,
+	                                                          final boolean writeResultToDatahub,
+	                                                          final boolean doNotReturnJsonToCaller,
+	                                                          final boolean enableVersioning,
+	                                                          final Scheduler scheduler) throws DMPConverterException {
+
+		final GDMModelReader opener = new GDMModelReader();
+
+		return apply(records, opener, writeResultToDatahub, doNotReturnJsonToCaller, enableVersioning, scheduler);
+	}
+
+	/**
+	 * Executes the transformation on the given GDM records with the given degree of parallelism (see
+	 * {@link #apply(Observable, Supplier, boolean, boolean, boolean, int, boolean, Scheduler)}).
+	 *
+	 * @param records       the GDM records
+	 * @param parallelism   the (requested) number of parallel pipelines
+	 * @param preserveOrder whether the results should be emitted in the order of the incoming records
+	 * @return the transformation result
+	 * @throws DMPConverterException
+	 */
+	public ConnectableObservable<RESULTFORMAT> applyGDMModels(final Observable<GDMModel> records,
+	                                                          final boolean writeResultToDatahub,
+	                                                          final boolean doNotReturnJsonToCaller,
+	                                                          final boolean enableVersioning,
+	                                                          final int parallelism,
+	                                                          final boolean preserveOrder,
+	                                                          final Scheduler scheduler) throws DMPConverterException {
+
+		return apply(records, GDMModelReader::new, writeResultToDatahub, doNotReturnJsonToCaller, enableVersioning, parallelism,
+				preserveOrder, scheduler);
+	}
+
 	static Metamorph createMorph(final Reader morphString) throws DMPMorphDefException {
 		try {
 			return new Metamorph(morphString);
@@ -309,15 +439,15 @@ public abstract class TransformationFlow<RESULTFORMAT> {
 
 	protected abstract ConnectableObservable<RESULTFORMAT> transformResultModel(final Observable<org.dswarm.persistence.model.internal.Model> model);
 
-	protected Action1<Emitter<RESULTFORMAT>> wireTransformationFlowMorphConnector(final boolean doNotReturnJsonToCaller,
-	                                                                              final Optional<Observable<RESULTFORMAT>> optionalResultObservable,
-	                                                                              final Optional<ConnectableObservable<RESULTFORMAT>> optionalConnectableResultObservable,
-	                                                                              final Scheduler scheduler,
-	                                                                              final Observable<Response> writeResponse,
-	                                                                              final Context morphContext,
-	                                                                              final Observable<Tuple2<String, JsonNode>> tuples,
-	                                                                              final ObjectPipe<Tuple2<String, JsonNode>, StreamReceiver> opener,
-	                                                                              final GDMModelReceiver writer) {
+	protected <INPUT> Action1<Emitter<RESULTFORMAT>> wireTransformationFlowMorphConnector(final boolean doNotReturnJsonToCaller,
+	                                                                                      final Optional<Observable<RESULTFORMAT>> optionalResultObservable,
+	                                                                                      final Optional<ConnectableObservable<RESULTFORMAT>> optionalConnectableResultObservable,
+	                                                                                      final Scheduler scheduler,
+	                                                                                      final Observable<Response> writeResponse,
+	                                                                                      final Context morphContext,
+	                                                                                      final Observable<INPUT> tuples,
+	                                                                                      final ObjectPipe<INPUT, ?> opener,
+	                                                                                      final GDMModelReceiver writer) {
 
 		return subscriber -> {
 
@@ -343,7 +473,7 @@ public abstract class TransformationFlow<RESULTFORMAT> {
 
 			final AtomicInteger counter = new AtomicInteger(0);
 
-			final Observable<Tuple2<String, JsonNode>> tupleObservable = tuples.observeOn(scheduler);
+			final Observable<INPUT> tupleObservable = tuples.observeOn(scheduler);
 
 			tupleObservable.doOnNext(tuple -> {
 
@@ -359,7 +489,7 @@ public abstract class TransformationFlow<RESULTFORMAT> {
 
 	protected abstract AndThenWaitFor<RESULTFORMAT, Response> concatStreams(final Observable<Response> writeResponse);
 
-	protected static void logTransformationFlowEnd(final ObjectPipe<Tuple2<String, JsonNode>, StreamReceiver> opener,
+	protected static void logTransformationFlowEnd(final ObjectPipe<?, ?> opener,
 	                                               final GDMEncoder converter,
 	                                               final GDMModelReceiver writer,
 	                                               final boolean writeResultToDatahub) {
@@ -369,12 +499,33 @@ public abstract class TransformationFlow<RESULTFORMAT> {
 			JsonNodeReader jsonNodeReader = (JsonNodeReader) opener;
 
 			LOG.debug("processed '{}' records with opener in transformation engine", jsonNodeReader.getCounter().get());
+		} else if (GDMModelReader.class.isInstance(opener)) {
+
+			final GDMModelReader gdmModelReader = (GDMModelReader) opener;
+
+			LOG.debug("processed '{}' records with opener in transformation engine", gdmModelReader.getCounter().get());
 		}
 
 		LOG.debug("received '{}' ('{}') records + emitted '{}' ('{}') records in converter in transformation engine",
 				converter.getInComingCounter(), converter.getInComingCounter2(), converter.getOutGoingCounter(),
 				converter.getOutGoingCounter2());
 
+		logWriterEnd(writer, writeResultToDatahub);
+	}
+
+	protected static void logTransformationFlowEnd(final PartitionedMorphTask<?> morphTask,
+	                                               final GDMModelReceiver writer,
+	                                               final boolean writeResultToDatahub) {
+
+		LOG.debug("received '{}' records + emitted '{}' records in '{}' parallel pipelines in transformation engine",
+				morphTask.getInComingCounter(), morphTask.getOutGoingCounter(), morphTask.getParallelism());
+
+		logWriterEnd(writer, writeResultToDatahub);
+	}
+
+	private static void logWriterEnd(final GDMModelReceiver writer,
+	                                 final boolean writeResultToDatahub) {
+
 		final int outGoingCounter;
 
 		if (writeResultToDatahub) {
@@ -388,6 +539,33 @@ public abstract class TransformationFlow<RESULTFORMAT> {
 				writer.getInComingCounter(), outGoingCounter, writer.getNonOutGoingCounter());
 	}
 
+	private Metamorph createTransformer() {
+
+		try {
+
+			return createMorph(readString(script));
+		} catch (final DMPMorphDefException e) {
+
+			throw DMPConverterError.wrap(e);
+		}
+	}
+
+	private Optional<Filter> createSkipFilter() {
+
+		if (!optionalSkipFilterScript.isPresent()) {
+
+			return Optional.empty();
+		}
+
+		try {
+
+			return Optional.of(createFilter(readString(optionalSkipFilterScript.get())));
+		} catch (final DMPMorphDefException e) {
+
+			throw DMPConverterError.wrap(e);
+		}
+	}
+
 	protected static <T> boolean exists(final Optional<T> optional, final java.util.function.Predicate<T> predicate) {
 		return optional.isPresent() && predicate.test(optional.get());
 	}
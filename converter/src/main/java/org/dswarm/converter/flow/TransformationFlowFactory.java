@@ -40,7 +40,8 @@ public interface TransformationFlowFactory<TRANSFORMATIONFLOW> {
 			final Metamorph transformer,
 			final String scriptArg,
 			final Optional<DataModel> outputDataModelArg,
-			final Optional<Filter> optionalSkipFilterArg);
+			final Optional<Filter> optionalSkipFilterArg,
+			final Optional<String> optionalSkipFilterScriptArg);
 
 	default TRANSFORMATIONFLOW fromString(
 			final String morphScriptString) throws DMPConverterException {
@@ -113,6 +114,17 @@ public interface TransformationFlowFactory<TRANSFORMATIONFLOW> {
 				Optional.ofNullable(task.getOutputDataModel()));
 	}
 
+	default TRANSFORMATIONFLOW fromTask(final Task task, final MorphScriptCache morphScriptCache) throws DMPConverterException {
+
+		// note: only the generated scripts are cached, i.e., the (stateful) Metamorph instances will be parsed for every flow
+		final MorphScriptCache.MorphScripts morphScripts = morphScriptCache.getMorphScripts(task);
+
+		return fromAnything(
+				readString(morphScripts.getMorphScript()),
+				readString(morphScripts.getFilterScript()),
+				Optional.ofNullable(task.getOutputDataModel()));
+	}
+
 	// private-ish
 
 	default TRANSFORMATIONFLOW fromAnything(
@@ -154,12 +166,20 @@ public interface TransformationFlowFactory<TRANSFORMATIONFLOW> {
 
 		final Metamorph morph = createMorph(new StringReader(morphContent));
 		final Optional<Filter> filter;
+		final Optional<String> filterContent;
 		if (filterScript.isPresent()) {
-			filter = Optional.of(createFilter(filterScript.get()));
+			try {
+				filterContent = Optional.of(CharStreams.toString(filterScript.get()));
+				filterScript.get().close();
+			} catch (final IOException e) {
+				throw new DMPMorphDefException("could not read filter string", e);
+			}
+			filter = Optional.of(createFilter(new StringReader(filterContent.get())));
 		} else {
+			filterContent = Optional.empty();
 			filter = Optional.empty();
 		}
 
-		return create(morph, morphContent, outputDataModel, filter);
+		return create(morph, morphContent, outputDataModel, filter, filterContent);
 	}
 }
@@ -16,6 +16,9 @@
 package org.dswarm.converter.flow;
 
 import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Optional;
 
 import com.codahale.metrics.MetricRegistry;
@@ -32,11 +35,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Emitter;
 import rx.Observable;
+import rx.Scheduler;
 
 import org.dswarm.converter.DMPConverterException;
+import org.dswarm.converter.flow.utils.CPUBoundExecutor;
 import org.dswarm.converter.mf.stream.GDMModelReceiver;
-import org.dswarm.converter.mf.stream.source.BOMResourceOpener;
+import org.dswarm.converter.mf.stream.source.MappedResourceOpener;
+import org.dswarm.converter.mf.stream.source.XMLChunk;
+import org.dswarm.converter.mf.stream.source.XMLChunkOpener;
 import org.dswarm.converter.mf.stream.source.XMLGDMEncoder;
+import org.dswarm.converter.mf.stream.source.XMLRecordChunker;
 import org.dswarm.converter.pipe.timing.ObjectTimer;
 import org.dswarm.converter.pipe.timing.TimerBasedFactory;
 import org.dswarm.converter.pipe.timing.XmlTimer;
@@ -63,11 +71,21 @@ public class XMLSourceResourceGDMStmtsFlow {
 	private final boolean             utiliseExistingSchema;
 	private final TimerBasedFactory   timerBasedFactory;
 	private final Timer               morphTimer;
+	private final int                 parallelism;
+	private final long                chunkSize;
+
+	/**
+	 * the scheduler for parsing the chunks at parallel ingest (shared by all CPU-bound work)
+	 */
+	private final Scheduler cpuBoundScheduler;
 
 	@Inject
 	private XMLSourceResourceGDMStmtsFlow(
 			@Named("Monitoring") final MetricRegistry registry,
 			final TimerBasedFactory timerBasedFactory,
+			final CPUBoundExecutor cpuBoundExecutor,
+			@Named("dswarm.converter.xml.parallelism") final long parallelismArg,
+			@Named("dswarm.converter.xml.chunk-size") final long chunkSizeArg,
 			@Assisted final DataModel dataModel,
 			@Assisted final boolean utiliseExistingSchema) throws DMPConverterException {
 		if (dataModel == null) {
@@ -100,6 +118,10 @@ public class XMLSourceResourceGDMStmtsFlow {
 		this.timerBasedFactory = timerBasedFactory;
 
 		morphTimer = registry.timer(MonitoringFlowStatics.METAMORPH);
+
+		parallelism = (int) parallelismArg;
+		chunkSize = chunkSizeArg;
+		cpuBoundScheduler = cpuBoundExecutor.getScheduler();
 	}
 
 	public Observable<GDMModel> applyRecord(final String record) {
@@ -111,12 +133,49 @@ public class XMLSourceResourceGDMStmtsFlow {
 
 	public Observable<GDMModel> applyResource(final String resourcePath) {
 
-		final BOMResourceOpener opener = new BOMResourceOpener();
+		if (parallelism > 1 && recordTagName.isPresent() && Files.isRegularFile(Paths.get(resourcePath))) {
+
+			return applyResourceInParallel(resourcePath);
+		}
+
+		final MappedResourceOpener opener = new MappedResourceOpener();
 
 		return apply(resourcePath, opener);
 	}
 
-	Observable<GDMModel> apply(final String object, final DefaultObjectPipe<String, ObjectReceiver<Reader>> opener) {
+	/**
+	 * Splits the given XML resource into chunks at record boundaries and parses the chunks in parallel (each with its own decoder and
+	 * encoder). The resulting records will be emitted in resource order. Falls back to sequential processing, if no record could be found
+	 * in the resource.
+	 *
+	 * @param resourcePath the path of the XML resource
+	 * @return the records of the XML resource
+	 */
+	private Observable<GDMModel> applyResourceInParallel(final String resourcePath) {
+
+		final Path resource = Paths.get(resourcePath);
+		final XMLRecordChunker chunker = new XMLRecordChunker(recordTagName.get(), chunkSize);
+
+		final Observable<XMLChunk> chunks = Observable.create(emitter -> {
+
+			try {
+
+				chunker.split(resource, emitter::onNext);
+				emitter.onCompleted();
+			} catch (final Exception e) {
+
+				emitter.onError(e);
+			}
+		}, Emitter.BackpressureMode.BUFFER);
+
+		LOG.debug("process XML resource '{}' with '{}' parallel workers (chunk size = '{}')", resourcePath, parallelism, chunkSize);
+
+		return chunks
+				.concatMapEager(chunk -> apply(chunk, new XMLChunkOpener()).subscribeOn(cpuBoundScheduler), parallelism, parallelism)
+				.switchIfEmpty(Observable.defer(() -> apply(resourcePath, new MappedResourceOpener())));
+	}
+
+	<T> Observable<GDMModel> apply(final T object, final DefaultObjectPipe<T, ObjectReceiver<Reader>> opener) {
 
 		final XmlDecoder decoder = new XmlDecoder();
 
@@ -18,8 +18,6 @@ package org.dswarm.converter.flow.model;
 import java.util.Optional;
 
 import com.codahale.metrics.Timer;
-import com.fasterxml.jackson.databind.JsonNode;
-import javaslang.Tuple2;
 import org.culturegraph.mf.framework.ObjectPipe;
 import org.culturegraph.mf.framework.StreamPipe;
 import org.culturegraph.mf.framework.StreamReceiver;
@@ -53,7 +51,7 @@ public class MorphTask {
 	                 final Optional<DataModel> outputDataModel,
 	                 final String transformationEngineIdentifier,
 	                 final Optional<Filter> optionalSkipFilter,
-	                 final ObjectPipe<Tuple2<String, JsonNode>, StreamReceiver> opener,
+	                 final ObjectPipe<?, StreamReceiver> opener,
 	                 final Metamorph transformer) {
 
 		morphContext = morphTimer.time();
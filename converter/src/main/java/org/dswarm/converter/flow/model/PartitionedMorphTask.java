@@ -0,0 +1,422 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.flow.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.codahale.metrics.Timer;
+import org.culturegraph.mf.framework.DefaultObjectPipe;
+import org.culturegraph.mf.framework.ObjectPipe;
+import org.culturegraph.mf.framework.ObjectReceiver;
+import org.culturegraph.mf.framework.StreamPipe;
+import org.culturegraph.mf.framework.StreamReceiver;
+import org.culturegraph.mf.morph.Metamorph;
+import org.culturegraph.mf.stream.pipe.Filter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.dswarm.converter.DMPConverterError;
+import org.dswarm.converter.DMPConverterException;
+import org.dswarm.converter.mf.stream.GDMEncoder;
+import org.dswarm.converter.mf.stream.GDMModelReceiver;
+import org.dswarm.converter.pipe.timing.ObjectTimer;
+import org.dswarm.converter.pipe.timing.StreamTimer;
+import org.dswarm.converter.pipe.timing.TimerBasedFactory;
+import org.dswarm.persistence.model.internal.gdm.GDMModel;
+import org.dswarm.persistence.model.resource.DataModel;
+
+/**
+ * Executes a transformation with n independent (opener -> skip filter -> Metamorph -> GDM encoder) pipelines in parallel. Incoming
+ * records are partitioned into chunks of consecutive records; each chunk is processed completely by one pipeline. The results of the
+ * chunks are emitted to the (one) writer of this task, either in the order of the incoming records or as soon as they are available.
+ * A partition will only be handed over to the (shared) executor together with a free pipeline, i.e., executor threads never wait for
+ * pipelines; partitions without a free pipeline are queued at this task (up to 2 * parallelism partitions are buffered in total).<br/>
+ * Note: since every pipeline only sees a part of the records, this mode is not suitable for transformation scripts with cross-record state.
+ *
+ * @param <INPUT> the type of the incoming records
+ * @author tgaengler
+ */
+public class PartitionedMorphTask<INPUT> extends DefaultObjectPipe<INPUT, ObjectReceiver<GDMModel>> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PartitionedMorphTask.class);
+
+	private final Timer.Context morphContext;
+
+	/**
+	 * the executor that processes the partitions (shared by all CPU-bound work)
+	 */
+	private final ExecutorService executorService;
+
+	private final GDMModelReceiver writer;
+
+	private final List<Pipeline<INPUT>> allPipelines;
+
+	/**
+	 * the partitions that are queued, in process or processed, but not emitted yet (in the order of the incoming records; only accessed by
+	 * the feeding thread)
+	 */
+	private final Deque<CompletableFuture<List<GDMModel>>> pendingPartitions = new ArrayDeque<>();
+
+	/**
+	 * guards the free pipelines + the queued partitions
+	 */
+	private final Object dispatchLock = new Object();
+
+	private final Deque<Pipeline<INPUT>>        freePipelines;
+	private final Deque<QueuedPartition<INPUT>> queuedPartitions = new ArrayDeque<>();
+
+	private final int     parallelism;
+	private final int     partitionSize;
+	private final boolean preserveOrder;
+
+	private final AtomicInteger inComingCounter = new AtomicInteger(0);
+	private final AtomicInteger outGoingCounter = new AtomicInteger(0);
+
+	private List<INPUT> currentPartition;
+
+	public PartitionedMorphTask(final Timer morphTimer,
+	                            final TimerBasedFactory timerBasedFactory,
+	                            final int parallelism,
+	                            final int partitionSize,
+	                            final boolean preserveOrder,
+	                            final Optional<DataModel> outputDataModel,
+	                            final String transformationEngineIdentifier,
+	                            final Supplier<ObjectPipe<INPUT, StreamReceiver>> openerFactory,
+	                            final Supplier<Metamorph> transformerFactory,
+	                            final Supplier<Optional<Filter>> skipFilterFactory,
+	                            final ExecutorService executorService) {
+
+		this.parallelism = parallelism;
+		this.executorService = executorService;
+		this.partitionSize = partitionSize;
+		this.preserveOrder = preserveOrder;
+
+		freePipelines = new ArrayDeque<>(parallelism);
+		allPipelines = new ArrayList<>(parallelism);
+
+		for (int i = 0; i < parallelism; i++) {
+
+			final Pipeline<INPUT> pipeline = new Pipeline<>(timerBasedFactory, openerFactory.get(), transformerFactory.get(), skipFilterFactory.get(),
+					outputDataModel);
+
+			freePipelines.add(pipeline);
+			allPipelines.add(pipeline);
+		}
+
+		currentPartition = new ArrayList<>(partitionSize);
+
+		writer = new GDMModelReceiver(transformationEngineIdentifier);
+		setReceiver(writer);
+
+		morphContext = morphTimer.time();
+
+		LOG.debug("start processing some records in transformation engine with '{}' parallel pipelines (partition size = '{}'; preserve order = '{}')",
+				parallelism, partitionSize, preserveOrder);
+	}
+
+	public Timer.Context getMorphContext() {
+
+		return morphContext;
+	}
+
+	public GDMModelReceiver getWriter() {
+
+		return writer;
+	}
+
+	public int getInComingCounter() {
+
+		return inComingCounter.get();
+	}
+
+	public int getOutGoingCounter() {
+
+		return outGoingCounter.get();
+	}
+
+	public int getParallelism() {
+
+		return parallelism;
+	}
+
+	@Override
+	public void process(final INPUT record) {
+
+		inComingCounter.incrementAndGet();
+
+		currentPartition.add(record);
+
+		if (currentPartition.size() >= partitionSize) {
+
+			submitCurrentPartition();
+		}
+	}
+
+	@Override
+	protected void onCloseStream() {
+
+		if (!currentPartition.isEmpty()) {
+
+			submitCurrentPartition();
+		}
+
+		while (!pendingPartitions.isEmpty()) {
+
+			emit(pendingPartitions.poll());
+		}
+
+		allPipelines.forEach(Pipeline::close);
+
+		LOG.debug("received '{}' records + emitted '{}' records in '{}' parallel pipelines in transformation engine", inComingCounter.get(),
+				outGoingCounter.get(), parallelism);
+	}
+
+	private void submitCurrentPartition() {
+
+		final List<INPUT> partition = currentPartition;
+		currentPartition = new ArrayList<>(partitionSize);
+
+		final CompletableFuture<List<GDMModel>> result = new CompletableFuture<>();
+		pendingPartitions.add(result);
+
+		synchronized (dispatchLock) {
+
+			queuedPartitions.add(new QueuedPartition<>(partition, result));
+		}
+
+		dispatch();
+
+		emitCompletedPartitions();
+
+		// limit the number of pending partitions (otherwise all incoming records would be buffered); note: the oldest pending partition is
+		// always in process or processed, since queued partitions are dispatched in order
+		while (pendingPartitions.size() > parallelism * 2) {
+
+			emit(pendingPartitions.poll());
+		}
+	}
+
+	/**
+	 * Hands queued partitions (in the order of the incoming records) together with free pipelines over to the executor. This will be
+	 * called, whenever a partition was queued (from the feeding thread) and whenever a pipeline became free (from the executor), i.e., a
+	 * queued partition will be processed as soon as a pipeline is available.
+	 */
+	private void dispatch() {
+
+		synchronized (dispatchLock) {
+
+			while (!queuedPartitions.isEmpty() && !freePipelines.isEmpty()) {
+
+				final QueuedPartition<INPUT> queuedPartition = queuedPartitions.poll();
+				final Pipeline<INPUT> pipeline = freePipelines.poll();
+
+				try {
+
+					executorService.execute(() -> processPartition(pipeline, queuedPartition));
+				} catch (final RejectedExecutionException e) {
+
+					freePipelines.add(pipeline);
+					queuedPartition.result.completeExceptionally(e);
+				}
+			}
+		}
+	}
+
+	private void emitCompletedPartitions() {
+
+		if (preserveOrder) {
+
+			while (!pendingPartitions.isEmpty() && pendingPartitions.peek().isDone()) {
+
+				emit(pendingPartitions.poll());
+			}
+
+			return;
+		}
+
+		final Iterator<CompletableFuture<List<GDMModel>>> iterator = pendingPartitions.iterator();
+
+		while (iterator.hasNext()) {
+
+			final CompletableFuture<List<GDMModel>> pendingPartition = iterator.next();
+
+			if (pendingPartition.isDone()) {
+
+				iterator.remove();
+				emit(pendingPartition);
+			}
+		}
+	}
+
+	/**
+	 * Emits the results of the given partition to the writer, i.e., results will always be emitted from the thread that feeds this task.
+	 *
+	 * @param partition the (queued, currently processing or processed) partition
+	 */
+	private void emit(final CompletableFuture<List<GDMModel>> partition) {
+
+		final List<GDMModel> results;
+
+		try {
+
+			results = partition.join();
+		} catch (final CompletionException e) {
+
+			final Throwable cause = e.getCause() != null ? e.getCause() : e;
+
+			throw DMPConverterError.wrap(new DMPConverterException("couldn't process partition in transformation engine: " + cause.getMessage(), cause));
+		}
+
+		for (final GDMModel result : results) {
+
+			outGoingCounter.incrementAndGet();
+
+			getReceiver().process(result);
+		}
+	}
+
+	private void processPartition(final Pipeline<INPUT> pipeline, final QueuedPartition<INPUT> queuedPartition) {
+
+		List<GDMModel> results = null;
+		Throwable failure = null;
+
+		try {
+
+			results = pipeline.process(queuedPartition.records);
+		} catch (final Throwable e) {
+
+			failure = e;
+		}
+
+		// note: the pipeline will be free again, before the result of its partition can be emitted
+		synchronized (dispatchLock) {
+
+			freePipelines.add(pipeline);
+		}
+
+		dispatch();
+
+		if (failure != null) {
+
+			queuedPartition.result.completeExceptionally(failure);
+		} else {
+
+			queuedPartition.result.complete(results);
+		}
+	}
+
+	/**
+	 * A partition that waits for a free pipeline + the future of its result.
+	 */
+	private static final class QueuedPartition<INPUT> {
+
+		private final List<INPUT>                       records;
+		private final CompletableFuture<List<GDMModel>> result;
+
+		private QueuedPartition(final List<INPUT> records, final CompletableFuture<List<GDMModel>> result) {
+
+			this.records = records;
+			this.result = result;
+		}
+	}
+
+	/**
+	 * One independent opener -> skip filter -> Metamorph -> GDM encoder pipeline that collects the results of the records of one partition.
+	 * Every pipeline is monitored with the same timers as the sequential pipeline (see {@link MorphTask}).
+	 */
+	private static final class Pipeline<INPUT> implements ObjectReceiver<GDMModel> {
+
+		private final ObjectPipe<INPUT, StreamReceiver> opener;
+
+		private List<GDMModel> results = new ArrayList<>();
+
+		private Pipeline(final TimerBasedFactory timerBasedFactory,
+		                 final ObjectPipe<INPUT, StreamReceiver> opener,
+		                 final Metamorph transformer,
+		                 final Optional<Filter> optionalSkipFilter,
+		                 final Optional<DataModel> outputDataModel) {
+
+			this.opener = opener;
+
+			final StreamTimer inputTimer = timerBasedFactory.forStream("stream-input");
+			final ObjectTimer<GDMModel> gdmModelsTimer = timerBasedFactory.forObject("gdm-models");
+			final GDMEncoder converter = new GDMEncoder(outputDataModel);
+
+			final StreamPipe<StreamReceiver> starter;
+
+			if (optionalSkipFilter.isPresent()) {
+
+				// skip filter + input timer
+				starter = opener
+						.setReceiver(optionalSkipFilter.get())
+						.setReceiver(inputTimer);
+			} else {
+
+				// input timer
+				starter = opener.setReceiver(inputTimer);
+			}
+
+			starter
+					.setReceiver(transformer)
+					.setReceiver(converter)
+					.setReceiver(gdmModelsTimer)
+					.setReceiver(this);
+		}
+
+		private List<GDMModel> process(final List<INPUT> partition) {
+
+			results = new ArrayList<>(partition.size());
+
+			partition.forEach(opener::process);
+
+			return results;
+		}
+
+		private void close() {
+
+			opener.closeStream();
+		}
+
+		@Override
+		public void process(final GDMModel gdmModel) {
+
+			results.add(gdmModel);
+		}
+
+		@Override
+		public void resetStream() {
+
+			// nothing to do
+		}
+
+		@Override
+		public void closeStream() {
+
+			// nothing to do
+		}
+	}
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.flow.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Scheduler;
+import rx.schedulers.Schedulers;
+
+/**
+ * The one bounded executor for CPU-bound work of all task executions, i.e., parsing chunks of ingested resources, processing partitions
+ * in the transformation engine and serialising chunks of exports share a fixed number of threads (by default: one per available
+ * processor).<br/>
+ * Note: work that is submitted to this executor must not wait for other work of this executor (otherwise all threads could be blocked).
+ *
+ * @author tgaengler
+ */
+@Singleton
+public class CPUBoundExecutor {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CPUBoundExecutor.class);
+
+	private static final String DSWARM_CPU_BOUND_THREAD_NAMING_PATTERN = "dswarm-cpu-bound-%d";
+
+	private final int threads;
+
+	private final ExecutorService executorService;
+
+	private final Scheduler scheduler;
+
+	/**
+	 * @param threadsArg the number of threads (0 = number of available processors)
+	 */
+	@Inject
+	public CPUBoundExecutor(@Named("dswarm.converter.cpu-threads") final long threadsArg) {
+
+		threads = threadsArg > 0 ? (int) threadsArg : Runtime.getRuntime().availableProcessors();
+
+		final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+				new BasicThreadFactory.Builder().daemon(true).namingPattern(DSWARM_CPU_BOUND_THREAD_NAMING_PATTERN).build());
+		threadPoolExecutor.allowCoreThreadTimeOut(true);
+
+		executorService = threadPoolExecutor;
+		scheduler = Schedulers.from(executorService);
+
+		LOG.debug("initialised executor for CPU-bound work with '{}' threads", threads);
+	}
+
+	public int getThreads() {
+
+		return threads;
+	}
+
+	public ExecutorService getExecutorService() {
+
+		return executorService;
+	}
+
+	public Scheduler getScheduler() {
+
+		return scheduler;
+	}
+}
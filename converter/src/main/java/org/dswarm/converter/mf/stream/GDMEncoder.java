@@ -15,14 +15,13 @@
  */
 package org.dswarm.converter.mf.stream;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Stack;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 
 import javaslang.Tuple;
 import javaslang.Tuple2;
@@ -65,16 +64,12 @@ public final class GDMEncoder extends DefaultStreamPipe<ObjectReceiver<GDMModel>
 
 	private static final Logger LOG = LoggerFactory.getLogger(GDMEncoder.class);
 
-	private static final String RESOURCE_IDENTIFIER = "resource";
-	private static final String RESOURCE_BASE_URI = SchemaUtils.BASE_URI + RESOURCE_IDENTIFIER + SchemaUtils.SLASH;
-	private static final String KEY_PREFIX = "::";
-
 	private String currentId;
 	private Model internalGDMModel;
 	private ResourceNode recordNode;
 	private Node entityNode;
 	private Resource currentResource;
-	private Stack<Tuple2<Node, Predicate>> entityStack;
+	private final Deque<Tuple2<Node, Predicate>> entityStack = new ArrayDeque<>();
 
 	private ResourceNode recordType;
 	private Resource recordResource;
@@ -83,12 +78,17 @@ public final class GDMEncoder extends DefaultStreamPipe<ObjectReceiver<GDMModel>
 	private final Optional<String> dataModelUri;
 
 	private final Map<String, Predicate> predicates = new HashMap<>();
-	private final Map<String, AtomicLong> valueCounter = new HashMap<>();
 	private final Map<String, String> uris = new HashMap<>();
-	private Map<String, ResourceNode> resourceNodeCache;
-	private AtomicLong bnodeCounter;
-	private Map<String, Long> bnodeMap;
-	private Map<String, Node> bnodeCache;
+
+	// per-record state (will be reset at the beginning of each record)
+	// note: this should be resource-safe in reality (i.e. one counter, cache etc, per resource (not record; i.e. assume a record has multiple sub-resources))
+	private final Map<String, ResourceNode> resourceNodeCache = new HashMap<>();
+	private final Map<String, Node> bnodeCache = new HashMap<>();
+	private long bnodeCounter;
+
+	// statement order per subject + predicate; subject nodes and predicates are unique instances within a record (see caches above)
+	private final Map<Node, Map<Predicate, long[]>> valueCounter = new IdentityHashMap<>();
+	private final Deque<Map<Predicate, long[]>> valueCounterPool = new ArrayDeque<>();
 
 	private final AtomicInteger inComingCounter = new AtomicInteger(0);
 	private final AtomicInteger outGoingCounter = new AtomicInteger(0);
@@ -128,11 +128,7 @@ public final class GDMEncoder extends DefaultStreamPipe<ObjectReceiver<GDMModel>
 	@Override
 	public void startRecord(final String identifier) {
 
-		resourceNodeCache = new ConcurrentHashMap<>();
-		// note: this should be resource-safe in reality (i.e. one counter, cache etc, per resource (not record; i.e. assume a record has multiple sub-resources))
-		bnodeCounter = new AtomicLong(0);
-		bnodeMap = new ConcurrentHashMap<>();
-		bnodeCache = new ConcurrentHashMap<>();
+		resetRecordState();
 
 		inComingCounter.incrementAndGet();
 
@@ -148,9 +144,6 @@ public final class GDMEncoder extends DefaultStreamPipe<ObjectReceiver<GDMModel>
 		recordNode = getOrCreateResourceNode(currentId);
 
 		currentResource = recordResource;
-
-		// init
-		entityStack = new Stack<>();
 	}
 
 	@Override
@@ -191,11 +184,10 @@ public final class GDMEncoder extends DefaultStreamPipe<ObjectReceiver<GDMModel>
 
 		final Predicate entityPredicate = getPredicate(name);
 
-		final String entityUri = mintEntityUri();
+		// note: entities are bnodes that can't be referenced from outside, i.e., they don't need a (globally unique) identifier for lookup
+		entityNode = createBNode();
 
-		entityNode = getOrCreateBNode(entityUri);
-
-		if (entityStack.empty()) {
+		if (entityStack.isEmpty()) {
 
 			addStatement(recordNode, entityPredicate, entityNode);
 		} else {
@@ -246,7 +238,7 @@ public final class GDMEncoder extends DefaultStreamPipe<ObjectReceiver<GDMModel>
 			propertyUri = SchemaUtils.mintUri(dataModelUri.get(), name);
 		}
 
-		final Node currentNode = entityStack.empty() ? recordNode : entityNode;
+		final Node currentNode = entityStack.isEmpty() ? recordNode : entityNode;
 
 		if (null != currentNode) {
 
@@ -316,9 +308,20 @@ public final class GDMEncoder extends DefaultStreamPipe<ObjectReceiver<GDMModel>
 				.orElseGet(() -> StringUtils.stripEnd(DataModelUtils.determineDataModelSchemaBaseURI(null), SchemaUtils.HASH)));
 	}
 
-	private static String mintEntityUri() {
+	private void resetRecordState() {
+
+		resourceNodeCache.clear();
+		bnodeCache.clear();
+		bnodeCounter = 0;
+		entityStack.clear();
+
+		for (final Map<Predicate, long[]> predicateCounters : valueCounter.values()) {
+
+			predicateCounters.clear();
+			valueCounterPool.push(predicateCounters);
+		}
 
-		return RESOURCE_BASE_URI + UUID.randomUUID();
+		valueCounter.clear();
 	}
 
 	private Predicate getPredicate(final String predicateId) {
@@ -330,19 +333,23 @@ public final class GDMEncoder extends DefaultStreamPipe<ObjectReceiver<GDMModel>
 
 	private void addStatement(final Node subject, final Predicate predicate, final Node object) {
 
-		String key;
-
-		if (subject instanceof ResourceNode) {
+		Map<Predicate, long[]> predicateCounters = valueCounter.get(subject);
 
-			key = ((ResourceNode) subject).getUri();
-		} else {
+		if (predicateCounters == null) {
 
-			key = subject.getId().toString();
+			predicateCounters = valueCounterPool.isEmpty() ? new IdentityHashMap<>() : valueCounterPool.pop();
+			valueCounter.put(subject, predicateCounters);
 		}
 
-		key += KEY_PREFIX + predicate.getUri();
+		long[] counter = predicateCounters.get(predicate);
+
+		if (counter == null) {
 
-		final Long order = valueCounter.computeIfAbsent(key, key1 -> new AtomicLong(0)).incrementAndGet();
+			counter = new long[1];
+			predicateCounters.put(predicate, counter);
+		}
+
+		final long order = ++counter[0];
 
 		recordResource.addStatement(subject, predicate, object, order);
 	}
@@ -374,17 +381,12 @@ public final class GDMEncoder extends DefaultStreamPipe<ObjectReceiver<GDMModel>
 
 	private Node getOrCreateBNode(final String bNodeId) {
 
-		return bnodeCache.computeIfAbsent(bNodeId, bNodeId1 -> {
-
-			final Long bNodeLongId = getOrCreateBNodeLongId(bNodeId);
-
-			return new Node(bNodeLongId);
-		});
+		return bnodeCache.computeIfAbsent(bNodeId, bNodeId1 -> createBNode());
 	}
 
-	private Long getOrCreateBNodeLongId(final String bnodeStringId) {
+	private Node createBNode() {
 
-		return bnodeMap.computeIfAbsent(bnodeStringId, bnodeStringId1 -> bnodeCounter.incrementAndGet());
+		return new Node(++bnodeCounter);
 	}
 
 }
@@ -42,6 +42,9 @@ public final class CsvDecoder extends DefaultObjectPipe<CSVRecord, StreamReceive
 	private String[] header = new String[0];
 	private int count;
 
+	// the number of records in the resource before the input, i.e., record numbers in error messages will be the ones of the resource
+	private long recordOffset;
+
 	private String dataResourceBaseURI;
 	private String dataModelSchemaBaseURI;
 
@@ -120,8 +123,8 @@ public final class CsvDecoder extends DefaultObjectPipe<CSVRecord, StreamReceive
 		} else {
 
 			throw new MetafactureException(String.format(
-					"wrong number of columns in input line %d - expected [%d] but found [%d] instead, line was %s", count, header.length,
-					record.size(), record.toString()));
+					"wrong number of columns in input line %d - expected [%d] but found [%d] instead, line was %s", count + recordOffset,
+					header.length, record.size(), record.toString()));
 		}
 	}
 
@@ -134,4 +137,9 @@ public final class CsvDecoder extends DefaultObjectPipe<CSVRecord, StreamReceive
 
 		dataModelSchemaBaseURI = dataModelSchemaBaseURIArg;
 	}
+
+	public void setRecordOffset(final long recordOffsetArg) {
+
+		recordOffset = recordOffsetArg;
+	}
 }
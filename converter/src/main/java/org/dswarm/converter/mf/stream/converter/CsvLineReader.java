@@ -57,6 +57,11 @@ public final class CsvLineReader extends DefaultObjectPipe<Reader, ObjectReceive
 
 	private final boolean			hasHeader;
 
+	/**
+	 * the difference between the line numbers in the resource and the line numbers of the input (e.g. of a chunk of rows)
+	 */
+	private final long				lineOffset;
+
 	public CsvLineReader() {
 		// this('\\', '"', ',', "\r\n");
 		this(ConfigurationStatics.DEFAULT_ESCAPE_CHARACTER, ConfigurationStatics.DEFAULT_QUOTE_CHARACTER,
@@ -71,12 +76,12 @@ public final class CsvLineReader extends DefaultObjectPipe<Reader, ObjectReceive
 	public CsvLineReader(final Character escapeCharacterArg, final Character quoteCharacterArg, final Character columnDelimiter,
 			final String rowDelimiter, final int ignoreLinesArg, final int discardRowsArg, final Optional<Integer> atMostArg) {
 
-		this(escapeCharacterArg, quoteCharacterArg, columnDelimiter, rowDelimiter, ignoreLinesArg, discardRowsArg, atMostArg, false);
+		this(escapeCharacterArg, quoteCharacterArg, columnDelimiter, rowDelimiter, ignoreLinesArg, discardRowsArg, atMostArg, false, 0);
 	}
 
 	private CsvLineReader(final Character escapeCharacterArg, final Character quoteCharacterArg, final Character columnDelimiter,
 			final String rowDelimiter, final int ignoreLinesArg, final int discardRowsArg, final Optional<Integer> atMostArg,
-			final boolean hasHeaderArg) {
+			final boolean hasHeaderArg, final long lineOffsetArg) {
 
 		escapeCharacter = escapeCharacterArg;
 		quoteCharacter = quoteCharacterArg;
@@ -87,6 +92,7 @@ public final class CsvLineReader extends DefaultObjectPipe<Reader, ObjectReceive
 		atMost = atMostArg;
 
 		hasHeader = hasHeaderArg;
+		lineOffset = lineOffsetArg;
 	}
 
 	@Override
@@ -184,20 +190,32 @@ public final class CsvLineReader extends DefaultObjectPipe<Reader, ObjectReceive
 
 		final PeekingIterator<CSVRecord> csvIter = getInternalCSVIter(csvParser);
 
-		processHeaders(csvIter, receiver);
-		processDiscardRows(csvIter);
-
 		boolean hasRecord = false;
 
-		while (csvIter.hasNext()) {
+		try {
+
+			processHeaders(csvIter, receiver);
+			processDiscardRows(csvIter);
+
+			while (csvIter.hasNext()) {
+
+				final CSVRecord record = csvIter.next();
 
-			final CSVRecord record = csvIter.next();
+				if (record != null) {
+					hasRecord = true;
 
-			if (record != null) {
-				hasRecord = true;
+					receiver.process(record);
+				}
+			}
+		} catch (final IllegalStateException e) {
+
+			if (!(e.getCause() instanceof IOException)) {
 
-				receiver.process(record);
+				throw e;
 			}
+
+			// note: the parser reports line numbers of the input only, i.e., the line number of the resource is determined here
+			throw new MetafactureException(String.format("(line %d) couldn't parse CSV record", csvParser.getCurrentLineNumber() + lineOffset), e);
 		}
 
 		if (!hasRecord) {
@@ -216,11 +234,17 @@ public final class CsvLineReader extends DefaultObjectPipe<Reader, ObjectReceive
 	}
 
 	public CsvLineReader withHeader(final boolean hasHeaderArg) {
-		return new CsvLineReader(escapeCharacter, quoteCharacter, columnSeparator, lineEnding, ignoreLines, discardRows, atMost, hasHeaderArg);
+		return new CsvLineReader(escapeCharacter, quoteCharacter, columnSeparator, lineEnding, ignoreLines, discardRows, atMost, hasHeaderArg,
+				lineOffset);
 	}
 
 	public CsvLineReader withLimit(final int limit) {
 		return new CsvLineReader(escapeCharacter, quoteCharacter, columnSeparator, lineEnding, ignoreLines, discardRows, Optional.of(limit),
-				hasHeader);
+				hasHeader, lineOffset);
+	}
+
+	public CsvLineReader withLineOffset(final long lineOffsetArg) {
+		return new CsvLineReader(escapeCharacter, quoteCharacter, columnSeparator, lineEnding, ignoreLines, discardRows, atMost, hasHeader,
+				lineOffsetArg);
 	}
 }
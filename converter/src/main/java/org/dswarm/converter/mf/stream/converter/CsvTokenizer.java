@@ -0,0 +1,716 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.mf.stream.converter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+import com.google.common.base.Optional;
+import org.culturegraph.mf.exceptions.MetafactureException;
+import org.culturegraph.mf.framework.DefaultObjectPipe;
+import org.culturegraph.mf.framework.StreamReceiver;
+import org.culturegraph.mf.framework.annotations.Description;
+import org.culturegraph.mf.framework.annotations.In;
+import org.culturegraph.mf.framework.annotations.Out;
+
+import org.dswarm.persistence.model.resource.utils.ConfigurationStatics;
+import org.dswarm.persistence.model.schema.utils.SchemaUtils;
+
+/**
+ * Tokenizes CSV input from a reader and emits the rows directly as records, i.e., it combines {@link CsvLineReader} and
+ * {@link CsvDecoder} without creating an intermediate object per row (and per cell). Input is read in large char chunks; the cells of a
+ * row are collected in one reusable row buffer; the column header (predicate) URIs are determined once.<br/>
+ * The tokenizing behaviour matches the commons-csv based parsing of {@link CsvLineReader} (i.e. empty lines are ignored, surrounding
+ * spaces of cells are trimmed, all line break variants are row delimiters).
+ *
+ * @author tgaengler
+ */
+@Description("Tokenizes CSV input and emits each row as a record.")
+@In(Reader.class)
+@Out(StreamReceiver.class)
+public final class CsvTokenizer extends DefaultObjectPipe<Reader, StreamReceiver> {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final int END_OF_STREAM = -1;
+	private static final int UNDEFINED     = -2;
+
+	private static final char CR        = '\r';
+	private static final char LF        = '\n';
+	private static final char TAB       = '\t';
+	private static final char BACKSPACE = '\b';
+	private static final char FF        = '\f';
+
+	// token types
+	private static final int TOKEN    = 0;
+	private static final int EORECORD = 1;
+	private static final int EOF      = 2;
+
+	private final char escapeCharacter;
+	private final char quoteCharacter;
+	private final char columnDelimiter;
+	private final int  ignoreLines;
+	private final int  discardRows;
+
+	private Optional<Integer> atMost;
+	private boolean           hasHeader;
+	private String            dataModelSchemaBaseURI;
+
+	// offsets of the input in the resource (e.g. of a chunk of rows), i.e., line and record numbers in error messages will be the ones of the resource
+	private long lineOffset;
+	private long recordOffset;
+
+	// input state
+	private Reader       in;
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private int          bufferPosition;
+	private int          bufferLength;
+	private int          lastChar;
+	private long         lineNumber;
+
+	// token state
+	private int     tokenType;
+	private boolean tokenReady;
+	private int     cellStart;
+
+	// row state (reused for all rows)
+	private char[] row        = new char[1024];
+	private int    rowLength;
+	private int[]  cellStarts = new int[64];
+	private int[]  cellEnds   = new int[64];
+	private int    cellCount;
+
+	// decoder state
+	private String[] header;
+	private int      count;
+	private boolean  hasRecord;
+
+	public CsvTokenizer() {
+
+		this(ConfigurationStatics.DEFAULT_ESCAPE_CHARACTER, ConfigurationStatics.DEFAULT_QUOTE_CHARACTER,
+				ConfigurationStatics.DEFAULT_COLUMN_DELIMITER, ConfigurationStatics.DEFAULT_IGNORE_LINES, ConfigurationStatics.DEFAULT_DISCARD_ROWS,
+				Optional.<Integer>absent());
+	}
+
+	public CsvTokenizer(final char escapeCharacterArg, final char quoteCharacterArg, final char columnDelimiterArg, final int ignoreLinesArg,
+			final int discardRowsArg, final Optional<Integer> atMostArg) {
+
+		escapeCharacter = escapeCharacterArg;
+		quoteCharacter = quoteCharacterArg;
+		columnDelimiter = columnDelimiterArg;
+		ignoreLines = ignoreLinesArg;
+		discardRows = discardRowsArg;
+		atMost = atMostArg;
+	}
+
+	public void setHeader(final boolean hasHeaderArg) {
+
+		hasHeader = hasHeaderArg;
+	}
+
+	public void setDataModelSchemaBaseURI(final String dataModelSchemaBaseURIArg) {
+
+		dataModelSchemaBaseURI = dataModelSchemaBaseURIArg;
+	}
+
+	public void setLimit(final int limit) {
+
+		atMost = Optional.of(limit);
+	}
+
+	/**
+	 * @param lineOffsetArg   the difference between the line numbers in the resource and the line numbers of the input
+	 * @param recordOffsetArg the number of records in the resource before the input
+	 */
+	public void setOffsets(final long lineOffsetArg, final long recordOffsetArg) {
+
+		lineOffset = lineOffsetArg;
+		recordOffset = recordOffsetArg;
+	}
+
+	@Override
+	public void process(final Reader reader) {
+
+		assert !isClosed();
+		assert null != reader;
+
+		in = reader;
+		bufferPosition = 0;
+		bufferLength = 0;
+		lineNumber = 0;
+
+		try {
+
+			processIgnoreLines();
+
+			// note: the parser starts after the ignored lines
+			lastChar = UNDEFINED;
+
+			processRows();
+		} catch (final IOException e) {
+
+			throw new MetafactureException(e);
+		}
+
+		closeStream();
+	}
+
+	private void processIgnoreLines() throws IOException {
+
+		for (int i = ignoreLines; i > 0; i--) {
+
+			if (lookAhead() == END_OF_STREAM) {
+
+				throw new MetafactureException(String.format("Cannot ignore %d lines. There is nothing left to ignore [%d] more lines.", ignoreLines, i));
+			}
+
+			int c = read();
+
+			while (c != END_OF_STREAM && c != LF && c != CR) {
+
+				c = read();
+			}
+
+			if (c == CR && lookAhead() == LF) {
+
+				read();
+			}
+		}
+	}
+
+	private void processRows() throws IOException {
+
+		final long limit = atMost.isPresent() ? (long) atMost.get() + (hasHeader ? 1 : 0) + discardRows : Long.MAX_VALUE;
+		long rowsRead = 0;
+
+		// header
+		if (rowsRead >= limit || !nextRow()) {
+
+			throw new MetafactureException("Cannot find any row to use as header row.");
+		}
+
+		rowsRead++;
+
+		processRow();
+
+		// without header, the first row is utilised for determining the number of columns and it is also a data row
+		boolean pendingRow = !hasHeader;
+
+		for (int i = discardRows; i > 0; i--) {
+
+			if (pendingRow) {
+
+				pendingRow = false;
+
+				continue;
+			}
+
+			if (rowsRead >= limit || !nextRow()) {
+
+				throw new MetafactureException(String.format("Cannot discard %d rows. There is nothing left to discard [%d] more rows.", discardRows, i));
+			}
+
+			rowsRead++;
+		}
+
+		hasRecord = false;
+
+		if (pendingRow) {
+
+			hasRecord = true;
+
+			processRow();
+		}
+
+		while (rowsRead < limit && nextRow()) {
+
+			rowsRead++;
+			hasRecord = true;
+
+			processRow();
+		}
+
+		if (!hasRecord) {
+
+			throw new MetafactureException("There are no records available, you need to have at least one row.");
+		}
+	}
+
+	/**
+	 * Processes the current row (cf. {@link CsvDecoder#process(org.apache.commons.csv.CSVRecord)}).
+	 */
+	private void processRow() {
+
+		if (cellCount == 1 && isBlank(0)) {
+
+			// do nothing an return (?)
+
+			return;
+		}
+
+		if (header == null) {
+
+			initHeader();
+
+			return;
+		}
+
+		if (cellCount != header.length) {
+
+			throw new MetafactureException(String.format(
+					"wrong number of columns in input line %d - expected [%d] but found [%d] instead, line was %s", count + recordOffset,
+					header.length, cellCount, rowToString()));
+		}
+
+		final StreamReceiver receiver = getReceiver();
+
+		receiver.startRecord(String.valueOf(++count));
+
+		for (int i = 0; i < cellCount; i++) {
+
+			receiver.literal(header[i], cell(i));
+		}
+
+		receiver.endRecord();
+	}
+
+	private void initHeader() {
+
+		header = new String[cellCount];
+
+		if (hasHeader) {
+
+			// determine schema properties from header
+			for (int i = 0; i < cellCount; i++) {
+
+				final String headerColumnName = cell(i);
+
+				if (dataModelSchemaBaseURI != null) {
+
+					header[i] = SchemaUtils.mintTermUri(headerColumnName, dataModelSchemaBaseURI);
+				} else {
+
+					header[i] = headerColumnName;
+				}
+			}
+
+			return;
+		}
+
+		final String schemaPrefix = dataModelSchemaBaseURI != null ? dataModelSchemaBaseURI : "";
+
+		for (int i = 0; i < cellCount; i++) {
+
+			header[i] = String.format("%s%s%d", schemaPrefix, "column", i + 1);
+		}
+	}
+
+	/**
+	 * Reads the next row into the row buffer (cf. CSVParser#nextRecord).
+	 *
+	 * @return true, if a row was read
+	 */
+	private boolean nextRow() throws IOException {
+
+		rowLength = 0;
+		cellCount = 0;
+
+		do {
+
+			nextToken();
+
+			switch (tokenType) {
+
+				case TOKEN:
+				case EORECORD:
+
+					addCell();
+
+					break;
+				case EOF:
+
+					if (tokenReady) {
+
+						addCell();
+					}
+
+					break;
+				default:
+
+					throw new IOException(String.format("(line %d) invalid parse sequence", lineNumber + lineOffset));
+			}
+		} while (tokenType == TOKEN);
+
+		return cellCount > 0;
+	}
+
+	/**
+	 * Reads the next cell into the row buffer (cf. commons-csv Lexer#nextToken).
+	 */
+	private void nextToken() throws IOException {
+
+		tokenType = UNDEFINED;
+		tokenReady = false;
+		cellStart = rowLength;
+
+		int previousChar = lastChar;
+		int c = read();
+		boolean eol = readEndOfLine(c);
+
+		// ignore empty lines
+		while (eol && isStartOfLine(previousChar)) {
+
+			previousChar = c;
+			c = read();
+			eol = readEndOfLine(c);
+
+			if (c == END_OF_STREAM) {
+
+				tokenType = EOF;
+
+				return;
+			}
+		}
+
+		if (previousChar == END_OF_STREAM || (previousChar != columnDelimiter && c == END_OF_STREAM)) {
+
+			tokenType = EOF;
+
+			return;
+		}
+
+		while (tokenType == UNDEFINED) {
+
+			// ignore leading spaces
+			while (isWhitespace(c) && !eol) {
+
+				c = read();
+				eol = readEndOfLine(c);
+			}
+
+			if (c == columnDelimiter) {
+
+				tokenType = TOKEN;
+			} else if (eol) {
+
+				tokenType = EORECORD;
+			} else if (c == quoteCharacter) {
+
+				parseEncapsulatedToken();
+			} else if (c == END_OF_STREAM) {
+
+				tokenType = EOF;
+				tokenReady = true;
+			} else {
+
+				parseSimpleToken(c);
+			}
+		}
+	}
+
+	private void parseSimpleToken(final int firstChar) throws IOException {
+
+		int c = firstChar;
+
+		while (true) {
+
+			if (readEndOfLine(c)) {
+
+				tokenType = EORECORD;
+
+				break;
+			} else if (c == END_OF_STREAM) {
+
+				tokenType = EOF;
+				tokenReady = true;
+
+				break;
+			} else if (c == columnDelimiter) {
+
+				tokenType = TOKEN;
+
+				break;
+			} else if (c == escapeCharacter) {
+
+				appendEscaped(c);
+				c = read();
+			} else {
+
+				append((char) c);
+				c = read();
+			}
+		}
+
+		// ignore trailing spaces
+		while (rowLength > cellStart && Character.isWhitespace(row[rowLength - 1])) {
+
+			rowLength--;
+		}
+	}
+
+	private void parseEncapsulatedToken() throws IOException {
+
+		final long startLineNumber = lineNumber;
+
+		while (true) {
+
+			final int c = read();
+
+			if (c == escapeCharacter) {
+
+				appendEscaped(c);
+			} else if (c == quoteCharacter) {
+
+				if (lookAhead() == quoteCharacter) {
+
+					// double quote
+					append((char) read());
+				} else {
+
+					// token finish mark reached: ignore whitespace till delimiter
+					while (true) {
+
+						final int next = read();
+
+						if (next == columnDelimiter) {
+
+							tokenType = TOKEN;
+
+							return;
+						} else if (next == END_OF_STREAM) {
+
+							tokenType = EOF;
+							tokenReady = true;
+
+							return;
+						} else if (readEndOfLine(next)) {
+
+							tokenType = EORECORD;
+
+							return;
+						} else if (!isWhitespace(next)) {
+
+							throw new IOException(
+									String.format("(line %d) invalid char between encapsulated token and delimiter", lineNumber + lineOffset));
+						}
+					}
+				}
+			} else if (c == END_OF_STREAM) {
+
+				throw new IOException(
+						String.format("(startline %d) EOF reached before encapsulated token finished", startLineNumber + lineOffset));
+			} else {
+
+				append((char) c);
+			}
+		}
+	}
+
+	private void appendEscaped(final int escape) throws IOException {
+
+		final int unescaped = readEscape();
+
+		if (unescaped == END_OF_STREAM) {
+
+			// unknown escape sequence => keep it as it is
+			append((char) escape);
+			append((char) lastChar);
+		} else {
+
+			append((char) unescaped);
+		}
+	}
+
+	private int readEscape() throws IOException {
+
+		final int c = read();
+
+		switch (c) {
+
+			case 'r':
+
+				return CR;
+			case 'n':
+
+				return LF;
+			case 't':
+
+				return TAB;
+			case 'b':
+
+				return BACKSPACE;
+			case 'f':
+
+				return FF;
+			case CR:
+			case LF:
+			case FF:
+			case TAB:
+			case BACKSPACE:
+
+				return c;
+			case END_OF_STREAM:
+
+				throw new IOException("EOF whilst processing escape sequence");
+			default:
+
+				if (c == columnDelimiter || c == escapeCharacter || c == quoteCharacter) {
+
+					return c;
+				}
+
+				return END_OF_STREAM;
+		}
+	}
+
+	private boolean readEndOfLine(final int c) throws IOException {
+
+		if (c == CR && lookAhead() == LF) {
+
+			read();
+
+			return true;
+		}
+
+		return c == LF || c == CR;
+	}
+
+	private static boolean isStartOfLine(final int c) {
+
+		return c == LF || c == CR || c == UNDEFINED;
+	}
+
+	private boolean isWhitespace(final int c) {
+
+		return c >= 0 && c != columnDelimiter && Character.isWhitespace((char) c);
+	}
+
+	private int read() throws IOException {
+
+		if (bufferPosition == bufferLength && !fillBuffer()) {
+
+			lastChar = END_OF_STREAM;
+
+			return END_OF_STREAM;
+		}
+
+		final int c = buffer[bufferPosition++];
+
+		if (c == CR || (c == LF && lastChar != CR)) {
+
+			lineNumber++;
+		}
+
+		lastChar = c;
+
+		return c;
+	}
+
+	private int lookAhead() throws IOException {
+
+		if (bufferPosition == bufferLength && !fillBuffer()) {
+
+			return END_OF_STREAM;
+		}
+
+		return buffer[bufferPosition];
+	}
+
+	private boolean fillBuffer() throws IOException {
+
+		int length;
+
+		do {
+
+			length = in.read(buffer, 0, buffer.length);
+		} while (length == 0);
+
+		bufferPosition = 0;
+
+		if (length < 0) {
+
+			bufferLength = 0;
+
+			return false;
+		}
+
+		bufferLength = length;
+
+		return true;
+	}
+
+	private void append(final char c) {
+
+		if (rowLength == row.length) {
+
+			row = Arrays.copyOf(row, row.length * 2);
+		}
+
+		row[rowLength++] = c;
+	}
+
+	private void addCell() {
+
+		if (cellCount == cellStarts.length) {
+
+			cellStarts = Arrays.copyOf(cellStarts, cellStarts.length * 2);
+			cellEnds = Arrays.copyOf(cellEnds, cellEnds.length * 2);
+		}
+
+		cellStarts[cellCount] = cellStart;
+		cellEnds[cellCount] = rowLength;
+		cellCount++;
+	}
+
+	private String cell(final int i) {
+
+		return new String(row, cellStarts[i], cellEnds[i] - cellStarts[i]);
+	}
+
+	/**
+	 * cf. String#trim().isEmpty()
+	 */
+	private boolean isBlank(final int i) {
+
+		for (int j = cellStarts[i]; j < cellEnds[i]; j++) {
+
+			if (row[j] > ' ') {
+
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private String rowToString() {
+
+		final StringBuilder sb = new StringBuilder("[");
+
+		for (int i = 0; i < cellCount; i++) {
+
+			if (i > 0) {
+
+				sb.append(", ");
+			}
+
+			sb.append(cell(i));
+		}
+
+		return sb.append(']').toString();
+	}
+}
@@ -17,7 +17,8 @@ package org.dswarm.converter.mf.stream.converter;
 
 import java.io.IOException;
 import java.io.Reader;
-import java.util.Stack;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
@@ -34,6 +35,10 @@ import org.slf4j.LoggerFactory;
 import org.dswarm.converter.mf.framework.JsonReceiver;
 
 /**
+ * Streams the JSON events of the given input directly from a Jackson {@link JsonParser} to a {@link JsonReceiver}, i.e., no JSON trees
+ * will be materialised (memory consumption only depends on the nesting depth of the input). Besides single JSON documents (e.g. a large
+ * top-level array), a sequence of top-level values is supported as well (e.g. JSON Lines).
+ *
  * @author tgaengler
  */
 @Description("Reads a JSON file and passes the JSON events to a receiver.")
@@ -46,29 +51,29 @@ public class JsonDecoder extends DefaultObjectPipe<Reader, JsonReceiver> {
 	private static final ObjectMapper MAPPER      = new ObjectMapper();
 	private static final JsonFactory  jsonFactory = MAPPER.getFactory();
 
-	private final Stack<String>    fieldNameStack;
-	private final Stack<JsonToken> tokenStack;
+	private final Deque<String>    fieldNameStack;
+	private final Deque<JsonToken> tokenStack;
 
 	public JsonDecoder() {
 
 		super();
 
-		fieldNameStack = new Stack<>();
-		tokenStack = new Stack<>();
+		fieldNameStack = new ArrayDeque<>();
+		tokenStack = new ArrayDeque<>();
 	}
 
 	@Override
 	public void process(final Reader reader) {
 
-		try {
-
-			final JsonParser jp = jsonFactory.createParser(reader);
+		fieldNameStack.clear();
+		tokenStack.clear();
 
-			jp.nextToken();
+		// note: a sequence of top-level values (e.g. JSON Lines) will be parsed value by value
+		try (final JsonParser jp = jsonFactory.createParser(reader)) {
 
-			while (jp.hasCurrentToken()) {
+			JsonToken currentToken = jp.nextToken();
 
-				final JsonToken currentToken = jp.getCurrentToken();
+			while (currentToken != null) {
 
 				switch (currentToken) {
 
@@ -120,7 +125,7 @@ public class JsonDecoder extends DefaultObjectPipe<Reader, JsonReceiver> {
 
 						break;
 					case VALUE_FALSE:
-						//case VALUE_NULL:
+					case VALUE_NULL:
 					case VALUE_NUMBER_FLOAT:
 					case VALUE_NUMBER_INT:
 					case VALUE_STRING:
@@ -131,37 +136,21 @@ public class JsonDecoder extends DefaultObjectPipe<Reader, JsonReceiver> {
 
 						getReceiver().literal(fieldName, currentValue);
 
+						// note: values in arrays don't have an own field name
 						if (JsonToken.FIELD_NAME.equals(tokenStack.peek())) {
 
 							popFieldName();
 							tokenStack.pop();
 						}
 
-						break;
-					case VALUE_NULL:
-
-						final String currentValue2 = jp.getValueAsString();
-						final String fieldName2 = getCurrentFieldName();
-
-						getReceiver().literal(fieldName2, currentValue2);
-
-						if (JsonToken.FIELD_NAME.equals(tokenStack.peek())) {
-
-							popFieldName();
-						}
-
-						tokenStack.pop();
-
 						break;
 					default:
 
 						LOG.debug("unhandled JSON token '{}' found", currentToken);
 				}
 
-				jp.nextToken();
+				currentToken = jp.nextToken();
 			}
-
-			jp.close();
 		} catch (final IOException e) {
 
 			throw new MetafactureException(e);
@@ -170,21 +159,11 @@ public class JsonDecoder extends DefaultObjectPipe<Reader, JsonReceiver> {
 
 	private String getCurrentFieldName() {
 
-		if (!fieldNameStack.isEmpty()) {
-
-			return fieldNameStack.peek();
-		}
-
-		return null;
+		return fieldNameStack.peek();
 	}
 
 	private String popFieldName() {
 
-		if (!fieldNameStack.isEmpty()) {
-
-			return fieldNameStack.pop();
-		}
-
-		return null;
+		return fieldNameStack.poll();
 	}
 }
@@ -25,10 +25,12 @@ import org.culturegraph.mf.framework.annotations.Out;
 import org.dswarm.converter.mf.framework.annotations.Record;
 import org.dswarm.converter.mf.stream.converter.CsvDecoder;
 import org.dswarm.converter.mf.stream.converter.CsvLineReader;
+import org.dswarm.converter.mf.stream.converter.CsvTokenizer;
 
 /**
  * Reads Csv files. First line can be interpreted as header.<br>
- * Inspired by org.culturegraph.mf.stream.reader.CsvReader
+ * Inspired by org.culturegraph.mf.stream.reader.CsvReader<br>
+ * Optionally, the Csv files can be read with a {@link CsvTokenizer} (instead of the Commons CSV based {@link CsvLineReader} + {@link CsvDecoder}).
  * 
  * @author tgaengler
  * @author phorn
@@ -41,19 +43,26 @@ public final class CsvReader implements Reader<CSVRecord> {
 
 	private CsvLineReader		lineReader;
 	private final CsvDecoder	decoder;
+	private final CsvTokenizer	tokenizer;
 
 	private void setLineReader(final CsvLineReader reader) {
 		lineReader = reader;
 		lineReader.setReceiver(decoder);
 	}
 
-	private CsvReader(final CsvLineReader lineReaderArg) {
+	private CsvReader(final CsvLineReader lineReaderArg, final CsvTokenizer tokenizerArg) {
 		super();
 
 		decoder = new CsvDecoder();
+		tokenizer = tokenizerArg;
 		setLineReader(lineReaderArg);
 	}
 
+	private CsvReader(final CsvLineReader lineReaderArg) {
+
+		this(lineReaderArg, null);
+	}
+
 	public CsvReader() {
 
 		this(new CsvLineReader());
@@ -70,6 +79,17 @@ public final class CsvReader implements Reader<CSVRecord> {
 		this(new CsvLineReader(escapeCharacter, quoteCharacter, columnDelimiter, rowDelimiter, ignoreLines, discardRows, atMost));
 	}
 
+	/**
+	 * @param useTokenizer if true, the Csv files will be read with a {@link CsvTokenizer} (note: the row delimiter will be ignored then, i.e.,
+	 *                     all line break variants are row delimiters)
+	 */
+	public CsvReader(final char escapeCharacter, final char quoteCharacter, final char columnDelimiter, final String rowDelimiter,
+			final int ignoreLines, final int discardRows, final Optional<Integer> atMost, final boolean useTokenizer) {
+
+		this(new CsvLineReader(escapeCharacter, quoteCharacter, columnDelimiter, rowDelimiter, ignoreLines, discardRows, atMost),
+				useTokenizer ? new CsvTokenizer(escapeCharacter, quoteCharacter, columnDelimiter, ignoreLines, discardRows, atMost) : null);
+	}
+
 	public CsvDecoder getDecoder() {
 
 		return decoder;
@@ -79,6 +99,11 @@ public final class CsvReader implements Reader<CSVRecord> {
 
 		setLineReader(lineReader.withLimit(limit));
 
+		if (tokenizer != null) {
+
+			tokenizer.setLimit(limit);
+		}
+
 		return this;
 	}
 
@@ -87,12 +112,24 @@ public final class CsvReader implements Reader<CSVRecord> {
 
 		decoder.setReceiver(receiver);
 
+		if (tokenizer != null) {
+
+			tokenizer.setReceiver(receiver);
+		}
+
 		return receiver;
 	}
 
 	@Override
 	public void process(final java.io.Reader reader) {
 
+		if (tokenizer != null) {
+
+			tokenizer.process(reader);
+
+			return;
+		}
+
 		lineReader.process(reader);
 	}
 
@@ -105,12 +142,26 @@ public final class CsvReader implements Reader<CSVRecord> {
 	@Override
 	public void resetStream() {
 
+		if (tokenizer != null) {
+
+			tokenizer.resetStream();
+
+			return;
+		}
+
 		lineReader.resetStream();
 	}
 
 	@Override
 	public void closeStream() {
 
+		if (tokenizer != null) {
+
+			tokenizer.closeStream();
+
+			return;
+		}
+
 		lineReader.closeStream();
 	}
 
@@ -119,6 +170,32 @@ public final class CsvReader implements Reader<CSVRecord> {
 		setLineReader(lineReader.withHeader(hasHeader));
 		decoder.setHeader(hasHeader);
 
+		if (tokenizer != null) {
+
+			tokenizer.setHeader(hasHeader);
+		}
+
+		return this;
+	}
+
+	/**
+	 * Sets the offsets of the input in the resource (e.g. of a chunk of rows), i.e., line and record numbers in error messages will be the
+	 * ones of the resource.
+	 *
+	 * @param lineOffset   the difference between the line numbers in the resource and the line numbers of the input
+	 * @param recordOffset the number of records in the resource before the input
+	 * @return this reader
+	 */
+	public CsvReader setOffsets(final long lineOffset, final long recordOffset) {
+
+		setLineReader(lineReader.withLineOffset(lineOffset));
+		decoder.setRecordOffset(recordOffset);
+
+		if (tokenizer != null) {
+
+			tokenizer.setOffsets(lineOffset, recordOffset);
+		}
+
 		return this;
 	}
 
@@ -126,6 +203,11 @@ public final class CsvReader implements Reader<CSVRecord> {
 
 		decoder.setDataModelSchemaBaseURI(dataResourceSchemaBaseURI);
 
+		if (tokenizer != null) {
+
+			tokenizer.setDataModelSchemaBaseURI(dataResourceSchemaBaseURI);
+		}
+
 		return this;
 	}
 }
@@ -0,0 +1,173 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.mf.stream.reader;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Optional;
+import org.culturegraph.mf.framework.DefaultObjectPipe;
+import org.culturegraph.mf.framework.StreamReceiver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.dswarm.graph.json.LiteralNode;
+import org.dswarm.graph.json.Model;
+import org.dswarm.graph.json.Node;
+import org.dswarm.graph.json.Resource;
+import org.dswarm.graph.json.ResourceNode;
+import org.dswarm.graph.json.Statement;
+import org.dswarm.graph.json.util.Util;
+import org.dswarm.persistence.model.internal.gdm.GDMModel;
+import org.dswarm.persistence.model.internal.gdm.GDMModelUtil;
+
+/**
+ * Emits the statements of a GDM record directly as metafacture stream events, i.e., without converting the record to its (compact)
+ * JSON representation first (cf. {@link GDMModel#toRawJSON()} + {@link JsonNodeReader}). The emitted events are equal to the ones that
+ * would be emitted by a {@link JsonNodeReader} for the compact JSON representation of the record, i.e., literals (and resources without
+ * further statements) will be emitted as literals and resources with further statements will be emitted as entities.
+ *
+ * @author tgaengler
+ */
+public class GDMModelReader extends DefaultObjectPipe<GDMModel, StreamReceiver> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(GDMModelReader.class);
+
+	private final Optional<String> recordPrefix;
+	private final AtomicInteger    counter = new AtomicInteger(0);
+
+	public GDMModelReader() {
+		this(null);
+	}
+
+	public GDMModelReader(@Nullable final String recordPrefix) {
+
+		this.recordPrefix = Optional.fromNullable(recordPrefix);
+	}
+
+	public AtomicInteger getCounter() {
+
+		return counter;
+	}
+
+	@Override
+	public void process(final GDMModel gdmModel) {
+
+		counter.incrementAndGet();
+
+		final StreamReceiver receiver = getReceiver();
+
+		final Set<String> recordURIs = gdmModel.getRecordURIs();
+		final Iterator<String> recordURIsIterator = recordURIs != null ? recordURIs.iterator() : null;
+		final String recordURI = recordURIsIterator != null && recordURIsIterator.hasNext() ? recordURIsIterator.next() : null;
+
+		receiver.startRecord(recordURI);
+		if (recordPrefix.isPresent()) {
+			receiver.startEntity(recordPrefix.get());
+		}
+
+		processRecord(receiver, gdmModel.getModel(), recordURI);
+
+		if (recordPrefix.isPresent()) {
+			receiver.endEntity();
+		}
+		receiver.endRecord();
+	}
+
+	private static void processRecord(final StreamReceiver receiver,
+	                                  final Model model,
+	                                  final String recordURI) {
+
+		if (model == null || recordURI == null) {
+
+			LOG.debug("no model or record URI available, can't emit record statements");
+
+			return;
+		}
+
+		final Resource recordResource = model.getResource(recordURI);
+
+		if (recordResource == null) {
+
+			LOG.debug("couldn't find record resource for record uri '{}' in model", recordURI);
+
+			return;
+		}
+
+		final ResourceNode recordResourceNode = Util.getResourceNode(recordURI, recordResource);
+
+		if (recordResourceNode == null) {
+
+			LOG.debug("couldn't find record resource node for record uri '{}' in model", recordURI);
+
+			return;
+		}
+
+		processNode(receiver, model, recordResource, recordResourceNode);
+	}
+
+	/**
+	 * Emits the statements of the given node. Nested nodes will be resolved against the whole model (as it is done at the compact JSON
+	 * serialisation), i.e., their statements are not necessarily part of the record resource.
+	 *
+	 * @param receiver       the stream receiver
+	 * @param model          the GDM model that contains the record
+	 * @param recordResource the record resource
+	 * @param node           the node, whose statements should be emitted
+	 */
+	private static void processNode(final StreamReceiver receiver,
+	                                final Model model,
+	                                final Resource recordResource,
+	                                final Node node) {
+
+		final Set<Statement> statements = GDMModelUtil.getStatements(node, recordResource, model);
+
+		for (final Statement statement : statements) {
+
+			final String propertyURI = statement.getPredicate().getUri();
+			final Node object = statement.getObject();
+
+			if (object instanceof LiteralNode) {
+
+				receiver.literal(propertyURI, ((LiteralNode) object).getValue());
+
+				continue;
+			}
+
+			final Set<Statement> objectStatements = GDMModelUtil.getStatements(object, recordResource, model);
+
+			if (objectStatements.isEmpty()) {
+
+				// resource (or bnode) without further statements => value only
+				if (object instanceof ResourceNode) {
+
+					receiver.literal(propertyURI, ((ResourceNode) object).getUri());
+				}
+
+				continue;
+			}
+
+			receiver.startEntity(propertyURI);
+
+			processNode(receiver, model, recordResource, object);
+
+			receiver.endEntity();
+		}
+	}
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.mf.stream.source;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An input stream that reads the remaining bytes of a (e.g. memory-mapped) byte buffer. The position of the given buffer won't be
+ * modified.
+ *
+ * @author tgaengler
+ */
+public class ByteBufferInputStream extends InputStream {
+
+	private final ByteBuffer buffer;
+
+	public ByteBufferInputStream(final ByteBuffer buffer) {
+
+		this.buffer = buffer.duplicate();
+	}
+
+	@Override
+	public int read() {
+
+		if (!buffer.hasRemaining()) {
+
+			return -1;
+		}
+
+		return buffer.get() & 0xFF;
+	}
+
+	@Override
+	public int read(final byte[] bytes, final int offset, final int length) {
+
+		if (length == 0) {
+
+			return 0;
+		}
+
+		if (!buffer.hasRemaining()) {
+
+			return -1;
+		}
+
+		final int readLength = Math.min(length, buffer.remaining());
+
+		buffer.get(bytes, offset, readLength);
+
+		return readLength;
+	}
+
+	@Override
+	public long skip(final long n) {
+
+		if (n <= 0) {
+
+			return 0;
+		}
+
+		final int skipLength = (int) Math.min(n, buffer.remaining());
+
+		buffer.position(buffer.position() + skipLength);
+
+		return skipLength;
+	}
+
+	@Override
+	public int available() {
+
+		return buffer.remaining();
+	}
+}
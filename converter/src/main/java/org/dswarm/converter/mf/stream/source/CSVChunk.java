@@ -0,0 +1,142 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.mf.stream.source;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A part of a CSV resource that consists of complete rows (as byte range in the resource). Every chunk (except for the first one) will be
+ * prefixed by the header row of the resource (if the resource has a header row), i.e., a chunk can be parsed on its own.
+ *
+ * @author tgaengler
+ */
+public class CSVChunk {
+
+	private final Path   resource;
+	private final long   start;
+	private final long   end;
+	private final byte[] prefix;
+	private final int    number;
+	private final long   lineOffset;
+	private final long   recordOffset;
+
+	/**
+	 * @param resource     the CSV resource
+	 * @param start        the start position (inclusive) of the rows of this chunk in the resource
+	 * @param end          the end position (exclusive) of the rows of this chunk in the resource
+	 * @param prefix       the bytes that should be emitted in front of the rows, i.e., the header row
+	 * @param number       the number of this chunk in the resource
+	 * @param lineOffset   the difference between the line numbers in the resource and the line numbers in this chunk (incl. prefix)
+	 * @param recordOffset the number of records in the resource before this chunk
+	 */
+	CSVChunk(final Path resource, final long start, final long end, final byte[] prefix, final int number, final long lineOffset,
+			final long recordOffset) {
+
+		this.resource = resource;
+		this.start = start;
+		this.end = end;
+		this.prefix = prefix;
+		this.number = number;
+		this.lineOffset = lineOffset;
+		this.recordOffset = recordOffset;
+	}
+
+	public Path getResource() {
+
+		return resource;
+	}
+
+	public int getNumber() {
+
+		return number;
+	}
+
+	/**
+	 * @return true, if this chunk is the first chunk of the resource, i.e., it contains the content before the first data row (ignored
+	 * lines, header row, discarded rows)
+	 */
+	public boolean isFirst() {
+
+		return number == 0;
+	}
+
+	public long getStart() {
+
+		return start;
+	}
+
+	public long getEnd() {
+
+		return end;
+	}
+
+	/**
+	 * @return the number that needs to be added to a line number in this chunk (incl. the header row prefix) to get the line number in
+	 * the resource
+	 */
+	public long getLineOffset() {
+
+		return lineOffset;
+	}
+
+	/**
+	 * @return the number that needs to be added to a record number in this chunk to get the record number in the resource, i.e., the
+	 * number of records (data rows with content) in the resource before this chunk
+	 */
+	public long getRecordOffset() {
+
+		return recordOffset;
+	}
+
+	/**
+	 * Opens a stream of this chunk (incl. the header row prefix). The rows will be read from a memory-mapped buffer of the chunk's part of
+	 * the resource.
+	 *
+	 * @return a stream of this chunk
+	 * @throws IOException
+	 */
+	public InputStream openStream() throws IOException {
+
+		final MappedByteBuffer buffer;
+
+		try (final FileChannel channel = FileChannel.open(resource, StandardOpenOption.READ)) {
+
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+		}
+
+		final InputStream rows = new ByteBufferInputStream(buffer);
+
+		if (prefix.length == 0) {
+
+			return rows;
+		}
+
+		return new SequenceInputStream(new ByteArrayInputStream(prefix), rows);
+	}
+
+	@Override
+	public String toString() {
+
+		return "chunk '" + number + "' of '" + resource + "' (bytes '" + start + "' - '" + end + "')";
+	}
+}
@@ -0,0 +1,460 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.mf.stream.source;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.dswarm.converter.DMPConverterException;
+
+/**
+ * Splits a CSV resource into chunks of complete rows, i.e., at line breaks that are not part of a quoted (or escaped) value, so that the
+ * chunks can be parsed independently (see {@link CSVChunk}). The resource will be scanned byte-wise via memory-mapped windows, i.e., the
+ * resource needs to be encoded in UTF-8 or in an ASCII-compatible single-byte encoding (see {@link #isSupported(Charset, char...)}).<br/>
+ * Chunks will be emitted as soon as they are complete, i.e., chunks can already be processed while the resource is still being scanned.
+ * The first chunk contains everything before the first data row (ignored lines, header row, discarded rows); all other chunks will be
+ * prefixed with the header row (if the resource has a header row). Rows without content (e.g. whitespace only) won't make up a chunk
+ * on their own. Every chunk knows its line and record offset in the resource, i.e., line and record numbers of a chunk can be mapped
+ * to the ones of the resource.
+ *
+ * @author tgaengler
+ */
+public class CSVRowChunker {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CSVRowChunker.class);
+
+	private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+	private static final byte[] UTF8_BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+
+	private static final byte[] NO_PREFIX = new byte[0];
+
+	private static final byte CR = '\r';
+	private static final byte LF = '\n';
+
+	private final byte    escapeCharacter;
+	private final byte    quoteCharacter;
+	private final byte    columnDelimiter;
+	private final int     ignoreLines;
+	private final int     discardRows;
+	private final boolean hasHeader;
+	private final long    chunkSize;
+
+	/**
+	 * @param escapeCharacter the escape character (needs to be an ASCII character)
+	 * @param quoteCharacter  the quote character (needs to be an ASCII character)
+	 * @param columnDelimiter the column delimiter (needs to be an ASCII character)
+	 * @param ignoreLines     the number of lines that should be ignored at the beginning of the resource
+	 * @param discardRows     the number of rows that should be discarded at the beginning of the resource (after the header row)
+	 * @param hasHeader       true, if the first row is the header row
+	 * @param chunkSize       the (approximate) number of bytes per chunk
+	 */
+	public CSVRowChunker(final char escapeCharacter, final char quoteCharacter, final char columnDelimiter, final int ignoreLines,
+			final int discardRows, final boolean hasHeader, final long chunkSize) {
+
+		this.escapeCharacter = (byte) escapeCharacter;
+		this.quoteCharacter = (byte) quoteCharacter;
+		this.columnDelimiter = (byte) columnDelimiter;
+		this.ignoreLines = ignoreLines;
+		this.discardRows = discardRows;
+		this.hasHeader = hasHeader;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Checks whether a CSV resource with the given encoding and the given special characters (escape character, quote character, column
+	 * delimiter) can be split byte-wise.
+	 *
+	 * @param charset           the encoding of the CSV resource
+	 * @param specialCharacters the special characters of the CSV interpretation
+	 * @return true, if a CSV resource with the given encoding and special characters can be split byte-wise
+	 */
+	public static boolean isSupported(final Charset charset, final char... specialCharacters) {
+
+		for (final char specialCharacter : specialCharacters) {
+
+			if (specialCharacter >= 0x80) {
+
+				return false;
+			}
+		}
+
+		// note: in UTF-8 (and in ASCII-compatible single-byte encodings) ASCII bytes are never part of another character
+		return StandardCharsets.UTF_8.equals(charset) || (charset.canEncode() && charset.newEncoder().maxBytesPerChar() == 1
+				&& Arrays.equals("\n".getBytes(charset), new byte[] { LF }));
+	}
+
+	/**
+	 * Splits the given CSV resource into chunks of complete rows.
+	 *
+	 * @param resource      the CSV resource
+	 * @param chunkConsumer the receiver of the chunks (in resource order)
+	 * @return the number of emitted chunks
+	 * @throws DMPConverterException
+	 */
+	public int split(final Path resource, final Consumer<CSVChunk> chunkConsumer) throws DMPConverterException {
+
+		try (final FileChannel channel = FileChannel.open(resource, StandardOpenOption.READ)) {
+
+			final int chunks = new Scanner(resource, channel, chunkConsumer).scan();
+
+			LOG.debug("split CSV resource '{}' into '{}' chunks", resource, chunks);
+
+			return chunks;
+		} catch (final IOException e) {
+
+			throw new DMPConverterException(String.format("couldn't split CSV resource '%s' into chunks", resource), e);
+		}
+	}
+
+	private final class Scanner {
+
+		private final Path               resource;
+		private final FileChannel        channel;
+		private final Consumer<CSVChunk> chunkConsumer;
+
+		private int     linesToIgnore = ignoreLines;
+		private int     rowsToSkip    = (hasHeader ? 1 : 0) + discardRows;
+		private byte    previous;
+		/**
+		 * the number of line breaks so far (cf. line numbers of the CSV parsers)
+		 */
+		private long    lines;
+		/**
+		 * the number of data rows with content so far
+		 */
+		private long    records;
+
+		// row state
+		private long    rowStart      = -1;
+		private boolean rowHasContent;
+		private boolean tokenStart;
+		private boolean encapsulated;
+		private boolean encapsulationEnd;
+		private boolean escaped;
+
+		// chunk state
+		private byte[]   header        = NO_PREFIX;
+		private long     chunkStart;
+		private long     chunkStartLines;
+		private long     chunkStartRecords;
+		/**
+		 * true, if the current chunk starts with the LF of a CRLF line break (i.e. the chunk boundary is located after the CR)
+		 */
+		private boolean  chunkStartsWithLF;
+		private long     headerLines;
+		/**
+		 * true, if the current chunk contains at least one data row with content
+		 */
+		private boolean  chunkHasContent;
+		private CSVChunk pendingChunk;
+		private int      chunks;
+
+		private Scanner(final Path resource, final FileChannel channel, final Consumer<CSVChunk> chunkConsumer) {
+
+			this.resource = resource;
+			this.channel = channel;
+			this.chunkConsumer = chunkConsumer;
+		}
+
+		private int scan() throws IOException {
+
+			final long size = channel.size();
+
+			long position = hasUTF8BOM(size) ? UTF8_BOM.length : 0;
+
+			while (position < size) {
+
+				final int windowSize = (int) Math.min(WINDOW_SIZE, size - position);
+				final MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+
+				for (int i = 0; i < windowSize; i++) {
+
+					process(window.get(i), position + i);
+				}
+
+				position += windowSize;
+			}
+
+			if (rowStart >= 0) {
+
+				// last row without line break
+				completeRow(size, false);
+			}
+
+			if (chunkHasContent || pendingChunk == null) {
+
+				emitPendingChunk();
+
+				pendingChunk = createChunk(size);
+			} else {
+
+				// merge the rest (without any content) into the last chunk
+				pendingChunk = new CSVChunk(resource, pendingChunk.getStart(), size, pendingChunk.isFirst() ? NO_PREFIX : header,
+						pendingChunk.getNumber(), pendingChunk.getLineOffset(), pendingChunk.getRecordOffset());
+			}
+
+			emitPendingChunk();
+
+			return chunks;
+		}
+
+		private void process(final byte b, final long position) throws IOException {
+
+			if (position == chunkStart && position > 0 && b == LF && previous == CR) {
+
+				chunkStartsWithLF = true;
+			}
+
+			if (linesToIgnore > 0) {
+
+				// cf. BufferedReader#readLine
+				if (b == CR || (b == LF && previous != CR)) {
+
+					linesToIgnore--;
+				}
+
+				countLine(b);
+				previous = b;
+
+				return;
+			}
+
+			countLine(b);
+			previous = b;
+
+			if (rowStart < 0) {
+
+				if (b == LF || b == CR) {
+
+					// empty line (will be ignored by the CSV parser)
+					return;
+				}
+
+				startRow(position);
+			}
+
+			if (escaped) {
+
+				escaped = false;
+				rowHasContent = true;
+
+				return;
+			}
+
+			if (b == escapeCharacter) {
+
+				escaped = true;
+				tokenStart = false;
+
+				return;
+			}
+
+			if (encapsulationEnd) {
+
+				encapsulationEnd = false;
+
+				if (b == quoteCharacter) {
+
+					// double quote
+					encapsulated = true;
+					rowHasContent = true;
+
+					return;
+				}
+			}
+
+			if (encapsulated) {
+
+				if (b == quoteCharacter) {
+
+					encapsulated = false;
+					encapsulationEnd = true;
+				} else if (!isWhitespace(b)) {
+
+					rowHasContent = true;
+				}
+
+				return;
+			}
+
+			if (b == LF || b == CR) {
+
+				completeRow(position + 1, true);
+			} else if (b == columnDelimiter) {
+
+				tokenStart = true;
+				rowHasContent = true;
+			} else if (b == quoteCharacter && tokenStart) {
+
+				tokenStart = false;
+				encapsulated = true;
+			} else if (!isWhitespace(b)) {
+
+				tokenStart = false;
+				rowHasContent = true;
+			}
+		}
+
+		private void startRow(final long position) {
+
+			rowStart = position;
+			rowHasContent = false;
+			tokenStart = true;
+			encapsulated = false;
+			encapsulationEnd = false;
+		}
+
+		private void completeRow(final long rowEnd, final boolean hasLineBreak) throws IOException {
+
+			final long start = rowStart;
+
+			rowStart = -1;
+
+			if (rowsToSkip > 0) {
+
+				if (hasHeader && rowsToSkip == 1 + discardRows && hasLineBreak) {
+
+					header = read(start, rowEnd);
+					headerLines = countLines(header);
+				}
+
+				rowsToSkip--;
+
+				return;
+			}
+
+			if (!rowHasContent) {
+
+				return;
+			}
+
+			chunkHasContent = true;
+			records++;
+
+			if (rowEnd - chunkStart >= chunkSize && hasLineBreak) {
+
+				emitPendingChunk();
+
+				pendingChunk = createChunk(rowEnd);
+
+				chunkStart = rowEnd;
+				chunkStartLines = lines;
+				chunkStartRecords = records;
+				chunkStartsWithLF = false;
+				chunkHasContent = false;
+			}
+		}
+
+		private CSVChunk createChunk(final long chunkEnd) {
+
+			final int number = chunks++;
+
+			if (number == 0) {
+
+				return new CSVChunk(resource, chunkStart, chunkEnd, NO_PREFIX, number, 0, 0);
+			}
+
+			long chunkLines = headerLines;
+
+			if (chunkStartsWithLF && (header.length == 0 || header[header.length - 1] != CR)) {
+
+				// the LF (of the split CRLF line break) will be an additional line break in the chunk
+				chunkLines++;
+			}
+
+			return new CSVChunk(resource, chunkStart, chunkEnd, header, number, chunkStartLines - chunkLines, chunkStartRecords);
+		}
+
+		private void countLine(final byte b) {
+
+			// cf. CsvTokenizer + commons-csv
+			if (b == CR || (b == LF && previous != CR)) {
+
+				lines++;
+			}
+		}
+
+		private void emitPendingChunk() {
+
+			if (pendingChunk != null) {
+
+				chunkConsumer.accept(pendingChunk);
+
+				pendingChunk = null;
+			}
+		}
+
+		private byte[] read(final long start, final long end) throws IOException {
+
+			final ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+
+			while (buffer.hasRemaining()) {
+
+				if (channel.read(buffer, start + buffer.position()) < 0) {
+
+					break;
+				}
+			}
+
+			return buffer.array();
+		}
+
+		private boolean hasUTF8BOM(final long size) throws IOException {
+
+			if (size < UTF8_BOM.length) {
+
+				return false;
+			}
+
+			return Arrays.equals(read(0, UTF8_BOM.length), UTF8_BOM);
+		}
+	}
+
+	private static long countLines(final byte[] bytes) {
+
+		long lines = 0;
+		byte previous = 0;
+
+		for (final byte b : bytes) {
+
+			if (b == CR || (b == LF && previous != CR)) {
+
+				lines++;
+			}
+
+			previous = b;
+		}
+
+		return lines;
+	}
+
+	private static boolean isWhitespace(final byte b) {
+
+		return b == ' ' || b == '\t' || b == CR || b == LF;
+	}
+}
@@ -15,11 +15,12 @@
  */
 package org.dswarm.converter.mf.stream.source;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Stack;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicLong;
 
 import javax.annotation.Nullable;
 
@@ -52,7 +53,9 @@ import org.dswarm.persistence.model.schema.utils.SchemaUtils;
 import org.dswarm.persistence.util.GDMUtil;
 
 /**
- * Converts JSON records to GDM triples.
+ * Converts JSON records to GDM triples. Records are either identified by the record tag (i.e. the field name of the record objects) or, if
+ * no record tag is given, every top-level object is a record (e.g. the objects of a top-level array or of a JSON Lines input). All
+ * per-record state will be reset at the beginning of a record, i.e., memory consumption doesn't grow with the number of records.
  *
  * @author tgaengler
  */
@@ -68,11 +71,16 @@ public class JSONGDMEncoder extends DefaultJsonPipe<ObjectReceiver<GDMModel>> {
 	private       Resource                      recordResource;
 	private       ResourceNode                  recordNode;
 	private       Node                          entityNode;
-	private       Stack<Tuple<Node, Predicate>> entityStack;
-	private final Stack<String>                 elementURIStack;
+	private final Deque<Tuple<Node, Predicate>> entityStack     = new ArrayDeque<>();
+	private final Deque<String>                 elementURIStack = new ArrayDeque<>();
 
 	private static final String DATA_MODEL_BASE_URI = SchemaUtils.DATA_MODEL_BASE_URI + "%s";
 
+	/**
+	 * the (local) name of the record tag URI, if no record tag is given
+	 */
+	private static final String DEFAULT_RECORD_TAG_NAME = "record";
+
 	/**
 	 * note: recordTagName is optional right now, i.e., now record tag means that the whole JSON node is the record
 	 *
@@ -87,6 +95,7 @@ public class JSONGDMEncoder extends DefaultJsonPipe<ObjectReceiver<GDMModel>> {
 	private String recordTagUri = null;
 
 	private boolean      inRecord;
+	private int          objectDepth;
 	private String       uri;
 	private ResourceNode recordType;
 
@@ -95,13 +104,16 @@ public class JSONGDMEncoder extends DefaultJsonPipe<ObjectReceiver<GDMModel>> {
 	private final Optional<Map<String, AdvancedDMPJPAObject>> optionalTermMap;
 	private final Optional<String>                            dataModelUri;
 
-	private       AtomicLong                nodeIdCounter = new AtomicLong(1);
+	private       long                      nodeIdCounter = 1;
 	private final Predicate                 rdfType       = new Predicate(GDMUtil.RDF_type);
 	private final Map<String, Predicate>    predicates    = Maps.newHashMap();
 	private final Map<String, ResourceNode> types         = Maps.newHashMap();
-	private final Map<String, AtomicLong>   valueCounter  = Maps.newHashMap();
 	private final Map<String, String>       uris          = Maps.newHashMap();
 
+	// statement order counters of the current record (per subject + predicate)
+	private final Map<Node, Map<Predicate, long[]>> valueCounter     = new IdentityHashMap<>();
+	private final Deque<Map<Predicate, long[]>>     valueCounterPool = new ArrayDeque<>();
+
 	public JSONGDMEncoder(final Optional<DataModel> dataModel, final boolean utiliseExistingSchema) {
 
 		super();
@@ -117,9 +129,6 @@ public class JSONGDMEncoder extends DefaultJsonPipe<ObjectReceiver<GDMModel>> {
 		this.dataModel = dataModel;
 		dataModelUri = init(dataModel);
 
-		// init
-		elementURIStack = new Stack<>();
-
 		final Tuple<Optional<Schema>, Optional<Map<String, AdvancedDMPJPAObject>>> tuple = getOptionalSchema(utiliseExistingSchema);
 		optionalSchema = tuple.v1();
 		optionalTermMap = tuple.v2();
@@ -134,9 +143,6 @@ public class JSONGDMEncoder extends DefaultJsonPipe<ObjectReceiver<GDMModel>> {
 		this.dataModel = dataModel;
 		dataModelUri = init(dataModel);
 
-		// init
-		elementURIStack = new Stack<>();
-
 		final Tuple<Optional<Schema>, Optional<Map<String, AdvancedDMPJPAObject>>> tuple = getOptionalSchema(utiliseExistingSchema);
 		optionalSchema = tuple.v1();
 		optionalTermMap = tuple.v2();
@@ -176,11 +182,25 @@ public class JSONGDMEncoder extends DefaultJsonPipe<ObjectReceiver<GDMModel>> {
 
 		elementURIStack.push(this.uri);
 
+		final boolean topLevelObject = objectDepth++ == 0;
+
 		if (inRecord) {
 
 			// TODO: is this the correct URI?
 			startEntity(getTermURI(this.uri, name));
-		} else if (optionalRecordTagName.isPresent() && optionalRecordTagName.get().equals(name)) {
+		} else if (!optionalRecordTagName.isPresent()) {
+
+			if (topLevelObject) {
+
+				if (recordTagUri == null) {
+
+					recordTagUri = getRecordTagURI(mintDataModelUri(null), DEFAULT_RECORD_TAG_NAME);
+				}
+
+				startRecord(null);
+				inRecord = true;
+			}
+		} else if (optionalRecordTagName.get().equals(name)) {
 
 			if (recordTagUri == null) {
 
@@ -190,23 +210,26 @@ public class JSONGDMEncoder extends DefaultJsonPipe<ObjectReceiver<GDMModel>> {
 			if (recordTagUri.equals(getRecordTagURI(elementURIStack.peek(), name))) {
 
 				// TODO: how to determine the id of an record, or should we mint uris? - e.g. with help of a given schema that contains a content schema with a legacy record identifer
-				final String identifier = UUID.randomUUID().toString();
-				startRecord(identifier);
+				// note: a record URI will be minted for records without identifier
+				startRecord(null);
 				inRecord = true;
 			}
-
-			// TODO: implement no-record-tag variant
 		}
 	}
 
 	private void endElement(final String name) {
 
+		objectDepth--;
+
+		final String elementUriFromStack = elementURIStack.pop();
+
 		if (inRecord) {
 
-			final String elementUriFromStack = elementURIStack.pop();
 			final String elementUri = determineElementURI(name);
 
-			if (recordTagUri.equals(elementUriFromStack)) {
+			final boolean endOfRecord = optionalRecordTagName.isPresent() ? recordTagUri.equals(elementUriFromStack) : objectDepth == 0;
+
+			if (endOfRecord) {
 				inRecord = false;
 				endRecord();
 			} else {
@@ -235,7 +258,8 @@ public class JSONGDMEncoder extends DefaultJsonPipe<ObjectReceiver<GDMModel>> {
 		// name = predicate
 		// value = literal or object
 		// TODO: only literals atm, i.e., how to determine other resources?
-		if (value != null && !value.isEmpty()) {
+		// note: values outside of records will be skipped
+		if (inRecord && value != null && !value.isEmpty()) {
 
 			final Predicate attributeProperty = getPredicate(name);
 			final LiteralNode literalObject = new LiteralNode(value);
@@ -253,7 +277,7 @@ public class JSONGDMEncoder extends DefaultJsonPipe<ObjectReceiver<GDMModel>> {
 		}
 	}
 
-	public void startRecord(final String identifier) {
+	public void startRecord(@Nullable final String identifier) {
 
 		assert !isClosed();
 
@@ -264,7 +288,7 @@ public class JSONGDMEncoder extends DefaultJsonPipe<ObjectReceiver<GDMModel>> {
 		recordNode = new ResourceNode(currentId);
 
 		// init
-		entityStack = new Stack<>();
+		resetRecordState();
 
 		if (recordType == null) {
 
@@ -359,7 +383,21 @@ public class JSONGDMEncoder extends DefaultJsonPipe<ObjectReceiver<GDMModel>> {
 
 	private long getNewNodeId() {
 
-		return nodeIdCounter.incrementAndGet();
+		return ++nodeIdCounter;
+	}
+
+	private void resetRecordState() {
+
+		entityStack.clear();
+		entityNode = null;
+
+		for (final Map<Predicate, long[]> predicateCounters : valueCounter.values()) {
+
+			predicateCounters.clear();
+			valueCounterPool.push(predicateCounters);
+		}
+
+		valueCounter.clear();
 	}
 
 	private Predicate getPredicate(final String predicateId) {
@@ -392,25 +430,24 @@ public class JSONGDMEncoder extends DefaultJsonPipe<ObjectReceiver<GDMModel>> {
 
 	private void addStatement(final Node subject, final Predicate predicate, final Node object) {
 
-		String key;
-
-		if (subject instanceof ResourceNode) {
+		// note: all subject nodes (record node, entity nodes) and predicates are unique objects per record
+		Map<Predicate, long[]> predicateCounters = valueCounter.get(subject);
 
-			key = ((ResourceNode) subject).getUri();
-		} else {
+		if (predicateCounters == null) {
 
-			key = subject.getId().toString();
+			predicateCounters = valueCounterPool.isEmpty() ? new IdentityHashMap<>() : valueCounterPool.pop();
+			valueCounter.put(subject, predicateCounters);
 		}
 
-		key += "::" + predicate.getUri();
+		long[] counter = predicateCounters.get(predicate);
 
-		if (!valueCounter.containsKey(key)) {
+		if (counter == null) {
 
-			final AtomicLong valueCounterForKey = new AtomicLong(0);
-			valueCounter.put(key, valueCounterForKey);
+			counter = new long[1];
+			predicateCounters.put(predicate, counter);
 		}
 
-		final Long order = valueCounter.get(key).incrementAndGet();
+		final long order = ++counter[0];
 
 		recordResource.addStatement(subject, predicate, object, order);
 	}
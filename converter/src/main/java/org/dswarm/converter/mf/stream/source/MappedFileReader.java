@@ -0,0 +1,238 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.mf.stream.source;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A reader that decodes a file directly from memory-mapped windows of the file into the buffers of the caller, i.e., without
+ * intermediate byte buffers. An UTF-8 BOM at the beginning of the file will be skipped (if the file should be decoded with UTF-8).
+ * Malformed input will be replaced (as it is done by {@link java.io.InputStreamReader}).
+ *
+ * @author tgaengler
+ */
+public class MappedFileReader extends Reader {
+
+	private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+	private static final byte[] UTF8_BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+
+	private final FileChannel    channel;
+	private final long           size;
+	private final int            windowSize;
+	private final CharsetDecoder decoder;
+	private final AtomicLong     bytesRead;
+
+	private ByteBuffer window;
+	private long       windowStart;
+	private boolean    endOfInput;
+	private boolean    flushed;
+
+	/**
+	 * a small buffer for reads of a single char (a decoded char could be a surrogate pair)
+	 */
+	private final CharBuffer pendingChars = CharBuffer.allocate(2);
+
+	/**
+	 * @param file      the file that should be read
+	 * @param charset   the encoding of the file
+	 * @param bytesRead a counter that will be incremented by the number of decoded bytes, i.e., it can be utilised for progress tracking
+	 * @throws IOException
+	 */
+	public MappedFileReader(final Path file, final Charset charset, final AtomicLong bytesRead) throws IOException {
+
+		this(file, charset, bytesRead, DEFAULT_WINDOW_SIZE);
+	}
+
+	/**
+	 * @param file       the file that should be read
+	 * @param charset    the encoding of the file
+	 * @param bytesRead  a counter that will be incremented by the number of decoded bytes
+	 * @param windowSize the (maximum) size of a memory-mapped window in bytes
+	 * @throws IOException
+	 */
+	MappedFileReader(final Path file, final Charset charset, final AtomicLong bytesRead, final int windowSize) throws IOException {
+
+		if (windowSize <= 0) {
+
+			throw new IllegalArgumentException("window size must be positive");
+		}
+
+		this.windowSize = windowSize;
+		channel = FileChannel.open(file, StandardOpenOption.READ);
+		size = channel.size();
+		decoder = charset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.bytesRead = bytesRead;
+
+		pendingChars.flip();
+
+		final long contentStart = StandardCharsets.UTF_8.equals(charset) && hasUTF8BOM() ? UTF8_BOM.length : 0;
+
+		bytesRead.addAndGet(contentStart);
+
+		mapWindow(contentStart, windowSize);
+	}
+
+	public long getSize() {
+
+		return size;
+	}
+
+	@Override
+	public int read(final char[] chars, final int offset, final int length) throws IOException {
+
+		if (length == 0) {
+
+			return 0;
+		}
+
+		if (pendingChars.hasRemaining()) {
+
+			final int pendingLength = Math.min(length, pendingChars.remaining());
+
+			pendingChars.get(chars, offset, pendingLength);
+
+			return pendingLength;
+		}
+
+		if (length < pendingChars.capacity()) {
+
+			pendingChars.clear();
+			decode(pendingChars);
+			pendingChars.flip();
+
+			if (!pendingChars.hasRemaining()) {
+
+				return -1;
+			}
+
+			return read(chars, offset, length);
+		}
+
+		final CharBuffer out = CharBuffer.wrap(chars, offset, length);
+
+		decode(out);
+
+		final int decodedLength = out.position() - offset;
+
+		return decodedLength == 0 ? -1 : decodedLength;
+	}
+
+	@Override
+	public void close() throws IOException {
+
+		window = null;
+		channel.close();
+	}
+
+	private void decode(final CharBuffer out) throws IOException {
+
+		while (out.hasRemaining() && !flushed) {
+
+			final int windowPosition = window.position();
+
+			final CoderResult result = decoder.decode(window, out, endOfInput);
+
+			bytesRead.addAndGet(window.position() - windowPosition);
+
+			if (result.isOverflow()) {
+
+				return;
+			}
+
+			if (result.isError()) {
+
+				result.throwException();
+			}
+
+			// underflow
+			if (endOfInput) {
+
+				decoder.flush(out);
+				flushed = true;
+
+				return;
+			}
+
+			final int consumedBytes = window.position();
+
+			if (windowStart + window.limit() >= size) {
+
+				// last window; decode remaining (incomplete) bytes as end of input
+				endOfInput = true;
+			} else if (consumedBytes == 0) {
+
+				// note: the window is smaller than the incomplete byte sequence at its beginning, i.e., it needs to be enlarged
+				mapWindow(windowStart, window.limit() + windowSize);
+			} else {
+
+				// note: incomplete byte sequences at the end of a window will be decoded as part of the next window
+				mapWindow(windowStart + consumedBytes, windowSize);
+			}
+		}
+	}
+
+	private void mapWindow(final long start, final int maxWindowSize) throws IOException {
+
+		windowStart = start;
+
+		final long currentWindowSize = Math.min(maxWindowSize, size - start);
+
+		if (currentWindowSize <= 0) {
+
+			window = ByteBuffer.allocate(0);
+			endOfInput = true;
+
+			return;
+		}
+
+		window = channel.map(FileChannel.MapMode.READ_ONLY, start, currentWindowSize);
+	}
+
+	private boolean hasUTF8BOM() throws IOException {
+
+		if (size < UTF8_BOM.length) {
+
+			return false;
+		}
+
+		final ByteBuffer bom = ByteBuffer.allocate(UTF8_BOM.length);
+
+		while (bom.hasRemaining()) {
+
+			if (channel.read(bom, bom.position()) < 0) {
+
+				return false;
+			}
+		}
+
+		return bom.get(0) == UTF8_BOM[0] && bom.get(1) == UTF8_BOM[1] && bom.get(2) == UTF8_BOM[2];
+	}
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.mf.stream.source;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.input.BOMInputStream;
+import org.culturegraph.mf.exceptions.MetafactureException;
+import org.culturegraph.mf.framework.DefaultObjectPipe;
+import org.culturegraph.mf.framework.ObjectReceiver;
+import org.culturegraph.mf.framework.annotations.Description;
+import org.culturegraph.mf.framework.annotations.In;
+import org.culturegraph.mf.framework.annotations.Out;
+import org.culturegraph.mf.stream.source.Opener;
+import org.culturegraph.mf.util.ResourceUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Opens a file via memory-mapping and passes a reader for it to the receiver, i.e., the file content will be decoded directly from the
+ * mapped file into the buffers of the receiver (see {@link MappedFileReader}). It also checks and discards an UTF8 BOM. Resources that
+ * are no (uncompressed) files in the file system, e.g., class path resources, will be opened as streams (cf. {@link BOMResourceOpener}).
+ * <br/>
+ * The number of read bytes (of all resources that were opened by this opener) can be utilised for progress tracking.
+ *
+ * @author tgaengler
+ */
+@Description("Opens a file via memory-mapping and checks for UTF8 BOM.")
+@In(String.class)
+@Out(java.io.Reader.class)
+public class MappedResourceOpener extends DefaultObjectPipe<String, ObjectReceiver<Reader>> implements Opener {
+
+	private static final Logger LOG = LoggerFactory.getLogger(MappedResourceOpener.class);
+
+	private static final String[] COMPRESSED_FILE_EXTENSIONS = { ".gz", ".gzip", ".bz2", ".bzip2", ".xz", ".z", ".lzma", ".zip" };
+
+	private String encoding = "UTF-8";
+
+	private final AtomicLong bytesRead  = new AtomicLong(0);
+	private final AtomicLong bytesTotal = new AtomicLong(0);
+
+	/**
+	 * Returns the encoding used to open the resource.
+	 *
+	 * @return current default setting
+	 */
+	public String getEncoding() {
+		return encoding;
+	}
+
+	/**
+	 * Sets the encoding used to open the resource.
+	 *
+	 * @param encoding new encoding
+	 */
+	public void setEncoding(final String encoding) {
+		this.encoding = encoding;
+	}
+
+	/**
+	 * Returns the number of bytes that were read (decoded) so far (only for memory-mapped files).
+	 *
+	 * @return the number of bytes that were read so far
+	 */
+	public long getBytesRead() {
+		return bytesRead.get();
+	}
+
+	/**
+	 * Returns the total number of bytes of the memory-mapped files that were opened so far.
+	 *
+	 * @return the total number of bytes of the opened files
+	 */
+	public long getBytesTotal() {
+		return bytesTotal.get();
+	}
+
+	/**
+	 * Checks whether the given resource can be opened via memory-mapping, i.e., whether it is an (uncompressed) file in the file system.
+	 *
+	 * @param resource a file path or resource name
+	 * @return true, if the given resource can be memory-mapped
+	 */
+	public static boolean isMappable(final String resource) {
+
+		if (resource == null) {
+
+			return false;
+		}
+
+		final String lowerCaseResource = resource.toLowerCase(Locale.ENGLISH);
+
+		for (final String compressedFileExtension : COMPRESSED_FILE_EXTENSIONS) {
+
+			if (lowerCaseResource.endsWith(compressedFileExtension)) {
+
+				return false;
+			}
+		}
+
+		try {
+
+			return Files.isRegularFile(Paths.get(resource));
+		} catch (final InvalidPathException e) {
+
+			return false;
+		}
+	}
+
+	@Override
+	public void process(final String resource) throws MetafactureException {
+
+		final Charset charset = Charset.forName(encoding);
+
+		if (!isMappable(resource)) {
+
+			processStream(resource, charset);
+
+			return;
+		}
+
+		final Path file = Paths.get(resource);
+
+		try (final MappedFileReader reader = new MappedFileReader(file, charset, bytesRead)) {
+
+			bytesTotal.addAndGet(reader.getSize());
+
+			getReceiver().process(reader);
+		} catch (final IOException e) {
+
+			throw new MetafactureException(e);
+		}
+
+		LOG.debug("read '{}' of '{}' bytes from memory-mapped file '{}'", bytesRead.get(), bytesTotal.get(), resource);
+	}
+
+	private void processStream(final String resource, final Charset charset) {
+
+		try (final InputStream is = new BOMInputStream(ResourceUtil.getStream(resource))) {
+
+			final Reader reader = new InputStreamReader(is, charset);
+			getReceiver().process(reader);
+		} catch (final IOException e) {
+
+			throw new MetafactureException(e);
+		}
+	}
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.mf.stream.source;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A part of an XML resource that consists of complete records (as byte ranges in the resource). The records of a chunk are wrapped by a
+ * (synthetic) root element that carries the namespace declarations that are in scope at the records of this chunk, i.e., a chunk can be
+ * parsed on its own.
+ *
+ * @author tgaengler
+ */
+public class XMLChunk {
+
+	private final Path   resource;
+	private final long[] ranges;
+	private final byte[] prefix;
+	private final byte[] suffix;
+	private final int    number;
+
+	/**
+	 * @param resource the XML resource
+	 * @param ranges   pairs of start (inclusive) + end (exclusive) positions of the record ranges of this chunk in the resource
+	 * @param prefix   the bytes that should be emitted in front of the records, i.e., the start tag of the synthetic root element
+	 * @param suffix   the bytes that should be emitted after the records, i.e., the end tag of the synthetic root element
+	 * @param number   the number of this chunk in the resource
+	 */
+	XMLChunk(final Path resource, final long[] ranges, final byte[] prefix, final byte[] suffix, final int number) {
+
+		this.resource = resource;
+		this.ranges = ranges;
+		this.prefix = prefix;
+		this.suffix = suffix;
+		this.number = number;
+	}
+
+	public Path getResource() {
+
+		return resource;
+	}
+
+	public int getNumber() {
+
+		return number;
+	}
+
+	public long getStart() {
+
+		return ranges[0];
+	}
+
+	public long getEnd() {
+
+		return ranges[ranges.length - 1];
+	}
+
+	/**
+	 * Opens a stream of this chunk (incl. the synthetic root element). The records will be read from a memory-mapped buffer of the chunk's
+	 * part of the resource.
+	 *
+	 * @return a stream of this chunk
+	 * @throws IOException
+	 */
+	public InputStream openStream() throws IOException {
+
+		final long start = getStart();
+
+		final MappedByteBuffer buffer;
+
+		try (final FileChannel channel = FileChannel.open(resource, StandardOpenOption.READ)) {
+
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, getEnd() - start);
+		}
+
+		final List<InputStream> streams = new ArrayList<>(ranges.length / 2 + 2);
+
+		streams.add(new ByteArrayInputStream(prefix));
+
+		for (int i = 0; i < ranges.length; i += 2) {
+
+			final ByteBuffer range = buffer.duplicate();
+			range.position((int) (ranges[i] - start));
+			range.limit((int) (ranges[i + 1] - start));
+
+			streams.add(new ByteBufferInputStream(range));
+		}
+
+		streams.add(new ByteArrayInputStream(suffix));
+
+		return new SequenceInputStream(Collections.enumeration(streams));
+	}
+
+	@Override
+	public String toString() {
+
+		return "chunk '" + number + "' of '" + resource + "' (bytes '" + getStart() + "' - '" + getEnd() + "'; record ranges = '" + ranges.length / 2
+				+ "')";
+	}
+}
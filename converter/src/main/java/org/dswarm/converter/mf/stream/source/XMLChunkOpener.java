@@ -0,0 +1,60 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.mf.stream.source;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import org.culturegraph.mf.exceptions.MetafactureException;
+import org.culturegraph.mf.framework.DefaultObjectPipe;
+import org.culturegraph.mf.framework.ObjectReceiver;
+import org.culturegraph.mf.framework.annotations.Description;
+import org.culturegraph.mf.framework.annotations.In;
+import org.culturegraph.mf.framework.annotations.Out;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Opens a chunk of an XML resource and passes a reader for it to the receiver (cf. {@link BOMResourceOpener}).
+ *
+ * @author tgaengler
+ */
+@Description("Opens a chunk of an XML resource.")
+@In(XMLChunk.class)
+@Out(java.io.Reader.class)
+public class XMLChunkOpener extends DefaultObjectPipe<XMLChunk, ObjectReceiver<Reader>> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(XMLChunkOpener.class);
+
+	@Override
+	public void process(final XMLChunk chunk) throws MetafactureException {
+
+		LOG.trace("open {}", chunk);
+
+		try (final InputStream is = chunk.openStream()) {
+
+			// note: utilise the same encoding as the BOMResourceOpener (i.e. the default encoding)
+			final Reader reader = new InputStreamReader(is, StandardCharsets.UTF_8);
+			getReceiver().process(reader);
+		} catch (final IOException e) {
+
+			throw new MetafactureException(e);
+		}
+	}
+}
@@ -15,17 +15,18 @@
  */
 package org.dswarm.converter.mf.stream.source;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Stack;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.regex.Pattern;
 
 import javax.annotation.Nullable;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import org.apache.commons.lang3.StringUtils;
 import org.culturegraph.mf.exceptions.MetafactureException;
@@ -69,12 +70,14 @@ public final class XMLGDMEncoder extends DefaultXmlPipe<ObjectReceiver<GDMModel>
 	private Resource recordResource;
 	private ResourceNode recordNode;
 	private Node entityNode;
-	private Stack<Tuple<Node, Predicate>> entityStack;
-	private final Stack<String> elementURIStack;
+	private final Deque<Tuple<Node, Predicate>> entityStack = new ArrayDeque<>();
+	private final Deque<String> elementURIStack = new ArrayDeque<>();
 
 	private static final String DATA_MODEL_BASE_URI = SchemaUtils.DATA_MODEL_BASE_URI + "%s";
 
-	private static final Pattern TABS = Pattern.compile("\t+");
+	private static final char TAB = '\t';
+	private static final char NEW_LINE = '\n';
+	private static final char SPACE = ' ';
 
 	/**
 	 * note: recordTagName is not biunique, i.e., the record tag name can occur in different name spaces; hence, a record tag
@@ -88,7 +91,11 @@ public final class XMLGDMEncoder extends DefaultXmlPipe<ObjectReceiver<GDMModel>
 	private String recordTagUri = null;
 
 	private boolean inRecord;
-	private StringBuilder valueBuffer = new StringBuilder();
+	private final StringBuilder valueBuffer = new StringBuilder();
+	/**
+	 * true, if the value buffer contains at least one character that wouldn't be removed by {@link String#trim()}
+	 */
+	private boolean valueBufferHasContent;
 	private String uri;
 	private ResourceNode recordType;
 
@@ -99,11 +106,17 @@ public final class XMLGDMEncoder extends DefaultXmlPipe<ObjectReceiver<GDMModel>
 
 	private long nodeIdCounter = 1;
 	private final Predicate rdfType = new Predicate(GDMUtil.RDF_type);
-	private final Map<String, Predicate> predicates = Maps.newHashMap();
+	private final Map<String, Predicate> predicates = Maps.newHashMap(ImmutableMap.of(GDMUtil.RDF_type, rdfType));
 	private final Map<String, ResourceNode> types = Maps.newHashMap();
-	private final Map<String, AtomicLong> valueCounter = Maps.newHashMap();
 	private final Map<String, String> uris = Maps.newHashMap();
 
+	/**
+	 * statement order per subject + predicate of the current record; subjects are the (per record) record node and the (unique) entity
+	 * nodes, predicates are shared across records, i.e., both can be compared by identity
+	 */
+	private final Map<Node, Map<Predicate, long[]>> valueCounter = new IdentityHashMap<>();
+	private final Deque<Map<Predicate, long[]>> valueCounterPool = new ArrayDeque<>();
+
 	public XMLGDMEncoder(final Optional<DataModel> dataModel, final boolean utiliseExistingSchema) {
 
 		super();
@@ -117,7 +130,6 @@ public final class XMLGDMEncoder extends DefaultXmlPipe<ObjectReceiver<GDMModel>
 		dataModelUri = init(dataModel);
 
 		// init
-		elementURIStack = new Stack<>();
 		//model = new Model();
 
 		final Tuple<Optional<Schema>, Optional<Map<String, AdvancedDMPJPAObject>>> tuple = getOptionalSchema(utiliseExistingSchema);
@@ -135,7 +147,6 @@ public final class XMLGDMEncoder extends DefaultXmlPipe<ObjectReceiver<GDMModel>
 		dataModelUri = init(dataModel);
 
 		// init
-		elementURIStack = new Stack<>();
 		//model = new Model();
 
 		final Tuple<Optional<Schema>, Optional<Map<String, AdvancedDMPJPAObject>>> tuple = getOptionalSchema(utiliseExistingSchema);
@@ -182,7 +193,8 @@ public final class XMLGDMEncoder extends DefaultXmlPipe<ObjectReceiver<GDMModel>
 
 			final String elementUri = elementURIStack.pop();
 
-			if (recordTagUri.equals(getRecordTagURI(elementUri, localName))) {
+			// note: the local name check avoids record tag URI minting for all other elements (records can only be started by elements with the record tag name)
+			if (localName.equals(recordTagName) && recordTagUri.equals(getRecordTagURI(elementUri, localName))) {
 				inRecord = false;
 				endRecord();
 			} else {
@@ -194,16 +206,42 @@ public final class XMLGDMEncoder extends DefaultXmlPipe<ObjectReceiver<GDMModel>
 	@Override
 	public void characters(final char[] chars, final int start, final int length) throws SAXException {
 		if (inRecord) {
-			valueBuffer.append(XMLGDMEncoder.TABS.matcher(new String(chars, start, length)).replaceAll(""));
+
+			// removes tabs + replaces new lines (without intermediate strings)
+			final int end = start + length;
+
+			for (int i = start; i < end; i++) {
+
+				final char c = chars[i];
+
+				if (c == TAB) {
+
+					continue;
+				}
+
+				if (c == NEW_LINE) {
+
+					valueBuffer.append(SPACE);
+
+					continue;
+				}
+
+				if (c > SPACE) {
+
+					valueBufferHasContent = true;
+				}
+
+				valueBuffer.append(c);
+			}
 		}
 	}
 
 	private void writeValue() {
-		final String value = valueBuffer.toString();
-		if (!value.trim().isEmpty()) {
-			literal(GDMUtil.RDF_value, value.replace('\n', ' '));
+		if (valueBufferHasContent) {
+			literal(GDMUtil.RDF_value, valueBuffer.toString());
 		}
-		valueBuffer = new StringBuilder();
+		valueBuffer.setLength(0);
+		valueBufferHasContent = false;
 	}
 
 	private void writeAttributes(final Attributes attributes) {
@@ -229,7 +267,8 @@ public final class XMLGDMEncoder extends DefaultXmlPipe<ObjectReceiver<GDMModel>
 		recordNode = new ResourceNode(currentId);
 
 		// init
-		entityStack = new Stack<>();
+		entityStack.clear();
+		resetValueCounter();
 
 		if (recordType == null) {
 
@@ -381,65 +420,64 @@ public final class XMLGDMEncoder extends DefaultXmlPipe<ObjectReceiver<GDMModel>
 
 		final String predicateURI = getURI(predicateId);
 
-		if (!predicates.containsKey(predicateURI)) {
-
-			final Predicate predicate = new Predicate(predicateURI);
-
-			predicates.put(predicateURI, predicate);
-		}
-
-		return predicates.get(predicateURI);
+		return predicates.computeIfAbsent(predicateURI, Predicate::new);
 	}
 
 	private ResourceNode getType(final String typeId) {
 
 		final String typeURI = getURI(typeId);
 
-		if (!types.containsKey(typeURI)) {
-
-			final ResourceNode type = new ResourceNode(typeURI);
-
-			types.put(typeURI, type);
-		}
-
-		return types.get(typeURI);
+		return types.computeIfAbsent(typeURI, ResourceNode::new);
 	}
 
 	private void addStatement(final Node subject, final Predicate predicate, final Node object) {
 
-		String key;
+		Map<Predicate, long[]> predicateCounters = valueCounter.get(subject);
 
-		if (subject instanceof ResourceNode) {
-
-			key = ((ResourceNode) subject).getUri();
-		} else {
+		if (predicateCounters == null) {
 
-			key = subject.getId().toString();
+			predicateCounters = valueCounterPool.isEmpty() ? new IdentityHashMap<>() : valueCounterPool.pop();
+			valueCounter.put(subject, predicateCounters);
 		}
 
-		key += "::" + predicate.getUri();
+		long[] counter = predicateCounters.get(predicate);
 
-		if (!valueCounter.containsKey(key)) {
+		if (counter == null) {
 
-			final AtomicLong valueCounterForKey = new AtomicLong(0);
-			valueCounter.put(key, valueCounterForKey);
+			counter = new long[1];
+			predicateCounters.put(predicate, counter);
 		}
 
-		final Long order = valueCounter.get(key).incrementAndGet();
+		final long order = ++counter[0];
 
 		recordResource.addStatement(subject, predicate, object, order);
 	}
 
+	private void resetValueCounter() {
+
+		for (final Map<Predicate, long[]> predicateCounters : valueCounter.values()) {
+
+			predicateCounters.clear();
+			valueCounterPool.push(predicateCounters);
+		}
+
+		valueCounter.clear();
+	}
+
 	private String getURI(final String id) {
 
-		if (!uris.containsKey(id)) {
+		final String uri = uris.get(id);
 
-			final String uri = SchemaUtils.isValidUri(id) ? id : SchemaUtils.mintTermUri(null, id, dataModelUri);
+		if (uri != null) {
 
-			uris.put(id, uri);
+			return uri;
 		}
 
-		return uris.get(id);
+		final String newURI = SchemaUtils.isValidUri(id) ? id : SchemaUtils.mintTermUri(null, id, dataModelUri);
+
+		uris.put(id, newURI);
+
+		return newURI;
 	}
 
 	private String getRecordTagURI(final String uri, final String localName) {
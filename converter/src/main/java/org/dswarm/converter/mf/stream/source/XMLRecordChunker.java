@@ -0,0 +1,835 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.mf.stream.source;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.dswarm.converter.DMPConverterException;
+
+/**
+ * Splits an XML resource into chunks of complete records, i.e., at record boundaries (identified by the local name of the record tag),
+ * so that the chunks can be parsed independently (see {@link XMLChunk}). The resource will be scanned byte-wise via memory-mapped
+ * windows, i.e., the resource needs to be encoded in UTF-8 (or in an ASCII-compatible single-byte encoding), which is the encoding
+ * that is utilised for reading XML resources anyway (see {@link BOMResourceOpener}).<br/>
+ * Chunks will be emitted as soon as they are complete, i.e., chunks can already be processed while the resource is still being scanned.
+ * Content between records will be skipped (except for whitespace between consecutive records).<br/>
+ * Note: record tags in comments, CDATA sections, processing instructions and the document type declaration will be ignored. Namespace
+ * declarations that are in scope at a record (i.e. that are declared at its ancestors) will be declared at the (synthetic) root element
+ * of its chunk, i.e., a new chunk will be started, whenever the namespace declarations in scope change between records.
+ *
+ * @author tgaengler
+ */
+public class XMLRecordChunker {
+
+	private static final Logger LOG = LoggerFactory.getLogger(XMLRecordChunker.class);
+
+	private static final int WINDOW_SIZE     = 64 * 1024 * 1024;
+	private static final int MAX_NAME_LENGTH = 1024;
+
+	private static final String CHUNK_ELEMENT_NAME = "dswarm-xml-chunk";
+
+	private static final byte[] UTF8_BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+
+	private static final byte[] XMLNS = { 'x', 'm', 'l', 'n', 's' };
+
+	// scanner states
+	private static final int TEXT                    = 0;
+	private static final int TAG_OPEN                = 1;
+	private static final int MARKUP_DECLARATION_OPEN = 2;
+	private static final int COMMENT                 = 3;
+	private static final int CDATA                   = 4;
+	private static final int DOCTYPE                 = 5;
+	private static final int PROCESSING_INSTRUCTION  = 6;
+	private static final int TAG_NAME                = 7;
+	private static final int START_TAG_REST          = 8;
+	private static final int END_TAG_REST            = 9;
+
+	private final byte[] recordTagName;
+	private final long   chunkSize;
+
+	/**
+	 * @param recordTagName the (local) name of the record tag
+	 * @param chunkSize     the (approximate) number of bytes per chunk
+	 */
+	public XMLRecordChunker(final String recordTagName, final long chunkSize) {
+
+		this.recordTagName = recordTagName.getBytes(StandardCharsets.UTF_8);
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Splits the given XML resource into chunks of complete records.
+	 *
+	 * @param resource      the XML resource
+	 * @param chunkConsumer the receiver of the chunks (in resource order)
+	 * @return the number of emitted chunks (0, if the resource doesn't contain any record)
+	 * @throws DMPConverterException
+	 */
+	public int split(final Path resource, final Consumer<XMLChunk> chunkConsumer) throws DMPConverterException {
+
+		try (final FileChannel channel = FileChannel.open(resource, StandardOpenOption.READ)) {
+
+			final int chunks = new Scanner(resource, channel, chunkConsumer).scan();
+
+			LOG.debug("split XML resource '{}' into '{}' chunks", resource, chunks);
+
+			return chunks;
+		} catch (final IOException e) {
+
+			throw new DMPConverterException(String.format("couldn't split XML resource '%s' into chunks", resource), e);
+		}
+	}
+
+	private final class Scanner {
+
+		private final Path               resource;
+		private final FileChannel        channel;
+		private final Consumer<XMLChunk> chunkConsumer;
+
+		private long contentStart;
+
+		private int     state = TEXT;
+		private long    tagStart;
+		private boolean endTag;
+		private boolean recordTag;
+		private byte    quote;
+		private byte    previous;
+		private byte    previous2;
+		private byte    lastNonWhitespace;
+		private int     doctypeBracketDepth;
+		/**
+		 * the number of matched bytes of 'xmlns' (outside of attribute values) in the current start tag
+		 */
+		private int     xmlnsMatch;
+		/**
+		 * true, if the current start tag (probably) contains a namespace declaration
+		 */
+		private boolean namespaceDeclaration;
+
+		private final byte[] name = new byte[MAX_NAME_LENGTH];
+		private int     nameLength;
+		private int     localNameStart;
+		private boolean nameOverflow;
+
+		private int     recordDepth;
+		private long    recordStart;
+		/**
+		 * true, if there was only whitespace since the end of the last record
+		 */
+		private boolean gapClean;
+
+		/**
+		 * the namespace declarations of the open elements outside of records (from inner to outer elements)
+		 */
+		private final Deque<Map<String, String>> namespaceScopes = new ArrayDeque<>();
+		/**
+		 * the namespace declarations that are in scope outside of records (null, if they need to be determined again)
+		 */
+		private Map<String, String> inScopeNamespaces = Collections.emptyMap();
+		/**
+		 * the namespace declarations that are in scope at the current record
+		 */
+		private Map<String, String> recordNamespaces;
+		/**
+		 * the namespace declarations of the (synthetic) root element of the current chunk
+		 */
+		private Map<String, String> chunkNamespaces;
+
+		private byte[] prefix;
+		private byte[] suffix;
+		private long[] ranges = new long[16];
+		private int    rangesLength;
+		private int    chunks;
+
+		private Scanner(final Path resource, final FileChannel channel, final Consumer<XMLChunk> chunkConsumer) {
+
+			this.resource = resource;
+			this.channel = channel;
+			this.chunkConsumer = chunkConsumer;
+		}
+
+		private int scan() throws IOException, DMPConverterException {
+
+			final long size = channel.size();
+
+			contentStart = hasUTF8BOM(size) ? UTF8_BOM.length : 0;
+
+			long position = contentStart;
+
+			while (position < size) {
+
+				final int windowSize = (int) Math.min(WINDOW_SIZE, size - position);
+				final MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+
+				for (int i = 0; i < windowSize; i++) {
+
+					process(window.get(i), position + i);
+				}
+
+				position += windowSize;
+			}
+
+			if (recordDepth > 0) {
+
+				throw new DMPConverterException(String.format("XML resource '%s' ends within a record (starting at byte '%d')", resource, recordStart));
+			}
+
+			if (rangesLength > 0) {
+
+				emitChunk();
+			}
+
+			return chunks;
+		}
+
+		private void process(final byte b, final long position) throws IOException, DMPConverterException {
+
+			switch (state) {
+
+				case TEXT:
+
+					if (b == '<') {
+
+						tagStart = position;
+						state = TAG_OPEN;
+					} else if (recordDepth == 0 && !isWhitespace(b)) {
+
+						gapClean = false;
+					}
+
+					break;
+				case TAG_OPEN:
+
+					if (b == '!') {
+
+						markTopLevelContent();
+						state = MARKUP_DECLARATION_OPEN;
+					} else if (b == '?') {
+
+						markTopLevelContent();
+						resetPrevious();
+						state = PROCESSING_INSTRUCTION;
+					} else if (b == '/') {
+
+						startName(true);
+						state = TAG_NAME;
+					} else {
+
+						startName(false);
+						appendName(b);
+						state = TAG_NAME;
+					}
+
+					break;
+				case MARKUP_DECLARATION_OPEN:
+
+					resetPrevious();
+
+					if (b == '-') {
+
+						state = COMMENT;
+					} else if (b == '[') {
+
+						state = CDATA;
+					} else {
+
+						quote = 0;
+						doctypeBracketDepth = 0;
+						state = DOCTYPE;
+					}
+
+					break;
+				case COMMENT:
+
+					if (b == '>' && previous == '-' && previous2 == '-') {
+
+						state = TEXT;
+					}
+
+					shiftPrevious(b);
+
+					break;
+				case CDATA:
+
+					if (b == '>' && previous == ']' && previous2 == ']') {
+
+						state = TEXT;
+					}
+
+					shiftPrevious(b);
+
+					break;
+				case PROCESSING_INSTRUCTION:
+
+					if (b == '>' && previous == '?') {
+
+						state = TEXT;
+					}
+
+					shiftPrevious(b);
+
+					break;
+				case DOCTYPE:
+
+					if (quote != 0) {
+
+						if (b == quote) {
+
+							quote = 0;
+						}
+					} else if (b == '"' || b == '\'') {
+
+						quote = b;
+					} else if (b == '[') {
+
+						doctypeBracketDepth++;
+					} else if (b == ']') {
+
+						doctypeBracketDepth--;
+					} else if (b == '>' && doctypeBracketDepth <= 0) {
+
+						state = TEXT;
+					}
+
+					break;
+				case TAG_NAME:
+
+					if (!isWhitespace(b) && b != '/' && b != '>') {
+
+						appendName(b);
+
+						break;
+					}
+
+					recordTag = isRecordTagName();
+
+					if (endTag) {
+
+						state = END_TAG_REST;
+					} else {
+
+						quote = 0;
+						lastNonWhitespace = b;
+						xmlnsMatch = 0;
+						namespaceDeclaration = false;
+						state = START_TAG_REST;
+					}
+
+					if (b == '>') {
+
+						completeTag(position);
+					}
+
+					break;
+				case START_TAG_REST:
+
+					if (quote != 0) {
+
+						if (b == quote) {
+
+							quote = 0;
+							lastNonWhitespace = b;
+						}
+					} else if (b == '"' || b == '\'') {
+
+						quote = b;
+						lastNonWhitespace = b;
+					} else if (b == '>') {
+
+						completeTag(position);
+					} else if (!isWhitespace(b)) {
+
+						lastNonWhitespace = b;
+
+						if (recordDepth == 0) {
+
+							matchXMLNS(b);
+						}
+					}
+
+					break;
+				case END_TAG_REST:
+
+					if (b == '>') {
+
+						completeTag(position);
+					}
+
+					break;
+				default:
+
+					throw new IllegalStateException("unknown scanner state '" + state + "'");
+			}
+		}
+
+		private void completeTag(final long tagEnd) throws IOException, DMPConverterException {
+
+			state = TEXT;
+
+			if (endTag) {
+
+				if (recordTag && recordDepth > 0) {
+
+					recordDepth--;
+
+					if (recordDepth == 0) {
+
+						completeRecord(recordStart, tagEnd + 1);
+					}
+				} else if (recordDepth == 0) {
+
+					markTopLevelContent();
+					popNamespaceScope();
+				}
+
+				return;
+			}
+
+			final boolean selfClosing = lastNonWhitespace == '/';
+
+			if (!recordTag) {
+
+				if (recordDepth == 0) {
+
+					markTopLevelContent();
+
+					if (!selfClosing) {
+
+						pushNamespaceScope(tagEnd);
+					}
+				}
+
+				return;
+			}
+
+			if (recordDepth > 0) {
+
+				if (!selfClosing) {
+
+					recordDepth++;
+				}
+
+				return;
+			}
+
+			recordStart = tagStart;
+			recordNamespaces = getInScopeNamespaces();
+
+			if (selfClosing) {
+
+				completeRecord(recordStart, tagEnd + 1);
+			} else {
+
+				recordDepth = 1;
+			}
+		}
+
+		private void completeRecord(final long start, final long end) throws IOException, DMPConverterException {
+
+			if (prefix == null || !recordNamespaces.equals(chunkNamespaces)) {
+
+				if (rangesLength > 0) {
+
+					// the namespace declarations in scope changed => the record needs another (synthetic) root element
+					emitChunk();
+				}
+
+				initChunkEnvelope(recordNamespaces);
+			}
+
+			if (rangesLength > 0 && gapClean) {
+
+				// extend last range
+				ranges[rangesLength - 1] = end;
+			} else {
+
+				if (rangesLength + 2 > ranges.length) {
+
+					ranges = Arrays.copyOf(ranges, ranges.length * 2);
+				}
+
+				ranges[rangesLength++] = start;
+				ranges[rangesLength++] = end;
+			}
+
+			gapClean = true;
+
+			final long chunkSpan = end - ranges[0];
+
+			if (chunkSpan > Integer.MAX_VALUE) {
+
+				throw new DMPConverterException(
+						String.format("chunk of XML resource '%s' (starting at byte '%d') is too large ('%d' bytes)", resource, ranges[0], chunkSpan));
+			}
+
+			if (chunkSpan >= chunkSize) {
+
+				emitChunk();
+			}
+		}
+
+		private void emitChunk() {
+
+			final XMLChunk chunk = new XMLChunk(resource, Arrays.copyOf(ranges, rangesLength), prefix, suffix, chunks++);
+
+			rangesLength = 0;
+
+			chunkConsumer.accept(chunk);
+		}
+
+		/**
+		 * Creates the (synthetic) root element of the chunks with the given namespace declarations.
+		 *
+		 * @param namespaces the namespace declarations that are in scope at the records of the chunk
+		 */
+		private void initChunkEnvelope(final Map<String, String> namespaces) {
+
+			final StringBuilder sb = new StringBuilder();
+
+			sb.append('<').append(CHUNK_ELEMENT_NAME);
+
+			for (final Map.Entry<String, String> namespace : namespaces.entrySet()) {
+
+				final String namespacePrefix = namespace.getKey();
+				final String namespaceURI = namespace.getValue();
+
+				if (namespacePrefix.isEmpty()) {
+
+					sb.append(" xmlns");
+				} else if (!namespaceURI.isEmpty()) {
+
+					sb.append(" xmlns:").append(namespacePrefix);
+				} else {
+
+					// note: prefixed namespaces cannot be undeclared in XML 1.0
+					continue;
+				}
+
+				sb.append("=\"").append(escapeAttributeValue(namespaceURI)).append('"');
+			}
+
+			sb.append('>');
+
+			chunkNamespaces = namespaces;
+			prefix = sb.toString().getBytes(StandardCharsets.UTF_8);
+			suffix = ("</" + CHUNK_ELEMENT_NAME + '>').getBytes(StandardCharsets.UTF_8);
+		}
+
+		/**
+		 * Opens the namespace scope of a start tag outside of records, i.e., reads the namespace declarations of the tag (if there are
+		 * any).
+		 *
+		 * @param tagEnd the end of the start tag
+		 */
+		private void pushNamespaceScope(final long tagEnd) throws IOException {
+
+			if (!namespaceDeclaration) {
+
+				namespaceScopes.push(Collections.emptyMap());
+
+				return;
+			}
+
+			final ByteBuffer tag = ByteBuffer.allocate((int) (tagEnd + 1 - tagStart));
+
+			while (tag.hasRemaining()) {
+
+				if (channel.read(tag, tagStart + tag.position()) < 0) {
+
+					break;
+				}
+			}
+
+			final Map<String, String> namespaces = determineNamespaces(new String(tag.array(), 0, tag.position(), StandardCharsets.UTF_8));
+
+			namespaceScopes.push(namespaces);
+
+			if (!namespaces.isEmpty()) {
+
+				inScopeNamespaces = null;
+			}
+		}
+
+		/**
+		 * Closes the namespace scope of an end tag outside of records.
+		 */
+		private void popNamespaceScope() {
+
+			if (namespaceScopes.isEmpty()) {
+
+				return;
+			}
+
+			if (!namespaceScopes.pop().isEmpty()) {
+
+				inScopeNamespaces = null;
+			}
+		}
+
+		private Map<String, String> getInScopeNamespaces() {
+
+			if (inScopeNamespaces == null) {
+
+				final Map<String, String> namespaces = new LinkedHashMap<>();
+
+				// from outer to inner scopes, i.e., inner declarations override outer ones
+				final Iterator<Map<String, String>> iterator = namespaceScopes.descendingIterator();
+
+				while (iterator.hasNext()) {
+
+					namespaces.putAll(iterator.next());
+				}
+
+				inScopeNamespaces = namespaces;
+			}
+
+			return inScopeNamespaces;
+		}
+
+		private void matchXMLNS(final byte b) {
+
+			if (b == XMLNS[xmlnsMatch]) {
+
+				xmlnsMatch++;
+
+				if (xmlnsMatch == XMLNS.length) {
+
+					namespaceDeclaration = true;
+					xmlnsMatch = 0;
+				}
+			} else {
+
+				xmlnsMatch = b == XMLNS[0] ? 1 : 0;
+			}
+		}
+
+		private boolean isRecordTagName() {
+
+			final int localNameLength = nameLength - localNameStart;
+
+			if (nameOverflow || localNameLength != recordTagName.length) {
+
+				return false;
+			}
+
+			for (int i = 0; i < localNameLength; i++) {
+
+				if (name[localNameStart + i] != recordTagName[i]) {
+
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		private void startName(final boolean isEndTag) {
+
+			endTag = isEndTag;
+			nameLength = 0;
+			localNameStart = 0;
+			nameOverflow = false;
+		}
+
+		private void appendName(final byte b) {
+
+			if (nameLength == MAX_NAME_LENGTH) {
+
+				nameOverflow = true;
+
+				return;
+			}
+
+			name[nameLength++] = b;
+
+			if (b == ':') {
+
+				localNameStart = nameLength;
+			}
+		}
+
+		private void markTopLevelContent() {
+
+			if (recordDepth == 0) {
+
+				gapClean = false;
+			}
+		}
+
+		private void resetPrevious() {
+
+			previous = 0;
+			previous2 = 0;
+		}
+
+		private void shiftPrevious(final byte b) {
+
+			previous2 = previous;
+			previous = b;
+		}
+
+		private boolean hasUTF8BOM(final long size) throws IOException {
+
+			if (size < UTF8_BOM.length) {
+
+				return false;
+			}
+
+			final ByteBuffer bom = ByteBuffer.allocate(UTF8_BOM.length);
+
+			while (bom.hasRemaining()) {
+
+				if (channel.read(bom, bom.position()) < 0) {
+
+					return false;
+				}
+			}
+
+			return Arrays.equals(bom.array(), UTF8_BOM);
+		}
+	}
+
+	/**
+	 * Determines the namespace declarations of the given start tag.
+	 *
+	 * @param tag a start tag (incl. '<' and '>')
+	 * @return the namespace declarations (prefix -> namespace URI; the default namespace has an empty prefix)
+	 */
+	private static Map<String, String> determineNamespaces(final String tag) {
+
+		final Map<String, String> namespaces = new LinkedHashMap<>();
+		final int length = tag.length();
+
+		// skip element name
+		int i = 1;
+
+		while (i < length && !isAttributeSeparator(tag.charAt(i))) {
+
+			i++;
+		}
+
+		while (i < length) {
+
+			if (isAttributeSeparator(tag.charAt(i))) {
+
+				i++;
+
+				continue;
+			}
+
+			final int attributeNameStart = i;
+
+			while (i < length && tag.charAt(i) != '=' && !isAttributeSeparator(tag.charAt(i))) {
+
+				i++;
+			}
+
+			final String attributeName = tag.substring(attributeNameStart, i);
+
+			while (i < length && Character.isWhitespace(tag.charAt(i))) {
+
+				i++;
+			}
+
+			if (i >= length || tag.charAt(i) != '=') {
+
+				continue;
+			}
+
+			i++;
+
+			while (i < length && Character.isWhitespace(tag.charAt(i))) {
+
+				i++;
+			}
+
+			if (i >= length) {
+
+				break;
+			}
+
+			final char quote = tag.charAt(i);
+
+			if (quote != '"' && quote != '\'') {
+
+				continue;
+			}
+
+			final int valueEnd = tag.indexOf(quote, i + 1);
+
+			if (valueEnd < 0) {
+
+				break;
+			}
+
+			final String value = unescapeAttributeValue(tag.substring(i + 1, valueEnd));
+
+			i = valueEnd + 1;
+
+			if ("xmlns".equals(attributeName)) {
+
+				namespaces.put("", value);
+			} else if (attributeName.startsWith("xmlns:")) {
+
+				namespaces.put(attributeName.substring("xmlns:".length()), value);
+			}
+		}
+
+		return namespaces;
+	}
+
+	private static boolean isAttributeSeparator(final char c) {
+
+		return Character.isWhitespace(c) || c == '/' || c == '>';
+	}
+
+	private static String unescapeAttributeValue(final String value) {
+
+		if (value.indexOf('&') < 0) {
+
+			return value;
+		}
+
+		return value.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"").replace("&apos;", "'").replace("&amp;", "&");
+	}
+
+	private static String escapeAttributeValue(final String value) {
+
+		return value.replace("&", "&amp;").replace("<", "&lt;").replace("\"", "&quot;");
+	}
+
+	private static boolean isWhitespace(final byte b) {
+
+		return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+	}
+}
@@ -0,0 +1,235 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.export.test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.Iterators;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+
+import org.dswarm.converter.export.SolrUpdateXMLExporter;
+import org.dswarm.converter.export.XMLExporter;
+import org.dswarm.graph.json.LiteralNode;
+import org.dswarm.graph.json.Model;
+import org.dswarm.graph.json.Node;
+import org.dswarm.graph.json.Predicate;
+import org.dswarm.graph.json.Resource;
+import org.dswarm.graph.json.ResourceNode;
+import org.dswarm.persistence.model.internal.gdm.GDMModel;
+import org.dswarm.persistence.util.GDMUtil;
+
+/**
+ * Compares the XML and Solr Update XML that is generated directly from GDM models with the XML and Solr Update XML that is generated
+ * from the GDM compact JSON of the same GDM models.
+ */
+public class GDMExportTest {
+
+	private static final String SCHEMA_NS        = "http://data.slub-dresden.de/resources/1/schema#";
+	private static final String RECORD_CLASS_URI = SCHEMA_NS + "RecordType";
+	private static final String RECORDS_NS       = "http://data.slub-dresden.de/records/";
+
+	private static final Predicate RDF_TYPE = new Predicate(GDMUtil.RDF_type);
+	private static final Predicate TITLE    = new Predicate(SCHEMA_NS + "title");
+	private static final Predicate SUBJECT  = new Predicate(SCHEMA_NS + "subject");
+	private static final Predicate CREATOR  = new Predicate(SCHEMA_NS + "creator");
+	private static final Predicate NAME     = new Predicate(SCHEMA_NS + "name");
+	private static final Predicate SAME_AS  = new Predicate(SCHEMA_NS + "sameAs");
+	private static final Predicate FIELD    = new Predicate(SCHEMA_NS + "field");
+	private static final Predicate VALUE    = new Predicate(SCHEMA_NS + "value");
+
+	@Test
+	public void testFlatRecords() throws Exception {
+
+		final List<GDMModel> gdmModels = Arrays.asList(createFlatRecord("1", "a title"), createFlatRecord("2", "another title"));
+
+		compareXML(gdmModels);
+		compareSolrUpdateXML(gdmModels);
+	}
+
+	/**
+	 * a record with nested bnodes, a resource node with statements (in the record resource) and a list of multiple objects with a
+	 * nested node (see DD-1354)
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testNestedRecord() throws Exception {
+
+		final String recordURI = RECORDS_NS + "nested";
+
+		final Model model = new Model();
+		final Resource recordResource = new Resource(recordURI);
+		final ResourceNode recordResourceNode = new ResourceNode(recordURI);
+
+		recordResource.addStatement(recordResourceNode, TITLE, new LiteralNode("a nested title"));
+
+		final Node field1 = new Node(1);
+		final Node field2 = new Node(2);
+
+		recordResource.addStatement(recordResourceNode, FIELD, field1);
+		recordResource.addStatement(field1, VALUE, new LiteralNode("value 1"));
+		recordResource.addStatement(field1, NAME, new LiteralNode("name 1"));
+
+		final ResourceNode creator = new ResourceNode(RECORDS_NS + "creators/1");
+
+		recordResource.addStatement(recordResourceNode, CREATOR, creator);
+		recordResource.addStatement(creator, NAME, new LiteralNode("a creator"));
+		recordResource.addStatement(creator, SAME_AS, new ResourceNode("http://d-nb.info/gnd/1"));
+
+		recordResource.addStatement(recordResourceNode, SUBJECT, new LiteralNode("a subject"));
+		recordResource.addStatement(recordResourceNode, SUBJECT, field2);
+		recordResource.addStatement(field2, VALUE, new LiteralNode("value 2"));
+
+		recordResource.addStatement(recordResourceNode, RDF_TYPE, new ResourceNode(RECORD_CLASS_URI));
+
+		model.addResource(recordResource);
+
+		final List<GDMModel> gdmModels = Arrays.asList(new GDMModel(model, recordURI, RECORD_CLASS_URI), createFlatRecord("3", "a flat title"));
+
+		compareXML(gdmModels);
+		compareSolrUpdateXML(gdmModels);
+	}
+
+	/**
+	 * the statements of a nested resource node are part of another resource of the GDM model (i.e. not of the record resource)
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testNestedResourceOfModel() throws Exception {
+
+		final String recordURI = RECORDS_NS + "outer";
+		final String creatorURI = RECORDS_NS + "creators/2";
+
+		final Model model = new Model();
+		final Resource recordResource = new Resource(recordURI);
+		final ResourceNode recordResourceNode = new ResourceNode(recordURI);
+
+		recordResource.addStatement(recordResourceNode, TITLE, new LiteralNode("a title"));
+		recordResource.addStatement(recordResourceNode, CREATOR, new ResourceNode(creatorURI));
+
+		final Resource creatorResource = new Resource(creatorURI);
+		final ResourceNode creatorResourceNode = new ResourceNode(creatorURI);
+
+		creatorResource.addStatement(creatorResourceNode, NAME, new LiteralNode("another creator"));
+
+		model.addResource(recordResource);
+		model.addResource(creatorResource);
+
+		final List<GDMModel> gdmModels = Arrays.asList(new GDMModel(model, recordURI, RECORD_CLASS_URI));
+
+		compareXML(gdmModels);
+		compareSolrUpdateXML(gdmModels);
+	}
+
+	/**
+	 * the Solr Update XML export ends the traversal of a record at its rdf:type statements, i.e., later fields won't be exported
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testRDFTypeInBetween() throws Exception {
+
+		final String recordURI = RECORDS_NS + "typed";
+
+		final Model model = new Model();
+		final Resource recordResource = new Resource(recordURI);
+		final ResourceNode recordResourceNode = new ResourceNode(recordURI);
+
+		recordResource.addStatement(recordResourceNode, TITLE, new LiteralNode("a title before rdf:type"));
+		recordResource.addStatement(recordResourceNode, RDF_TYPE, new ResourceNode(RECORD_CLASS_URI));
+		recordResource.addStatement(recordResourceNode, NAME, new LiteralNode("a name after rdf:type"));
+
+		model.addResource(recordResource);
+
+		final List<GDMModel> gdmModels = Arrays.asList(new GDMModel(model, recordURI, RECORD_CLASS_URI));
+
+		compareXML(gdmModels);
+		compareSolrUpdateXML(gdmModels);
+	}
+
+	private static GDMModel createFlatRecord(final String id, final String title) {
+
+		final String recordURI = RECORDS_NS + id;
+
+		final Model model = new Model();
+		final Resource recordResource = new Resource(recordURI);
+		final ResourceNode recordResourceNode = new ResourceNode(recordURI);
+
+		recordResource.addStatement(recordResourceNode, RDF_TYPE, new ResourceNode(RECORD_CLASS_URI));
+		recordResource.addStatement(recordResourceNode, TITLE, new LiteralNode(title));
+		recordResource.addStatement(recordResourceNode, SUBJECT, new LiteralNode("subject 1 of " + id));
+		recordResource.addStatement(recordResourceNode, SUBJECT, new LiteralNode("subject 2 of " + id));
+		recordResource.addStatement(recordResourceNode, SAME_AS, new ResourceNode("http://example.org/" + id));
+
+		model.addResource(recordResource);
+
+		return new GDMModel(model, recordURI, RECORD_CLASS_URI);
+	}
+
+	private static void compareXML(final List<GDMModel> gdmModels) throws Exception {
+
+		final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		createXMLExporter().generate(toGDMCompactJSON(gdmModels), expected).toBlocking().lastOrDefault(null);
+
+		final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+		createXMLExporter().generateFromGDM(Observable.from(gdmModels), actual).toBlocking().lastOrDefault(null);
+
+		Assert.assertEquals(expected.toString(StandardCharsets.UTF_8.name()), actual.toString(StandardCharsets.UTF_8.name()));
+	}
+
+	private static void compareSolrUpdateXML(final List<GDMModel> gdmModels) throws Exception {
+
+		final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		new SolrUpdateXMLExporter().generate(toGDMCompactJSON(gdmModels), expected).toBlocking().lastOrDefault(null);
+
+		final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+		new SolrUpdateXMLExporter().generateFromGDM(Observable.from(gdmModels), actual).toBlocking().lastOrDefault(null);
+
+		Assert.assertEquals(expected.toString(StandardCharsets.UTF_8.name()), actual.toString(StandardCharsets.UTF_8.name()));
+	}
+
+	private static XMLExporter createXMLExporter() {
+
+		return new XMLExporter(Optional.empty(), RECORD_CLASS_URI, Optional.empty(), Optional.empty());
+	}
+
+	/**
+	 * the same record splitting as it is done for the GDM compact JSON based exports in TasksResource
+	 *
+	 * @param gdmModels some GDM models
+	 * @return the GDM compact JSON of each record
+	 */
+	private static Observable<JsonNode> toGDMCompactJSON(final List<GDMModel> gdmModels) {
+
+		final List<JsonNode> records = new ArrayList<>();
+
+		for (final GDMModel gdmModel : gdmModels) {
+
+			Iterators.addAll(records, gdmModel.toGDMCompactJSON().elements());
+		}
+
+		return Observable.from(records);
+	}
+}
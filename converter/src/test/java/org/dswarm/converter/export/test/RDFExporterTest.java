@@ -0,0 +1,298 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.export.test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.schedulers.Schedulers;
+
+import org.dswarm.common.MediaTypeUtil;
+import org.dswarm.converter.DMPConverterException;
+import org.dswarm.converter.export.QuadRDFExporter;
+import org.dswarm.converter.export.RDFExporter;
+import org.dswarm.converter.export.TripleRDFExporter;
+import org.dswarm.graph.json.LiteralNode;
+import org.dswarm.graph.json.Model;
+import org.dswarm.graph.json.Node;
+import org.dswarm.graph.json.Predicate;
+import org.dswarm.graph.json.Resource;
+import org.dswarm.graph.json.ResourceNode;
+import org.dswarm.persistence.model.internal.gdm.GDMModel;
+import org.dswarm.persistence.util.GDMUtil;
+
+/**
+ * Compares the lean and the parallel RDF export with the (sequential) RDF export of the same GDM models. Blank node labels are
+ * generated, i.e., they will be normalised before comparison.
+ */
+public class RDFExporterTest {
+
+	private static final String SCHEMA_NS        = "http://data.slub-dresden.de/resources/1/schema#";
+	private static final String RECORD_CLASS_URI = SCHEMA_NS + "RecordType";
+	private static final String RECORDS_NS       = "http://data.slub-dresden.de/records/";
+	private static final String DATA_MODEL_URI   = "http://data.slub-dresden.de/datamodel/1/data";
+
+	private static final Predicate RDF_TYPE = new Predicate(GDMUtil.RDF_type);
+	private static final Predicate TITLE    = new Predicate(SCHEMA_NS + "title");
+	private static final Predicate CREATOR  = new Predicate(SCHEMA_NS + "creator");
+	private static final Predicate NAME     = new Predicate(SCHEMA_NS + "name");
+
+	private static final int NUMBER_OF_CREATORS = 2;
+
+	// records of several chunks, whereby the last chunk is incomplete
+	private static final int NUMBER_OF_RECORDS = 3 * RDFExporter.PARALLEL_SERIALISATION_CHUNK_SIZE + 42;
+
+	private static final int PARALLELISM = 4;
+
+	private static final Pattern BLANK_NODE_PATTERN = Pattern.compile("_:\\S+");
+
+	@Test
+	public void testParallelNTriplesInOrder() throws Exception {
+
+		compareParallelWithSequentialExport(new TripleRDFExporter(MediaTypeUtil.N_TRIPLES_TYPE), true);
+	}
+
+	@Test
+	public void testParallelNTriplesUnordered() throws Exception {
+
+		compareParallelWithSequentialExport(new TripleRDFExporter(MediaTypeUtil.N_TRIPLES_TYPE), false);
+	}
+
+	@Test
+	public void testParallelNQuadsInOrder() throws Exception {
+
+		compareParallelWithSequentialExport(new QuadRDFExporter(MediaTypeUtil.N_QUADS_TYPE, DATA_MODEL_URI), true);
+	}
+
+	@Test
+	public void testParallelNQuadsUnordered() throws Exception {
+
+		compareParallelWithSequentialExport(new QuadRDFExporter(MediaTypeUtil.N_QUADS_TYPE, DATA_MODEL_URI), false);
+	}
+
+	@Test(expected = DMPConverterException.class)
+	public void testParallelExportOfNonLineBasedFormat() throws Exception {
+
+		final RDFExporter<?> exporter = new QuadRDFExporter(MediaTypeUtil.TRIG_TYPE, DATA_MODEL_URI);
+
+		Assert.assertFalse(exporter.supportsParallelSerialisation());
+
+		exporter.generateRDF(Observable.from(createRecords()), new ByteArrayOutputStream(), PARALLELISM, true, Schedulers.computation());
+	}
+
+	@Test
+	public void testLeanExport() throws Exception {
+
+		final List<GDMModel> records = createRecords();
+
+		final ByteArrayOutputStream expectedOutputStream = new ByteArrayOutputStream();
+		final int numberOfJSONRecords = new TripleRDFExporter(MediaTypeUtil.N_TRIPLES_TYPE).generate(Observable.from(records), expectedOutputStream)
+				.count()
+				.toBlocking()
+				.single();
+
+		Assert.assertEquals(NUMBER_OF_RECORDS, numberOfJSONRecords);
+
+		final ByteArrayOutputStream actualOutputStream = new ByteArrayOutputStream();
+		final long numberOfRecords = new TripleRDFExporter(MediaTypeUtil.N_TRIPLES_TYPE).generateRDF(Observable.from(records), actualOutputStream)
+				.toBlocking()
+				.single();
+
+		Assert.assertEquals("the lean export should emit the number of exported records", NUMBER_OF_RECORDS, numberOfRecords);
+		Assert.assertEquals("the lean export should write the same RDF", normaliseInOrder(getLines(expectedOutputStream)),
+				normaliseInOrder(getLines(actualOutputStream)));
+	}
+
+	/**
+	 * Caches with room for a single node only, i.e., nodes will be evicted and re-created permanently.
+	 */
+	@Test
+	public void testBoundedCaches() throws Exception {
+
+		final List<GDMModel> records = createRecords();
+
+		final List<String> expectedLines = export(new TripleRDFExporter(MediaTypeUtil.N_TRIPLES_TYPE), records);
+		final List<String> actualLines = export(new TripleRDFExporter(MediaTypeUtil.N_TRIPLES_TYPE, 1, 1), records);
+
+		Assert.assertEquals(normaliseInOrder(expectedLines), normaliseInOrder(actualLines));
+
+		final ByteArrayOutputStream parallelOutputStream = new ByteArrayOutputStream();
+		new QuadRDFExporter(MediaTypeUtil.N_QUADS_TYPE, DATA_MODEL_URI, 1, 1)
+				.generateRDF(Observable.from(records), parallelOutputStream, PARALLELISM, true, Schedulers.computation())
+				.toBlocking()
+				.single();
+
+		final List<String> expectedQuadLines = export(new QuadRDFExporter(MediaTypeUtil.N_QUADS_TYPE, DATA_MODEL_URI), records);
+
+		Assert.assertEquals(normaliseInOrder(expectedQuadLines), normaliseInOrder(getLines(parallelOutputStream)));
+	}
+
+	private static void compareParallelWithSequentialExport(final RDFExporter<?> exporter, final boolean preserveOrder) throws Exception {
+
+		final List<GDMModel> records = createRecords();
+
+		Assert.assertTrue(exporter.supportsParallelSerialisation());
+
+		final List<String> expectedLines = export(exporter, records);
+
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		final long numberOfRecords = exporter.generateRDF(Observable.from(records), outputStream, PARALLELISM, preserveOrder, Schedulers.computation())
+				.toBlocking()
+				.single();
+
+		Assert.assertEquals("the parallel export should emit the number of exported records", NUMBER_OF_RECORDS, numberOfRecords);
+
+		final List<String> actualLines = getLines(outputStream);
+
+		Assert.assertEquals(expectedLines.size(), actualLines.size());
+
+		// note: every creator is a blank node of its own; bnode ids of the GDM models restart with every record
+		final int expectedNumberOfBlankNodes = NUMBER_OF_RECORDS * NUMBER_OF_CREATORS;
+
+		Assert.assertEquals(expectedNumberOfBlankNodes, getBlankNodeLabels(expectedLines).size());
+		Assert.assertEquals("blank node labels should be unique across chunks", expectedNumberOfBlankNodes,
+				getBlankNodeLabels(actualLines).size());
+
+		if (preserveOrder) {
+
+			Assert.assertEquals(normaliseInOrder(expectedLines), normaliseInOrder(actualLines));
+		} else {
+
+			Assert.assertEquals(normaliseUnordered(expectedLines), normaliseUnordered(actualLines));
+		}
+	}
+
+	private static List<String> export(final RDFExporter<?> exporter, final List<GDMModel> records) {
+
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		exporter.generateRDF(Observable.from(records), outputStream).toBlocking().single();
+
+		return getLines(outputStream);
+	}
+
+	private static List<String> getLines(final ByteArrayOutputStream outputStream) {
+
+		final String output = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+
+		return output.isEmpty() ? Collections.emptyList() : Arrays.asList(output.split("\n"));
+	}
+
+	private static Set<String> getBlankNodeLabels(final List<String> lines) {
+
+		final Set<String> blankNodeLabels = new HashSet<>();
+
+		for (final String line : lines) {
+
+			final Matcher matcher = BLANK_NODE_PATTERN.matcher(line);
+
+			while (matcher.find()) {
+
+				blankNodeLabels.add(matcher.group());
+			}
+		}
+
+		return blankNodeLabels;
+	}
+
+	/**
+	 * Replaces the blank node labels by labels in order of their first occurrence.
+	 */
+	private static List<String> normaliseInOrder(final List<String> lines) {
+
+		final Map<String, String> blankNodeLabels = new HashMap<>();
+		final List<String> normalisedLines = new ArrayList<>(lines.size());
+
+		for (final String line : lines) {
+
+			final Matcher matcher = BLANK_NODE_PATTERN.matcher(line);
+			final StringBuffer sb = new StringBuffer();
+
+			while (matcher.find()) {
+
+				final String blankNodeLabel = blankNodeLabels.computeIfAbsent(matcher.group(), label -> "_:b" + blankNodeLabels.size());
+
+				matcher.appendReplacement(sb, blankNodeLabel);
+			}
+
+			matcher.appendTail(sb);
+
+			normalisedLines.add(sb.toString());
+		}
+
+		return normalisedLines;
+	}
+
+	/**
+	 * Replaces the blank node labels by the same label and sorts the lines, i.e., compares the lines as multisets.
+	 */
+	private static List<String> normaliseUnordered(final List<String> lines) {
+
+		final List<String> normalisedLines = new ArrayList<>(lines.size());
+
+		for (final String line : lines) {
+
+			normalisedLines.add(BLANK_NODE_PATTERN.matcher(line).replaceAll("_:b"));
+		}
+
+		Collections.sort(normalisedLines);
+
+		return normalisedLines;
+	}
+
+	private static List<GDMModel> createRecords() {
+
+		final List<GDMModel> records = new ArrayList<>(NUMBER_OF_RECORDS);
+
+		for (int i = 0; i < NUMBER_OF_RECORDS; i++) {
+
+			final String recordURI = RECORDS_NS + i;
+			final ResourceNode recordResourceNode = new ResourceNode(recordURI);
+			final Resource recordResource = new Resource(recordURI);
+
+			recordResource.addStatement(recordResourceNode, RDF_TYPE, new ResourceNode(RECORD_CLASS_URI));
+			recordResource.addStatement(recordResourceNode, TITLE, new LiteralNode("title " + i));
+
+			for (int j = 1; j <= NUMBER_OF_CREATORS; j++) {
+
+				final Node creator = new Node(j);
+
+				recordResource.addStatement(recordResourceNode, CREATOR, creator);
+				recordResource.addStatement(creator, NAME, new LiteralNode("creator " + j + " of record " + i));
+			}
+
+			final Model model = new Model();
+			model.addResource(recordResource);
+
+			records.add(new GDMModel(model, recordURI, RECORD_CLASS_URI));
+		}
+
+		return records;
+	}
+}
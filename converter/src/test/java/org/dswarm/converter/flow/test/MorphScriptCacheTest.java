@@ -0,0 +1,181 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.flow.test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.dswarm.converter.GuicedTest;
+import org.dswarm.converter.flow.MorphScriptCache;
+import org.dswarm.converter.morph.MorphScriptBuilder;
+import org.dswarm.persistence.model.job.Job;
+import org.dswarm.persistence.model.job.Mapping;
+import org.dswarm.persistence.model.job.Task;
+import org.dswarm.persistence.model.schema.Schema;
+import org.dswarm.persistence.util.DMPPersistenceUtil;
+
+public class MorphScriptCacheTest extends GuicedTest {
+
+	private static final String TASK_JSON_FILE_NAME = "dd-1220.mabxml.task.json";
+
+	private final MorphScriptCache cache = GuicedTest.injector.getInstance(MorphScriptCache.class);
+
+	@Before
+	public void prepare() throws Exception {
+
+		super.prepare();
+
+		cache.invalidateAll();
+	}
+
+	@Test
+	public void testHit() throws Exception {
+
+		final MorphScriptCache.MorphScripts morphScripts = cache.getMorphScripts(readTask());
+		final MorphScriptCache.MorphScripts morphScripts2 = cache.getMorphScripts(readTask());
+
+		Assert.assertSame(morphScripts, morphScripts2);
+	}
+
+	@Test
+	public void testSingleton() throws Exception {
+
+		Assert.assertSame(cache, GuicedTest.injector.getInstance(MorphScriptCache.class));
+	}
+
+	/**
+	 * entries are keyed by identifiers + modification stamps, i.e., a changed mapping will only be considered after its modification was
+	 * reported
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testMissAfterReportedMappingChange() throws Exception {
+
+		final MorphScriptCache.MorphScripts morphScripts = cache.getMorphScripts(readTask());
+
+		final Task task = readTask();
+		final Mapping mapping = task.getJob().getMappings().iterator().next();
+		mapping.setName("changed mapping name");
+
+		Assert.assertSame(morphScripts, cache.getMorphScripts(task));
+
+		cache.invalidate(mapping.getUuid());
+
+		final MorphScriptCache.MorphScripts morphScripts2 = cache.getMorphScripts(task);
+
+		Assert.assertNotSame(morphScripts, morphScripts2);
+		Assert.assertEquals(new MorphScriptBuilder().apply(task).toString(), morphScripts2.getMorphScript());
+
+		// note: the advanced modification stamp stays part of the key
+		Assert.assertSame(morphScripts2, cache.getMorphScripts(task));
+	}
+
+	@Test
+	public void testNoCachingWithoutJobIdentifier() throws Exception {
+
+		final Task task = readTask();
+		final Job job = new Job(null);
+		job.setMappings(task.getJob().getMappings());
+		task.setJob(job);
+
+		final MorphScriptCache.MorphScripts morphScripts = cache.getMorphScripts(task);
+
+		Assert.assertNotSame(morphScripts, cache.getMorphScripts(task));
+		Assert.assertEquals(new MorphScriptBuilder().apply(task).toString(), morphScripts.getMorphScript());
+	}
+
+	/**
+	 * the content schema of the input schema will be changed, while the schema identifier stays the same
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testMissAfterContentSchemaChange() throws Exception {
+
+		final Task task = readTask();
+		final Schema inputSchema = task.getInputDataModel().getSchema();
+
+		Assert.assertNotNull(inputSchema.getContentSchema());
+
+		final MorphScriptCache.MorphScripts morphScripts = cache.getMorphScripts(task);
+
+		final Task changedTask = readTask();
+		final Schema changedInputSchema = changedTask.getInputDataModel().getSchema();
+		changedInputSchema.setContentSchema(null);
+
+		Assert.assertEquals(inputSchema.getUuid(), changedInputSchema.getUuid());
+
+		final MorphScriptCache.MorphScripts morphScripts2 = cache.getMorphScripts(changedTask);
+
+		Assert.assertNotSame(morphScripts, morphScripts2);
+		Assert.assertEquals(new MorphScriptBuilder().apply(changedTask).toString(), morphScripts2.getMorphScript());
+	}
+
+	@Test
+	public void testMissAfterAttributePathsChange() throws Exception {
+
+		final Task task = readTask();
+
+		final MorphScriptCache.MorphScripts morphScripts = cache.getMorphScripts(task);
+
+		final Task changedTask = readTask();
+		final Schema changedInputSchema = changedTask.getInputDataModel().getSchema();
+		changedInputSchema.removeAttributePath(changedInputSchema.getAttributePaths().iterator().next());
+
+		final MorphScriptCache.MorphScripts morphScripts2 = cache.getMorphScripts(changedTask);
+
+		Assert.assertNotSame(morphScripts, morphScripts2);
+	}
+
+	@Test
+	public void testInvalidateSchema() throws Exception {
+
+		final Task task = readTask();
+
+		final MorphScriptCache.MorphScripts morphScripts = cache.getMorphScripts(task);
+
+		// unrelated identifier
+		cache.invalidate("Schema-unrelated");
+
+		Assert.assertSame(morphScripts, cache.getMorphScripts(task));
+
+		cache.invalidate(task.getInputDataModel().getSchema().getUuid());
+
+		Assert.assertNotSame(morphScripts, cache.getMorphScripts(task));
+	}
+
+	@Test
+	public void testInvalidateMapping() throws Exception {
+
+		final Task task = readTask();
+
+		final MorphScriptCache.MorphScripts morphScripts = cache.getMorphScripts(task);
+
+		cache.invalidate(task.getJob().getMappings().iterator().next().getUuid());
+
+		Assert.assertNotSame(morphScripts, cache.getMorphScripts(task));
+	}
+
+	private static Task readTask() throws Exception {
+
+		final ObjectMapper objectMapper = injector.getInstance(ObjectMapper.class);
+
+		return objectMapper.readValue(DMPPersistenceUtil.getResourceAsString(TASK_JSON_FILE_NAME), Task.class);
+	}
+}
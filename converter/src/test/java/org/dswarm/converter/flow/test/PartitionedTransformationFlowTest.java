@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.flow.test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import javaslang.Tuple;
+import javaslang.Tuple2;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.observables.ConnectableObservable;
+import rx.schedulers.Schedulers;
+
+import org.dswarm.converter.GuicedTest;
+import org.dswarm.converter.flow.JSONTransformationFlow;
+import org.dswarm.converter.flow.JSONTransformationFlowFactory;
+import org.dswarm.converter.mf.stream.reader.JsonNodeReader;
+import org.dswarm.persistence.util.DMPPersistenceUtil;
+
+/**
+ * Compares the results of the parallel, partitioned execution mode with the results of the sequential execution.
+ */
+public class PartitionedTransformationFlowTest extends GuicedTest {
+
+	private static final String INPUT_TUPLES_FILE_NAME = "test-mabxml.tuples.3.json";
+	private static final String MORPH_SCRIPT_FILE_NAME = "filtermorph.xml";
+
+	/**
+	 * more than two partitions (see dswarm.converter.transformation.partition-size)
+	 */
+	private static final int NUMBER_OF_RECORDS = 250;
+
+	@Test
+	public void testOrderedParallelExecution() throws Exception {
+
+		final List<Tuple2<String, JsonNode>> tuples = readTuples();
+
+		final List<String> expected = executeSequentially(tuples);
+		final List<String> actual = executeInParallel(tuples, true);
+
+		Assert.assertEquals(NUMBER_OF_RECORDS, expected.size());
+		Assert.assertEquals(expected, actual);
+	}
+
+	@Test
+	public void testUnorderedParallelExecution() throws Exception {
+
+		final List<Tuple2<String, JsonNode>> tuples = readTuples();
+
+		final List<String> expected = executeSequentially(tuples);
+		final List<String> actual = executeInParallel(tuples, false);
+
+		expected.sort(String::compareTo);
+		actual.sort(String::compareTo);
+
+		Assert.assertEquals(NUMBER_OF_RECORDS, expected.size());
+		Assert.assertEquals(expected, actual);
+	}
+
+	private static List<String> executeSequentially(final List<Tuple2<String, JsonNode>> tuples) throws Exception {
+
+		final JSONTransformationFlow flow = createFlow();
+
+		return collect(flow.apply(Observable.from(tuples), false, false, false, Schedulers.newThread()));
+	}
+
+	private static List<String> executeInParallel(final List<Tuple2<String, JsonNode>> tuples, final boolean preserveOrder) throws Exception {
+
+		final JSONTransformationFlow flow = createFlow();
+
+		return collect(flow.apply(Observable.from(tuples), JsonNodeReader::new, false, false, false, 4, preserveOrder, Schedulers.newThread()));
+	}
+
+	private static List<String> collect(final ConnectableObservable<JsonNode> result) {
+
+		final ConnectableObservable<List<String>> resultList = result.map(JsonNode::toString).toList().replay();
+
+		resultList.connect();
+		result.connect();
+
+		return new ArrayList<>(resultList.toBlocking().single());
+	}
+
+	private static JSONTransformationFlow createFlow() throws Exception {
+
+		return GuicedTest.injector.getInstance(JSONTransformationFlowFactory.class).fromFile(MORPH_SCRIPT_FILE_NAME);
+	}
+
+	/**
+	 * Replicates the records of the input tuples file (with distinct record identifiers) until the required number of records is
+	 * reached.
+	 *
+	 * @return the input records
+	 * @throws Exception
+	 */
+	private static List<Tuple2<String, JsonNode>> readTuples() throws Exception {
+
+		final List<org.dswarm.common.types.Tuple<String, JsonNode>> originalTuples = DMPPersistenceUtil.getJSONObjectMapper()
+				.readValue(DMPPersistenceUtil.getResourceAsString(INPUT_TUPLES_FILE_NAME),
+						new TypeReference<List<org.dswarm.common.types.Tuple<String, JsonNode>>>() {
+
+						});
+
+		final List<Tuple2<String, JsonNode>> tuples = new ArrayList<>(NUMBER_OF_RECORDS);
+
+		for (int i = 0; i < NUMBER_OF_RECORDS; i++) {
+
+			final org.dswarm.common.types.Tuple<String, JsonNode> originalTuple = originalTuples.get(i % originalTuples.size());
+
+			tuples.add(Tuple.of(originalTuple.v1() + '-' + i, originalTuple.v2()));
+		}
+
+		return tuples;
+	}
+}
@@ -20,6 +20,7 @@ import java.io.StringWriter;
 import java.net.URL;
 
 import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
 import com.google.common.io.Resources;
 import org.apache.commons.io.FileUtils;
 import org.culturegraph.mf.stream.sink.ObjectJavaIoWriter;
@@ -86,4 +87,37 @@ public class CSVSourceResourceCSVPreviewFlowTest extends GuicedTest {
 
 		Assert.assertEquals("the processing outputs are not equal", expectedResult, resultOutput);
 	}
+
+	@Test
+	public void readCSVWithTokenizerTest() throws Exception {
+
+		final FileOpener opener = new FileOpener();
+
+		// set encoding
+		opener.setEncoding(Charsets.UTF_8.name());
+
+		final URL url = Resources.getResource("test_csv.csv");
+		final File file = FileUtils.toFile(url);
+
+		// set column separator and line separator + utilise tokenizer
+		final CsvReader reader = new CsvReader('\\', '"', ';', "\n", 0, 0, Optional.<Integer>absent(), true);
+
+		reader.setHeader(true);
+		final CSVEncoder converter = new CSVEncoder();
+		converter.withHeader();
+		final StringWriter stringWriter = new StringWriter();
+		final ObjectJavaIoWriter<String> writer = new ObjectJavaIoWriter<>(stringWriter);
+
+		opener.setReceiver(reader).setReceiver(converter).setReceiver(writer);
+
+		opener.process(file.getAbsolutePath());
+
+		final String resultOutput = stringWriter.toString();
+
+		Assert.assertNotNull("the result output shouldn't be null", resultOutput);
+
+		final String expectedResult = DMPPersistenceUtil.getResourceAsString("test_csv.csv");
+
+		Assert.assertEquals("the processing outputs are not equal", expectedResult, resultOutput);
+	}
 }
@@ -15,23 +15,30 @@
  */
 package org.dswarm.converter.flow.test.csv;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableList;
 import com.google.inject.ProvisionException;
+import org.culturegraph.mf.exceptions.MetafactureException;
 import org.culturegraph.mf.stream.source.ResourceOpener;
 import org.culturegraph.mf.types.Triple;
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.Matcher;
 import org.hamcrest.MatcherAssert;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import rx.Observable;
 import rx.functions.Func1;
 
@@ -39,12 +46,20 @@ import org.dswarm.converter.DMPConverterException;
 import org.dswarm.converter.GuicedTest;
 import org.dswarm.converter.flow.CSVResourceFlowFactory;
 import org.dswarm.converter.flow.CSVSourceResourceTriplesFlow;
+import org.dswarm.converter.flow.utils.CPUBoundExecutor;
 import org.dswarm.persistence.model.resource.Configuration;
+import org.dswarm.persistence.model.resource.DataModel;
 import org.dswarm.persistence.model.resource.utils.ConfigurationStatics;
 import org.dswarm.persistence.service.UUIDService;
 
 public class CSVSourceResourceTriplesFlowTest extends GuicedTest {
 
+	private static final Pattern LINE_NUMBER_PATTERN   = Pattern.compile("\\((?:start)?line \\d+\\)");
+	private static final Pattern RECORD_NUMBER_PATTERN = Pattern.compile("input line \\d+");
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	private static void testFlow(
 			final CSVSourceResourceTriplesFlow flow,
 			final String fileName,
@@ -158,6 +173,22 @@ public class CSVSourceResourceTriplesFlowTest extends GuicedTest {
 				.fromConfiguration(configuration);
 	}
 
+	@Test(expected = ProvisionException.class)
+	public void testUnknownCSVParser() throws Exception {
+
+		final String uuid = UUIDService.getUUID(Configuration.class.getSimpleName());
+
+		final Configuration configuration = new Configuration(uuid);
+
+		configuration.addParameter(ConfigurationStatics.COLUMN_DELIMITER, new TextNode(";"));
+		configuration.addParameter(ConfigurationStatics.CSV_PARSER, new TextNode("unknown"));
+
+		@SuppressWarnings("UnusedDeclaration")
+		final CSVSourceResourceTriplesFlow flow = injector
+				.getInstance(CSVResourceFlowFactory.class)
+				.fromConfiguration(configuration);
+	}
+
 	@Test
 	public void testDefaultValues() throws Exception {
 
@@ -178,4 +209,171 @@ public class CSVSourceResourceTriplesFlowTest extends GuicedTest {
 		testFlow(flow, "test_csv.csv", 19, 5, predicateMatcher);
 	}
 
+	/**
+	 * parallel processing (at different chunk sizes) needs to result in the same records (incl. record identifiers) as sequential processing
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testParallelProcessing() throws Exception {
+
+		final StringBuilder csv = new StringBuilder("id;title;year\n");
+
+		for (int i = 1; i <= 50; i++) {
+
+			switch (i % 4) {
+
+				case 0:
+
+					csv.append(i).append(";\"a title\nwith a line break\";").append(2000 + i).append('\n');
+
+					break;
+				case 1:
+
+					csv.append(i).append(";\"a \"\"quoted\"\"\r\ntitle\";").append(2000 + i).append("\r\n");
+
+					break;
+				case 2:
+
+					csv.append('\n').append(i).append(";a title;").append(2000 + i).append('\n');
+
+					break;
+				default:
+
+					csv.append(i).append(";\"a title; with a column delimiter\";").append(2000 + i).append('\n');
+			}
+		}
+
+		final Path file = write(csv.toString());
+
+		for (final String csvParser : new String[] { ConfigurationStatics.CSV_PARSER_COMMONS_CSV, ConfigurationStatics.CSV_PARSER_TOKENIZER }) {
+
+			final List<String> expected = toStrings(createFlow(csvParser, 1, 1).applyFile(file.toString()));
+
+			Assert.assertEquals(50 * 3, expected.size());
+			Assert.assertTrue(expected.get(expected.size() - 1).startsWith("50 "));
+
+			for (final long chunkSize : new long[] { 1, 16, 100, 1000 }) {
+
+				final List<String> actual = toStrings(createFlow(csvParser, 4, chunkSize).applyFile(file.toString()));
+
+				Assert.assertEquals(String.format("records differ at chunk size '%d' with CSV parser '%s'", chunkSize, csvParser), expected, actual);
+			}
+		}
+	}
+
+	/**
+	 * line numbers and record numbers in error messages of parallel processing need to be the ones of the file (i.e. of sequential
+	 * processing)
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testParallelProcessingErrors() throws Exception {
+
+		final StringBuilder csv = new StringBuilder("id;\"a multi-line\nheader\";year\n");
+
+		for (int i = 1; i <= 10; i++) {
+
+			csv.append(i).append(";\"a title\nwith a line break\";").append(2000 + i).append('\n');
+		}
+
+		final String invalidChar = csv.toString() + "11;\"an invalid\" char;2011\n12;a title;2012\n";
+		final String wrongNumberOfColumns = csv.toString() + "11;a title\n12;a title;2012\n";
+
+		for (final String csvParser : new String[] { ConfigurationStatics.CSV_PARSER_COMMONS_CSV, ConfigurationStatics.CSV_PARSER_TOKENIZER }) {
+
+			compareErrors(write(invalidChar), csvParser, LINE_NUMBER_PATTERN);
+			compareErrors(write(wrongNumberOfColumns), csvParser, RECORD_NUMBER_PATTERN);
+		}
+	}
+
+	private static void compareErrors(final Path file, final String csvParser, final Pattern pattern) throws Exception {
+
+		final String expected = getErrorNumber(createFlow(csvParser, 1, 1), file, pattern);
+
+		for (final long chunkSize : new long[] { 1, 16, 100 }) {
+
+			Assert.assertEquals(String.format("error differs at chunk size '%d' with CSV parser '%s'", chunkSize, csvParser), expected,
+					getErrorNumber(createFlow(csvParser, 4, chunkSize), file, pattern));
+		}
+	}
+
+	/**
+	 * Processes the given file and determines the (line or record) number of the error message.
+	 */
+	private static String getErrorNumber(final CSVSourceResourceTriplesFlow flow, final Path file, final Pattern pattern) {
+
+		try {
+
+			flow.applyFile(file.toString()).toList().toBlocking().first();
+		} catch (final Exception e) {
+
+			Throwable error = e;
+
+			while (error != null) {
+
+				if (error instanceof DMPConverterException || error instanceof MetafactureException || error.getCause() == null) {
+
+					final java.util.regex.Matcher matcher = pattern.matcher(String.valueOf(error.getMessage()));
+
+					if (matcher.find()) {
+
+						return matcher.group();
+					}
+				}
+
+				error = error.getCause();
+			}
+
+			Assert.fail(String.format("couldn't find a line or record number in error '%s'", e));
+		}
+
+		Assert.fail("processing should fail");
+
+		return null;
+	}
+
+	private static CSVSourceResourceTriplesFlow createFlow(final String csvParser, final long parallelism, final long chunkSize)
+			throws DMPConverterException {
+
+		final String uuid = UUIDService.getUUID(Configuration.class.getSimpleName());
+
+		final Configuration configuration = new Configuration(uuid);
+
+		configuration.addParameter(ConfigurationStatics.COLUMN_DELIMITER, new TextNode(";"));
+		configuration.addParameter(ConfigurationStatics.CSV_PARSER, new TextNode(csvParser));
+
+		final DataModel dataModel = new DataModel(UUIDService.getUUID(DataModel.class.getSimpleName()));
+		dataModel.setConfiguration(configuration);
+
+		return new CSVSourceResourceTriplesFlow(dataModel, parallelism, chunkSize, GuicedTest.injector.getInstance(CPUBoundExecutor.class)) {
+
+		};
+	}
+
+	private static List<String> toStrings(final Observable<Collection<Triple>> records) {
+
+		final List<String> triples = new ArrayList<>();
+
+		for (final Collection<Triple> recordTriples : records.toList().toBlocking().first()) {
+
+			for (final Triple triple : recordTriples) {
+
+				triples.add(triple.getSubject() + ' ' + triple.getPredicate() + ' ' + triple.getObject());
+			}
+		}
+
+		return triples;
+	}
+
+	private Path write(final String csv) throws Exception {
+
+		final Path file = temporaryFolder.newFile().toPath();
+
+		Files.write(file, csv.getBytes(StandardCharsets.UTF_8));
+
+		return file;
+	}
+
 }
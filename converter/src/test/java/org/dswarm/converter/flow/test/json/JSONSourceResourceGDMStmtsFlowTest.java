@@ -96,6 +96,43 @@ public class JSONSourceResourceGDMStmtsFlowTest extends GuicedTest {
 		testFlow(flow, "dd-1426/slub-finc-swb-records.json", "dd-1426/slub-finc-swb-records-gdm.json", null);
 	}
 
+	/**
+	 * JSON Lines input without record tag, i.e., every top-level object is a record
+	 */
+	@Test
+	public void testFromConfigurationWithoutRecordTag() throws Exception {
+
+		final String uuid = UUIDService.getUUID(Configuration.class.getSimpleName());
+
+		final Configuration configuration = new Configuration(uuid);
+
+		final String dataModelUUID = "3";
+
+		final DataModel dataModel = new DataModel(dataModelUUID);
+
+		dataModel.setConfiguration(configuration);
+
+		final JSONSourceResourceGDMStmtsFlow flow = injector
+				.getInstance(JsonResourceFlowFactory.class)
+				.fromDataModel(dataModel, false);
+
+		final List<GDMModel> gdmModels = flow.applyResource("json-lines-records.jsonl").toList().toBlocking().first();
+
+		Assert.assertNotNull("the GDM models shouldn't be null", gdmModels);
+		Assert.assertEquals("the number of GDM models is not equal to the number of JSON lines", 3, gdmModels.size());
+
+		final long[] expectedStatements = { 3, 7, 2 };
+
+		for (int i = 0; i < expectedStatements.length; i++) {
+
+			final Model model = gdmModels.get(i).getModel();
+
+			Assert.assertNotNull("the GDM model shouldn't be null", model);
+			Assert.assertEquals("the GDM model should contain exactly one record", 1, model.getResources().size());
+			Assert.assertEquals("the number of statements of the record is not equal to the expected one", expectedStatements[i], model.size());
+		}
+	}
+
 	private void testFlow(final JSONSourceResourceGDMStmtsFlow flow, final String fileName, final String expectedResultFileName, final Integer offset)
 			throws DMPConverterException, IOException {
 
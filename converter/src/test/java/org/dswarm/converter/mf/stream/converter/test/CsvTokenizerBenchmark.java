@@ -0,0 +1,187 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.mf.stream.converter.test;
+
+import java.io.Reader;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Optional;
+import org.culturegraph.mf.framework.DefaultStreamReceiver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.dswarm.converter.mf.stream.converter.CsvTokenizer;
+import org.dswarm.converter.mf.stream.reader.CsvReader;
+
+/**
+ * A simple benchmark harness that compares the throughput of the {@link CsvTokenizer} with the throughput of the Commons CSV based engine
+ * (i.e. CsvLineReader + CsvDecoder). The CSV input is generated on the fly, i.e., the benchmark measures parsing and event emission only
+ * (no disk I/O).
+ * <p>
+ * Usage: CsvTokenizerBenchmark [number of rows (default = 10000000)] [number of runs per engine (default = 3)]
+ */
+public final class CsvTokenizerBenchmark {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CsvTokenizerBenchmark.class);
+
+	private static final int DEFAULT_NUMBER_OF_ROWS = 10000000;
+	private static final int DEFAULT_NUMBER_OF_RUNS = 3;
+
+	private static final String HEADER = "id;title;creator;year;description\n";
+
+	private CsvTokenizerBenchmark() {
+
+	}
+
+	public static void main(final String[] args) {
+
+		final int numberOfRows = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUMBER_OF_ROWS;
+		final int numberOfRuns = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_NUMBER_OF_RUNS;
+
+		LOG.info("benchmark CSV engines with '{}' rows and '{}' runs per engine", numberOfRows, numberOfRuns);
+
+		for (int i = 1; i <= numberOfRuns; i++) {
+
+			run("commons-csv", numberOfRows, false, i);
+			run("tokenizer", numberOfRows, true, i);
+		}
+	}
+
+	private static void run(final String engine, final int numberOfRows, final boolean useTokenizer, final int run) {
+
+		final CsvReader reader = new CsvReader('\\', '"', ';', "\n", 0, 0, Optional.<Integer>absent(), useTokenizer);
+		reader.setHeader(true);
+		reader.setDataResourceSchemaBaseURI("http://data.slub-dresden.de/resources/1/schema#");
+
+		final CountingReceiver receiver = reader.setReceiver(new CountingReceiver());
+
+		final long start = System.nanoTime();
+
+		reader.process(new GeneratedCSVReader(numberOfRows));
+		reader.closeStream();
+
+		final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		if (receiver.records != numberOfRows) {
+
+			throw new IllegalStateException(String.format("engine '%s' emitted %d records, expected %d records", engine, receiver.records, numberOfRows));
+		}
+
+		LOG.info("run '{}' of engine '{}': '{}' records with '{}' literals in '{}' ms ('{}' records/s)", run, engine, receiver.records,
+				receiver.literals, elapsed, elapsed > 0 ? receiver.records * 1000L / elapsed : receiver.records);
+	}
+
+	/**
+	 * Generates a CSV document with the given number of rows (plus header row), incl. quoted cells with column delimiters, escaped quotes
+	 * and line breaks.
+	 */
+	private static final class GeneratedCSVReader extends Reader {
+
+		private final int numberOfRows;
+
+		private final StringBuilder buffer = new StringBuilder(256);
+
+		private int rowCounter   = 0;
+		private int bufferOffset = 0;
+
+		private GeneratedCSVReader(final int numberOfRowsArg) {
+
+			numberOfRows = numberOfRowsArg;
+			buffer.append(HEADER);
+		}
+
+		@Override
+		public int read(final char[] cbuf, final int off, final int len) {
+
+			if (bufferOffset >= buffer.length()) {
+
+				if (rowCounter >= numberOfRows) {
+
+					return -1;
+				}
+
+				fillBuffer();
+			}
+
+			final int count = Math.min(len, buffer.length() - bufferOffset);
+
+			buffer.getChars(bufferOffset, bufferOffset + count, cbuf, off);
+			bufferOffset += count;
+
+			return count;
+		}
+
+		private void fillBuffer() {
+
+			buffer.setLength(0);
+			bufferOffset = 0;
+
+			final int row = rowCounter++;
+
+			buffer.append(row).append(';');
+
+			switch (row % 4) {
+
+				case 0:
+
+					buffer.append("a title ").append(row);
+
+					break;
+				case 1:
+
+					buffer.append("\"a title; with a column delimiter ").append(row).append('"');
+
+					break;
+				case 2:
+
+					buffer.append("\"a \"\"quoted\"\" title ").append(row).append('"');
+
+					break;
+				default:
+
+					buffer.append("\"a title\nwith a line break ").append(row).append('"');
+			}
+
+			buffer.append(";creator ").append(row % 1000)
+					.append(';').append(1900 + row % 120)
+					.append(";a longer description of the record, which contains some more characters ").append(row)
+					.append('\n');
+		}
+
+		@Override
+		public void close() {
+
+		}
+	}
+
+	private static final class CountingReceiver extends DefaultStreamReceiver {
+
+		private long records  = 0;
+		private long literals = 0;
+
+		@Override
+		public void endRecord() {
+
+			records++;
+		}
+
+		@Override
+		public void literal(final String name, final String value) {
+
+			literals++;
+		}
+	}
+}
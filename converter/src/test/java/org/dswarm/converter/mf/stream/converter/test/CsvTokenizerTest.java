@@ -0,0 +1,262 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.mf.stream.converter.test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.common.base.Optional;
+import org.culturegraph.mf.exceptions.MetafactureException;
+import org.culturegraph.mf.framework.DefaultStreamReceiver;
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.dswarm.converter.mf.stream.converter.CsvTokenizer;
+import org.dswarm.converter.mf.stream.reader.CsvReader;
+
+/**
+ * Compares the stream events that are emitted by the {@link CsvTokenizer} with the stream events that are emitted by the Commons CSV
+ * based engine (i.e. CsvLineReader + CsvDecoder) for the same CSV input and configuration.
+ */
+public class CsvTokenizerTest {
+
+	private static final String DATA_MODEL_SCHEMA_BASE_URI = "http://data.slub-dresden.de/resources/1/schema#";
+
+	private static final Pattern LINE_NUMBER_PATTERN   = Pattern.compile("\\(line (\\d+)\\)");
+	private static final Pattern RECORD_NUMBER_PATTERN = Pattern.compile("input line (\\d+)");
+
+	private static final String SIMPLE_CSV = "id;title;year\n"
+			+ "1;a title;2001\n"
+			+ "2;another title;2002\n"
+			+ "3;a third title;2003\n";
+
+	@Test
+	public void testSimple() {
+
+		compare(SIMPLE_CSV, 0, 0, Optional.<Integer>absent(), true);
+	}
+
+	@Test
+	public void testWithoutHeader() {
+
+		compare(SIMPLE_CSV, 0, 0, Optional.<Integer>absent(), false);
+	}
+
+	@Test
+	public void testQuotes() {
+
+		final String csv = "id;title;year\n"
+				+ "1;\"a title; with a column delimiter\";2001\n"
+				+ "\"2\";\"\";\"2002\"\n"
+				+ "3;  a title with surrounding spaces  ;2003\n";
+
+		compare(csv, 0, 0, Optional.<Integer>absent(), true);
+	}
+
+	@Test
+	public void testEscapedQuotes() {
+
+		final String csv = "id;title\n"
+				+ "1;\"a \"\"quoted\"\" title\"\n"
+				+ "2;\"an \\\"escaped\\\" title\"\n"
+				+ "3;an \\; escaped column delimiter\n";
+
+		compare(csv, 0, 0, Optional.<Integer>absent(), true);
+	}
+
+	@Test
+	public void testEmbeddedNewlines() {
+
+		final String csv = "id;title;year\n"
+				+ "1;\"a title\nwith a line break\";2001\n"
+				+ "2;\"a title\n\nwith two line breaks\";2002\n"
+				+ "3;\"\n\";2003\n";
+
+		compare(csv, 0, 0, Optional.<Integer>absent(), true);
+	}
+
+	@Test
+	public void testEmptyLines() {
+
+		final String csv = "id;title\n"
+				+ "\n"
+				+ "1;a title\n"
+				+ "\n"
+				+ "\n"
+				+ "2;another title\n";
+
+		compare(csv, 0, 0, Optional.<Integer>absent(), true);
+	}
+
+	@Test
+	public void testIgnoreLines() {
+
+		final String csv = "some preamble\n"
+				+ "\"a quoted preamble line\"\n"
+				+ SIMPLE_CSV;
+
+		compare(csv, 2, 0, Optional.<Integer>absent(), true);
+		compare(csv, 2, 0, Optional.<Integer>absent(), false);
+	}
+
+	@Test
+	public void testDiscardRows() {
+
+		compare(SIMPLE_CSV, 0, 1, Optional.<Integer>absent(), true);
+		compare(SIMPLE_CSV, 0, 2, Optional.<Integer>absent(), false);
+	}
+
+	@Test
+	public void testAtMost() {
+
+		compare(SIMPLE_CSV, 0, 0, Optional.of(2), true);
+		compare(SIMPLE_CSV, 0, 0, Optional.of(10), true);
+		compare(SIMPLE_CSV, 0, 1, Optional.of(1), true);
+	}
+
+	@Test
+	public void testCombined() {
+
+		final String csv = "some preamble\n"
+				+ "id;title;year\n"
+				+ "0;\"a discarded\nrow\";2000\n"
+				+ "1;\"a \"\"quoted\"\"\ntitle\";2001\n"
+				+ "2;another title;2002\n"
+				+ "3;a third title;2003\n";
+
+		compare(csv, 1, 1, Optional.of(2), true);
+	}
+
+	@Test
+	public void testErrors() {
+
+		compare("id;title\n", 5, 0, Optional.<Integer>absent(), true);
+		compare("id;title\n1;a title\n", 0, 5, Optional.<Integer>absent(), true);
+		compare("id;title\n", 0, 0, Optional.<Integer>absent(), true);
+	}
+
+	/**
+	 * line and record numbers in error messages need to be shifted by the offsets of the input (e.g. of a chunk of rows)
+	 */
+	@Test
+	public void testOffsets() {
+
+		final String invalidChar = "id;title\n1;\"a\ntitle\" with an invalid char\n";
+		final String wrongNumberOfColumns = "id;title;year\n1;a title;2001\n2;a title\n";
+
+		for (final boolean useTokenizer : new boolean[] { false, true }) {
+
+			Assert.assertEquals(getErrorNumber(invalidChar, useTokenizer, 0, 0, LINE_NUMBER_PATTERN) + 100,
+					getErrorNumber(invalidChar, useTokenizer, 100, 40, LINE_NUMBER_PATTERN));
+			Assert.assertEquals(1, getErrorNumber(wrongNumberOfColumns, useTokenizer, 0, 0, RECORD_NUMBER_PATTERN));
+			Assert.assertEquals(41, getErrorNumber(wrongNumberOfColumns, useTokenizer, 100, 40, RECORD_NUMBER_PATTERN));
+		}
+	}
+
+	private static long getErrorNumber(final String csv, final boolean useTokenizer, final long lineOffset, final long recordOffset,
+	                                   final Pattern pattern) {
+
+		final CsvReader reader = new CsvReader('\\', '"', ';', "\n", 0, 0, Optional.<Integer>absent(), useTokenizer);
+		reader.setHeader(true);
+		reader.setOffsets(lineOffset, recordOffset);
+		reader.setReceiver(new EventRecorder());
+
+		try {
+
+			reader.process(new StringReader(csv));
+		} catch (final MetafactureException e) {
+
+			final Matcher matcher = pattern.matcher(e.getMessage());
+
+			Assert.assertTrue(String.format("couldn't find a line or record number in error '%s'", e.getMessage()), matcher.find());
+
+			return Long.parseLong(matcher.group(1));
+		}
+
+		Assert.fail("processing should fail");
+
+		return -1;
+	}
+
+	private static void compare(final String csv, final int ignoreLines, final int discardRows, final Optional<Integer> atMost,
+	                            final boolean hasHeader) {
+
+		final List<String> expected = read(csv, ignoreLines, discardRows, atMost, hasHeader, false);
+		final List<String> actual = read(csv, ignoreLines, discardRows, atMost, hasHeader, true);
+
+		Assert.assertFalse(expected.isEmpty());
+		Assert.assertEquals(expected, actual);
+	}
+
+	private static List<String> read(final String csv, final int ignoreLines, final int discardRows, final Optional<Integer> atMost,
+	                                 final boolean hasHeader, final boolean useTokenizer) {
+
+		final CsvReader reader = new CsvReader('\\', '"', ';', "\n", ignoreLines, discardRows, atMost, useTokenizer);
+		reader.setHeader(hasHeader);
+		reader.setDataResourceSchemaBaseURI(DATA_MODEL_SCHEMA_BASE_URI);
+
+		final EventRecorder recorder = reader.setReceiver(new EventRecorder());
+
+		try {
+
+			reader.process(new StringReader(csv));
+			reader.closeStream();
+		} catch (final MetafactureException e) {
+
+			recorder.events.add("error " + e.getMessage());
+		}
+
+		return recorder.events;
+	}
+
+	private static final class EventRecorder extends DefaultStreamReceiver {
+
+		private final List<String> events = new ArrayList<>();
+
+		@Override
+		public void startRecord(final String identifier) {
+
+			events.add("startRecord " + identifier);
+		}
+
+		@Override
+		public void endRecord() {
+
+			events.add("endRecord");
+		}
+
+		@Override
+		public void startEntity(final String name) {
+
+			events.add("startEntity " + name);
+		}
+
+		@Override
+		public void endEntity() {
+
+			events.add("endEntity");
+		}
+
+		@Override
+		public void literal(final String name, final String value) {
+
+			events.add("literal " + name + '=' + value);
+		}
+	}
+}
@@ -0,0 +1,200 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.mf.stream.reader.test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javaslang.Tuple;
+import org.culturegraph.mf.framework.DefaultStreamReceiver;
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.dswarm.converter.mf.stream.reader.GDMModelReader;
+import org.dswarm.converter.mf.stream.reader.JsonNodeReader;
+import org.dswarm.graph.json.LiteralNode;
+import org.dswarm.graph.json.Model;
+import org.dswarm.graph.json.Node;
+import org.dswarm.graph.json.Predicate;
+import org.dswarm.graph.json.Resource;
+import org.dswarm.graph.json.ResourceNode;
+import org.dswarm.persistence.model.internal.gdm.GDMModel;
+import org.dswarm.persistence.util.GDMUtil;
+
+/**
+ * Compares the stream events that are emitted by the {@link GDMModelReader} with the stream events that are emitted by the
+ * {@link JsonNodeReader} for the compact JSON representation (see {@link GDMModel#toRawJSON()}) of the same record.
+ */
+public class GDMModelReaderTest {
+
+	private static final String SCHEMA_NS        = "http://data.slub-dresden.de/resources/1/schema#";
+	private static final String RECORD_CLASS_URI = SCHEMA_NS + "RecordType";
+	private static final String RECORDS_NS       = "http://data.slub-dresden.de/records/";
+
+	private static final Predicate RDF_TYPE = new Predicate(GDMUtil.RDF_type);
+	private static final Predicate TITLE    = new Predicate(SCHEMA_NS + "title");
+	private static final Predicate SUBJECT  = new Predicate(SCHEMA_NS + "subject");
+	private static final Predicate CREATOR  = new Predicate(SCHEMA_NS + "creator");
+	private static final Predicate NAME     = new Predicate(SCHEMA_NS + "name");
+	private static final Predicate SAME_AS  = new Predicate(SCHEMA_NS + "sameAs");
+	private static final Predicate FIELD    = new Predicate(SCHEMA_NS + "field");
+	private static final Predicate VALUE    = new Predicate(SCHEMA_NS + "value");
+
+	@Test
+	public void testFlatRecord() {
+
+		final String recordURI = RECORDS_NS + "flat";
+
+		final Model model = new Model();
+		final Resource recordResource = new Resource(recordURI);
+		final ResourceNode recordResourceNode = new ResourceNode(recordURI);
+
+		recordResource.addStatement(recordResourceNode, RDF_TYPE, new ResourceNode(RECORD_CLASS_URI));
+		recordResource.addStatement(recordResourceNode, TITLE, new LiteralNode("a title"));
+		recordResource.addStatement(recordResourceNode, SUBJECT, new LiteralNode("subject 1"));
+		recordResource.addStatement(recordResourceNode, SUBJECT, new LiteralNode("subject 2"));
+		recordResource.addStatement(recordResourceNode, SAME_AS, new ResourceNode("http://example.org/flat"));
+
+		model.addResource(recordResource);
+
+		compareEvents(new GDMModel(model, recordURI, RECORD_CLASS_URI));
+	}
+
+	/**
+	 * a record with nested bnodes (incl. a bnode in a list with a literal) and a resource node with statements (in the record resource)
+	 */
+	@Test
+	public void testNestedRecord() {
+
+		final String recordURI = RECORDS_NS + "nested";
+
+		final Model model = new Model();
+		final Resource recordResource = new Resource(recordURI);
+		final ResourceNode recordResourceNode = new ResourceNode(recordURI);
+
+		recordResource.addStatement(recordResourceNode, RDF_TYPE, new ResourceNode(RECORD_CLASS_URI));
+		recordResource.addStatement(recordResourceNode, TITLE, new LiteralNode("a nested title"));
+
+		final Node field1 = new Node(1);
+		final Node field2 = new Node(2);
+		final Node field3 = new Node(3);
+
+		recordResource.addStatement(recordResourceNode, FIELD, field1);
+		recordResource.addStatement(field1, VALUE, new LiteralNode("value 1"));
+		recordResource.addStatement(field1, NAME, new LiteralNode("name 1"));
+		recordResource.addStatement(field1, FIELD, field3);
+		recordResource.addStatement(field3, VALUE, new LiteralNode("value 3"));
+
+		final ResourceNode creator = new ResourceNode(RECORDS_NS + "creators/1");
+
+		recordResource.addStatement(recordResourceNode, CREATOR, creator);
+		recordResource.addStatement(creator, NAME, new LiteralNode("a creator"));
+		recordResource.addStatement(creator, SAME_AS, new ResourceNode("http://d-nb.info/gnd/1"));
+
+		recordResource.addStatement(recordResourceNode, SUBJECT, new LiteralNode("a subject"));
+		recordResource.addStatement(recordResourceNode, SUBJECT, field2);
+		recordResource.addStatement(field2, VALUE, new LiteralNode("value 2"));
+
+		model.addResource(recordResource);
+
+		compareEvents(new GDMModel(model, recordURI, RECORD_CLASS_URI));
+	}
+
+	/**
+	 * the statements of a nested resource node are part of another resource of the GDM model (i.e. not of the record resource)
+	 */
+	@Test
+	public void testNestedResourceOfModel() {
+
+		final String recordURI = RECORDS_NS + "outer";
+		final String creatorURI = RECORDS_NS + "creators/2";
+
+		final Model model = new Model();
+		final Resource recordResource = new Resource(recordURI);
+		final ResourceNode recordResourceNode = new ResourceNode(recordURI);
+
+		recordResource.addStatement(recordResourceNode, RDF_TYPE, new ResourceNode(RECORD_CLASS_URI));
+		recordResource.addStatement(recordResourceNode, TITLE, new LiteralNode("a title"));
+		recordResource.addStatement(recordResourceNode, CREATOR, new ResourceNode(creatorURI));
+
+		final Resource creatorResource = new Resource(creatorURI);
+		final ResourceNode creatorResourceNode = new ResourceNode(creatorURI);
+
+		creatorResource.addStatement(creatorResourceNode, NAME, new LiteralNode("another creator"));
+
+		model.addResource(recordResource);
+		model.addResource(creatorResource);
+
+		final List<String> gdmModelReaderEvents = compareEvents(new GDMModel(model, recordURI, RECORD_CLASS_URI));
+
+		Assert.assertTrue(gdmModelReaderEvents.contains("literal " + NAME.getUri() + "=another creator"));
+	}
+
+	private static List<String> compareEvents(final GDMModel gdmModel) {
+
+		final String recordURI = gdmModel.getRecordURIs().iterator().next();
+
+		final EventRecorder expected = new EventRecorder();
+		final JsonNodeReader jsonNodeReader = new JsonNodeReader();
+		jsonNodeReader.setReceiver(expected);
+		jsonNodeReader.process(Tuple.of(recordURI, gdmModel.toRawJSON()));
+
+		final EventRecorder actual = new EventRecorder();
+		final GDMModelReader gdmModelReader = new GDMModelReader();
+		gdmModelReader.setReceiver(actual);
+		gdmModelReader.process(gdmModel);
+
+		Assert.assertFalse(expected.events.isEmpty());
+		Assert.assertEquals(expected.events, actual.events);
+
+		return actual.events;
+	}
+
+	private static final class EventRecorder extends DefaultStreamReceiver {
+
+		private final List<String> events = new ArrayList<>();
+
+		@Override
+		public void startRecord(final String identifier) {
+
+			events.add("startRecord " + identifier);
+		}
+
+		@Override
+		public void endRecord() {
+
+			events.add("endRecord");
+		}
+
+		@Override
+		public void startEntity(final String name) {
+
+			events.add("startEntity " + name);
+		}
+
+		@Override
+		public void endEntity() {
+
+			events.add("endEntity");
+		}
+
+		@Override
+		public void literal(final String name, final String value) {
+
+			events.add("literal " + name + '=' + value);
+		}
+	}
+}
@@ -0,0 +1,198 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.mf.stream.source;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Note: this test is located in the package of the {@link MappedFileReader} to be able to utilise tiny windows, i.e., windows that split
+ * multi-byte sequences.
+ *
+ * @author tgaengler
+ */
+public class MappedFileReaderTest {
+
+	private static final byte[] UTF8_BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+
+	// 1-, 2-, 3- and 4-byte sequences (the last one is a surrogate pair)
+	private static final String CONTENT = "a,ä\n€;😀x\"ß\r\n";
+
+	private static final int MAX_WINDOW_SIZE = 9;
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testWindowsThatSplitMultiByteSequences() throws IOException {
+
+		final byte[] bytes = repeat(CONTENT, 5).getBytes(StandardCharsets.UTF_8);
+		final Path file = createFile(bytes);
+
+		for (int windowSize = 1; windowSize <= MAX_WINDOW_SIZE; windowSize++) {
+
+			final AtomicLong bytesRead = new AtomicLong(0);
+
+			Assert.assertEquals("window size " + windowSize, repeat(CONTENT, 5), read(file, StandardCharsets.UTF_8, bytesRead, windowSize, 7));
+			Assert.assertEquals("all bytes should be counted (window size " + windowSize + ")", bytes.length, bytesRead.get());
+		}
+	}
+
+	@Test
+	public void testSingleCharReads() throws IOException {
+
+		final Path file = createFile(CONTENT.getBytes(StandardCharsets.UTF_8));
+
+		for (int windowSize = 1; windowSize <= MAX_WINDOW_SIZE; windowSize++) {
+
+			// note: reads of a single char will be served from the pending chars (incl. the second half of a surrogate pair)
+			Assert.assertEquals("window size " + windowSize, CONTENT, read(file, StandardCharsets.UTF_8, new AtomicLong(0), windowSize, 1));
+
+			try (final MappedFileReader reader = new MappedFileReader(file, StandardCharsets.UTF_8, new AtomicLong(0), windowSize)) {
+
+				final StringBuilder sb = new StringBuilder();
+
+				int c;
+
+				while ((c = reader.read()) != -1) {
+
+					sb.append((char) c);
+				}
+
+				Assert.assertEquals("window size " + windowSize, CONTENT, sb.toString());
+			}
+		}
+	}
+
+	@Test
+	public void testBOM() throws IOException {
+
+		final byte[] content = CONTENT.getBytes(StandardCharsets.UTF_8);
+		final Path file = createFile(UTF8_BOM, content);
+
+		for (int windowSize = 1; windowSize <= MAX_WINDOW_SIZE; windowSize++) {
+
+			final AtomicLong bytesRead = new AtomicLong(0);
+
+			Assert.assertEquals("the BOM should be skipped (window size " + windowSize + ")", CONTENT,
+					read(file, StandardCharsets.UTF_8, bytesRead, windowSize, 7));
+			Assert.assertEquals("the BOM should be counted as read", UTF8_BOM.length + content.length, bytesRead.get());
+		}
+
+		// only UTF-8 BOMs of UTF-8 files will be skipped
+		Assert.assertEquals(new String(UTF8_BOM, StandardCharsets.ISO_8859_1) + new String(content, StandardCharsets.ISO_8859_1),
+				read(file, StandardCharsets.ISO_8859_1, new AtomicLong(0), 2, 7));
+	}
+
+	@Test
+	public void testEmptyFile() throws IOException {
+
+		final Path emptyFile = createFile(new byte[0]);
+		final Path bomOnlyFile = createFile(UTF8_BOM);
+
+		for (final Path file : new Path[] { emptyFile, bomOnlyFile }) {
+
+			final AtomicLong bytesRead = new AtomicLong(0);
+
+			try (final MappedFileReader reader = new MappedFileReader(file, StandardCharsets.UTF_8, bytesRead, 2)) {
+
+				Assert.assertEquals(-1, reader.read(new char[8], 0, 8));
+				Assert.assertEquals(-1, reader.read());
+				Assert.assertEquals(0, reader.read(new char[8], 0, 0));
+			}
+
+			Assert.assertEquals(Files.size(file), bytesRead.get());
+		}
+	}
+
+	@Test
+	public void testMalformedInput() throws IOException {
+
+		// an invalid byte in the middle and an incomplete 3-byte sequence at the end
+		final byte[] bytes = { 'a', (byte) 0xFF, 'b', (byte) 0xE2, (byte) 0x82 };
+		final Path file = createFile(bytes);
+		final String expected = new String(bytes, StandardCharsets.UTF_8);
+
+		for (int windowSize = 1; windowSize <= MAX_WINDOW_SIZE; windowSize++) {
+
+			Assert.assertEquals("malformed input should be replaced (window size " + windowSize + ")", expected,
+					read(file, StandardCharsets.UTF_8, new AtomicLong(0), windowSize, 7));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidWindowSize() throws IOException {
+
+		new MappedFileReader(createFile(CONTENT.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, new AtomicLong(0), 0);
+	}
+
+	private Path createFile(final byte[]... parts) throws IOException {
+
+		final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+
+		for (final byte[] part : parts) {
+
+			bos.write(part);
+		}
+
+		final Path file = temporaryFolder.newFile().toPath();
+
+		Files.write(file, bos.toByteArray());
+
+		return file;
+	}
+
+	private static String read(final Path file, final Charset charset, final AtomicLong bytesRead, final int windowSize, final int bufferSize)
+			throws IOException {
+
+		final StringBuilder sb = new StringBuilder();
+		final char[] buffer = new char[bufferSize];
+
+		try (final MappedFileReader reader = new MappedFileReader(file, charset, bytesRead, windowSize)) {
+
+			int read;
+
+			while ((read = reader.read(buffer, 0, bufferSize)) != -1) {
+
+				sb.append(buffer, 0, read);
+			}
+		}
+
+		return sb.toString();
+	}
+
+	private static String repeat(final String value, final int times) {
+
+		final StringBuilder sb = new StringBuilder();
+
+		for (int i = 0; i < times; i++) {
+
+			sb.append(value);
+		}
+
+		return sb.toString();
+	}
+}
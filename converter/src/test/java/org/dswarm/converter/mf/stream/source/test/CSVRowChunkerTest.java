@@ -0,0 +1,344 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.mf.stream.source.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.base.Optional;
+import org.culturegraph.mf.framework.DefaultStreamReceiver;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.dswarm.converter.mf.stream.reader.CsvReader;
+import org.dswarm.converter.mf.stream.source.CSVChunk;
+import org.dswarm.converter.mf.stream.source.CSVRowChunker;
+
+/**
+ * Splits CSV resources into chunks (at all possible chunk sizes) and compares the records of the chunks (parsed on their own) with the
+ * records of the whole resource.
+ */
+public class CSVRowChunkerTest {
+
+	private static final String HEADER = "id;title;year\n";
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testSimpleRows() throws Exception {
+
+		final String csv = HEADER
+				+ "1;a title;2001\n"
+				+ "2;another title;2002\n"
+				+ "3;a third title;2003\n";
+
+		testAllChunkSizes(csv, 0, 0, true, 3);
+	}
+
+	/**
+	 * quoted values with line breaks, i.e., most chunk boundaries would be located within these values, if the chunker wouldn't know
+	 * about quotes
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testQuotedLineBreaks() throws Exception {
+
+		final String csv = HEADER
+				+ "1;\"a title\nwith a line break\";2001\n"
+				+ "2;\"a title\r\nwith a CRLF line break\";2002\n"
+				+ "3;\"a \"\"quoted\"\"\n\ntitle with two line breaks\";2003\n"
+				+ "4;\"\n\";2004\n"
+				+ "5;\"a title with an escaped \\\" quote\nand a line break\";2005\n"
+				+ "6;\"a title; with a column delimiter\n\";2006\n";
+
+		testAllChunkSizes(csv, 0, 0, true, 6);
+	}
+
+	@Test
+	public void testEmptyLinesAndLineBreakVariants() throws Exception {
+
+		final String csv = "id;title;year\r\n"
+				+ "1;a title;2001\r\n"
+				+ "\r\n"
+				+ "2;\"a title\r\nwith a line break\";2002\n"
+				+ "\n"
+				+ "   \n"
+				+ "3;a third title;2003\r"
+				+ "4;a fourth title;2004";
+
+		testAllChunkSizes(csv, 0, 0, true, 4);
+	}
+
+	@Test
+	public void testIgnoreLinesAndDiscardRows() throws Exception {
+
+		final String csv = "some preamble\n"
+				+ "another preamble line\n"
+				+ HEADER
+				+ "0;\"a discarded\nrow\";2000\n"
+				+ "1;\"a title\nwith a line break\";2001\n"
+				+ "2;another title;2002\n"
+				+ "3;a third title;2003\n";
+
+		testAllChunkSizes(csv, 2, 1, true, 3);
+	}
+
+	@Test
+	public void testWithoutHeader() throws Exception {
+
+		final String csv = "1;\"a title\nwith a line break\";2001\n"
+				+ "2;another title;2002\n"
+				+ "3;a third title;2003\n";
+
+		testAllChunkSizes(csv, 0, 0, false, 3);
+	}
+
+	/**
+	 * every chunk (except for the first one) needs to be prefixed with the header row (incl. quoted line breaks of the header row)
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testHeaderPrefix() throws Exception {
+
+		final String header = "\"id\";\"a multi-line\ntitle\";year\n";
+		final String csv = "a preamble\n"
+				+ header
+				+ "0;a discarded row;2000\n"
+				+ "1;a title;2001\n"
+				+ "2;another title;2002\n"
+				+ "3;a third title;2003\n";
+
+		final Path resource = write(csv);
+
+		final List<CSVChunk> chunks = split(resource, 1, 1, true, 1);
+
+		Assert.assertEquals(3, chunks.size());
+
+		final byte[] bytes = Files.readAllBytes(resource);
+
+		for (final CSVChunk chunk : chunks) {
+
+			final String content = new String(read(chunk.openStream()), StandardCharsets.UTF_8);
+			final String rows = new String(Arrays.copyOfRange(bytes, (int) chunk.getStart(), (int) chunk.getEnd()), StandardCharsets.UTF_8);
+
+			if (chunk.isFirst()) {
+
+				Assert.assertEquals(0, chunk.getStart());
+				Assert.assertEquals(rows, content);
+				Assert.assertTrue(content.startsWith("a preamble\n" + header));
+			} else {
+
+				Assert.assertEquals(header + rows, content);
+			}
+		}
+
+		testAllChunkSizes(csv, 1, 1, true, 3);
+	}
+
+	/**
+	 * Splits the given CSV at all possible chunk sizes and compares the records of the chunks with the records of the whole CSV (for both CSV
+	 * parser engines).
+	 */
+	private void testAllChunkSizes(final String csv, final int ignoreLines, final int discardRows, final boolean hasHeader,
+			final int expectedNumberOfRecords) throws Exception {
+
+		final Path resource = write(csv);
+		final byte[] bytes = Files.readAllBytes(resource);
+
+		for (final boolean useTokenizer : new boolean[] { false, true }) {
+
+			final List<String> expected = readRecords(new ByteArrayInputStream(bytes), ignoreLines, discardRows, hasHeader, useTokenizer, 0);
+
+			Assert.assertEquals(expectedNumberOfRecords, expected.size());
+
+			for (int chunkSize = 1; chunkSize <= bytes.length + 1; chunkSize++) {
+
+				final List<CSVChunk> chunks = split(resource, ignoreLines, discardRows, hasHeader, chunkSize);
+
+				final List<String> actual = new ArrayList<>();
+
+				for (final CSVChunk chunk : chunks) {
+
+					Assert.assertEquals(String.format("record offset of %s", chunk), actual.size(), chunk.getRecordOffset());
+
+					assertLineOffset(bytes, chunk);
+
+					// note: record identifiers will be renumbered via record offset
+					actual.addAll(readRecords(chunk.openStream(), chunk.isFirst() ? ignoreLines : 0, chunk.isFirst() ? discardRows : 0,
+							hasHeader, useTokenizer, chunk.getRecordOffset()));
+				}
+
+				Assert.assertEquals(String.format("records differ at chunk size '%d'", chunkSize), expected, actual);
+
+				if (chunkSize == 1) {
+
+					// one record per chunk
+					Assert.assertEquals(expectedNumberOfRecords, chunks.size());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks that the line number of every byte in the chunk (incl. header row prefix) plus the line offset of the chunk is the line number
+	 * of this byte in the resource.
+	 */
+	private static void assertLineOffset(final byte[] bytes, final CSVChunk chunk) throws Exception {
+
+		final byte[] content = read(chunk.openStream());
+		final int prefixLength = content.length - (int) (chunk.getEnd() - chunk.getStart());
+
+		final long[] resourceLines = lineNumbers(bytes);
+		final long[] chunkLines = lineNumbers(content);
+
+		for (int i = prefixLength; i < content.length; i++) {
+
+			final int position = (int) chunk.getStart() + i - prefixLength;
+
+			if (position > 0 && bytes[position] == '\n' && bytes[position - 1] == '\r') {
+
+				// the LF of a CRLF line break doesn't belong to any line on its own
+				continue;
+			}
+
+			Assert.assertEquals(String.format("line number of byte '%d' of %s", i, chunk), resourceLines[position],
+					chunkLines[i] + chunk.getLineOffset());
+		}
+	}
+
+	/**
+	 * Determines the line number of every byte (cf. line numbers of the CSV parsers, i.e., a line break belongs to the line that it
+	 * terminates).
+	 */
+	private static long[] lineNumbers(final byte[] bytes) {
+
+		final long[] lineNumbers = new long[bytes.length];
+		long line = 1;
+		byte previous = 0;
+
+		for (int i = 0; i < bytes.length; i++) {
+
+			lineNumbers[i] = line;
+
+			if (bytes[i] == '\r' || (bytes[i] == '\n' && previous != '\r')) {
+
+				line++;
+			}
+
+			previous = bytes[i];
+		}
+
+		return lineNumbers;
+	}
+
+	private Path write(final String csv) throws Exception {
+
+		final Path resource = temporaryFolder.newFile().toPath();
+
+		Files.write(resource, csv.getBytes(StandardCharsets.UTF_8));
+
+		return resource;
+	}
+
+	private static List<CSVChunk> split(final Path resource, final int ignoreLines, final int discardRows, final boolean hasHeader,
+			final long chunkSize) throws Exception {
+
+		final List<CSVChunk> chunks = new ArrayList<>();
+
+		new CSVRowChunker('\\', '"', ';', ignoreLines, discardRows, hasHeader, chunkSize).split(resource, chunks::add);
+
+		return chunks;
+	}
+
+	private static List<String> readRecords(final InputStream inputStream, final int ignoreLines, final int discardRows,
+			final boolean hasHeader, final boolean useTokenizer, final long recordOffset) throws Exception {
+
+		final CsvReader reader = new CsvReader('\\', '"', ';', "\n", ignoreLines, discardRows, Optional.<Integer>absent(), useTokenizer);
+		reader.setHeader(hasHeader);
+
+		final RecordCollector collector = reader.setReceiver(new RecordCollector(recordOffset));
+
+		try (final InputStream is = inputStream) {
+
+			reader.process(new InputStreamReader(is, StandardCharsets.UTF_8));
+			reader.closeStream();
+		}
+
+		return collector.records;
+	}
+
+	private static byte[] read(final InputStream inputStream) throws Exception {
+
+		try (final InputStream is = inputStream) {
+
+			final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[1024];
+			int read;
+
+			while ((read = is.read(buffer)) > 0) {
+
+				baos.write(buffer, 0, read);
+			}
+
+			return baos.toByteArray();
+		}
+	}
+
+	private static final class RecordCollector extends DefaultStreamReceiver {
+
+		private final List<String> records = new ArrayList<>();
+
+		private final long recordOffset;
+
+		private StringBuilder record;
+
+		private RecordCollector(final long recordOffsetArg) {
+
+			recordOffset = recordOffsetArg;
+		}
+
+		@Override
+		public void startRecord(final String identifier) {
+
+			record = new StringBuilder().append(Long.parseLong(identifier) + recordOffset).append(':');
+		}
+
+		@Override
+		public void endRecord() {
+
+			records.add(record.toString());
+		}
+
+		@Override
+		public void literal(final String name, final String value) {
+
+			record.append(' ').append(name).append('=').append(value);
+		}
+	}
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.mf.stream.source.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.io.CharStreams;
+import com.google.common.io.Resources;
+import org.culturegraph.mf.exceptions.MetafactureException;
+import org.culturegraph.mf.framework.DefaultObjectReceiver;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.dswarm.converter.mf.stream.source.MappedFileReader;
+import org.dswarm.converter.mf.stream.source.MappedResourceOpener;
+
+/**
+ * @author tgaengler
+ */
+public class MappedResourceOpenerTest {
+
+	private static final byte[] UTF8_BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+
+	private static final String CONTENT = "id;name\n1;Käthe\n2;€ 😀\n";
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testMappedFile() throws IOException {
+
+		final File file = temporaryFolder.newFile("test.csv");
+		final byte[] content = CONTENT.getBytes(StandardCharsets.UTF_8);
+
+		Files.write(file.toPath(), concat(UTF8_BOM, content));
+
+		final MappedResourceOpener opener = new MappedResourceOpener();
+		final List<String> contents = process(opener, file.getAbsolutePath());
+
+		Assert.assertEquals(1, contents.size());
+		Assert.assertEquals("the BOM should be skipped", CONTENT, contents.get(0));
+		Assert.assertEquals(UTF8_BOM.length + content.length, opener.getBytesTotal());
+		Assert.assertEquals(opener.getBytesTotal(), opener.getBytesRead());
+
+		// the counters sum up the bytes of all opened files
+		process(opener, file.getAbsolutePath());
+
+		Assert.assertEquals(2 * (UTF8_BOM.length + content.length), opener.getBytesTotal());
+		Assert.assertEquals(opener.getBytesTotal(), opener.getBytesRead());
+	}
+
+	@Test
+	public void testEncoding() throws IOException {
+
+		final File file = temporaryFolder.newFile("test-latin1.csv");
+
+		Files.write(file.toPath(), "1;Käthe\n".getBytes(StandardCharsets.ISO_8859_1));
+
+		final MappedResourceOpener opener = new MappedResourceOpener();
+		opener.setEncoding("ISO-8859-1");
+
+		Assert.assertEquals("1;Käthe\n", process(opener, file.getAbsolutePath()).get(0));
+	}
+
+	@Test
+	public void testClassPathResource() throws IOException {
+
+		final String expected = Resources.toString(Resources.getResource("demo.csv"), StandardCharsets.UTF_8);
+
+		final MappedResourceOpener opener = new MappedResourceOpener();
+		final List<String> contents = process(opener, "demo.csv");
+
+		Assert.assertEquals(1, contents.size());
+		Assert.assertEquals(expected, contents.get(0));
+
+		// only memory-mapped files will be counted
+		Assert.assertEquals(0, opener.getBytesTotal());
+		Assert.assertEquals(0, opener.getBytesRead());
+	}
+
+	@Test
+	public void testIsMappable() throws IOException {
+
+		final File file = temporaryFolder.newFile("test.csv");
+		final File compressedFile = temporaryFolder.newFile("test.csv.gz");
+
+		Assert.assertTrue(MappedResourceOpener.isMappable(file.getAbsolutePath()));
+		Assert.assertFalse("compressed files can't be decoded directly", MappedResourceOpener.isMappable(compressedFile.getAbsolutePath()));
+		Assert.assertFalse("directories aren't mappable", MappedResourceOpener.isMappable(temporaryFolder.getRoot().getAbsolutePath()));
+		Assert.assertFalse(MappedResourceOpener.isMappable(new File(temporaryFolder.getRoot(), "missing.csv").getAbsolutePath()));
+		Assert.assertFalse(MappedResourceOpener.isMappable("demo.csv"));
+		Assert.assertFalse(MappedResourceOpener.isMappable(null));
+	}
+
+	@Test(expected = MetafactureException.class)
+	public void testMissingResource() {
+
+		process(new MappedResourceOpener(), new File(temporaryFolder.getRoot(), "missing.csv").getAbsolutePath());
+	}
+
+	private static List<String> process(final MappedResourceOpener opener, final String resource) {
+
+		final List<String> contents = new ArrayList<>();
+
+		opener.setReceiver(new DefaultObjectReceiver<Reader>() {
+
+			@Override
+			public void process(final Reader reader) {
+
+				if ("demo.csv".equals(resource)) {
+
+					Assert.assertFalse("class path resources should be opened as streams", reader instanceof MappedFileReader);
+				} else {
+
+					Assert.assertTrue("files should be memory-mapped", reader instanceof MappedFileReader);
+				}
+
+				try {
+
+					contents.add(CharStreams.toString(reader));
+				} catch (final IOException e) {
+
+					throw new MetafactureException(e);
+				}
+			}
+		});
+
+		opener.process(resource);
+
+		return contents;
+	}
+
+	private static byte[] concat(final byte[] first, final byte[] second) {
+
+		final byte[] result = new byte[first.length + second.length];
+
+		System.arraycopy(first, 0, result, 0, first.length);
+		System.arraycopy(second, 0, result, first.length, second.length);
+
+		return result;
+	}
+}
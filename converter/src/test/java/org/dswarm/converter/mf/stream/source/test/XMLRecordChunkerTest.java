@@ -0,0 +1,289 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.mf.stream.source.test;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.dswarm.converter.mf.stream.source.XMLChunk;
+import org.dswarm.converter.mf.stream.source.XMLRecordChunker;
+
+/**
+ * Splits XML resources into chunks and compares the records of the chunks (parsed on their own) with the records of the whole resource.
+ */
+public class XMLRecordChunkerTest {
+
+	private static final String RECORD_TAG = "record";
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testSimpleRecords() throws Exception {
+
+		final String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+				+ "<root>\n"
+				+ "  <record><id>1</id></record>\n"
+				+ "  <record><id>2</id></record>\n"
+				+ "  <record/>\n"
+				+ "  <record id=\"4\" />\n"
+				+ "</root>\n";
+
+		testAllChunkSizes(xml, 4);
+	}
+
+	@Test
+	public void testIgnoredMarkup() throws Exception {
+
+		final String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+				+ "<!DOCTYPE root [\n"
+				+ "  <!ELEMENT record ANY>\n"
+				+ "  <!ENTITY recordEntity \"<record>an entity</record>\">\n"
+				+ "]>\n"
+				+ "<root>\n"
+				+ "  <!-- <record><id>comment</id></record> -->\n"
+				+ "  <?pi <record><id>processing instruction</id></record> ?>\n"
+				+ "  <record><id>1</id><![CDATA[<record>cdata</record>]]></record>\n"
+				+ "  <record><!-- </record> --><id>2</id><?pi </record>?></record>\n"
+				+ "  <record attribute=\"a value with a > and a /record>\" other='a > b'><id>3</id></record>\n"
+				+ "</root>\n";
+
+		testAllChunkSizes(xml, 3);
+	}
+
+	@Test
+	public void testNestedRecordTags() throws Exception {
+
+		final String xml = "<root>\n"
+				+ "  <record><id>1</id><record><id>1.1</id><record><id>1.1.1</id></record></record></record>\n"
+				+ "  <record><record/><id>2</id></record>\n"
+				+ "  <other><record><id>3</id></record></other>\n"
+				+ "</root>\n";
+
+		testAllChunkSizes(xml, 3);
+	}
+
+	@Test
+	public void testPrefixedRecordTags() throws Exception {
+
+		final String xml = "<r:root xmlns:r=\"urn:records\">\n"
+				+ "  <r:record><r:id>1</r:id></r:record>\n"
+				+ "  <r:record><r:id>2</r:id></r:record>\n"
+				+ "</r:root>\n";
+
+		testAllChunkSizes(xml, 2);
+	}
+
+	/**
+	 * namespaces that are declared at ancestors of later records (i.e. after the first record)
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testNamespacesDeclaredAfterFirstRecord() throws Exception {
+
+		final String xml = "<root xmlns:a=\"urn:a\">\n"
+				+ "  <group xmlns:b=\"urn:b1\"><record><a:id>1</a:id><b:value>1</b:value></record></group>\n"
+				+ "  <group xmlns:b=\"urn:b1\"><record><a:id>2</a:id><b:value>2</b:value></record></group>\n"
+				+ "  <group xmlns:b=\"urn:b2\"><record><a:id>3</a:id><b:value>3</b:value></record></group>\n"
+				+ "  <group title=\"xmlns:b='urn:b3'\" xmlns=\"urn:default\"><record><id>4</id></record>\n"
+				+ "    <group xmlns:a=\"urn:a2\"><record><a:id>5</a:id></record></group>\n"
+				+ "  </group>\n"
+				+ "  <record><a:id>6</a:id></record>\n"
+				+ "</root>\n";
+
+		final Path resource = write(xml);
+
+		final List<String> expected = readRecords(Files.newInputStream(resource), false);
+
+		Assert.assertEquals(6, expected.size());
+		Assert.assertTrue(expected.get(2).contains("{urn:b2}value"));
+		Assert.assertTrue(expected.get(3).contains("{urn:default}id"));
+		Assert.assertTrue(expected.get(4).contains("{urn:a2}id"));
+
+		final List<XMLChunk> chunks = split(resource, Long.MAX_VALUE);
+
+		// note: a new chunk will be started, whenever the namespace declarations in scope change (records 1 + 2 share their namespace
+		// declarations)
+		Assert.assertEquals(5, chunks.size());
+		Assert.assertEquals(expected, readRecords(chunks));
+
+		testAllChunkSizes(xml, 6);
+	}
+
+	private void testAllChunkSizes(final String xml, final int expectedNumberOfRecords) throws Exception {
+
+		final Path resource = write(xml);
+
+		final List<String> expected = readRecords(Files.newInputStream(resource), false);
+
+		Assert.assertEquals(expectedNumberOfRecords, expected.size());
+
+		// note: the chunk boundaries will be located within the records for most of the chunk sizes
+		for (int chunkSize = 1; chunkSize <= xml.length() + 1; chunkSize++) {
+
+			final List<XMLChunk> chunks = split(resource, chunkSize);
+
+			Assert.assertFalse(chunks.isEmpty());
+			Assert.assertEquals(String.format("records differ at chunk size '%d'", chunkSize), expected, readRecords(chunks));
+		}
+
+		// one record per chunk
+		Assert.assertEquals(expectedNumberOfRecords, split(resource, 1).size());
+	}
+
+	private Path write(final String xml) throws Exception {
+
+		final Path resource = temporaryFolder.newFile().toPath();
+
+		Files.write(resource, xml.getBytes(StandardCharsets.UTF_8));
+
+		return resource;
+	}
+
+	private static List<XMLChunk> split(final Path resource, final long chunkSize) throws Exception {
+
+		final List<XMLChunk> chunks = new ArrayList<>();
+
+		new XMLRecordChunker(RECORD_TAG, chunkSize).split(resource, chunks::add);
+
+		return chunks;
+	}
+
+	private static List<String> readRecords(final List<XMLChunk> chunks) throws Exception {
+
+		final List<String> records = new ArrayList<>();
+
+		for (final XMLChunk chunk : chunks) {
+
+			records.addAll(readRecords(chunk.openStream(), true));
+		}
+
+		return records;
+	}
+
+	/**
+	 * Reads the (outermost) records of the given XML document, i.e., serialises their elements (incl. namespace URIs), attributes and
+	 * text.
+	 *
+	 * @param inputStream an XML document
+	 * @param isChunk     true, if the XML document is a chunk, i.e., all records need to be direct children of the root element
+	 * @return the serialised records
+	 * @throws Exception
+	 */
+	private static List<String> readRecords(final InputStream inputStream, final boolean isChunk) throws Exception {
+
+		final XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+
+		final List<String> records = new ArrayList<>();
+
+		try (final InputStream is = inputStream) {
+
+			final XMLStreamReader reader = factory.createXMLStreamReader(is, StandardCharsets.UTF_8.name());
+
+			StringBuilder record = null;
+			int depth = 0;
+			int recordDepth = 0;
+
+			while (reader.hasNext()) {
+
+				final int event = reader.next();
+
+				switch (event) {
+
+					case XMLStreamConstants.START_ELEMENT:
+
+						depth++;
+
+						if (record == null && RECORD_TAG.equals(reader.getLocalName())) {
+
+							if (isChunk) {
+
+								Assert.assertEquals("records need to be direct children of the chunk root element", 2, depth);
+							}
+
+							record = new StringBuilder();
+							recordDepth = depth;
+						}
+
+						if (record != null) {
+
+							record.append("<{").append(reader.getNamespaceURI() != null ? reader.getNamespaceURI() : "").append('}')
+									.append(reader.getLocalName());
+
+							for (int i = 0; i < reader.getAttributeCount(); i++) {
+
+								record.append(' ').append(reader.getAttributeLocalName(i)).append("=\"").append(reader.getAttributeValue(i))
+										.append('"');
+							}
+
+							record.append('>');
+						}
+
+						break;
+					case XMLStreamConstants.END_ELEMENT:
+
+						if (record != null) {
+
+							record.append("</>");
+
+							if (depth == recordDepth) {
+
+								records.add(record.toString());
+								record = null;
+							}
+						}
+
+						depth--;
+
+						break;
+					case XMLStreamConstants.CHARACTERS:
+					case XMLStreamConstants.CDATA:
+
+						if (record != null) {
+
+							record.append(reader.getText());
+						}
+
+						break;
+					default:
+
+						break;
+				}
+			}
+
+			reader.close();
+		}
+
+		return records;
+	}
+
+}
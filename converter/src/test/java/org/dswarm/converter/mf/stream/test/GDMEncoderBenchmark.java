@@ -0,0 +1,153 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.mf.stream.test;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.culturegraph.mf.framework.DefaultStreamPipe;
+import org.culturegraph.mf.framework.ObjectReceiver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.dswarm.converter.mf.stream.GDMEncoder;
+import org.dswarm.persistence.model.internal.gdm.GDMModel;
+
+/**
+ * A simple benchmark harness that compares the throughput of the {@link GDMEncoder} with the throughput of its former implementation
+ * (see {@link LegacyGDMEncoder}). The stream events are generated on the fly, i.e., the benchmark measures the encoding only. Every
+ * record consists of some record level literals (incl. repeated ones) and some (nested) entities with literals, i.e., similar to the
+ * output of a transformation.
+ * <p>
+ * Usage: GDMEncoderBenchmark [number of records (default = 1000000)] [number of runs per encoder (default = 3)]
+ */
+public final class GDMEncoderBenchmark {
+
+	private static final Logger LOG = LoggerFactory.getLogger(GDMEncoderBenchmark.class);
+
+	private static final int DEFAULT_NUMBER_OF_RECORDS = 1000000;
+	private static final int DEFAULT_NUMBER_OF_RUNS    = 3;
+
+	private static final String RECORD_BASE_URI = "http://data.slub-dresden.de/records/";
+	private static final String TERM_BASE_URI   = "http://data.slub-dresden.de/resources/1/schema#";
+
+	private static final String TITLE       = TERM_BASE_URI + "title";
+	private static final String SUBJECT     = TERM_BASE_URI + "subject";
+	private static final String YEAR        = TERM_BASE_URI + "year";
+	private static final String CONTRIBUTOR = TERM_BASE_URI + "contributor";
+	private static final String NAME        = TERM_BASE_URI + "name";
+	private static final String ROLE        = TERM_BASE_URI + "role";
+	private static final String IDENTIFIER  = TERM_BASE_URI + "identifier";
+	private static final String VALUE       = TERM_BASE_URI + "value";
+
+	private static final int NUMBER_OF_SUBJECTS     = 5;
+	private static final int NUMBER_OF_CONTRIBUTORS = 3;
+
+	private GDMEncoderBenchmark() {
+
+	}
+
+	public static void main(final String[] args) {
+
+		final int numberOfRecords = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUMBER_OF_RECORDS;
+		final int numberOfRuns = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_NUMBER_OF_RUNS;
+
+		LOG.info("benchmark GDM encoders with '{}' records and '{}' runs per encoder", numberOfRecords, numberOfRuns);
+
+		for (int i = 1; i <= numberOfRuns; i++) {
+
+			run("legacy", new LegacyGDMEncoder(Optional.empty()), numberOfRecords, i);
+			run("current", new GDMEncoder(Optional.empty()), numberOfRecords, i);
+		}
+	}
+
+	private static void run(final String encoderName, final DefaultStreamPipe<ObjectReceiver<GDMModel>> encoder, final int numberOfRecords,
+	                        final int run) {
+
+		final CountingReceiver receiver = encoder.setReceiver(new CountingReceiver());
+
+		final long start = System.nanoTime();
+
+		for (int i = 0; i < numberOfRecords; i++) {
+
+			emitRecord(encoder, i);
+		}
+
+		encoder.closeStream();
+
+		final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		if (receiver.records != numberOfRecords) {
+
+			throw new IllegalStateException(String.format("encoder '%s' emitted %d records, expected %d records", encoderName, receiver.records,
+					numberOfRecords));
+		}
+
+		LOG.info("run '{}' of encoder '{}': '{}' records with '{}' statements in '{}' ms ('{}' records/s)", run, encoderName, receiver.records,
+				receiver.statements, elapsed, elapsed > 0 ? receiver.records * 1000L / elapsed : receiver.records);
+	}
+
+	private static void emitRecord(final DefaultStreamPipe<ObjectReceiver<GDMModel>> encoder, final int record) {
+
+		encoder.startRecord(RECORD_BASE_URI + record);
+
+		encoder.literal(TITLE, "a title " + record);
+		encoder.literal(YEAR, String.valueOf(1900 + record % 120));
+
+		for (int i = 0; i < NUMBER_OF_SUBJECTS; i++) {
+
+			encoder.literal(SUBJECT, "subject " + (record + i) % 1000);
+		}
+
+		for (int i = 0; i < NUMBER_OF_CONTRIBUTORS; i++) {
+
+			encoder.startEntity(CONTRIBUTOR);
+			encoder.literal(NAME, "contributor " + (record + i) % 10000);
+			encoder.literal(ROLE, i == 0 ? "author" : "editor");
+
+			encoder.startEntity(IDENTIFIER);
+			encoder.literal(VALUE, "gnd-" + (record + i) % 10000);
+			encoder.endEntity();
+
+			encoder.endEntity();
+		}
+
+		encoder.endRecord();
+	}
+
+	private static final class CountingReceiver implements ObjectReceiver<GDMModel> {
+
+		private long records    = 0;
+		private long statements = 0;
+
+		@Override
+		public void process(final GDMModel gdmModel) {
+
+			records++;
+			statements += gdmModel.getModel().size();
+		}
+
+		@Override
+		public void resetStream() {
+
+		}
+
+		@Override
+		public void closeStream() {
+
+		}
+	}
+}
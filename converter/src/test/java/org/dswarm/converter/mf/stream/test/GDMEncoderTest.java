@@ -0,0 +1,162 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.converter.mf.stream.test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.culturegraph.mf.framework.DefaultObjectReceiver;
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.dswarm.converter.mf.stream.GDMEncoder;
+import org.dswarm.graph.json.NodeType;
+import org.dswarm.graph.json.Resource;
+import org.dswarm.graph.json.Statement;
+import org.dswarm.persistence.model.internal.gdm.GDMModel;
+
+/**
+ * Checks that the per-record state of the {@link GDMEncoder}, i.e., statement orders and entity bnodes, is reset at the beginning of each
+ * record.
+ *
+ * @author tgaengler
+ */
+public class GDMEncoderTest {
+
+	private static final String RECORD_1 = "http://data.slub-dresden.de/records/1";
+	private static final String RECORD_2 = "http://data.slub-dresden.de/records/2";
+
+	private static final String TITLE   = "http://purl.org/dc/terms/title";
+	private static final String CREATOR = "http://purl.org/dc/terms/creator";
+	private static final String NAME    = "http://xmlns.com/foaf/0.1/name";
+
+	@Test
+	public void testStatementOrderAndBNodesArePerRecord() {
+
+		final List<GDMModel> gdmModels = new ArrayList<>();
+
+		final GDMEncoder encoder = new GDMEncoder(Optional.empty());
+		encoder.setReceiver(new DefaultObjectReceiver<GDMModel>() {
+
+			@Override
+			public void process(final GDMModel gdmModel) {
+
+				gdmModels.add(gdmModel);
+			}
+		});
+
+		encoder.startRecord(RECORD_1);
+		encoder.literal(TITLE, "a");
+		encoder.literal(TITLE, "b");
+		encoder.startEntity(CREATOR);
+		encoder.literal(NAME, "x");
+		encoder.literal(NAME, "y");
+		encoder.endEntity();
+		encoder.startEntity(CREATOR);
+		encoder.literal(NAME, "z");
+		encoder.endEntity();
+		encoder.endRecord();
+
+		encoder.startRecord(RECORD_2);
+		encoder.literal(TITLE, "c");
+		encoder.startEntity(CREATOR);
+		encoder.literal(NAME, "w");
+		encoder.endEntity();
+		encoder.endRecord();
+
+		encoder.closeStream();
+
+		Assert.assertEquals(2, gdmModels.size());
+
+		// first record
+		final List<Statement> statements1 = getStatements(gdmModels.get(0), RECORD_1);
+
+		Assert.assertEquals(7, statements1.size());
+		Assert.assertEquals("[1, 2]", getOrders(statements1, TITLE).toString());
+
+		final List<Statement> creatorStatements1 = getStatements(statements1, CREATOR);
+
+		Assert.assertEquals("[1, 2]", getOrders(creatorStatements1).toString());
+
+		final Long firstEntityId = creatorStatements1.get(0).getObject().getId();
+		final Long secondEntityId = creatorStatements1.get(1).getObject().getId();
+
+		Assert.assertEquals(NodeType.BNode, creatorStatements1.get(0).getObject().getType());
+		Assert.assertEquals(NodeType.BNode, creatorStatements1.get(1).getObject().getType());
+		Assert.assertNotEquals("entities of the same predicate should have distinct bnodes", firstEntityId, secondEntityId);
+
+		final List<Statement> nameStatements1 = getStatements(statements1, NAME);
+
+		Assert.assertEquals("[1, 2]", getOrders(getStatementsOfSubject(nameStatements1, firstEntityId)).toString());
+		Assert.assertEquals("[1]", getOrders(getStatementsOfSubject(nameStatements1, secondEntityId)).toString());
+
+		// second record: orders and bnode ids start from scratch
+		final List<Statement> statements2 = getStatements(gdmModels.get(1), RECORD_2);
+
+		Assert.assertEquals(3, statements2.size());
+
+		for (final Statement statement : statements2) {
+
+			Assert.assertEquals("statement order leaked from the previous record", Long.valueOf(1), statement.getOrder());
+		}
+
+		final List<Statement> creatorStatements2 = getStatements(statements2, CREATOR);
+
+		Assert.assertEquals(1, creatorStatements2.size());
+		Assert.assertEquals("bnode counter leaked from the previous record", firstEntityId, creatorStatements2.get(0).getObject().getId());
+		Assert.assertEquals(firstEntityId, getStatements(statements2, NAME).get(0).getSubject().getId());
+	}
+
+	private static List<Statement> getStatements(final GDMModel gdmModel, final String recordURI) {
+
+		final Resource resource = gdmModel.getModel().getResource(recordURI);
+
+		Assert.assertNotNull(resource);
+
+		return new ArrayList<>(resource.getStatements());
+	}
+
+	private static List<Statement> getStatements(final List<Statement> statements, final String predicateURI) {
+
+		return statements.stream()
+				.filter(statement -> predicateURI.equals(statement.getPredicate().getUri()))
+				.sorted(Comparator.comparing(Statement::getOrder))
+				.collect(Collectors.toList());
+	}
+
+	private static List<Statement> getStatementsOfSubject(final List<Statement> statements, final Long subjectId) {
+
+		return statements.stream()
+				.filter(statement -> subjectId.equals(statement.getSubject().getId()))
+				.collect(Collectors.toList());
+	}
+
+	private static List<Long> getOrders(final List<Statement> statements, final String predicateURI) {
+
+		return getOrders(getStatements(statements, predicateURI));
+	}
+
+	private static List<Long> getOrders(final List<Statement> statements) {
+
+		return statements.stream()
+				.map(Statement::getOrder)
+				.sorted()
+				.collect(Collectors.toList());
+	}
+}
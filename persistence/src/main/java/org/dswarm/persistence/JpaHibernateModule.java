@@ -30,6 +30,8 @@ public class JpaHibernateModule extends AbstractModule {
 	private final String  password;
 	private final boolean isLogSql;
 	private final String  jpaUnit;
+	private final boolean isSharedCacheEnabled;
+	private final int     sharedCacheSize;
 
 	public JpaHibernateModule(final Config config) {
 		Preconditions.checkNotNull(config);
@@ -40,6 +42,8 @@ public class JpaHibernateModule extends AbstractModule {
 		password = metadataConfig.getString("password");
 		isLogSql = metadataConfig.getBoolean("log-sql");
 		jpaUnit = metadataConfig.getString("jpa-unit");
+		isSharedCacheEnabled = metadataConfig.getBoolean("shared-cache.enabled");
+		sharedCacheSize = metadataConfig.getInt("shared-cache.size");
 	}
 
 	@Override
@@ -91,7 +95,18 @@ public class JpaHibernateModule extends AbstractModule {
 		properties.setProperty("eclipselink.logging.level", "WARNING");
 //		properties.setProperty("eclipselink.logging.level.sql", "FINE");
 //		properties.setProperty("eclipselink.logging.parameters", "true");
-		properties.setProperty("eclipselink.cache.shared.default", "false");
+
+		if (isSharedCacheEnabled) {
+
+			// only entities that are marked as @Cacheable(true) (read-mostly metadata entities) will be kept in the shared (second-level) cache
+			properties.setProperty("javax.persistence.sharedCache.mode", "ENABLE_SELECTIVE");
+			properties.setProperty("eclipselink.cache.size.default", String.valueOf(sharedCacheSize));
+		} else {
+
+			properties.setProperty("javax.persistence.sharedCache.mode", "NONE");
+			properties.setProperty("eclipselink.cache.shared.default", "false");
+		}
+
 		properties.setProperty("eclipselink.weaving", "static");
 
 		return properties;
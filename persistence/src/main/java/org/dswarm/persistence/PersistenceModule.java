@@ -45,6 +45,7 @@ import org.dswarm.persistence.model.job.utils.TransformationDeserializer;
 import org.dswarm.persistence.monitoring.MonitoringLogger;
 import org.dswarm.persistence.service.InternalModelServiceFactory;
 import org.dswarm.persistence.service.MaintainDBService;
+import org.dswarm.persistence.service.SharedCacheStatistics;
 import org.dswarm.persistence.service.UUIDService;
 import org.dswarm.persistence.service.internal.InternalServiceFactoryImpl;
 import org.dswarm.persistence.service.job.ComponentService;
@@ -63,6 +64,7 @@ import org.dswarm.persistence.service.schema.ContentSchemaService;
 import org.dswarm.persistence.service.schema.MappingAttributePathInstanceService;
 import org.dswarm.persistence.service.schema.SchemaAttributePathInstanceService;
 import org.dswarm.persistence.service.schema.SchemaService;
+import org.dswarm.persistence.service.schema.SchemaTermCache;
 
 /**
  * The Guice configuration of the persistence module. Interface/classes that are registered here can be utilised for injection.
@@ -98,6 +100,7 @@ public class PersistenceModule extends AbstractModule {
 		bind(MappingAttributePathInstanceService.class).in(Scopes.SINGLETON);
 		bind(SchemaAttributePathInstanceService.class).in(Scopes.SINGLETON);
 		bind(ContentSchemaService.class).in(Scopes.SINGLETON);
+		bind(SchemaTermCache.class).in(Scopes.SINGLETON);
 		bind(MaintainDBService.class).in(Scopes.SINGLETON);
 		bind(UUIDService.class).in(Scopes.SINGLETON);
 
@@ -122,6 +125,7 @@ public class PersistenceModule extends AbstractModule {
 		final MetricRegistry registry = new MetricRegistry();
 		instrumentLogback(registry);
 		instrumentJvm(registry);
+		registry.registerAll(SharedCacheStatistics.getInstance());
 
 		return registry;
 	}
@@ -16,6 +16,7 @@
 package org.dswarm.persistence.model.internal.gdm;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -121,6 +122,63 @@ public final class GDMModelUtil {
 		return Optional.of(jsonArray);
 	}
 
+	/**
+	 * Determines the statements of the given subject of a record. They are usually part of the record resource. Otherwise, they will be
+	 * resolved against the whole GDM model, i.e., a resource node can also refer to another resource of the model (e.g. a resource that
+	 * was stored on its own).
+	 *
+	 * @param subject        the subject node (record resource node, resource node or bnode)
+	 * @param recordResource the record resource
+	 * @param model          the GDM model that contains the record resource
+	 * @return the statements of the given subject (can be empty)
+	 */
+	public static Set<Statement> getStatements(final Node subject, final Resource recordResource, final Model model) {
+
+		final Set<Statement> recordResourceStatements = Util.getResourceStatement(subject, recordResource);
+
+		if (recordResourceStatements != null && !recordResourceStatements.isEmpty()) {
+
+			return recordResourceStatements;
+		}
+
+		if (model == null || model.getResources() == null) {
+
+			return Collections.emptySet();
+		}
+
+		if (subject instanceof ResourceNode) {
+
+			final Resource resource = model.getResource(((ResourceNode) subject).getUri());
+
+			if (resource != null && resource != recordResource) {
+
+				final Set<Statement> resourceStatements = Util.getResourceStatement(subject, resource);
+
+				if (resourceStatements != null && !resourceStatements.isEmpty()) {
+
+					return resourceStatements;
+				}
+			}
+		}
+
+		for (final Resource resource : model.getResources()) {
+
+			if (resource == recordResource) {
+
+				continue;
+			}
+
+			final Set<Statement> resourceStatements = Util.getResourceStatement(subject, resource);
+
+			if (resourceStatements != null && !resourceStatements.isEmpty()) {
+
+				return resourceStatements;
+			}
+		}
+
+		return Collections.emptySet();
+	}
+
 	private static Optional<JsonNode> convertToJSCJSON(final Resource recordResource,
 	                                                   final Node resourceNode,
 	                                                   final ObjectNode rootJson,
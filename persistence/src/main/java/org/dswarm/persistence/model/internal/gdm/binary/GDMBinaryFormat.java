@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.persistence.model.internal.gdm.binary;
+
+import javax.ws.rs.core.MediaType;
+
+/**
+ * A compact binary encoding for streams of GDM records ({@link org.dswarm.persistence.model.internal.gdm.GDMModel}s), which is utilised
+ * instead of GDM JSON, where both sides of a stream are under our control (see {@link GDMBinaryWriter} and {@link GDMBinaryReader}).<br/>
+ * <br/>
+ * A stream starts with a magic number and a format version, followed by length-prefixed records and an empty record (length 0) that
+ * marks the end of the stream. Record, record class, resource and predicate URIs are written only once per stream, i.e., at their
+ * first occurrence they are added to a dictionary and are referenced by their (varint) dictionary index afterwards. Bnode identifiers,
+ * statement orders and all lengths are encoded as varints.
+ *
+ * @author tgaengler
+ */
+public final class GDMBinaryFormat {
+
+	public static final String GDM_BINARY = "application/x-gdm-binary";
+
+	public static final MediaType GDM_BINARY_TYPE = MediaType.valueOf(GDM_BINARY);
+
+	// GDMB
+	static final int MAGIC   = 0x47444D42;
+	static final int VERSION = 1;
+
+	static final int END_OF_STREAM = 0;
+
+	// dictionary references
+	static final int NULL_REFERENCE = 0;
+	static final int NEW_REFERENCE  = 1;
+	static final int REFERENCE_BASE = 2;
+
+	// node types
+	static final int BNODE         = 0;
+	static final int RESOURCE_NODE = 1;
+	static final int LITERAL_NODE  = 2;
+
+	// note: statement orders will be shifted by one, i.e., 0 marks a statement without order
+	static final long NO_ORDER = 0;
+
+	private GDMBinaryFormat() {
+
+	}
+}
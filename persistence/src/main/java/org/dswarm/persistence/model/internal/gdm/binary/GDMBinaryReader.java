@@ -0,0 +1,341 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.persistence.model.internal.gdm.binary;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.dswarm.graph.json.LiteralNode;
+import org.dswarm.graph.json.Model;
+import org.dswarm.graph.json.Node;
+import org.dswarm.graph.json.Predicate;
+import org.dswarm.graph.json.Resource;
+import org.dswarm.graph.json.ResourceNode;
+import org.dswarm.persistence.DMPPersistenceError;
+import org.dswarm.persistence.DMPPersistenceException;
+import org.dswarm.persistence.model.internal.gdm.GDMModel;
+
+/**
+ * Deserialises GDM records from the compact binary GDM format (see {@link GDMBinaryFormat}) one by one. A stream that ends without its
+ * end marker is considered incomplete, i.e., reading it will fail.
+ *
+ * @author tgaengler
+ */
+public final class GDMBinaryReader implements Iterator<GDMModel>, Closeable {
+
+	private final InputStream in;
+
+	private final List<String>           dictionary = new ArrayList<>();
+	private final Map<String, Predicate> predicates = new HashMap<>();
+
+	// per-record state
+	private final Map<String, ResourceNode> resourceNodes = new HashMap<>();
+	private final Map<Long, Node>           bnodes        = new HashMap<>();
+
+	private byte[] record = new byte[4096];
+	private int    position;
+	private int    limit;
+
+	private boolean  headerRead;
+	private boolean  finished;
+	private GDMModel next;
+
+	public GDMBinaryReader(final InputStream in) {
+
+		this.in = in;
+	}
+
+	@Override
+	public boolean hasNext() {
+
+		if (next == null && !finished) {
+
+			try {
+
+				next = readRecord();
+			} catch (final IOException e) {
+
+				throw DMPPersistenceError.wrap(new DMPPersistenceException("couldn't read GDM binary stream", e));
+			}
+		}
+
+		return next != null;
+	}
+
+	@Override
+	public GDMModel next() {
+
+		if (!hasNext()) {
+
+			throw new NoSuchElementException();
+		}
+
+		final GDMModel current = next;
+		next = null;
+
+		return current;
+	}
+
+	@Override
+	public void close() throws IOException {
+
+		in.close();
+	}
+
+	private GDMModel readRecord() throws IOException {
+
+		readHeader();
+
+		final long recordLength = readVarLong(in);
+
+		if (recordLength == GDMBinaryFormat.END_OF_STREAM) {
+
+			finished = true;
+
+			return null;
+		}
+
+		fill((int) recordLength);
+
+		resourceNodes.clear();
+		bnodes.clear();
+
+		final String recordURI = readReference();
+		final String recordClassURI = readReference();
+		final long resourceCount = readRecordVarLong();
+
+		if (resourceCount == 0) {
+
+			return new GDMModel(null, recordURI, recordClassURI);
+		}
+
+		final Model model = new Model();
+
+		for (long i = 1; i < resourceCount; i++) {
+
+			model.addResource(readResource());
+		}
+
+		return new GDMModel(model, recordURI, recordClassURI);
+	}
+
+	private void readHeader() throws IOException {
+
+		if (headerRead) {
+
+			return;
+		}
+
+		final int magic = (readByte(in) << 24) | (readByte(in) << 16) | (readByte(in) << 8) | readByte(in);
+
+		if (magic != GDMBinaryFormat.MAGIC) {
+
+			throw new IOException("the stream is not a GDM binary stream");
+		}
+
+		final long version = readVarLong(in);
+
+		if (version != GDMBinaryFormat.VERSION) {
+
+			throw new IOException(String.format("unsupported GDM binary format version '%d'", version));
+		}
+
+		headerRead = true;
+	}
+
+	private Resource readResource() throws IOException {
+
+		final Resource resource = new Resource(readReference());
+
+		final long statementCount = readRecordVarLong();
+
+		for (long i = 0; i < statementCount; i++) {
+
+			final Node subject = readNode();
+			final Predicate predicate = predicates.computeIfAbsent(readReference(), Predicate::new);
+			final Node object = readNode();
+			final long order = readRecordVarLong();
+
+			if (order == GDMBinaryFormat.NO_ORDER) {
+
+				resource.addStatement(subject, predicate, object);
+			} else {
+
+				resource.addStatement(subject, predicate, object, order - 1);
+			}
+		}
+
+		return resource;
+	}
+
+	private Node readNode() throws IOException {
+
+		final int nodeType = (int) readRecordVarLong();
+
+		switch (nodeType) {
+
+			case GDMBinaryFormat.RESOURCE_NODE:
+
+				return resourceNodes.computeIfAbsent(readReference(), ResourceNode::new);
+			case GDMBinaryFormat.LITERAL_NODE:
+
+				return new LiteralNode(readString());
+			case GDMBinaryFormat.BNODE:
+
+				return bnodes.computeIfAbsent(readRecordVarLong(), Node::new);
+			default:
+
+				throw new IOException(String.format("unknown node type '%d' in GDM binary stream", nodeType));
+		}
+	}
+
+	private String readReference() throws IOException {
+
+		final long reference = readRecordVarLong();
+
+		if (reference == GDMBinaryFormat.NULL_REFERENCE) {
+
+			return null;
+		}
+
+		if (reference == GDMBinaryFormat.NEW_REFERENCE) {
+
+			final String uri = readString();
+			dictionary.add(uri);
+
+			return uri;
+		}
+
+		final long index = reference - GDMBinaryFormat.REFERENCE_BASE;
+
+		if (index >= dictionary.size()) {
+
+			throw new IOException(String.format("unknown dictionary reference '%d' in GDM binary stream", index));
+		}
+
+		return dictionary.get((int) index);
+	}
+
+	private String readString() throws IOException {
+
+		final int length = (int) readRecordVarLong();
+
+		if (length < 0 || position + length > limit) {
+
+			throw new EOFException("GDM binary record is truncated");
+		}
+
+		final String value = new String(record, position, length, StandardCharsets.UTF_8);
+		position += length;
+
+		return value;
+	}
+
+	private void fill(final int length) throws IOException {
+
+		if (record.length < length) {
+
+			record = new byte[Math.max(length, record.length * 2)];
+		}
+
+		int offset = 0;
+
+		while (offset < length) {
+
+			final int read = in.read(record, offset, length - offset);
+
+			if (read < 0) {
+
+				throw new EOFException("GDM binary stream is incomplete");
+			}
+
+			offset += read;
+		}
+
+		position = 0;
+		limit = length;
+	}
+
+	private long readRecordVarLong() throws IOException {
+
+		long value = 0;
+		int shift = 0;
+
+		while (shift < 64) {
+
+			if (position >= limit) {
+
+				throw new EOFException("GDM binary record is truncated");
+			}
+
+			final int b = record[position++];
+
+			value |= (long) (b & 0x7F) << shift;
+
+			if ((b & 0x80) == 0) {
+
+				return value;
+			}
+
+			shift += 7;
+		}
+
+		throw new IOException("malformed varint in GDM binary stream");
+	}
+
+	private static long readVarLong(final InputStream in) throws IOException {
+
+		long value = 0;
+		int shift = 0;
+
+		while (shift < 64) {
+
+			final int b = readByte(in);
+
+			value |= (long) (b & 0x7F) << shift;
+
+			if ((b & 0x80) == 0) {
+
+				return value;
+			}
+
+			shift += 7;
+		}
+
+		throw new IOException("malformed varint in GDM binary stream");
+	}
+
+	private static int readByte(final InputStream in) throws IOException {
+
+		final int b = in.read();
+
+		if (b < 0) {
+
+			throw new EOFException("GDM binary stream is incomplete");
+		}
+
+		return b;
+	}
+}
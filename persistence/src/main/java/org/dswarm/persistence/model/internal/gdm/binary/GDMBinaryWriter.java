@@ -0,0 +1,284 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.persistence.model.internal.gdm.binary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.dswarm.graph.json.LiteralNode;
+import org.dswarm.graph.json.Model;
+import org.dswarm.graph.json.Node;
+import org.dswarm.graph.json.NodeType;
+import org.dswarm.graph.json.Resource;
+import org.dswarm.graph.json.ResourceNode;
+import org.dswarm.graph.json.Statement;
+import org.dswarm.persistence.model.internal.gdm.GDMModel;
+
+/**
+ * Serialises GDM records into the compact binary GDM format (see {@link GDMBinaryFormat}). A writer holds the URI dictionary of one
+ * stream, i.e., it is not thread-safe and the records of one stream need to be written by one writer. {@link #close()} needs to be called
+ * to mark the end of the stream (the underlying output stream will be flushed, but not closed).
+ *
+ * @author tgaengler
+ */
+public final class GDMBinaryWriter implements Flushable, Closeable {
+
+	private final OutputStream out;
+
+	private final Map<String, Integer> dictionary = new HashMap<>();
+
+	// note: the buffer will be reused for all records
+	private final RecordBuffer record = new RecordBuffer();
+
+	private boolean headerWritten;
+	private boolean closed;
+
+	public GDMBinaryWriter(final OutputStream out) {
+
+		this.out = out;
+	}
+
+	/**
+	 * Writes the given GDM record, i.e., its record URI, its record class URI and the resources of its model.
+	 *
+	 * @param gdmModel the GDM record
+	 * @throws IOException
+	 */
+	public void write(final GDMModel gdmModel) throws IOException {
+
+		final Set<String> recordURIs = gdmModel.getRecordURIs();
+		final Iterator<String> recordURIsIterator = recordURIs != null ? recordURIs.iterator() : null;
+		final String recordURI = recordURIsIterator != null && recordURIsIterator.hasNext() ? recordURIsIterator.next() : null;
+
+		final Model model = gdmModel.getModel();
+
+		write(recordURI, gdmModel.getRecordClassURI(), model != null ? model.getResources() : null);
+	}
+
+	/**
+	 * Writes the given resource as a record without record URI and record class URI.
+	 *
+	 * @param resource the resource
+	 * @throws IOException
+	 */
+	public void write(final Resource resource) throws IOException {
+
+		write(resource.getUri(), null, Collections.singletonList(resource));
+	}
+
+	private void write(final String recordURI, final String recordClassURI, final Collection<Resource> resources) throws IOException {
+
+		if (closed) {
+
+			throw new IOException("the GDM binary stream is already closed");
+		}
+
+		writeHeader();
+
+		record.reset();
+
+		writeReference(recordURI);
+		writeReference(recordClassURI);
+
+		// note: the number of resources will be shifted by one, i.e., 0 marks a record without model
+		if (resources == null) {
+
+			record.writeVarLong(0);
+		} else {
+
+			record.writeVarLong(resources.size() + 1);
+
+			for (final Resource resource : resources) {
+
+				writeResource(resource);
+			}
+		}
+
+		writeVarLong(out, record.size());
+		record.writeTo(out);
+	}
+
+	@Override
+	public void flush() throws IOException {
+
+		out.flush();
+	}
+
+	/**
+	 * Marks the end of the stream and flushes the underlying output stream.
+	 *
+	 * @throws IOException
+	 */
+	@Override
+	public void close() throws IOException {
+
+		if (closed) {
+
+			return;
+		}
+
+		writeHeader();
+		writeVarLong(out, GDMBinaryFormat.END_OF_STREAM);
+
+		closed = true;
+
+		out.flush();
+	}
+
+	private void writeHeader() throws IOException {
+
+		if (headerWritten) {
+
+			return;
+		}
+
+		out.write(GDMBinaryFormat.MAGIC >>> 24);
+		out.write(GDMBinaryFormat.MAGIC >>> 16);
+		out.write(GDMBinaryFormat.MAGIC >>> 8);
+		out.write(GDMBinaryFormat.MAGIC);
+		writeVarLong(out, GDMBinaryFormat.VERSION);
+
+		headerWritten = true;
+	}
+
+	private void writeResource(final Resource resource) {
+
+		writeReference(resource.getUri());
+
+		final Set<Statement> statements = resource.getStatements();
+
+		if (statements == null) {
+
+			record.writeVarLong(0);
+
+			return;
+		}
+
+		record.writeVarLong(statements.size());
+
+		for (final Statement statement : statements) {
+
+			writeNode(statement.getSubject());
+			writeReference(statement.getPredicate().getUri());
+			writeNode(statement.getObject());
+
+			final Long order = statement.getOrder();
+
+			record.writeVarLong(order != null ? order + 1 : GDMBinaryFormat.NO_ORDER);
+		}
+	}
+
+	private void writeNode(final Node node) {
+
+		final NodeType nodeType = node.getType();
+
+		switch (nodeType) {
+
+			case Resource:
+
+				record.writeVarLong(GDMBinaryFormat.RESOURCE_NODE);
+				writeReference(((ResourceNode) node).getUri());
+
+				break;
+			case Literal:
+
+				record.writeVarLong(GDMBinaryFormat.LITERAL_NODE);
+				writeString(((LiteralNode) node).getValue());
+
+				break;
+			default:
+
+				record.writeVarLong(GDMBinaryFormat.BNODE);
+				record.writeVarLong(node.getId());
+		}
+	}
+
+	private void writeReference(final String uri) {
+
+		if (uri == null) {
+
+			record.writeVarLong(GDMBinaryFormat.NULL_REFERENCE);
+
+			return;
+		}
+
+		final Integer index = dictionary.get(uri);
+
+		if (index != null) {
+
+			record.writeVarLong(index + GDMBinaryFormat.REFERENCE_BASE);
+
+			return;
+		}
+
+		dictionary.put(uri, dictionary.size());
+
+		record.writeVarLong(GDMBinaryFormat.NEW_REFERENCE);
+		writeString(uri);
+	}
+
+	private void writeString(final String value) {
+
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+		record.writeVarLong(bytes.length);
+		record.write(bytes, 0, bytes.length);
+	}
+
+	private static void writeVarLong(final OutputStream out, final long value) throws IOException {
+
+		long remaining = value;
+
+		while ((remaining & ~0x7FL) != 0) {
+
+			out.write((int) ((remaining & 0x7F) | 0x80));
+			remaining >>>= 7;
+		}
+
+		out.write((int) remaining);
+	}
+
+	private static final class RecordBuffer extends ByteArrayOutputStream {
+
+		private RecordBuffer() {
+
+			super(4096);
+		}
+
+		private void writeVarLong(final long value) {
+
+			long remaining = value;
+
+			while ((remaining & ~0x7FL) != 0) {
+
+				write((int) ((remaining & 0x7F) | 0x80));
+				remaining >>>= 7;
+			}
+
+			write((int) remaining);
+		}
+	}
+}
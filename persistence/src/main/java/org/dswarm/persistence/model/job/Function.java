@@ -19,6 +19,7 @@ import java.util.LinkedList;
 
 import javax.persistence.Access;
 import javax.persistence.AccessType;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.DiscriminatorColumn;
 import javax.persistence.DiscriminatorType;
@@ -69,6 +70,7 @@ import org.dswarm.persistence.util.DMPPersistenceUtil;
 @DiscriminatorColumn(name = "FUNCTION_TYPE", discriminatorType = DiscriminatorType.STRING)
 @DiscriminatorValue("Function")
 @Table(name = "FUNCTION")
+@Cacheable(true)
 public class Function extends ExtendedBasicDMPJPAObject {
 
 	/**
@@ -79,6 +79,32 @@ public interface ConfigurationStatics {
 	 */
 	String FIRST_ROW_IS_HEADINGS = "first_row_is_headings";
 
+	/**
+	 * The number of records that should be collected, before they'll be flushed to the graph database (at write time).
+	 */
+	String WRITE_BATCH_SIZE = "write_batch_size";
+
+	/**
+	 * The size (in bytes) of the buffer that collects serialised records, before they'll be flushed to the graph database (at write time).
+	 */
+	String WRITE_BATCH_BYTES = "write_batch_bytes";
+
+	/**
+	 * The CSV parser engine that should be utilised to interpret a CSV data resource, i.e., either CSV_PARSER_COMMONS_CSV or
+	 * CSV_PARSER_TOKENIZER.
+	 */
+	String CSV_PARSER = "csv_parser";
+
+	/**
+	 * The CSV parser engine that is based on Commons CSV (one record object per row).
+	 */
+	String CSV_PARSER_COMMONS_CSV = "commons-csv";
+
+	/**
+	 * The CSV parser engine that tokenizes the data resource with one reusable row buffer (faster for large data resources).
+	 */
+	String CSV_PARSER_TOKENIZER = "tokenizer";
+
 	/**
 	 * The default encoding that should be applied to interpret the data resource.
 	 */
@@ -119,6 +145,11 @@ public interface ConfigurationStatics {
 	 */
 	boolean DEFAULT_FIRST_ROW_IS_HEADINGS = true;
 
+	/**
+	 * The default CSV parser engine.
+	 */
+	String DEFAULT_CSV_PARSER = CSV_PARSER_COMMONS_CSV;
+
 	/**
 	 * The storage type of the data resource.
 	 */
@@ -30,4 +30,9 @@ public final class ResourceStatics {
 	public static final String FILE_SIZE = "filesize";
 
 	public static final String FILE_TYPE = "filetype";
+
+	/**
+	 * The (lower case, hex-encoded) SHA-256 digest of the content of the data resource.
+	 */
+	public static final String CONTENT_DIGEST = "content_digest";
 }
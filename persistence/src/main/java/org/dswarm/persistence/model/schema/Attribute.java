@@ -33,7 +33,7 @@ import org.dswarm.persistence.model.AdvancedDMPJPAObject;
 // @Cacheable(true)
 // @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "ATTRIBUTE")
-@Cacheable(false)
+@Cacheable(true)
 public class Attribute extends AdvancedDMPJPAObject {
 
 	/**
@@ -63,7 +63,7 @@ import org.dswarm.persistence.util.DMPPersistenceUtil;
 // @Cacheable(true)
 // @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "ATTRIBUTE_PATH")
-@Cacheable(false)
+@Cacheable(true)
 public class AttributePath extends DMPObject {
 
 	/**
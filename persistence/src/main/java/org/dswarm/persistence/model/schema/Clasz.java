@@ -15,6 +15,7 @@
  */
 package org.dswarm.persistence.model.schema;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.Table;
 import javax.xml.bind.annotation.XmlRootElement;
@@ -34,6 +35,7 @@ import org.dswarm.persistence.model.AdvancedDMPJPAObject;
 // @Cacheable(true)
 // @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "CLASS")
+@Cacheable(true)
 public class Clasz extends AdvancedDMPJPAObject {
 
 	private static final Logger LOG = LoggerFactory.getLogger(Clasz.class);
@@ -20,6 +20,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 import java.util.Optional;
 
+import javax.persistence.Cache;
+import javax.persistence.Cacheable;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 
@@ -74,6 +76,11 @@ public abstract class BasicJPAService<PROXYPOJOCLASS extends ProxyDMPObject<POJO
 	 */
 	private final Provider<EntityManager> entityManagerProvider;
 
+	/**
+	 * Whether instances of the concrete POJO class can be kept in the JPA shared (second-level) cache.
+	 */
+	private final boolean sharedCacheable;
+
 	/**
 	 * Creates a new persistence service for the given concrete POJO class and the entity manager provider.
 	 *
@@ -90,6 +97,8 @@ public abstract class BasicJPAService<PROXYPOJOCLASS extends ProxyDMPObject<POJO
 		this.proxyClassName = proxyClasz.getSimpleName();
 
 		this.entityManagerProvider = entityManagerProvider;
+
+		this.sharedCacheable = isSharedCacheable(clasz);
 	}
 
 	/**
@@ -342,6 +351,8 @@ public abstract class BasicJPAService<PROXYPOJOCLASS extends ProxyDMPObject<POJO
 
 		final POJOCLASS mergedUpdatedObject = entityManager.merge(updateObject);
 
+		evictFromSharedCache(entityManager, mergedUpdatedObject.getUuid());
+
 		BasicJPAService.LOG.debug("updated {} with id '{}' {}", className, object.getUuid(), transactionType);
 
 		if (updateObject != null) {
@@ -413,6 +424,8 @@ public abstract class BasicJPAService<PROXYPOJOCLASS extends ProxyDMPObject<POJO
 
 		BasicJPAService.LOG.debug("try to find {} with uuid '{}' in the database", className, uuid);
 
+		recordSharedCacheLookup(entityManager, uuid);
+
 		final POJOCLASS entity = entityManager.find(clasz, uuid);
 
 		if (entity != null) {
@@ -446,9 +459,67 @@ public abstract class BasicJPAService<PROXYPOJOCLASS extends ProxyDMPObject<POJO
 
 		entityManager.remove(updateObject);
 
+		evictFromSharedCache(entityManager, uuid);
+
 		BasicJPAService.LOG.debug("deleted {} with uuid '{}' from the database", className, uuid);
 	}
 
+	/**
+	 * Evicts the instance with the given identifier of the specific class from the JPA shared (second-level) cache (if it is cacheable at
+	 * all).
+	 *
+	 * @param entityManager the entity manager
+	 * @param uuid          the identifier of the instance
+	 */
+	protected void evictFromSharedCache(final EntityManager entityManager, final String uuid) {
+
+		if (!sharedCacheable || uuid == null) {
+
+			return;
+		}
+
+		final Cache sharedCache = entityManager.getEntityManagerFactory().getCache();
+
+		if (sharedCache.contains(clasz, uuid)) {
+
+			sharedCache.evict(clasz, uuid);
+
+			SharedCacheStatistics.getInstance().recordEviction(className);
+		}
+	}
+
+	private void recordSharedCacheLookup(final EntityManager entityManager, final String uuid) {
+
+		if (!sharedCacheable || uuid == null) {
+
+			return;
+		}
+
+		if (entityManager.getEntityManagerFactory().getCache().contains(clasz, uuid)) {
+
+			SharedCacheStatistics.getInstance().recordHit(className);
+		} else {
+
+			SharedCacheStatistics.getInstance().recordMiss(className);
+		}
+	}
+
+	private static boolean isSharedCacheable(final Class<?> clasz) {
+
+		// note: @Cacheable is inherited by entity sub classes
+		for (Class<?> currentClasz = clasz; currentClasz != null; currentClasz = currentClasz.getSuperclass()) {
+
+			final Cacheable cacheable = currentClasz.getAnnotation(Cacheable.class);
+
+			if (cacheable != null) {
+
+				return cacheable.value();
+			}
+		}
+
+		return false;
+	}
+
 	/**
 	 * Prepares the given object for removal, i.e., disconnect the object from all related objects that shouldn't be deleted at
 	 * this time.
@@ -30,6 +30,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.dswarm.persistence.DMPPersistenceException;
+import org.dswarm.persistence.service.schema.SchemaTermCache;
 import org.dswarm.persistence.util.DMPPersistenceUtil;
 
 /**
@@ -46,6 +47,8 @@ public class MaintainDBService {
 
 	private final String dbName;
 
+	private final SchemaTermCache schemaTermCache;
+
 	private static final String DROP_DB_TEMPL = "DROP DATABASE IF EXISTS %s;";
 
 	private static final String CREATE_DB_TEMPL = "CREATE DATABASE IF NOT EXISTS %s DEFAULT CHARACTER SET utf8 DEFAULT COLLATE utf8_bin;";
@@ -54,11 +57,14 @@ public class MaintainDBService {
 
 	/**
 	 * @param entityManagerProvider
+	 * @param schemaTermCache       the cache of already persisted schema terms (will be invalidated on DB reset/truncation)
 	 */
-	@Inject MaintainDBService(final Provider<EntityManager> entityManagerProvider, @Named("dswarm.db.metadata.schema") String dbNameArg) {
+	@Inject MaintainDBService(final Provider<EntityManager> entityManagerProvider, @Named("dswarm.db.metadata.schema") String dbNameArg,
+			final SchemaTermCache schemaTermCache) {
 
 		this.entityManagerProvider = entityManagerProvider;
 		dbName = dbNameArg;
+		this.schemaTermCache = schemaTermCache;
 	}
 
 	/**
@@ -123,6 +129,7 @@ public class MaintainDBService {
 		sqlStmts.add(useDBStmt);
 
 		executeSQLScript(entityManager, sqlStmts);
+		invalidateCaches(entityManager);
 
 		MaintainDBService.LOG.debug("re-created the DB");
 	}
@@ -140,6 +147,7 @@ public class MaintainDBService {
 		MaintainDBService.LOG.debug("try to execute sql script '{}' at the DB", sqlScriptName);
 
 		executeSQLScriptStatementWise(sqlScriptName, entityManager);
+		invalidateCaches(entityManager);
 
 		MaintainDBService.LOG.debug("execute sql script '{}' at the DB", sqlScriptName);
 	}
@@ -174,6 +182,7 @@ public class MaintainDBService {
 		MaintainDBService.LOG.debug("try to truncate the tables of the DB");
 
 		executeSQLScriptLineWise("truncate_tables.sql", entityManager);
+		invalidateCaches(entityManager);
 
 		MaintainDBService.LOG.debug("truncated tables of the DB");
 	}
@@ -191,6 +200,7 @@ public class MaintainDBService {
 		MaintainDBService.LOG.debug("try to drop the tables of the DB");
 
 		executeSQLScriptLineWise("drop_tables.sql", entityManager);
+		invalidateCaches(entityManager);
 
 		MaintainDBService.LOG.debug("drop tables of the DB");
 	}
@@ -208,6 +218,7 @@ public class MaintainDBService {
 		MaintainDBService.LOG.debug("try to initialize the functions in the DB");
 
 		executeSQLScriptLineWise("functions.sql", entityManager);
+		invalidateCaches(entityManager);
 
 		MaintainDBService.LOG.debug("initialized the functions in the DB");
 	}
@@ -225,10 +236,23 @@ public class MaintainDBService {
 		MaintainDBService.LOG.debug("try to initialize the schemas in the DB");
 
 		executeSQLScriptStatementWise("init_internal_schema.sql", entityManager);
+		invalidateCaches(entityManager);
 
 		MaintainDBService.LOG.debug("initialized the schemas in the DB");
 	}
 
+	/**
+	 * Invalidates all caches of persisted metadata objects, i.e., the schema term cache and the JPA shared (second-level) cache, since
+	 * their content was modified directly via SQL.
+	 *
+	 * @param entityManager the entity manager
+	 */
+	private void invalidateCaches(final EntityManager entityManager) {
+
+		schemaTermCache.invalidateAll();
+		entityManager.getEntityManagerFactory().getCache().evictAll();
+	}
+
 	/**
 	 * Reads a SQL script from the given file and processes its content line-wise, i.e., each SQL statement must be on one line.
 	 *
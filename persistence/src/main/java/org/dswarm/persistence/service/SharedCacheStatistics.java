@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.persistence.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.RatioGauge;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Hit/miss statistics of the JPA shared (second-level) cache per (cacheable) entity type. The statistics are gathered at the
+ * retrieval of objects by identifier via {@link BasicJPAService}.
+ *
+ * @author tgaengler
+ */
+public final class SharedCacheStatistics implements MetricSet {
+
+	private static final String METRICS_PREFIX = "dswarm.db.metadata.shared-cache";
+
+	private static final SharedCacheStatistics INSTANCE = new SharedCacheStatistics();
+
+	private final ConcurrentMap<String, LongAdder> hits      = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, LongAdder> misses    = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, LongAdder> evictions = new ConcurrentHashMap<>();
+
+	private SharedCacheStatistics() {
+
+	}
+
+	public static SharedCacheStatistics getInstance() {
+
+		return INSTANCE;
+	}
+
+	void recordHit(final String entityType) {
+
+		count(hits, entityType);
+	}
+
+	void recordMiss(final String entityType) {
+
+		count(misses, entityType);
+	}
+
+	void recordEviction(final String entityType) {
+
+		count(evictions, entityType);
+	}
+
+	public long getHits(final String entityType) {
+
+		return sum(hits, entityType);
+	}
+
+	public long getMisses(final String entityType) {
+
+		return sum(misses, entityType);
+	}
+
+	public long getEvictions(final String entityType) {
+
+		return sum(evictions, entityType);
+	}
+
+	public long getTotalHits() {
+
+		return sum(hits);
+	}
+
+	public long getTotalMisses() {
+
+		return sum(misses);
+	}
+
+	@Override
+	public Map<String, Metric> getMetrics() {
+
+		final Map<String, Metric> metrics = new HashMap<>();
+
+		metrics.put(name(METRICS_PREFIX, "hits"), (Gauge<Long>) this::getTotalHits);
+		metrics.put(name(METRICS_PREFIX, "misses"), (Gauge<Long>) this::getTotalMisses);
+		metrics.put(name(METRICS_PREFIX, "evictions"), (Gauge<Long>) () -> sum(evictions));
+		metrics.put(name(METRICS_PREFIX, "hit-ratio"), new RatioGauge() {
+
+			@Override
+			protected Ratio getRatio() {
+
+				final long currentHits = getTotalHits();
+
+				return Ratio.of(currentHits, currentHits + getTotalMisses());
+			}
+		});
+
+		return metrics;
+	}
+
+	@Override
+	public String toString() {
+
+		return "hits=" + hits + ", misses=" + misses + ", evictions=" + evictions;
+	}
+
+	private static void count(final ConcurrentMap<String, LongAdder> counters, final String entityType) {
+
+		counters.computeIfAbsent(entityType, key -> new LongAdder()).increment();
+	}
+
+	private static long sum(final ConcurrentMap<String, LongAdder> counters) {
+
+		return counters.values().stream().mapToLong(LongAdder::sum).sum();
+	}
+
+	private static long sum(final ConcurrentMap<String, LongAdder> counters, final String entityType) {
+
+		final LongAdder counter = counters.get(entityType);
+
+		return counter != null ? counter.sum() : 0L;
+	}
+}
@@ -0,0 +1,181 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.persistence.service.internal.graph;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.RatioGauge;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.IdleConnectionEvictor;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.media.multipart.MultiPartFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Holds the one (long-lived) JAX-RS client that is utilised for all requests against the graph endpoint. The client is backed by a pooled
+ * HTTP connection manager, i.e., connections will be kept alive and re-used across requests. Idle connections will be evicted by a
+ * background thread. The pool needs to be closed, when it is not utilised anymore (see {@link #close()}).
+ *
+ * @author tgaengler
+ */
+final class GraphClientPool implements MetricSet {
+
+	private static final Logger LOG = LoggerFactory.getLogger(GraphClientPool.class);
+
+	private static final String METRICS_PREFIX = name(InternalGDMGraphService.class, "client", "pool");
+
+	private final PoolingHttpClientConnectionManager connectionManager;
+	private final IdleConnectionEvictor              idleConnectionEvictor;
+	private final Client                             client;
+
+	/**
+	 * the registry, where the connection pool metrics were registered by this pool (if any)
+	 */
+	private MetricRegistry metricRegistry;
+
+	GraphClientPool(final int maxConnections,
+	                final int maxConnectionsPerRoute,
+	                final long idleTimeoutInMillis,
+	                final long connectionTTLInMillis,
+	                final int connectTimeout,
+	                final int connectionRequestTimeout,
+	                final int chunkSize,
+	                final String requestEntityProcessing,
+	                final int requestTimeout) {
+
+		connectionManager = new PoolingHttpClientConnectionManager(connectionTTLInMillis > 0 ? connectionTTLInMillis : -1, TimeUnit.MILLISECONDS);
+		connectionManager.setMaxTotal(maxConnections);
+		connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+
+		idleConnectionEvictor = new IdleConnectionEvictor(connectionManager, idleTimeoutInMillis, TimeUnit.MILLISECONDS);
+		idleConnectionEvictor.start();
+
+		// note: the connection request timeout bounds the time a request waits for a free pooled connection
+		final RequestConfig requestConfig = RequestConfig.custom()
+				.setConnectTimeout(connectTimeout)
+				.setConnectionRequestTimeout(connectionRequestTimeout)
+				.build();
+
+		final ClientConfig clientConfig = new ClientConfig()
+				.connectorProvider(new ApacheConnectorProvider())
+				.register(MultiPartFeature.class)
+				.property(ApacheClientProperties.CONNECTION_MANAGER, connectionManager)
+				.property(ApacheClientProperties.REQUEST_CONFIG, requestConfig)
+				.property(ClientProperties.CHUNKED_ENCODING_SIZE, chunkSize)
+				.property(ClientProperties.REQUEST_ENTITY_PROCESSING, requestEntityProcessing)
+				.property(ClientProperties.OUTBOUND_CONTENT_LENGTH_BUFFER, chunkSize)
+				.property(ClientProperties.CONNECT_TIMEOUT, connectTimeout)
+				.property(ClientProperties.READ_TIMEOUT, requestTimeout);
+
+		client = ClientBuilder.newClient(clientConfig);
+
+		LOG.debug("initialised graph endpoint client with a connection pool of max. '{}' connections (max. '{}' per route)", maxConnections,
+				maxConnectionsPerRoute);
+	}
+
+	Client client() {
+
+		return client;
+	}
+
+	/**
+	 * Registers the connection pool metrics at the given registry, if they are not already registered there.
+	 *
+	 * @param registry the registry where the connection pool metrics should be registered
+	 */
+	synchronized void registerMetrics(final MetricRegistry registry) {
+
+		if (registry.getMetrics().containsKey(name(METRICS_PREFIX, "leased"))) {
+
+			return;
+		}
+
+		try {
+
+			registry.registerAll(this);
+			metricRegistry = registry;
+		} catch (final IllegalArgumentException e) {
+
+			// metrics were registered concurrently
+			LOG.trace("graph endpoint client metrics are already registered", e);
+		}
+	}
+
+	/**
+	 * Shuts down the idle connection evictor, the client and the connection pool (incl. all pooled connections) and removes the connection
+	 * pool metrics (if they were registered by this pool).
+	 */
+	synchronized void close() {
+
+		idleConnectionEvictor.shutdown();
+
+		try {
+
+			idleConnectionEvictor.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (final InterruptedException e) {
+
+			Thread.currentThread().interrupt();
+		}
+
+		client.close();
+		connectionManager.shutdown();
+
+		if (metricRegistry != null) {
+
+			metricRegistry.removeMatching((metricName, metric) -> metricName.startsWith(METRICS_PREFIX));
+			metricRegistry = null;
+		}
+
+		LOG.debug("closed graph endpoint client and its connection pool");
+	}
+
+	@Override
+	public Map<String, Metric> getMetrics() {
+
+		final Map<String, Metric> metrics = new HashMap<>();
+
+		metrics.put(name(METRICS_PREFIX, "leased"), (Gauge<Integer>) () -> connectionManager.getTotalStats().getLeased());
+		metrics.put(name(METRICS_PREFIX, "available"), (Gauge<Integer>) () -> connectionManager.getTotalStats().getAvailable());
+		metrics.put(name(METRICS_PREFIX, "pending"), (Gauge<Integer>) () -> connectionManager.getTotalStats().getPending());
+		metrics.put(name(METRICS_PREFIX, "max"), (Gauge<Integer>) () -> connectionManager.getTotalStats().getMax());
+		metrics.put(name(METRICS_PREFIX, "utilisation"), new RatioGauge() {
+
+			@Override
+			protected Ratio getRatio() {
+
+				return Ratio.of(connectionManager.getTotalStats().getLeased(), connectionManager.getTotalStats().getMax());
+			}
+		});
+
+		return metrics;
+	}
+}
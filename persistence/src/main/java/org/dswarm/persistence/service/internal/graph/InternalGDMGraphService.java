@@ -16,6 +16,7 @@
 package org.dswarm.persistence.service.internal.graph;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
@@ -35,13 +36,14 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
+import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.Client;
-import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
@@ -49,7 +51,6 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.google.common.net.HttpHeaders;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
@@ -57,12 +58,10 @@ import com.google.inject.name.Named;
 import javaslang.Tuple;
 import javaslang.Tuple2;
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
-import org.glassfish.jersey.client.ClientProperties;
 import org.glassfish.jersey.client.rx.RxWebTarget;
 import org.glassfish.jersey.client.rx.rxjava.RxObservable;
 import org.glassfish.jersey.client.rx.rxjava.RxObservableInvoker;
 import org.glassfish.jersey.media.multipart.MultiPart;
-import org.glassfish.jersey.media.multipart.MultiPartFeature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Observable;
@@ -83,12 +82,15 @@ import org.dswarm.persistence.DMPPersistenceException;
 import org.dswarm.persistence.model.internal.Model;
 import org.dswarm.persistence.model.internal.gdm.GDMModel;
 import org.dswarm.persistence.model.resource.DataModel;
+import org.dswarm.persistence.model.resource.Configuration;
 import org.dswarm.persistence.model.resource.UpdateFormat;
+import org.dswarm.persistence.model.resource.utils.ConfigurationStatics;
 import org.dswarm.persistence.model.schema.AttributePath;
 import org.dswarm.persistence.model.schema.Clasz;
 import org.dswarm.persistence.model.schema.ContentSchema;
 import org.dswarm.persistence.model.schema.Schema;
 import org.dswarm.persistence.service.InternalModelService;
+import org.dswarm.persistence.service.internal.graph.util.SchemaAccumulator;
 import org.dswarm.persistence.service.internal.graph.util.SchemaDeterminator;
 import org.dswarm.persistence.service.resource.DataModelService;
 import org.dswarm.persistence.util.DMPPersistenceUtil;
@@ -110,26 +112,19 @@ public class InternalGDMGraphService implements InternalModelService {
 	private static final String MULTIPART_MIXED              = "multipart/mixed";
 	private static final String CHUNKED                      = "CHUNKED";
 
-	private static final String SEARCH_RESULT    = "search result";
-	private static final String OBJECT_RETRIEVAL = "object retrieval";
-	private static final String WRITE_GDM        = "write to graph database";
+	private static final String WRITE_GDM     = "write to graph database";
 
-	private static final int CHUNK_SIZE      = 1024;
-	private static final int REQUEST_TIMEOUT = 20000000;
+	private static final int CHUNK_SIZE       = 1024;
+	private static final int READ_BUFFER_SIZE = 65536;
+	private static final int REQUEST_TIMEOUT  = 20000000;
 
 	private static final String          DSWARM_MODEL_STREAMER_THREAD_NAMING_PATTERN = "dswarm-model-streamer-%d";
 	private static final ExecutorService EXECUTOR_SERVICE                            = Executors.newCachedThreadPool(
 			new BasicThreadFactory.Builder().daemon(false).namingPattern(DSWARM_MODEL_STREAMER_THREAD_NAMING_PATTERN).build());
 
-	private static final ClientBuilder BUILDER                   = ClientBuilder.newBuilder().register(MultiPartFeature.class)
-			.property(ClientProperties.CHUNKED_ENCODING_SIZE, CHUNK_SIZE)
-			.property(ClientProperties.REQUEST_ENTITY_PROCESSING, CHUNKED)
-			.property(ClientProperties.OUTBOUND_CONTENT_LENGTH_BUFFER, CHUNK_SIZE)
-			.property(ClientProperties.CONNECT_TIMEOUT, REQUEST_TIMEOUT)
-			.property(ClientProperties.READ_TIMEOUT, REQUEST_TIMEOUT);
-	public static final  String        METADATA_TYPE             = "metadata";
-	public static final  String        DEPRECATE_DATA_MODEL_TYPE = "deprecate data model";
-	public static final  String        DEPRECATE_RECORDS_TYPE    = "deprecate records";
+	public static final String METADATA_TYPE             = "metadata";
+	public static final String DEPRECATE_DATA_MODEL_TYPE = "deprecate data model";
+	public static final String DEPRECATE_RECORDS_TYPE    = "deprecate records";
 
 	static {
 
@@ -142,7 +137,6 @@ public class InternalGDMGraphService implements InternalModelService {
 	private static final String DEPRECATE_RECORDS_ENDPOINT    = "/deprecate/records";
 	private static final String SEARCH_GDM_RECORDS_ENDPOINT   = "/searchrecords";
 	private static final String GET_GDM_RECORD_ENDPOINT       = "/getrecord";
-	public static final  String CHUNKED_TRANSFER_ENCODING     = "chunked";
 
 	/**
 	 * The data model persistence service.
@@ -155,24 +149,80 @@ public class InternalGDMGraphService implements InternalModelService {
 
 	private final Provider<SchemaDeterminator> schemaDeterminatorProvider;
 
+	/**
+	 * The long-lived client (incl. connection pool) for all requests against the graph endpoint.
+	 */
+	private final GraphClientPool clientPool;
+
+	/**
+	 * The default number of records that will be collected before they'll be flushed to the graph database.
+	 */
+	private final int defaultWriteBatchSize;
+
+	/**
+	 * The default size (in bytes) of the buffer for serialised records that should be written to the graph database.
+	 */
+	private final int defaultWriteBatchBytes;
+
+	/**
+	 * The maximum number of concurrent record requests at record retrieval.
+	 */
+	private final int recordConcurrency;
+
 	/**
 	 * Creates a new internal triple service with the given persistence services and the endpoint to access the graph database.
 	 *
-	 * @param dataModelService     the data model persistence service
-	 * @param graphEndpointArg     the endpoint to access the graph database
+	 * @param dataModelService                   the data model persistence service
+	 * @param graphEndpointArg                   the endpoint to access the graph database
+	 * @param maxConnectionsArg                  the maximum number of pooled connections to the graph database
+	 * @param maxConnectionsPerRouteArg          the maximum number of pooled connections per route to the graph database
+	 * @param idleTimeoutInMillisArg             the time after which idle pooled connections will be evicted
+	 * @param connectionTTLInMillisArg           the maximum time a pooled connection will be kept alive (0 = no limit)
+	 * @param connectTimeoutInMillisArg          the time after which establishing a connection to the graph database will be aborted
+	 * @param connectionRequestTimeoutInMillisArg the time after which waiting for a free pooled connection will be aborted
+	 * @param defaultWriteBatchSizeArg           the default number of records that will be collected before they'll be flushed at write time
+	 * @param defaultWriteBatchBytesArg          the default size (in bytes) of the buffer for serialised records at write time
+	 * @param recordConcurrencyArg               the maximum number of concurrent record requests at record retrieval
+	 * @param metricRegistryArg                  the metric registry, where the connection pool metrics will be registered
 	 */
 	@Inject
 	public InternalGDMGraphService(
 			final Provider<DataModelService> dataModelService,
 			@Named("dswarm.db.graph.endpoint") final String graphEndpointArg,
+			@Named("dswarm.db.graph.client.max-connections") final long maxConnectionsArg,
+			@Named("dswarm.db.graph.client.max-connections-per-route") final long maxConnectionsPerRouteArg,
+			@Named("dswarm.db.graph.client.idle-timeout") final long idleTimeoutInMillisArg,
+			@Named("dswarm.db.graph.client.connection-ttl") final long connectionTTLInMillisArg,
+			@Named("dswarm.db.graph.client.connect-timeout") final long connectTimeoutInMillisArg,
+			@Named("dswarm.db.graph.client.connection-request-timeout") final long connectionRequestTimeoutInMillisArg,
+			@Named("dswarm.db.graph.write.batch-size") final long defaultWriteBatchSizeArg,
+			@Named("dswarm.db.graph.write.batch-bytes") final long defaultWriteBatchBytesArg,
+			@Named("dswarm.db.graph.read.record-concurrency") final long recordConcurrencyArg,
 			final Provider<ObjectMapper> objectMapperProviderArg,
-			final Provider<SchemaDeterminator> schemaDeterminatorProviderArg) {
+			final Provider<SchemaDeterminator> schemaDeterminatorProviderArg,
+			final MetricRegistry metricRegistryArg) {
 
 		this.dataModelService = dataModelService;
 
 		graphEndpoint = graphEndpointArg;
 		objectMapperProvider = objectMapperProviderArg;
 		schemaDeterminatorProvider = schemaDeterminatorProviderArg;
+		defaultWriteBatchSize = (int) Math.max(1, defaultWriteBatchSizeArg);
+		defaultWriteBatchBytes = (int) Math.max(CHUNK_SIZE, defaultWriteBatchBytesArg);
+		recordConcurrency = (int) Math.max(1, recordConcurrencyArg);
+
+		clientPool = new GraphClientPool((int) maxConnectionsArg, (int) maxConnectionsPerRouteArg, idleTimeoutInMillisArg, connectionTTLInMillisArg,
+				(int) connectTimeoutInMillisArg, (int) connectionRequestTimeoutInMillisArg, CHUNK_SIZE, CHUNKED, REQUEST_TIMEOUT);
+		clientPool.registerMetrics(metricRegistryArg);
+	}
+
+	/**
+	 * Releases the client for the requests against the graph endpoint (incl. its connection pool and idle connection evictor). This
+	 * service shouldn't be utilised anymore afterwards.
+	 */
+	public void close() {
+
+		clientPool.close();
 	}
 
 	/**
@@ -261,9 +311,7 @@ public class InternalGDMGraphService implements InternalModelService {
 
 		final String recordClassUri = recordClass.getUri();
 
-		final Tuple2<Observable<Resource>, InputStream> readResult = readGDMFromDB(recordClassUri, dataModelURI, optionalAtMost);
-		final Observable<Resource> recordResourcesObservable = readResult._1;
-		final InputStream inputStream = readResult._2;
+		final Observable<Resource> recordResourcesObservable = readGDMFromDB(recordClassUri, dataModelURI, optionalAtMost);
 
 		// TODO: this won'T be done right now, but is maybe also not really necessary any more
 		//		final Set<Resource> recordResources = GDMUtil.getRecordResources(recordClassUri, model);
@@ -296,7 +344,6 @@ public class InternalGDMGraphService implements InternalModelService {
 					}
 				})
 				.map(gdm -> Tuple.of(gdm.getRecordURIs().iterator().next(), (Model) gdm))
-				.doOnCompleted(DMPPersistenceError.wrapped(() -> closeResource(inputStream, OBJECT_RETRIEVAL)))
 				.doOnCompleted(() -> LOG.debug("finally, retrieved and processed '{}' records", counter.get()));
 	}
 
@@ -568,35 +615,32 @@ public class InternalGDMGraphService implements InternalModelService {
 
 		final String dataModelURI = GDMUtil.getDataModelGraphURI(dataModelUuid);
 
-		return Observable.from(recordIdentifiers).flatMap(recordIdentifier ->
-						readGDMRecordFromDB(recordIdentifier, dataModelURI).filter(resource -> {
-							if (resource == null) {
-
-								InternalGDMGraphService.LOG
-										.debug("couldn't find record data for record identifier '{}' in data model '{}' in database",
-												recordIdentifier,
-												dataModelUuid);
-								return false;
-							}
+		LOG.debug("try to retrieve '{}' records from data model '{}'", recordIdentifiers.size(), dataModelUuid);
 
-							if (resource.size() <= 0) {
-
-								InternalGDMGraphService.LOG
-										.debug("resource is empty for record identifier '{}' in data model '{}' in database", recordIdentifier,
-												dataModelUuid);
-
-								return false;
+		// note: the number of concurrent record requests is bounded, i.e., the graph endpoint (and the connection pool) won't be flooded
+		return Observable.from(recordIdentifiers).flatMap(recordIdentifier ->
+				readGDMRecordFromDB(recordIdentifier, dataModelURI).filter(resource -> {
+					if (resource == null) {
+						InternalGDMGraphService.LOG
+								.debug("couldn't find record data for record identifier '{}' in data model '{}' in database",
+										recordIdentifier,
+										dataModelUuid);
+						return false;
+					}
+					if (resource.size() <= 0) {
+						InternalGDMGraphService.LOG
+								.debug("resource is empty for record identifier '{}' in data model '{}' in database", recordIdentifier,
+										dataModelUuid);
+						return false;
+					}
+					return true;
+				}).map(resource -> {
+					final org.dswarm.graph.json.Model model = new org.dswarm.graph.json.Model();
+					model.addResource(resource);
+					final Model gdmModel = new GDMModel(model, recordIdentifier);
 
-							}
-							return true;
-						}).map(resource -> {
-							final org.dswarm.graph.json.Model model = new org.dswarm.graph.json.Model();
-							model.addResource(resource);
-							final Model gdmModel = new GDMModel(model, recordIdentifier);
-
-							return Tuple.of(recordIdentifier, gdmModel);
-						})
-		);
+					return Tuple.of(recordIdentifier, gdmModel);
+				}), recordConcurrency);
 	}
 
 	private Observable<Response> createOrUpdateObject(final String dataModelUuid,
@@ -616,12 +660,15 @@ public class InternalGDMGraphService implements InternalModelService {
 
 		final Optional<Boolean> optionalDeprecateMissingRecords = determineMissingRecordsFlag(updateFormat);
 		final String dataModelURI = GDMUtil.getDataModelGraphURI(dataModelUuid);
+
 		// TODO: remove, or avoid redundant schema determination
 		final DataModel dataModel = schemaDeterminatorProvider.get().determineSchema(dataModelUuid);
 
 		// TODO: remove, or avoid redundant schema determination
 		final boolean isSchemaAnInBuiltSchema = schemaDeterminatorProvider.get().isSchemaAnInbuiltSchema(dataModel);
 
+		final SchemaAccumulator schemaAccumulator = schemaDeterminatorProvider.get().createSchemaAccumulator(dataModel, isSchemaAnInBuiltSchema);
+
 		final Observable<GDMModel> modelObservable = model.cast(GDMModel.class);
 
 		final GDMWriteRequestOperator operator = new GDMWriteRequestOperator(dataModel, isSchemaAnInBuiltSchema, dataModelURI,
@@ -652,9 +699,8 @@ public class InternalGDMGraphService implements InternalModelService {
 					return Collections.emptyList();
 				}
 
-				// TODO: remove, or avoid redundant schema determination
-				final boolean updateDataModelDirectly = false;
-				schemaDeterminatorProvider.get().optionallyEnhancedDataModel(dataModel, gdm, model1, isSchemaAnInBuiltSchema, updateDataModelDirectly);
+				// note: schema determination is incremental, i.e., only attribute paths that weren't seen before will be added
+				schemaAccumulator.accumulate(gdm, model1);
 
 				// note the model should always consist of one resource only
 				return resources;
@@ -666,7 +712,7 @@ public class InternalGDMGraphService implements InternalModelService {
 
 					try {
 
-						schemaDeterminatorProvider.get().updateDataModel(dataModel);
+						schemaAccumulator.complete();
 					} catch (final DMPPersistenceException e) {
 
 						throw DMPPersistenceError.wrap(e);
@@ -759,7 +805,9 @@ public class InternalGDMGraphService implements InternalModelService {
 
 		final Entity<String> entity = Entity.entity(requestJSONString, MediaType.APPLICATION_JSON);
 
-		final Observable<Response> post = rx.post(entity).subscribeOn(Schedulers.from(EXECUTOR_SERVICE));
+		final Observable<Response> post = rx.post(entity)
+				.map(InternalGDMGraphService::releaseConnection)
+				.subscribeOn(Schedulers.from(EXECUTOR_SERVICE));
 
 		final PublishSubject<Response> asyncPost = PublishSubject.create();
 		asyncPost.subscribe(response -> {
@@ -802,7 +850,9 @@ public class InternalGDMGraphService implements InternalModelService {
 
 		final Entity<String> entity = Entity.entity(requestJSONString, MediaType.APPLICATION_JSON);
 
-		final Observable<Response> post = rx.post(entity).subscribeOn(Schedulers.from(EXECUTOR_SERVICE));
+		final Observable<Response> post = rx.post(entity)
+				.map(InternalGDMGraphService::releaseConnection)
+				.subscribeOn(Schedulers.from(EXECUTOR_SERVICE));
 
 		final PublishSubject<Response> asyncPost = PublishSubject.create();
 		asyncPost.subscribe(response -> {
@@ -836,16 +886,69 @@ public class InternalGDMGraphService implements InternalModelService {
 		return recordURIsArray;
 	}
 
+	/**
+	 * Determines the write batch settings, i.e., the number of records per batch and the size of the batch buffer (in bytes), for the given
+	 * data model. The defaults can be overridden via the data model configuration parameters {@link ConfigurationStatics#WRITE_BATCH_SIZE}
+	 * and {@link ConfigurationStatics#WRITE_BATCH_BYTES}.
+	 *
+	 * @param dataModel the data model that should be written
+	 * @return a tuple of the number of records per batch and the size of the batch buffer (in bytes)
+	 */
+	private Tuple2<Integer, Integer> determineWriteBatchSettings(final DataModel dataModel) {
+
+		final Configuration configuration = dataModel.getConfiguration();
+
+		if (configuration == null) {
+
+			return Tuple.of(defaultWriteBatchSize, defaultWriteBatchBytes);
+		}
+
+		final int batchSize = getPositiveIntParameter(configuration, ConfigurationStatics.WRITE_BATCH_SIZE).orElse(defaultWriteBatchSize);
+		final int batchBytes = getPositiveIntParameter(configuration, ConfigurationStatics.WRITE_BATCH_BYTES)
+				.map(bytes -> Math.max(CHUNK_SIZE, bytes))
+				.orElse(defaultWriteBatchBytes);
+
+		return Tuple.of(batchSize, batchBytes);
+	}
+
+	private static Optional<Integer> getPositiveIntParameter(final Configuration configuration, final String key) {
+
+		final JsonNode parameter = configuration.getParameter(key);
+
+		if (parameter == null) {
+
+			return Optional.empty();
+		}
+
+		final int value = parameter.asInt(0);
+
+		if (value <= 0) {
+
+			LOG.warn("ignore invalid value '{}' of configuration parameter '{}'", parameter.asText(), key);
+
+			return Optional.empty();
+		}
+
+		return Optional.of(value);
+	}
+
 	private Tuple2<Observer<org.dswarm.graph.json.Resource>, Observable<Response>> writeGDMToDB(final String dataModelUri,
-	                                                                                            final String metadata) throws DMPPersistenceException {
+	                                                                                            final String metadata,
+	                                                                                            final Tuple2<Integer, Integer> writeBatchSettings)
+			throws DMPPersistenceException {
 
-		LOG.debug("try to write GDM data for data model '{}' into data hub", dataModelUri);
+		LOG.debug("try to write GDM data for data model '{}' into data hub (batch size = '{}' records, batch buffer = '{}' bytes)", dataModelUri,
+				writeBatchSettings._1, writeBatchSettings._2);
 
 		final WebTarget target = gdmTarget(WRITE_GDM_ENDPOINT);
 
 		final RxWebTarget<RxObservableInvoker> rxWebTarget = RxObservable.from(target);
 
-		final PipedInputStream input = new PipedInputStream();
+		final int batchSize = writeBatchSettings._1;
+		final int batchBytes = writeBatchSettings._2;
+
+		// the pipe buffer can hold a whole batch, i.e., the writer doesn't need to wait for the reader while writing a batch
+		final PipedInputStream input = new PipedInputStream(batchBytes);
 		final PipedOutputStream output = new PipedOutputStream();
 
 		try {
@@ -854,22 +957,24 @@ public class InternalGDMGraphService implements InternalModelService {
 
 				output.connect(input);
 
-				return getBytes(output); // turns a Runnable into a Callable which handles exceptions
+				return getBytes(output, batchSize, batchBytes); // turns a Runnable into a Callable which handles exceptions
 			}).get();
 
 			final MultiPart multiPart = new MultiPart();
-			final BufferedInputStream entity1 = new BufferedInputStream(input, CHUNK_SIZE);
 
 			multiPart
 					.bodyPart(metadata, MediaType.APPLICATION_JSON_TYPE)
-					.bodyPart(entity1, MediaType.APPLICATION_OCTET_STREAM_TYPE);
+					.bodyPart(input, MediaType.APPLICATION_OCTET_STREAM_TYPE);
 
 			// POST the request
-			final RxObservableInvoker rx = rxWebTarget.request(MULTIPART_MIXED).header(HttpHeaders.TRANSFER_ENCODING, CHUNKED_TRANSFER_ENCODING).rx();
+			// note: chunked transfer encoding is already enabled via the client configuration (request entity processing)
+			final RxObservableInvoker rx = rxWebTarget.request(MULTIPART_MIXED).rx();
 
 			final Entity<MultiPart> entity = Entity.entity(multiPart, MULTIPART_MIXED);
 
-			final Observable<Response> post = rx.post(entity).subscribeOn(Schedulers.from(EXECUTOR_SERVICE));
+			final Observable<Response> post = rx.post(entity)
+					.map(InternalGDMGraphService::releaseConnection)
+					.subscribeOn(Schedulers.from(EXECUTOR_SERVICE));
 
 			final PublishSubject<Response> asyncPost = PublishSubject.create();
 			asyncPost.subscribe(response -> {
@@ -962,9 +1067,20 @@ public class InternalGDMGraphService implements InternalModelService {
 		}
 	}
 
-	private Tuple2<Observable<Resource>, InputStream> readGDMFromDB(final String recordClassUri,
-	                                                                final String dataModelUri,
-	                                                                final Optional<Integer> optionalAtMost) throws DMPPersistenceException {
+	/**
+	 * Reads the GDM records of the given data model asynchronously from the graph database. The request will be sent on subscription and
+	 * the response body will be parsed incrementally, i.e., a record will only be parsed when it was requested by the downstream subscriber.
+	 * The connection will be released on completion, on error or on unsubscription.
+	 *
+	 * @param recordClassUri the record class of the records that should be read
+	 * @param dataModelUri   the graph URI of the data model
+	 * @param optionalAtMost an optional limit of the number of records that should be read
+	 * @return an observable of the record resources
+	 * @throws DMPPersistenceException
+	 */
+	private Observable<Resource> readGDMFromDB(final String recordClassUri,
+	                                           final String dataModelUri,
+	                                           final Optional<Integer> optionalAtMost) throws DMPPersistenceException {
 
 		LOG.debug("try to read GDM data for data model '{}' and record class '{}' from data hub", dataModelUri, recordClassUri);
 
@@ -992,21 +1108,35 @@ public class InternalGDMGraphService implements InternalModelService {
 		}
 
 		// POST the request
-		// TODO: async ?
-		final Response response = target.request(MediaType.APPLICATION_JSON_TYPE).accept(MediaType.APPLICATION_JSON)
-				.post(Entity.entity(requestJsonString, MediaType.APPLICATION_JSON));
+		final RxObservableInvoker rx = RxObservable.from(target).request(MediaType.APPLICATION_JSON_TYPE).accept(MediaType.APPLICATION_JSON).rx();
 
-		if (response.getStatus() != 200) {
+		return rx.post(Entity.entity(requestJsonString, MediaType.APPLICATION_JSON))
+				.subscribeOn(Schedulers.from(EXECUTOR_SERVICE))
+				.flatMap(response -> Observable.using(
+						() -> response,
+						response1 -> {
 
-			throw new DMPPersistenceException(
-					String.format("Couldn't read GDM data from database. Received status code '%s' from database endpoint.", response.getStatus()));
-		}
+							if (response1.getStatus() != 200) {
+
+								return Observable.<Resource>error(new DMPPersistenceException(
+										String.format("Couldn't read GDM data from database. Received status code '%s' from database endpoint.",
+												response1.getStatus())));
+							}
+
+							LOG.debug("start reading GDM data for data model '{}' and record class '{}' from data hub", dataModelUri,
+									recordClassUri);
 
-		final InputStream body = response.readEntity(InputStream.class);
+							final InputStream body = new BufferedInputStream(response1.readEntity(InputStream.class), READ_BUFFER_SIZE);
 
-		LOG.debug("read GDM data for data model '{}' and record class '{}' from data hub", dataModelUri, recordClassUri);
+							return Observable.create(new ResourceStreamOnSubscribe(body));
+						},
+						response1 -> {
 
-		return deserializeModel(body);
+							response1.close();
+
+							LOG.debug("released connection for reading GDM data for data model '{}' and record class '{}' from data hub",
+									dataModelUri, recordClassUri);
+						}, true), 1);
 	}
 
 	private Observable<Resource> readGDMRecordFromDB(final String recordUri,
@@ -1033,20 +1163,24 @@ public class InternalGDMGraphService implements InternalModelService {
 		}
 
 		// POST the request
-		// TODO: re-work to rxjava jersey client
-		final Future<Response> responseFuture = target.request(MediaType.APPLICATION_JSON_TYPE)
-				.accept(MediaType.APPLICATION_JSON)
-				.async()
-				.post(Entity.entity(requestJsonString, MediaType.APPLICATION_JSON));
+		final RxObservableInvoker rx = RxObservable.from(target).request(MediaType.APPLICATION_JSON_TYPE).accept(MediaType.APPLICATION_JSON).rx();
 
-		return Observable.from(responseFuture)
+		return rx.post(Entity.entity(requestJsonString, MediaType.APPLICATION_JSON))
+				.subscribeOn(Schedulers.from(EXECUTOR_SERVICE))
 				.flatMap(response -> {
-					if (response.getStatus() != 200) {
-						return Observable.error(new DMPPersistenceException(
-								String.format("Couldn't read GDM record data from database. Received status code '%s' from database endpoint.",
-										response.getStatus())));
+
+					try {
+
+						if (response.getStatus() != 200) {
+							return Observable.error(new DMPPersistenceException(
+									String.format("Couldn't read GDM record data from database. Received status code '%s' from database endpoint.",
+											response.getStatus())));
+						}
+						return Observable.just(response.readEntity(String.class));
+					} finally {
+
+						response.close();
 					}
-					return Observable.just(response.readEntity(String.class));
 				})
 				.map(DMPPersistenceError.wrapped(this::deserializeResource));
 	}
@@ -1094,22 +1228,28 @@ public class InternalGDMGraphService implements InternalModelService {
 
 		return Observable.from(responseFuture)
 				.flatMap(response -> {
-					if (response.getStatus() != 200) {
+					final int status = response.getStatus();
+
+					if (status != 200) {
+
+						response.close();
+
 						return Observable.error(new DMPPersistenceException(
-								String.format("Couldn't find GDM records in database. Received status code '%s' from database endpoint.",
-										response.getStatus())));
+								String.format("Couldn't find GDM records in database. Received status code '%s' from database endpoint.", status)));
 					}
 
-					final InputStream body = response.readEntity(InputStream.class);
+					// note: the response (incl. the pooled connection) will be released on completion as well as on error or unsubscription
+					return Observable.using(() -> response, response1 -> {
+
+						final InputStream body = response1.readEntity(InputStream.class);
 
-					final Tuple2<Observable<Resource>, InputStream> searchResultTuple = deserializeModel(body);
-					final Observable<Resource> searchResult = searchResultTuple._1;
-					final InputStream is = searchResultTuple._2;
+						final Tuple2<Observable<Resource>, InputStream> searchResultTuple = deserializeModel(body);
+						final Observable<Resource> searchResult = searchResultTuple._1;
 
-					return searchResult.reduce(
-							new org.dswarm.graph.json.Model(),
-							org.dswarm.graph.json.Model::addResource)
-							.doOnCompleted(DMPPersistenceError.wrapped(() -> closeResource(is, SEARCH_RESULT)));
+						return searchResult.reduce(
+								new org.dswarm.graph.json.Model(),
+								org.dswarm.graph.json.Model::addResource);
+					}, Response::close, true);
 				});
 	}
 
@@ -1146,7 +1286,7 @@ public class InternalGDMGraphService implements InternalModelService {
 
 	private Client client() {
 
-		return BUILDER.build();
+		return clientPool.client();
 	}
 
 	private WebTarget gdmTarget() {
@@ -1183,11 +1323,26 @@ public class InternalGDMGraphService implements InternalModelService {
 		return target;
 	}
 
-	private Observer<Resource> getBytes(final OutputStream output) throws DMPPersistenceException {
+	/**
+	 * Creates an observer that serialises the received resources into the given output stream. The serialised resources are collected in
+	 * batches, i.e., the output stream will be flushed after the given number of resources or when the batch buffer is full (whatever comes
+	 * first).
+	 *
+	 * @param output     the output stream, where the serialised resources should be written to
+	 * @param batchSize  the number of resources that should be collected before flushing
+	 * @param batchBytes the size (in bytes) of the batch buffer
+	 * @return an observer that serialises the received resources
+	 * @throws DMPPersistenceException
+	 */
+	private Observer<Resource> getBytes(final OutputStream output,
+	                                    final int batchSize,
+	                                    final int batchBytes) throws DMPPersistenceException {
 
 		try {
 
-			final ModelBuilder modelBuilder = new ModelBuilder(output);
+			final OutputStream batchOutput = new BufferedOutputStream(output, batchBytes);
+			final ModelBuilder modelBuilder = new ModelBuilder(batchOutput);
+			final AtomicInteger batchCounter = new AtomicInteger(0);
 
 			return new Observer<org.dswarm.graph.json.Resource>() {
 
@@ -1196,6 +1351,7 @@ public class InternalGDMGraphService implements InternalModelService {
 					try {
 
 						modelBuilder.build();
+						batchOutput.flush();
 					} catch (final IOException e) {
 
 						throw new RuntimeException(e);
@@ -1213,7 +1369,12 @@ public class InternalGDMGraphService implements InternalModelService {
 					try {
 
 						modelBuilder.addResource(resource);
-						output.flush();
+
+						if (batchCounter.incrementAndGet() >= batchSize) {
+
+							batchCounter.set(0);
+							batchOutput.flush();
+						}
 					} catch (final IOException e) {
 
 						throw new RuntimeException(e);
@@ -1270,6 +1431,28 @@ public class InternalGDMGraphService implements InternalModelService {
 		}
 	}
 
+	/**
+	 * Reads the (small) body of the given response completely into memory, i.e., the underlying pooled connection will be released
+	 * immediately, while the response (incl. its status and body) remains readable for further processing.
+	 *
+	 * @param response a response from the graph endpoint
+	 * @return the given response with a buffered body
+	 */
+	private static Response releaseConnection(final Response response) {
+
+		try {
+
+			response.bufferEntity();
+		} catch (final ProcessingException e) {
+
+			LOG.debug("couldn't buffer response body from graph endpoint, close response", e);
+
+			response.close();
+		}
+
+		return response;
+	}
+
 	private static void closeResource(final Closeable closeable,
 	                                  final String type) throws DMPPersistenceException {
 
@@ -1376,7 +1559,10 @@ public class InternalGDMGraphService implements InternalModelService {
 									optionalRecordClassUri,
 									enableVersioning);
 
-							final Tuple2<Observer<Resource>, Observable<Response>> observerObservableTuple = writeGDMToDB(dataModelURI, metadata);
+							final Tuple2<Integer, Integer> writeBatchSettings = determineWriteBatchSettings(finalDataModel);
+
+							final Tuple2<Observer<Resource>, Observable<Response>> observerObservableTuple = writeGDMToDB(dataModelURI, metadata,
+									writeBatchSettings);
 							final Observer<Resource> resourceObserver = observerObservableTuple._1;
 							resourcePublishSubject.doOnError(e1 -> responseAsyncSubject.onError(e1))
 									.subscribe(resourceObserver);
@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.persistence.service.internal.graph;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Observer;
+import rx.observables.SyncOnSubscribe;
+
+import org.dswarm.graph.json.Resource;
+import org.dswarm.graph.json.util.Util;
+import org.dswarm.persistence.DMPPersistenceError;
+import org.dswarm.persistence.DMPPersistenceException;
+
+/**
+ * Parses a GDM model stream (i.e. a JSON array of GDM resources) incrementally, i.e., the next resource will only be parsed, when it
+ * was requested by the downstream subscriber. The underlying stream will be closed on completion, on error or on unsubscription.
+ *
+ * @author tgaengler
+ */
+final class ResourceStreamOnSubscribe extends SyncOnSubscribe<JsonParser, Resource> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ResourceStreamOnSubscribe.class);
+
+	private final InputStream modelStream;
+
+	ResourceStreamOnSubscribe(final InputStream modelStream) {
+
+		this.modelStream = modelStream;
+	}
+
+	@Override
+	protected JsonParser generateState() {
+
+		final ObjectMapper gdmObjectMapper = Util.getJSONObjectMapper();
+
+		try {
+
+			final JsonParser parser = gdmObjectMapper.getFactory().createParser(modelStream);
+			final JsonToken firstToken = parser.nextToken();
+
+			if (firstToken != null && firstToken != JsonToken.START_ARRAY) {
+
+				parser.close();
+
+				throw DMPPersistenceError.wrap(new DMPPersistenceException(
+						String.format("couldn't parse GDM model stream; expected a JSON array, but got '%s'", firstToken)));
+			}
+
+			return parser;
+		} catch (final IOException e) {
+
+			throw DMPPersistenceError.wrap(new DMPPersistenceException("couldn't initialise parsing of GDM model stream", e));
+		}
+	}
+
+	@Override
+	protected JsonParser next(final JsonParser parser, final Observer<? super Resource> observer) {
+
+		try {
+
+			final JsonToken token = parser.nextToken();
+
+			if (token == null || token == JsonToken.END_ARRAY) {
+
+				observer.onCompleted();
+
+				return parser;
+			}
+
+			observer.onNext(parser.readValueAs(Resource.class));
+		} catch (final IOException e) {
+
+			observer.onError(new DMPPersistenceException("couldn't parse resource from GDM model stream", e));
+		}
+
+		return parser;
+	}
+
+	@Override
+	protected void onUnsubscribe(final JsonParser parser) {
+
+		try {
+
+			parser.close();
+			modelStream.close();
+		} catch (final IOException e) {
+
+			LOG.debug("couldn't close GDM model stream", e);
+		}
+	}
+}
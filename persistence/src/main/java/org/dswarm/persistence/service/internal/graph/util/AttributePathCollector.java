@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.persistence.service.internal.graph.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.dswarm.graph.json.LiteralNode;
+import org.dswarm.graph.json.Model;
+import org.dswarm.graph.json.Node;
+import org.dswarm.graph.json.Resource;
+import org.dswarm.graph.json.ResourceNode;
+import org.dswarm.graph.json.Statement;
+import org.dswarm.graph.json.util.Util;
+import org.dswarm.persistence.model.internal.helper.AttributePathHelper;
+
+/**
+ * Collects the distinct attribute paths of GDM records. All attribute paths that were seen so far are kept in a trie (keyed by their
+ * property URIs), i.e., an attribute path is only reported once and is compared by its actual property URIs (not by a hash of them).<br/>
+ * Note: a collector is not thread-safe, i.e., it should only be utilised for one (sequential) stream.
+ *
+ * @author tgaengler
+ */
+public class AttributePathCollector {
+
+	private final PathNode     root                 = new PathNode();
+	private final List<String> currentAttributePath = new ArrayList<>();
+
+	private int size;
+
+	/**
+	 * Collects the attribute paths of the given records that weren't seen before.
+	 *
+	 * @param recordURIs the identifiers of the records
+	 * @param model      the GDM model of the records
+	 * @return the attribute paths that weren't seen before (in order of their occurrence)
+	 */
+	public Set<AttributePathHelper> collect(final Collection<String> recordURIs,
+	                                        final Model model) {
+
+		final Set<AttributePathHelper> newAttributePaths = new LinkedHashSet<>();
+
+		for (final String recordURI : recordURIs) {
+
+			final Resource recordResource = model.getResource(recordURI);
+
+			if (recordResource == null) {
+
+				continue;
+			}
+
+			final ResourceNode recordResourceNode = Util.getResourceNode(recordURI, recordResource);
+
+			if (recordResourceNode == null) {
+
+				continue;
+			}
+
+			collect(recordResource, recordResourceNode, root, newAttributePaths);
+		}
+
+		return newAttributePaths;
+	}
+
+	/**
+	 * @return the number of distinct attribute paths that were seen so far
+	 */
+	public int size() {
+
+		return size;
+	}
+
+	private void collect(final Resource recordResource,
+	                     final Node node,
+	                     final PathNode parent,
+	                     final Set<AttributePathHelper> newAttributePaths) {
+
+		final Set<Statement> statements = Util.getResourceStatement(node, recordResource);
+
+		if (statements == null) {
+
+			return;
+		}
+
+		for (final Statement statement : statements) {
+
+			final String propertyURI = statement.getPredicate().getUri();
+			final Node object = statement.getObject();
+
+			currentAttributePath.add(propertyURI);
+
+			final boolean isLeaf = object instanceof LiteralNode
+					|| (object instanceof ResourceNode && isEmpty(Util.getResourceStatement(object, recordResource)));
+
+			PathNode pathNode = parent.children.get(propertyURI);
+
+			if (pathNode == null) {
+
+				pathNode = new PathNode();
+				parent.children.put(propertyURI, pathNode);
+				size++;
+
+				// note: same multivalue semantics as at GDMModel#getAttributePaths
+				final Boolean multivalue = isLeaf ? Boolean.FALSE : null;
+				newAttributePaths.add(new AttributePathHelper(new ArrayList<>(currentAttributePath), null, multivalue));
+			}
+
+			if (!isLeaf) {
+
+				collect(recordResource, object, pathNode, newAttributePaths);
+			}
+
+			currentAttributePath.remove(currentAttributePath.size() - 1);
+		}
+	}
+
+	private static boolean isEmpty(final Set<Statement> statements) {
+
+		return statements == null || statements.isEmpty();
+	}
+
+	private static final class PathNode {
+
+		private final Map<String, PathNode> children = new HashMap<>();
+	}
+}
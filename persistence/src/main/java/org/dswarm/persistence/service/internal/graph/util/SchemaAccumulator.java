@@ -0,0 +1,153 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.persistence.service.internal.graph.util;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.dswarm.persistence.DMPPersistenceException;
+import org.dswarm.persistence.model.internal.gdm.GDMModel;
+import org.dswarm.persistence.model.internal.helper.AttributePathHelper;
+import org.dswarm.persistence.model.resource.DataModel;
+
+/**
+ * Accumulates the schema (i.e. record class and attribute paths) of a data model incrementally from a stream of GDM records. Attribute paths
+ * are determined directly from the statements of the records and are deduplicated via their property URIs (see
+ * {@link AttributePathCollector}), i.e., only attribute paths that haven't been seen before will be added to the schema. New attribute paths are added to the schema every n records; the data model
+ * will be persisted once at the end of the stream (see {@link #complete()}).<br/>
+ * Note: an accumulator is not thread-safe, i.e., it should only be utilised for one (sequential) stream.
+ *
+ * @author tgaengler
+ */
+public class SchemaAccumulator {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SchemaAccumulator.class);
+
+	private final SchemaDeterminator schemaDeterminator;
+	private final boolean            utiliseExistingSchema;
+	private final int                flushInterval;
+
+	private final Set<String>              recordClassURIs        = new HashSet<>();
+	private final AttributePathCollector   attributePathCollector = new AttributePathCollector();
+	private final Set<AttributePathHelper> pendingAttributePaths  = new LinkedHashSet<>();
+
+	private DataModel dataModel;
+	private int       recordsSinceLastFlush;
+
+	SchemaAccumulator(final SchemaDeterminator schemaDeterminator,
+	                  final DataModel dataModel,
+	                  final boolean utiliseExistingSchema,
+	                  final int flushInterval) {
+
+		this.schemaDeterminator = schemaDeterminator;
+		this.dataModel = dataModel;
+		this.utiliseExistingSchema = utiliseExistingSchema;
+		this.flushInterval = flushInterval;
+	}
+
+	/**
+	 * Accumulates the schema of the given record, i.e., adds the record class (if it wasn't seen before) and collects the attribute paths
+	 * that weren't seen before.
+	 *
+	 * @param gdmModel  the record
+	 * @param realModel the GDM model of the record
+	 * @return the (optionally enhanced) data model
+	 * @throws DMPPersistenceException
+	 */
+	public DataModel accumulate(final GDMModel gdmModel,
+	                            final org.dswarm.graph.json.Model realModel) throws DMPPersistenceException {
+
+		if (utiliseExistingSchema) {
+
+			return dataModel;
+		}
+
+		final String recordClassURI = gdmModel.getRecordClassURI();
+
+		if (recordClassURIs.add(recordClassURI)) {
+
+			final DataModel updatedDataModel = schemaDeterminator.addRecordClass(dataModel, recordClassURI, false);
+
+			if (updatedDataModel == null) {
+
+				throw new DMPPersistenceException("Could not get the actual data model to use");
+			}
+
+			dataModel = updatedDataModel;
+		}
+
+		if (dataModel.getSchema() == null) {
+
+			return dataModel;
+		}
+
+		if (dataModel.getSchema().getRecordClass() != null) {
+
+			gdmModel.setRecordURIs(realModel.getResourceURIs());
+		}
+
+		pendingAttributePaths.addAll(attributePathCollector.collect(gdmModel.getRecordURIs(), realModel));
+
+		recordsSinceLastFlush++;
+
+		if (recordsSinceLastFlush >= flushInterval) {
+
+			flush();
+		}
+
+		return dataModel;
+	}
+
+	/**
+	 * Adds all pending attribute paths to the schema and persists the data model.
+	 *
+	 * @return the persisted data model
+	 * @throws DMPPersistenceException
+	 */
+	public DataModel complete() throws DMPPersistenceException {
+
+		flush();
+
+		LOG.debug("accumulated '{}' distinct attribute paths for data model '{}'", attributePathCollector.size(), dataModel.getUuid());
+
+		return schemaDeterminator.updateDataModel(dataModel);
+	}
+
+	public DataModel getDataModel() {
+
+		return dataModel;
+	}
+
+	private void flush() throws DMPPersistenceException {
+
+		recordsSinceLastFlush = 0;
+
+		if (pendingAttributePaths.isEmpty()) {
+
+			return;
+		}
+
+		LOG.debug("add '{}' new attribute paths to schema of data model '{}'", pendingAttributePaths.size(), dataModel.getUuid());
+
+		schemaDeterminator.addAttributePaths(dataModel, pendingAttributePaths);
+
+		pendingAttributePaths.clear();
+	}
+}
@@ -21,6 +21,7 @@ import java.util.Optional;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.google.inject.name.Named;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -70,6 +71,11 @@ public class SchemaDeterminator {
 	 */
 	private final Provider<DataModelService> dataModelService;
 
+	/**
+	 * The number of records after which new attribute paths will be added to the schema at incremental schema determination.
+	 */
+	private final int schemaFlushInterval;
+
 	/**
 	 * Creates a new internal triple service with the given persistence services and the endpoint to access the graph database.
 	 *
@@ -78,6 +84,8 @@ public class SchemaDeterminator {
 	 * @param classService         the class persistence service
 	 * @param attributePathService the attribute path persistence service
 	 * @param attributeService     the attribute persistence service
+	 * @param schemaFlushInterval  the number of records after which new attribute paths will be added to the schema at incremental schema
+	 *                             determination
 	 */
 	@Inject
 	public SchemaDeterminator(
@@ -86,7 +94,8 @@ public class SchemaDeterminator {
 			final Provider<ClaszService> classService,
 			final Provider<SchemaAttributePathInstanceService> schemaAttributePathInstanceService,
 			final Provider<AttributePathService> attributePathService,
-			final Provider<AttributeService> attributeService) {
+			final Provider<AttributeService> attributeService,
+			@Named("dswarm.db.metadata.schema-flush-interval") final long schemaFlushInterval) {
 
 		this.dataModelService = dataModelService;
 		this.schemaService = schemaService;
@@ -94,6 +103,21 @@ public class SchemaDeterminator {
 		this.attributePathService = attributePathService;
 		this.schemaAttributePathInstanceService = schemaAttributePathInstanceService;
 		this.attributeService = attributeService;
+		this.schemaFlushInterval = (int) Math.max(1, schemaFlushInterval);
+	}
+
+	/**
+	 * Creates a new schema accumulator for incremental schema determination of the given data model, i.e., the schema will be enhanced
+	 * record by record, but the data model will only be persisted once at the end (see {@link SchemaAccumulator#complete()}).
+	 *
+	 * @param dataModel             the data model, whose schema should be determined
+	 * @param utiliseExistingSchema true, if the existing schema should be utilised, i.e., it won't be enhanced
+	 * @return a new schema accumulator
+	 */
+	public SchemaAccumulator createSchemaAccumulator(final DataModel dataModel,
+	                                                 final boolean utiliseExistingSchema) {
+
+		return new SchemaAccumulator(this, dataModel, utiliseExistingSchema, schemaFlushInterval);
 	}
 
 	public DataModel optionallyEnhancedDataModel(final DataModel dataModel,
@@ -392,9 +416,9 @@ public class SchemaDeterminator {
 	 * @param recordClassUri the identifier of the record class
 	 * @throws DMPPersistenceException
 	 */
-	private DataModel addRecordClass(final DataModel dataModel,
-	                                 final String recordClassUri,
-	                                 final boolean updateDataModelDirectly) throws DMPPersistenceException {
+	DataModel addRecordClass(final DataModel dataModel,
+	                         final String recordClassUri,
+	                         final boolean updateDataModelDirectly) throws DMPPersistenceException {
 
 		LOG.debug("add record class '{}' to schema for data model '{}'", recordClassUri, dataModel.getUuid());
 
@@ -421,6 +445,26 @@ public class SchemaDeterminator {
 		return dataModel;
 	}
 
+	/**
+	 * Adds the given attribute paths to the schema of the data model (without persisting the data model).
+	 *
+	 * @param dataModel            the data model
+	 * @param attributePathHelpers the attribute paths that should be added
+	 * @throws DMPPersistenceException
+	 */
+	void addAttributePaths(final DataModel dataModel,
+	                       final Set<AttributePathHelper> attributePathHelpers) throws DMPPersistenceException {
+
+		final Schema schema = dataModel.getSchema();
+
+		if (schema == null) {
+
+			return;
+		}
+
+		SchemaUtils.addAttributePaths(schema, attributePathHelpers, attributePathService, schemaAttributePathInstanceService, attributeService);
+	}
+
 	private DataModel determineAttributePaths(final DataModel dataModel,
 	                                          final Model model,
 	                                          final boolean updateDataModelDirectly) throws DMPPersistenceException {
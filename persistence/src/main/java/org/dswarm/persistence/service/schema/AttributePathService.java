@@ -47,19 +47,25 @@ public class AttributePathService extends BasicJPAService<ProxyAttributePath, At
 
 	private static final Logger LOG = LoggerFactory.getLogger(AttributePathService.class);
 
+	private final SchemaTermCache schemaTermCache;
+
 	/**
 	 * Creates a new attribute path persistence service with the given entity manager provider.
 	 *
 	 * @param entityManagerProvider an entity manager provider
+	 * @param schemaTermCache       the cache of already persisted schema terms
 	 */
 	@Inject
-	public AttributePathService(final Provider<EntityManager> entityManagerProvider) {
+	public AttributePathService(final Provider<EntityManager> entityManagerProvider, final SchemaTermCache schemaTermCache) {
 
 		super(AttributePath.class, ProxyAttributePath.class, entityManagerProvider);
+
+		this.schemaTermCache = schemaTermCache;
 	}
 
 	/**
-	 * Creates an attribute path with the given ordered list of attributes or returns the existing one from the DB.
+	 * Creates an attribute path with the given ordered list of attributes or returns the existing one from the DB. Already known attribute
+	 * paths will be served from the schema term cache, i.e., without a lookup query.
 	 *
 	 * @param attributes an ordered list of attributes
 	 * @return the persisted or matched attribute path from DB
@@ -70,7 +76,42 @@ public class AttributePathService extends BasicJPAService<ProxyAttributePath, At
 
 		final AttributePath tempAttributePath = new AttributePath(attributes);
 
-		return createObject(tempAttributePath);
+		final String attributePathJSON = tempAttributePath.getAttributePathAsJSONObjectString();
+		final Optional<String> optionalCachedAttributePathUuid = schemaTermCache.getAttributePathUuid(attributePathJSON);
+
+		if (optionalCachedAttributePathUuid.isPresent()) {
+
+			// note: the attribute path will be resolved by the entity manager of the current unit of work, i.e., it won't be shared
+			final AttributePath cachedAttributePath = acquire(false).find(AttributePath.class, optionalCachedAttributePathUuid.get());
+
+			if (cachedAttributePath != null) {
+
+				return new ProxyAttributePath(cachedAttributePath, RetrievalType.RETRIEVED);
+			}
+
+			schemaTermCache.invalidateAttributePath(attributePathJSON);
+		}
+
+		final ProxyAttributePath proxyAttributePath = createObject(tempAttributePath);
+
+		if (proxyAttributePath != null) {
+
+			schemaTermCache.putAttributePath(acquire(false), proxyAttributePath.getObject());
+		}
+
+		return proxyAttributePath;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@Transactional(rollbackOn = Exception.class)
+	public void deleteObject(final String uuid) {
+
+		super.deleteObject(uuid);
+
+		schemaTermCache.invalidateAttributePaths();
 	}
 
 	/**
@@ -228,6 +269,8 @@ public class AttributePathService extends BasicJPAService<ProxyAttributePath, At
 		final List<Attribute> attributes = object.getAttributePath();
 
 		updateObject.setAttributePath(attributes);
+
+		schemaTermCache.invalidateAttributePaths();
 	}
 
 	public List<AttributePath> getAttributePathsWithPath(final String attributePathJSONArrayString) {
@@ -17,10 +17,14 @@ package org.dswarm.persistence.service.schema;
 
 import javax.persistence.EntityManager;
 
+import java.util.Optional;
+
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.google.inject.persist.Transactional;
 
 import org.dswarm.persistence.DMPPersistenceException;
+import org.dswarm.persistence.model.proxy.RetrievalType;
 import org.dswarm.persistence.model.schema.Attribute;
 import org.dswarm.persistence.model.schema.proxy.ProxyAttribute;
 import org.dswarm.persistence.service.AdvancedDMPJPAService;
@@ -32,15 +36,69 @@ import org.dswarm.persistence.service.AdvancedDMPJPAService;
  */
 public class AttributeService extends AdvancedDMPJPAService<ProxyAttribute, Attribute> {
 
+	private final SchemaTermCache schemaTermCache;
+
 	/**
 	 * Creates a new attribute persistence service with the given entity manager provider.
 	 *
 	 * @param entityManagerProvider an entity manager provider
+	 * @param schemaTermCache       the cache of already persisted schema terms
 	 */
 	@Inject
-	public AttributeService(final Provider<EntityManager> entityManagerProvider) {
+	public AttributeService(final Provider<EntityManager> entityManagerProvider, final SchemaTermCache schemaTermCache) {
 
 		super(Attribute.class, ProxyAttribute.class, entityManagerProvider);
+
+		this.schemaTermCache = schemaTermCache;
+	}
+
+	/**
+	 * Create and persist an attribute with the given URI or return the existing one. Already known attributes will be served from the
+	 * schema term cache, i.e., without a lookup query.
+	 *
+	 * @param uri the attribute URI
+	 * @return the persisted or matched attribute
+	 */
+	@Override
+	@Transactional(rollbackOn = DMPPersistenceException.class)
+	public ProxyAttribute createOrGetObjectTransactional(final String uri) throws DMPPersistenceException {
+
+		final Optional<String> optionalCachedAttributeUuid = schemaTermCache.getAttributeUuid(uri);
+
+		if (optionalCachedAttributeUuid.isPresent()) {
+
+			// note: the attribute will be resolved by the entity manager of the current unit of work, i.e., it won't be shared
+			final Attribute cachedAttribute = acquire(false).find(Attribute.class, optionalCachedAttributeUuid.get());
+
+			if (cachedAttribute != null) {
+
+				return new ProxyAttribute(cachedAttribute, RetrievalType.RETRIEVED);
+			}
+
+			schemaTermCache.invalidateAttribute(uri);
+		}
+
+		final ProxyAttribute proxyAttribute = super.createOrGetObjectTransactional(uri);
+
+		if (proxyAttribute != null) {
+
+			schemaTermCache.putAttribute(acquire(false), proxyAttribute.getObject());
+		}
+
+		return proxyAttribute;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@Transactional(rollbackOn = Exception.class)
+	public void deleteObject(final String uuid) {
+
+		super.deleteObject(uuid);
+
+		// note: the URI of the removed attribute is not known at this point
+		schemaTermCache.invalidateAll();
 	}
 
 	/**
@@ -64,6 +122,8 @@ public class AttributeService extends AdvancedDMPJPAService<ProxyAttribute, Attr
 		// final Set<AttributePath> attributePaths = object.getUniqueAttributePaths();
 
 		updateObject.setName(name);
+
+		schemaTermCache.invalidateAttribute(updateObject.getUri());
 		// updateObject.setAttributePaths(attributePaths);
 	}
 
@@ -0,0 +1,250 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.persistence.service.schema;
+
+import javax.persistence.EntityManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
+import org.eclipse.persistence.sessions.UnitOfWork;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.dswarm.persistence.model.schema.Attribute;
+import org.dswarm.persistence.model.schema.AttributePath;
+
+/**
+ * A process-wide, size-bounded cache of the identifiers of already persisted schema terms, i.e., the uuids of attributes (keyed by their
+ * URI) and attribute paths (keyed by their attribute path JSON string). It is utilised to avoid lookup queries for terms that were already
+ * created or retrieved before. Only identifiers are cached, i.e., the entities itself need to be resolved via the entity manager of the
+ * current unit of work (and are never shared between units of work).<br/>
+ * Terms that were created or retrieved within a transaction will only be cached after the transaction was committed successfully; they
+ * will be evicted, if the transaction was rolled back. The cache needs to be invalidated whenever the metadata DB is reset or truncated
+ * (see {@link #invalidateAll()}).
+ *
+ * @author tgaengler
+ */
+@Singleton
+public class SchemaTermCache {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SchemaTermCache.class);
+
+	private final Cache<String, String> attributes;
+	private final Cache<String, String> attributePaths;
+
+	/**
+	 * The schema terms of the currently running transactions (per unit of work) that will be cached after a successful commit.
+	 */
+	private final Map<UnitOfWork, PendingSchemaTerms> pendingSchemaTerms = Collections.synchronizedMap(new WeakHashMap<>());
+
+	@Inject
+	public SchemaTermCache(@Named("dswarm.db.metadata.schema-term-cache.max-attributes") final long maxAttributes,
+	                       @Named("dswarm.db.metadata.schema-term-cache.max-attribute-paths") final long maxAttributePaths) {
+
+		attributes = CacheBuilder.newBuilder()
+				.maximumSize(maxAttributes)
+				.recordStats()
+				.build();
+		attributePaths = CacheBuilder.newBuilder()
+				.maximumSize(maxAttributePaths)
+				.recordStats()
+				.build();
+	}
+
+	/**
+	 * @param uri the attribute URI
+	 * @return the uuid of the persisted attribute with the given URI, if it is cached
+	 */
+	public Optional<String> getAttributeUuid(final String uri) {
+
+		return Optional.ofNullable(attributes.getIfPresent(uri));
+	}
+
+	/**
+	 * Caches the uuid of the given attribute, once the current transaction of the given entity manager was committed successfully.
+	 *
+	 * @param entityManager the entity manager that was utilised to create or retrieve the attribute
+	 * @param attribute     a persisted attribute
+	 */
+	public void putAttribute(final EntityManager entityManager, final Attribute attribute) {
+
+		if (attribute != null && attribute.getUri() != null && attribute.getUuid() != null) {
+
+			put(entityManager, attributes, attribute.getUri(), attribute.getUuid());
+		}
+	}
+
+	public void invalidateAttribute(final String uri) {
+
+		if (uri != null) {
+
+			attributes.invalidate(uri);
+		}
+	}
+
+	/**
+	 * @param attributePathJSON the attribute path JSON string
+	 * @return the uuid of the persisted attribute path with the given attribute path JSON string, if it is cached
+	 */
+	public Optional<String> getAttributePathUuid(final String attributePathJSON) {
+
+		return Optional.ofNullable(attributePaths.getIfPresent(attributePathJSON));
+	}
+
+	/**
+	 * Caches the uuid of the given attribute path, once the current transaction of the given entity manager was committed successfully.
+	 *
+	 * @param entityManager the entity manager that was utilised to create or retrieve the attribute path
+	 * @param attributePath a persisted attribute path
+	 */
+	public void putAttributePath(final EntityManager entityManager, final AttributePath attributePath) {
+
+		if (attributePath != null && attributePath.getUuid() != null) {
+
+			put(entityManager, attributePaths, attributePath.getAttributePathAsJSONObjectString(), attributePath.getUuid());
+		}
+	}
+
+	public void invalidateAttributePath(final String attributePathJSON) {
+
+		if (attributePathJSON != null) {
+
+			attributePaths.invalidate(attributePathJSON);
+		}
+	}
+
+	/**
+	 * Removes all cached attribute paths, e.g., when an attribute path was removed or modified in the DB.
+	 */
+	public void invalidateAttributePaths() {
+
+		attributePaths.invalidateAll();
+	}
+
+	/**
+	 * Removes all cached schema terms, e.g., when the metadata DB was reset or truncated.
+	 */
+	public void invalidateAll() {
+
+		LOG.debug("invalidate schema term cache (attributes: '{}'; attribute paths: '{}')", attributes.stats(), attributePaths.stats());
+
+		attributes.invalidateAll();
+		attributePaths.invalidateAll();
+	}
+
+	private void put(final EntityManager entityManager, final Cache<String, String> cache, final String key, final String uuid) {
+
+		if (!entityManager.getTransaction().isActive()) {
+
+			// note: the term was retrieved outside of a transaction, i.e., it is already committed
+			cache.put(key, uuid);
+
+			return;
+		}
+
+		final UnitOfWork unitOfWork = entityManager.unwrap(UnitOfWork.class);
+
+		pendingSchemaTerms.computeIfAbsent(unitOfWork, unitOfWork1 -> {
+
+			final PendingSchemaTerms newPendingSchemaTerms = new PendingSchemaTerms();
+			unitOfWork1.getEventManager().addListener(newPendingSchemaTerms);
+
+			return newPendingSchemaTerms;
+		}).add(cache, key, uuid);
+	}
+
+	/**
+	 * The schema terms of the current transaction of a unit of work. They will be cached after a successful commit and evicted after a
+	 * rollback.
+	 */
+	private final class PendingSchemaTerms extends SessionEventAdapter {
+
+		private final Map<String, String> pendingAttributes     = new LinkedHashMap<>();
+		private final Map<String, String> pendingAttributePaths = new LinkedHashMap<>();
+
+		synchronized void add(final Cache<String, String> cache, final String key, final String uuid) {
+
+			if (cache == attributes) {
+
+				pendingAttributes.put(key, uuid);
+			} else {
+
+				pendingAttributePaths.put(key, uuid);
+			}
+		}
+
+		@Override
+		public void postCommitTransaction(final SessionEvent event) {
+
+			publish();
+		}
+
+		@Override
+		public void postCommitUnitOfWork(final SessionEvent event) {
+
+			publish();
+		}
+
+		@Override
+		public void postRollbackTransaction(final SessionEvent event) {
+
+			discard();
+		}
+
+		@Override
+		public void postReleaseUnitOfWork(final SessionEvent event) {
+
+			discard();
+		}
+
+		private synchronized void publish() {
+
+			attributes.putAll(pendingAttributes);
+			attributePaths.putAll(pendingAttributePaths);
+
+			pendingAttributes.clear();
+			pendingAttributePaths.clear();
+		}
+
+		private synchronized void discard() {
+
+			if (pendingAttributes.isEmpty() && pendingAttributePaths.isEmpty()) {
+
+				return;
+			}
+
+			LOG.debug("evict '{}' attributes and '{}' attribute paths of a rolled back transaction from schema term cache", pendingAttributes.size(),
+					pendingAttributePaths.size());
+
+			attributes.invalidateAll(pendingAttributes.keySet());
+			attributePaths.invalidateAll(pendingAttributePaths.keySet());
+
+			pendingAttributes.clear();
+			pendingAttributePaths.clear();
+		}
+	}
+}
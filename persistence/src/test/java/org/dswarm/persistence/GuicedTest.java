@@ -32,6 +32,7 @@ import org.dswarm.init.ConfigModule;
 import org.dswarm.init.ExecutionScope;
 import org.dswarm.init.LoggingConfigurator;
 import org.dswarm.persistence.service.MaintainDBService;
+import org.dswarm.persistence.service.internal.graph.InternalGDMGraphService;
 import org.dswarm.persistence.service.internal.test.utils.InternalGDMGraphServiceTestUtils;
 
 public abstract class GuicedTest {
@@ -116,6 +117,7 @@ public abstract class GuicedTest {
 			} catch (final IllegalStateException ignore) {
 				// was already closed, ignore this
 			}
+			GuicedTest.injector.getInstance(InternalGDMGraphService.class).close();
 			GuicedTest.injector = null;
 		}
 	}
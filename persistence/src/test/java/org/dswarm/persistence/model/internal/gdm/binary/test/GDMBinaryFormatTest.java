@@ -0,0 +1,137 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.persistence.model.internal.gdm.binary.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.Resources;
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.dswarm.graph.json.Model;
+import org.dswarm.graph.json.util.Util;
+import org.dswarm.persistence.DMPPersistenceError;
+import org.dswarm.persistence.model.internal.gdm.GDMModel;
+import org.dswarm.persistence.model.internal.gdm.binary.GDMBinaryReader;
+import org.dswarm.persistence.model.internal.gdm.binary.GDMBinaryWriter;
+import org.dswarm.persistence.util.DMPPersistenceUtil;
+
+/**
+ * @author tgaengler
+ */
+public class GDMBinaryFormatTest {
+
+	@Test
+	public void testRoundTrip() throws IOException {
+
+		testRoundTripInternal("test-mabxml.gson", "http://data.slub-dresden.de/records/e9e1fa5a-3350-43ec-bb21-6ccfa90a4497", "test-mabxml.json");
+	}
+
+	@Test
+	public void testRoundTrip2() throws IOException {
+
+		testRoundTripInternal("test-complex-xml.gson", "http://data.slub-dresden.de/records/7fc13720-2859-477d-9127-5ec65f82220e",
+				"test-complex-xml.json");
+	}
+
+	@Test
+	public void testRoundTrip3() throws IOException {
+
+		testRoundTripInternal("test-pnx.gson", "http://data.slub-dresden.de/datamodels/1/records/a95c0401-5acf-471d-aefb-14cdf0f5deb2",
+				"test-pnx.json");
+	}
+
+	@Test(expected = DMPPersistenceError.class)
+	public void testIncompleteStream() throws IOException {
+
+		final GDMModel gdmModel = readGDMModel("test-mabxml.gson", "http://data.slub-dresden.de/records/e9e1fa5a-3350-43ec-bb21-6ccfa90a4497");
+
+		final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		final GDMBinaryWriter writer = new GDMBinaryWriter(bos);
+		writer.write(gdmModel);
+		writer.flush();
+
+		// note: the end marker is missing, since the writer wasn't closed
+		final byte[] bytes = bos.toByteArray();
+
+		final GDMBinaryReader reader = new GDMBinaryReader(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1)));
+
+		reader.hasNext();
+	}
+
+	private void testRoundTripInternal(final String fileName, final String resourceURI, final String expectedFileName) throws IOException {
+
+		final GDMModel gdmModel = readGDMModel(fileName, resourceURI);
+
+		// write the record twice to utilise the dictionary
+		final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+
+		try (final GDMBinaryWriter writer = new GDMBinaryWriter(bos)) {
+
+			writer.write(gdmModel);
+			writer.write(gdmModel);
+		}
+
+		final String expectedJsonString = DMPPersistenceUtil.getResourceAsString(expectedFileName);
+
+		Assert.assertNotNull("the JSON string shouldn't be null", expectedJsonString);
+
+		final GDMBinaryReader reader = new GDMBinaryReader(new ByteArrayInputStream(bos.toByteArray()));
+
+		int recordCounter = 0;
+
+		while (reader.hasNext()) {
+
+			final GDMModel readGDMModel = reader.next();
+
+			Assert.assertEquals("the record URI should be equal", resourceURI, readGDMModel.getRecordURIs().iterator().next());
+
+			final JsonNode jsonNode = readGDMModel.toGDMCompactJSON();
+			final String jsonString = DMPPersistenceUtil.getJSONObjectMapper().writeValueAsString(jsonNode);
+
+			Assert.assertEquals("the content of the deserialised record should be equal", expectedJsonString, jsonString);
+
+			recordCounter++;
+		}
+
+		reader.close();
+
+		Assert.assertEquals("the number of deserialised records should be equal", 2, recordCounter);
+	}
+
+	private static GDMModel readGDMModel(final String fileName, final String resourceURI) throws IOException {
+
+		final ObjectMapper mapper = Util.getJSONObjectMapper();
+
+		final URL fileURL = Resources.getResource(fileName);
+
+		Assert.assertNotNull(fileURL);
+
+		final String fileContent = Resources.toString(fileURL, StandardCharsets.UTF_8);
+		final Model model = mapper.readValue(fileContent, Model.class);
+
+		Assert.assertNotNull(model);
+
+		return new GDMModel(model, resourceURI);
+	}
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright (C) 2013 – 2017 SLUB Dresden & Avantgarde Labs GmbH (<code@dswarm.org>)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.dswarm.persistence.service.internal.graph.util.test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.dswarm.graph.json.LiteralNode;
+import org.dswarm.graph.json.Model;
+import org.dswarm.graph.json.Node;
+import org.dswarm.graph.json.Predicate;
+import org.dswarm.graph.json.Resource;
+import org.dswarm.graph.json.ResourceNode;
+import org.dswarm.persistence.model.internal.helper.AttributePathHelper;
+import org.dswarm.persistence.service.internal.graph.util.AttributePathCollector;
+
+/**
+ * @author tgaengler
+ */
+public class AttributePathCollectorTest {
+
+	private static final String RECORD_URI = "http://data.slub-dresden.de/records/1";
+	private static final String NS         = "http://example.org/";
+
+	@Test
+	public void testNestedAttributePaths() {
+
+		final Resource record = new Resource(RECORD_URI);
+		final ResourceNode recordNode = new ResourceNode(RECORD_URI);
+		final Node entity = new Node(1);
+
+		record.addStatement(recordNode, new Predicate(NS + "title"), new LiteralNode("a title"));
+		record.addStatement(recordNode, new Predicate(NS + "creator"), entity);
+		record.addStatement(entity, new Predicate(NS + "name"), new LiteralNode("a name"));
+
+		final AttributePathCollector collector = new AttributePathCollector();
+
+		final Set<AttributePathHelper> attributePaths = collector.collect(Collections.singleton(RECORD_URI), toModel(record));
+
+		Assert.assertEquals("the collected attribute paths should be equal",
+				new HashSet<>(Arrays.asList(path(NS + "title"), path(NS + "creator"), path(NS + "creator", NS + "name"))),
+				toPaths(attributePaths));
+		Assert.assertEquals("the number of distinct attribute paths should be equal", 3, collector.size());
+	}
+
+	@Test
+	public void testRepeatedAttributePaths() {
+
+		final Resource record = new Resource(RECORD_URI);
+		final ResourceNode recordNode = new ResourceNode(RECORD_URI);
+
+		// note: the same property at different levels results in different attribute paths
+		final Node entity1 = new Node(1);
+		final Node entity2 = new Node(2);
+
+		record.addStatement(recordNode, new Predicate(NS + "subject"), entity1);
+		record.addStatement(recordNode, new Predicate(NS + "subject"), entity2);
+		record.addStatement(entity1, new Predicate(NS + "subject"), new LiteralNode("a subject"));
+		record.addStatement(entity2, new Predicate(NS + "subject"), new LiteralNode("another subject"));
+
+		final AttributePathCollector collector = new AttributePathCollector();
+		final Model model = toModel(record);
+
+		final Set<AttributePathHelper> attributePaths = collector.collect(Collections.singleton(RECORD_URI), model);
+
+		Assert.assertEquals("the collected attribute paths should be equal",
+				new HashSet<>(Arrays.asList(path(NS + "subject"), path(NS + "subject", NS + "subject"))), toPaths(attributePaths));
+
+		// a second record with the same structure shouldn't deliver any new attribute path
+		Assert.assertTrue("there shouldn't be any new attribute path", collector.collect(Collections.singleton(RECORD_URI), model).isEmpty());
+		Assert.assertEquals("the number of distinct attribute paths should be equal", 2, collector.size());
+	}
+
+	@Test
+	public void testCollidingAttributePaths() {
+
+		// note: the local names 'Aa' and 'BB' (and hence both property URIs) have the same hash code and length
+		final String property1 = NS + "Aa";
+		final String property2 = NS + "BB";
+
+		Assert.assertEquals(property1.hashCode(), property2.hashCode());
+
+		final Resource record1 = new Resource(RECORD_URI);
+		record1.addStatement(new ResourceNode(RECORD_URI), new Predicate(property1), new LiteralNode("value"));
+
+		final Resource record2 = new Resource(RECORD_URI);
+		record2.addStatement(new ResourceNode(RECORD_URI), new Predicate(property2), new LiteralNode("value"));
+
+		final AttributePathCollector collector = new AttributePathCollector();
+
+		Assert.assertEquals("the collected attribute paths should be equal", Collections.singleton(path(property1)),
+				toPaths(collector.collect(Collections.singleton(RECORD_URI), toModel(record1))));
+		Assert.assertEquals("the collected attribute paths should be equal", Collections.singleton(path(property2)),
+				toPaths(collector.collect(Collections.singleton(RECORD_URI), toModel(record2))));
+		Assert.assertEquals("the number of distinct attribute paths should be equal", 2, collector.size());
+	}
+
+	private static Model toModel(final Resource record) {
+
+		final Model model = new Model();
+		model.addResource(record);
+
+		return model;
+	}
+
+	private static List<String> path(final String... propertyURIs) {
+
+		return Arrays.asList(propertyURIs);
+	}
+
+	private static Set<List<String>> toPaths(final Set<AttributePathHelper> attributePaths) {
+
+		return attributePaths.stream().map(AttributePathHelper::getAttributePath).collect(Collectors.toSet());
+	}
+}